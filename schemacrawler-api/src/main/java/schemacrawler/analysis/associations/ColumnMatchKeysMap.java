@@ -29,61 +29,182 @@ package schemacrawler.analysis.associations;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.Table;
-import us.fatehi.utility.Multimap;
 
+/**
+ * Index of column name match keys. Columns are numbered in table order, and match keys are
+ * interned, so that lookups during analysis work on primitive integer identifiers.
+ */
 final class ColumnMatchKeysMap {
 
-  private final Multimap<String, Column> columnsForMatchKey;
-  private final Multimap<Column, String> matchKeysForColumn;
+  static final int NO_ID = -1;
+
+  private final Column[] columns;
+  private final Map<Column, Integer> columnIds;
+  private final Map<String, Integer> matchKeyIds;
+  private final List<String> matchKeys;
+  private final int[] matchKeyForColumn;
+  private final int[] tableForColumn;
+  private final int[][] columnsForMatchKey;
 
   ColumnMatchKeysMap(final List<Table> tables) {
     requireNonNull(tables, "No tables provided");
-    columnsForMatchKey = new Multimap<>();
-    matchKeysForColumn = new Multimap<>();
 
-    for (final Table table : tables) {
-      mapColumnNameMatches(table);
+    final List<Column> columnsList = new ArrayList<>();
+    final List<Integer> tableIndexes = new ArrayList<>();
+    for (int tableIndex = 0; tableIndex < tables.size(); tableIndex++) {
+      for (final Column column : tables.get(tableIndex).getColumns()) {
+        columnsList.add(column);
+        tableIndexes.add(tableIndex);
+      }
+    }
+    columns = columnsList.toArray(new Column[columnsList.size()]);
+    tableForColumn = tableIndexes.stream().mapToInt(Integer::intValue).toArray();
+    // Columns are looked up by identity, since hash codes of database
+    // objects are computed from their full names
+    columnIds = new IdentityHashMap<>(columns.length);
+    matchKeyIds = new HashMap<>();
+    matchKeys = new ArrayList<>();
+    matchKeyForColumn = new int[columns.length];
+
+    int[] columnCounts = new int[64];
+    for (int columnId = 0; columnId < columns.length; columnId++) {
+      final Column column = columns[columnId];
+      columnIds.put(column, columnId);
+
+      final String matchKey = matchKey(column);
+      if (matchKey == null) {
+        matchKeyForColumn[columnId] = NO_ID;
+        continue;
+      }
+      final int matchKeyId = internMatchKey(matchKey);
+      if (matchKeyId >= columnCounts.length) {
+        columnCounts = Arrays.copyOf(columnCounts, columnCounts.length * 2);
+      }
+      columnCounts[matchKeyId]++;
+      matchKeyForColumn[columnId] = matchKeyId;
+    }
+
+    // Column identifiers for each match key are in ascending order,
+    // since columns are visited in order
+    columnsForMatchKey = new int[matchKeys.size()][];
+    for (int matchKeyId = 0; matchKeyId < columnsForMatchKey.length; matchKeyId++) {
+      columnsForMatchKey[matchKeyId] = new int[columnCounts[matchKeyId]];
     }
+    final int[] positions = new int[columnsForMatchKey.length];
+    for (int columnId = 0; columnId < columns.length; columnId++) {
+      final int matchKeyId = matchKeyForColumn[columnId];
+      if (matchKeyId != NO_ID) {
+        columnsForMatchKey[matchKeyId][positions[matchKeyId]++] = columnId;
+      }
+    }
+  }
+
+  public Column getColumn(final int columnId) {
+    return columns[columnId];
   }
 
-  public boolean containsKey(final Column column) {
-    return matchKeysForColumn.containsKey(column);
+  /**
+   * Gets the identifier of a column.
+   *
+   * @param column Column
+   * @return Column identifier, or -1 if the column is not indexed
+   */
+  public int getColumnId(final Column column) {
+    final Integer columnId = columnIds.get(column);
+    if (columnId == null) {
+      return NO_ID;
+    }
+    return columnId;
   }
 
-  public boolean containsKey(final String columnKey) {
-    return columnsForMatchKey.containsKey(columnKey);
+  /**
+   * Gets identifiers of all columns for a match key. The returned array must not be modified.
+   *
+   * @param matchKeyId Match key identifier
+   * @return Column identifiers in ascending order
+   */
+  public int[] getColumnIds(final int matchKeyId) {
+    return columnsForMatchKey[matchKeyId];
   }
 
-  public List<String> get(final Column column) {
-    return matchKeysForColumn.get(column);
+  /**
+   * Gets the identifier of the match key for a column.
+   *
+   * @param columnId Column identifier
+   * @return Match key identifier, or -1 if the column has no match key
+   */
+  public int getMatchKeyId(final int columnId) {
+    return matchKeyForColumn[columnId];
   }
 
-  public List<Column> get(final String matchKey) {
-    return columnsForMatchKey.get(matchKey);
+  /**
+   * Gets the identifier of an interned match key.
+   *
+   * @param matchKey Match key
+   * @return Match key identifier, or -1 if no column has this match key
+   */
+  public int getMatchKeyId(final String matchKey) {
+    final Integer matchKeyId = matchKeyIds.get(matchKey);
+    if (matchKeyId == null) {
+      return NO_ID;
+    }
+    return matchKeyId;
+  }
+
+  /**
+   * Gets the position of the table of a column, in the list of tables that were indexed.
+   *
+   * @param columnId Column identifier
+   * @return Table index
+   */
+  public int getTableIndex(final int columnId) {
+    return tableForColumn[columnId];
   }
 
   @Override
   public String toString() {
-    return columnsForMatchKey.toString();
+    final Map<String, List<Column>> columnsForMatchKeyMap = new HashMap<>();
+    for (int matchKeyId = 0; matchKeyId < columnsForMatchKey.length; matchKeyId++) {
+      final List<Column> matchedColumns = new ArrayList<>();
+      for (final int columnId : columnsForMatchKey[matchKeyId]) {
+        matchedColumns.add(columns[columnId]);
+      }
+      columnsForMatchKeyMap.put(matchKeys.get(matchKeyId), matchedColumns);
+    }
+    return columnsForMatchKeyMap.toString();
   }
 
-  private void mapColumnNameMatches(final Table table) {
-    for (final Column column : table.getColumns()) {
-      String matchColumnName = column.getName().toLowerCase();
-      if (matchColumnName.endsWith("_id")) {
-        matchColumnName = matchColumnName.substring(0, matchColumnName.length() - 3);
-      }
-      if (matchColumnName.endsWith("id") && !matchColumnName.equals("id")) {
-        matchColumnName = matchColumnName.substring(0, matchColumnName.length() - 2);
-      }
-      if (!matchColumnName.equals("id")) {
-        columnsForMatchKey.add(matchColumnName, column);
-        matchKeysForColumn.add(column, matchColumnName);
-      }
+  private int internMatchKey(final String matchKey) {
+    final Integer matchKeyId = matchKeyIds.get(matchKey);
+    if (matchKeyId != null) {
+      return matchKeyId;
+    }
+    final int newMatchKeyId = matchKeys.size();
+    matchKeys.add(matchKey);
+    matchKeyIds.put(matchKey, newMatchKeyId);
+    return newMatchKeyId;
+  }
+
+  private String matchKey(final Column column) {
+    String matchColumnName = column.getName().toLowerCase();
+    if (matchColumnName.endsWith("_id")) {
+      matchColumnName = matchColumnName.substring(0, matchColumnName.length() - 3);
+    }
+    if (matchColumnName.endsWith("id") && !matchColumnName.equals("id")) {
+      matchColumnName = matchColumnName.substring(0, matchColumnName.length() - 2);
+    }
+    if (matchColumnName.equals("id")) {
+      return null;
     }
+    return matchColumnName;
   }
 }
@@ -29,39 +29,39 @@ package schemacrawler.analysis.associations;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-import schemacrawler.schema.ColumnReference;
 import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.ForeignKeyColumnReference;
 import schemacrawler.schema.Table;
 
 final class ForeignKeys {
 
-  private final Collection<ColumnReference> foreignKeys;
+  private final Set<ProposedWeakAssociation> foreignKeys;
+  private final Set<String> foreignKeyColumnNames;
 
   ForeignKeys(final List<Table> tables) {
     foreignKeys = mapForeignKeyColumns(tables);
+    foreignKeyColumnNames = new HashSet<>();
+    for (final ProposedWeakAssociation foreignKey : foreignKeys) {
+      foreignKeyColumnNames.add(foreignKey.getValue().getName());
+    }
   }
 
   public boolean contains(final ProposedWeakAssociation columnMap) {
     if (columnMap == null) {
       return false;
     }
-
-    // We have to loop through the collection, since we want to use the
-    // equals from the WeakAssociation
-    for (final ColumnReference columnReference : foreignKeys) {
-      final ProposedWeakAssociation columnReferenceAsProposal =
-          new ProposedWeakAssociation(columnReference);
-      final boolean equals = columnMap.equals(columnReferenceAsProposal);
-      if (equals) {
-        return true;
-      }
+    // Hash codes of columns are expensive, so first check the name
+    if (!foreignKeyColumnNames.contains(columnMap.getValue().getName())) {
+      return false;
     }
-    return false;
+
+    // Column references are held as proposed weak associations, so we
+    // can use a hash lookup with the equals from the WeakAssociation
+    return foreignKeys.contains(columnMap);
   }
 
   @Override
@@ -69,14 +69,14 @@ final class ForeignKeys {
     return foreignKeys.toString();
   }
 
-  private Collection<ColumnReference> mapForeignKeyColumns(final List<Table> tables) {
+  private Set<ProposedWeakAssociation> mapForeignKeyColumns(final List<Table> tables) {
     requireNonNull(tables, "No tables provided");
 
-    final Collection<ColumnReference> fkColumnsMap = new HashSet<>();
+    final Set<ProposedWeakAssociation> fkColumnsMap = new HashSet<>();
     for (final Table table : tables) {
       for (final ForeignKey foreignKey : table.getForeignKeys()) {
         for (final ForeignKeyColumnReference columnRef : foreignKey) {
-          fkColumnsMap.add(columnRef);
+          fkColumnsMap.add(new ProposedWeakAssociation(columnRef));
         }
       }
     }
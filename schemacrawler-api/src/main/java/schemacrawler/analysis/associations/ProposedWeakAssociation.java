@@ -49,13 +49,24 @@ public final class ProposedWeakAssociation
   }
 
   public boolean isValid() {
+    final Table pkTable = getKey().getParent();
+    final Table fkTable = getValue().getParent();
+    return isValid(pkTable.compareTo(fkTable));
+  }
+
+  /**
+   * Checks if the proposed weak association is valid, when the sort order of the tables is already
+   * known.
+   *
+   * @param tableComparison Comparison of the primary key table to the foreign key table
+   * @return Whether the proposed weak association is valid
+   */
+  boolean isValid(final int tableComparison) {
     final Column primaryKeyColumn = getKey();
     final Column foreignKeyColumn = getValue();
 
-    final Table pkTable = primaryKeyColumn.getParent();
-    final Table fkTable = foreignKeyColumn.getParent();
     if ((foreignKeyColumn.isPartOfPrimaryKey() || foreignKeyColumn.isPartOfUniqueIndex())
-        && pkTable.compareTo(fkTable) > 0) {
+        && tableComparison > 0) {
       return false;
     }
 
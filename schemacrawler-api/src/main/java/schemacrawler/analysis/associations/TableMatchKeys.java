@@ -30,9 +30,12 @@ package schemacrawler.analysis.associations;
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.isBlank;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
@@ -42,7 +45,6 @@ import java.util.logging.Level;
 import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.schema.Table;
 import us.fatehi.utility.Multimap;
-import us.fatehi.utility.Utility;
 import us.fatehi.utility.string.ObjectToStringFormat;
 import us.fatehi.utility.string.StringFormat;
 
@@ -55,9 +57,12 @@ final class TableMatchKeys {
 
   private final Multimap<Table, String> tableKeys;
 
+  private final Map<String, String> singularWords;
+
   TableMatchKeys(final List<Table> tables) {
     this.tables = requireNonNull(tables, "No tables provided");
     tableKeys = new Multimap<>();
+    singularWords = new HashMap<>();
 
     analyzeTables();
   }
@@ -91,40 +96,7 @@ final class TableMatchKeys {
    * @return Table name prefixes
    */
   private Collection<String> findTableNamePrefixes(final List<Table> tables) {
-    final SortedMap<String, Integer> prefixesMap = new TreeMap<>();
-    for (int i = 0; i < tables.size(); i++) {
-      for (int j = i + 1; j < tables.size(); j++) {
-        final String table1 = tables.get(i).getName();
-        final String table2 = tables.get(j).getName();
-        final String commonPrefix = Utility.commonPrefix(table1, table2);
-        if (!isBlank(commonPrefix) && commonPrefix.endsWith("_")) {
-          final List<String> splitCommonPrefixes = new ArrayList<>();
-          final String[] splitPrefix = commonPrefix.split("_");
-          if (splitPrefix != null && splitPrefix.length > 0) {
-            for (int k = 0; k < splitPrefix.length; k++) {
-              final StringBuilder buffer = new StringBuilder(1024);
-              for (int l = 0; l < k; l++) {
-                buffer.append(splitPrefix[l]).append("_");
-              }
-              if (buffer.length() > 0) {
-                splitCommonPrefixes.add(buffer.toString());
-              }
-            }
-          }
-          splitCommonPrefixes.add(commonPrefix);
-
-          for (final String splitCommonPrefix : splitCommonPrefixes) {
-            final int prevCount;
-            if (prefixesMap.containsKey(splitCommonPrefix)) {
-              prevCount = prefixesMap.get(splitCommonPrefix);
-            } else {
-              prevCount = 0;
-            }
-            prefixesMap.put(splitCommonPrefix, prevCount + 1);
-          }
-        }
-      }
-    }
+    final SortedMap<String, Integer> prefixesMap = countCommonPrefixes(tables);
 
     // Make sure we have the smallest prefixes
     final List<String> keySet = new ArrayList<>(prefixesMap.keySet());
@@ -166,13 +138,59 @@ final class TableMatchKeys {
     return prefixes;
   }
 
+  /**
+   * Counts common prefixes of all pairs of table names. Rather than comparing every pair of table
+   * names, table names are held in a trie, and the number of pairs for which each node is the
+   * longest common prefix is derived from the number of table names under that node.
+   *
+   * @param tables Tables
+   * @return Number of pairs of table names for each prefix
+   */
+  private SortedMap<String, Integer> countCommonPrefixes(final List<Table> tables) {
+    final TableNamesTrie root = new TableNamesTrie();
+    for (final Table table : tables) {
+      root.add(table.getName());
+    }
+
+    final SortedMap<String, Integer> prefixesMap = new TreeMap<>();
+    final Deque<TableNamesTrie> nodes = new ArrayDeque<>();
+    final Deque<String> nodePrefixes = new ArrayDeque<>();
+    nodes.push(root);
+    nodePrefixes.push("");
+    while (!nodes.isEmpty()) {
+      final TableNamesTrie node = nodes.pop();
+      final String nodePrefix = nodePrefixes.pop();
+      for (final Map.Entry<Character, TableNamesTrie> child : node.children.entrySet()) {
+        nodes.push(child.getValue());
+        nodePrefixes.push(nodePrefix + child.getKey());
+      }
+
+      // Pairs of identical table names do not have a common prefix
+      final String commonPrefix = nodePrefix.toLowerCase();
+      final long pairs = node.commonPrefixPairs();
+      if (pairs == 0 || isBlank(commonPrefix) || !commonPrefix.endsWith("_")) {
+        continue;
+      }
+      for (final String splitCommonPrefix : splitCommonPrefixes(commonPrefix)) {
+        final int prevCount;
+        if (prefixesMap.containsKey(splitCommonPrefix)) {
+          prevCount = prefixesMap.get(splitCommonPrefix);
+        } else {
+          prevCount = 0;
+        }
+        prefixesMap.put(splitCommonPrefix, (int) Math.min(Integer.MAX_VALUE, prevCount + pairs));
+      }
+    }
+    return prefixesMap;
+  }
+
   private void mapTableNameMatches(final List<Table> tables, final Collection<String> prefixes) {
     for (final Table table : tables) {
       for (final String prefix : prefixes) {
         String matchTableName = table.getName().toLowerCase();
         if (matchTableName.startsWith(prefix)) {
           matchTableName = matchTableName.substring(prefix.length());
-          matchTableName = Inflection.singularize(matchTableName);
+          matchTableName = singularize(matchTableName);
           if (!isBlank(matchTableName)) {
             tableKeys.add(table, matchTableName);
           }
@@ -180,4 +198,61 @@ final class TableMatchKeys {
       }
     }
   }
+
+  private String singularize(final String word) {
+    // Table names without prefixes repeat, so inflect each word only once
+    return singularWords.computeIfAbsent(word, Inflection::singularize);
+  }
+
+  private List<String> splitCommonPrefixes(final String commonPrefix) {
+    final List<String> splitCommonPrefixes = new ArrayList<>();
+    final String[] splitPrefix = commonPrefix.split("_");
+    if (splitPrefix != null && splitPrefix.length > 0) {
+      for (int k = 0; k < splitPrefix.length; k++) {
+        final StringBuilder buffer = new StringBuilder(1024);
+        for (int l = 0; l < k; l++) {
+          buffer.append(splitPrefix[l]).append("_");
+        }
+        if (buffer.length() > 0) {
+          splitCommonPrefixes.add(buffer.toString());
+        }
+      }
+    }
+    splitCommonPrefixes.add(commonPrefix);
+    return splitCommonPrefixes;
+  }
+
+  private static final class TableNamesTrie {
+
+    private static long pairs(final int count) {
+      return (long) count * (count - 1) / 2;
+    }
+
+    private final Map<Character, TableNamesTrie> children = new HashMap<>();
+    /** Number of table names with this prefix. */
+    private int count;
+    /** Number of table names that are exactly this prefix. */
+    private int endCount;
+
+    void add(final String name) {
+      TableNamesTrie node = this;
+      node.count++;
+      for (int i = 0; i < name.length(); i++) {
+        node = node.children.computeIfAbsent(name.charAt(i), character -> new TableNamesTrie());
+        node.count++;
+      }
+      node.endCount++;
+    }
+
+    /**
+     * Number of pairs of different table names for which this node is the longest common prefix.
+     */
+    long commonPrefixPairs() {
+      long commonPrefixPairs = pairs(count) - pairs(endCount);
+      for (final TableNamesTrie child : children.values()) {
+        commonPrefixPairs = commonPrefixPairs - pairs(child.count);
+      }
+      return commonPrefixPairs;
+    }
+  }
 }
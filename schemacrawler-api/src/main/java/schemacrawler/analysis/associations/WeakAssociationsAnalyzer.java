@@ -30,11 +30,12 @@ package schemacrawler.analysis.associations;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
@@ -42,18 +43,82 @@ import schemacrawler.schema.Column;
 import schemacrawler.schema.Table;
 import us.fatehi.utility.string.StringFormat;
 
+/**
+ * Proposes weak associations between tables, based on matching column and table names. Match keys
+ * are indexed up front, and tables are analyzed in parallel. Proposed weak associations are
+ * returned in table order, with the same results for every run.
+ */
 public final class WeakAssociationsAnalyzer {
 
+  /**
+   * Analysis of tables for weak associations, splitting the table range until it is small enough
+   * to be analyzed in the current thread. Results are merged in table order.
+   */
+  private final class FindWeakAssociationsTask
+      extends RecursiveTask<List<ProposedWeakAssociation>> {
+
+    private static final long serialVersionUID = -2394857612843726102L;
+
+    private final int fromIndex;
+    private final int toIndex;
+
+    FindWeakAssociationsTask(final int fromIndex, final int toIndex) {
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override
+    protected List<ProposedWeakAssociation> compute() {
+      if (toIndex - fromIndex <= tablesPerTask) {
+        final List<ProposedWeakAssociation> weakAssociations = new ArrayList<>();
+        for (int i = fromIndex; i < toIndex; i++) {
+          findWeakAssociations(tables.get(i), weakAssociations);
+        }
+        return weakAssociations;
+      }
+
+      final int middleIndex = (fromIndex + toIndex) >>> 1;
+      final FindWeakAssociationsTask leftTask = new FindWeakAssociationsTask(fromIndex, middleIndex);
+      final FindWeakAssociationsTask rightTask = new FindWeakAssociationsTask(middleIndex, toIndex);
+      leftTask.fork();
+      final List<ProposedWeakAssociation> rightWeakAssociations = rightTask.compute();
+      final List<ProposedWeakAssociation> weakAssociations = leftTask.join();
+      weakAssociations.addAll(rightWeakAssociations);
+      return weakAssociations;
+    }
+  }
+
   private static final SchemaCrawlerLogger LOGGER =
       SchemaCrawlerLogger.getLogger(WeakAssociationsAnalyzer.class.getName());
 
+  private static final int TABLES_PER_TASK = 64;
+
   private final List<Table> tables;
+  private final int tablesPerTask;
   private final Collection<ProposedWeakAssociation> weakAssociations;
+  private ForeignKeys foreignKeys;
+  private ColumnMatchKeysMap columnMatchKeysMap;
+  private TableMatchKeys tableMatchKeys;
 
   public WeakAssociationsAnalyzer(final Collection<Table> tables) {
+    this(tables, TABLES_PER_TASK);
+  }
+
+  /**
+   * Creates an analyzer that splits the tables into tasks of no more than the given number of
+   * tables. All tables are analyzed in the current thread if there are no more tables than that.
+   *
+   * @param tables Tables to analyze
+   * @param tablesPerTask Maximum number of tables that are analyzed by a single task
+   */
+  WeakAssociationsAnalyzer(final Collection<Table> tables, final int tablesPerTask) {
     requireNonNull(tables, "No tables provided");
+    if (tablesPerTask < 1) {
+      throw new IllegalArgumentException("Number of tables per task must be at least 1");
+    }
     this.tables = new ArrayList<>(tables);
     Collections.sort(this.tables);
+    this.tablesPerTask = tablesPerTask;
 
     weakAssociations = new ArrayList<>();
   }
@@ -70,50 +135,119 @@ public final class WeakAssociationsAnalyzer {
 
   private void findWeakAssociations(final List<Table> tables) {
     LOGGER.log(Level.INFO, "Finding weak associations");
-    final ForeignKeys foreignKeys = new ForeignKeys(tables);
-    final ColumnMatchKeysMap columnMatchKeysMap = new ColumnMatchKeysMap(tables);
-    final TableMatchKeys tableMatchKeys = new TableMatchKeys(tables);
+    foreignKeys = new ForeignKeys(tables);
+    columnMatchKeysMap = new ColumnMatchKeysMap(tables);
+    tableMatchKeys = new TableMatchKeys(tables);
 
     if (LOGGER.isLoggable(Level.FINER)) {
       LOGGER.log(Level.FINER, new StringFormat("Column match keys <%s>", columnMatchKeysMap));
       LOGGER.log(Level.FINER, new StringFormat("Table match keys <%s>", tableMatchKeys));
     }
-    for (final Table table : tables) {
-      final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
-      LOGGER.log(Level.FINER, new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
-      for (final Column pkColumn : tableCandidateKeys) {
-        final Set<String> fkColumnMatchKeys = new HashSet<>();
-        // Look for all columns matching this table match key
-        if (pkColumn.isPartOfPrimaryKey()) {
-          fkColumnMatchKeys.addAll(tableMatchKeys.get(table));
-        }
-        // Look for all columns matching this column match key
-        if (columnMatchKeysMap.containsKey(pkColumn)) {
-          fkColumnMatchKeys.addAll(columnMatchKeysMap.get(pkColumn));
+
+    final FindWeakAssociationsTask task = new FindWeakAssociationsTask(0, tables.size());
+    if (tables.size() <= tablesPerTask) {
+      weakAssociations.addAll(task.compute());
+    } else {
+      weakAssociations.addAll(ForkJoinPool.commonPool().invoke(task));
+    }
+  }
+
+  private void findWeakAssociations(
+      final Table table, final List<ProposedWeakAssociation> weakAssociations) {
+    final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
+    LOGGER.log(Level.FINER, new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
+
+    for (final int pkColumnId : candidateKeyColumnIds(tableCandidateKeys)) {
+      final Column pkColumn = columnMatchKeysMap.getColumn(pkColumnId);
+      for (final int fkColumnId : matchingColumnIds(table, pkColumnId)) {
+        if (pkColumnId == fkColumnId) {
+          continue;
         }
 
-        final Set<Column> fkColumns = new HashSet<>();
-        for (final String fkColumnMatchKey : fkColumnMatchKeys) {
-          if (columnMatchKeysMap.containsKey(fkColumnMatchKey)) {
-            fkColumns.addAll(columnMatchKeysMap.get(fkColumnMatchKey));
-          }
+        final Column fkColumn = columnMatchKeysMap.getColumn(fkColumnId);
+        final ProposedWeakAssociation proposedWeakAssociation =
+            new ProposedWeakAssociation(pkColumn, fkColumn);
+        // Tables are sorted, so compare table positions rather than tables
+        final int tableComparison =
+            Integer.compare(
+                columnMatchKeysMap.getTableIndex(pkColumnId),
+                columnMatchKeysMap.getTableIndex(fkColumnId));
+        if (proposedWeakAssociation.isValid(tableComparison)
+            && !foreignKeys.contains(proposedWeakAssociation)) {
+          LOGGER.log(
+              Level.FINE, new StringFormat("Found weak association <%s>", proposedWeakAssociation));
+          weakAssociations.add(proposedWeakAssociation);
         }
+      }
+    }
+  }
 
-        for (final Column fkColumn : fkColumns) {
-          if (pkColumn.equals(fkColumn)) {
-            continue;
-          }
+  /**
+   * Gets identifiers of candidate key columns in column order, so that results do not depend on
+   * hashing.
+   */
+  private int[] candidateKeyColumnIds(final TableCandidateKeys tableCandidateKeys) {
+    final List<Integer> columnIds = new ArrayList<>();
+    for (final Column pkColumn : tableCandidateKeys) {
+      final int columnId = columnMatchKeysMap.getColumnId(pkColumn);
+      if (columnId != ColumnMatchKeysMap.NO_ID) {
+        columnIds.add(columnId);
+      }
+    }
+    return sortedDistinct(columnIds.stream().mapToInt(Integer::intValue).toArray());
+  }
 
-          final ProposedWeakAssociation proposedWeakAssociation =
-              new ProposedWeakAssociation(pkColumn, fkColumn);
-          if (proposedWeakAssociation.isValid() && !foreignKeys.contains(proposedWeakAssociation)) {
-            LOGGER.log(
-                Level.FINE,
-                new StringFormat("Found weak association <%s>", proposedWeakAssociation));
-            weakAssociations.add(proposedWeakAssociation);
+  /** Gets identifiers of all columns matching a candidate key column, in column order. */
+  private int[] matchingColumnIds(final Table table, final int pkColumnId) {
+    final List<int[]> matchingColumnIds = new ArrayList<>();
+    int matchingColumnCount = 0;
+
+    // Look for all columns matching this table match key
+    if (columnMatchKeysMap.getColumn(pkColumnId).isPartOfPrimaryKey()) {
+      final List<String> tableKeys = tableMatchKeys.get(table);
+      if (tableKeys != null) {
+        for (final String tableKey : tableKeys) {
+          final int matchKeyId = columnMatchKeysMap.getMatchKeyId(tableKey);
+          if (matchKeyId != ColumnMatchKeysMap.NO_ID) {
+            final int[] columnIds = columnMatchKeysMap.getColumnIds(matchKeyId);
+            matchingColumnIds.add(columnIds);
+            matchingColumnCount = matchingColumnCount + columnIds.length;
           }
         }
       }
     }
+    // Look for all columns matching this column match key
+    final int matchKeyId = columnMatchKeysMap.getMatchKeyId(pkColumnId);
+    if (matchKeyId != ColumnMatchKeysMap.NO_ID) {
+      final int[] columnIds = columnMatchKeysMap.getColumnIds(matchKeyId);
+      matchingColumnIds.add(columnIds);
+      matchingColumnCount = matchingColumnCount + columnIds.length;
+    }
+
+    if (matchingColumnIds.size() == 1) {
+      return matchingColumnIds.get(0);
+    }
+    final int[] columnIds = new int[matchingColumnCount];
+    int position = 0;
+    for (final int[] matchingColumnIdsForKey : matchingColumnIds) {
+      System.arraycopy(
+          matchingColumnIdsForKey, 0, columnIds, position, matchingColumnIdsForKey.length);
+      position = position + matchingColumnIdsForKey.length;
+    }
+    return sortedDistinct(columnIds);
+  }
+
+  private int[] sortedDistinct(final int[] columnIds) {
+    if (columnIds.length < 2) {
+      return columnIds;
+    }
+    Arrays.sort(columnIds);
+    int distinctCount = 1;
+    for (int i = 1; i < columnIds.length; i++) {
+      if (columnIds[i] != columnIds[distinctCount - 1]) {
+        columnIds[distinctCount++] = columnIds[i];
+      }
+    }
+    return Arrays.copyOf(columnIds, distinctCount);
   }
 }
@@ -29,36 +29,109 @@ package schemacrawler.analysis.counts;
 
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.analysis.counts.TableRowCountsUtility.addRowCountToTable;
-import static schemacrawler.schemacrawler.QueryUtility.executeForLong;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_TABLE_ROW_COUNTS;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
 import static us.fatehi.utility.DatabaseUtility.checkConnection;
+import static us.fatehi.utility.DatabaseUtility.executeSql;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
+import schemacrawler.schemacrawler.LoadOptions;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.Retriever;
+import schemacrawler.schemacrawler.RowCountsMode;
+import us.fatehi.utility.DaemonThreadFactory;
+import us.fatehi.utility.StatementCanceller;
 import us.fatehi.utility.string.StringFormat;
 
+/**
+ * Retrieves row counts for tables. Exact row counts are counted with a query for each table, or for
+ * a batch of tables, and queries run concurrently on separate connections if a connection supplier
+ * is provided. Estimated row counts are read from optimizer statistics in a single query, if the
+ * database plugin provides one.
+ */
 @Retriever
 public final class TableRowCountsRetriever {
 
   private static final SchemaCrawlerLogger LOGGER =
       SchemaCrawlerLogger.getLogger(TableRowCountsRetriever.class.getName());
 
+  private static final int UNKNOWN_ROW_COUNT = -1;
+
+  private static String tableKey(
+      final String catalogName, final String schemaName, final String tableName) {
+    return Objects.toString(catalogName, "")
+        + "."
+        + Objects.toString(schemaName, "")
+        + "."
+        + tableName;
+  }
+
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
+  private final InformationSchemaViews informationSchemaViews;
   private final Catalog catalog;
+  private final LoadOptions loadOptions;
 
   public TableRowCountsRetriever(final Connection connection, final Catalog catalog)
       throws SQLException {
+    this(
+        connection,
+        null,
+        InformationSchemaViewsBuilder.newInformationSchemaViews(),
+        catalog,
+        LoadOptionsBuilder.newLoadOptions());
+  }
+
+  /**
+   * Creates a row counts retriever that may count rows concurrently.
+   *
+   * @param connection Live database connection
+   * @param connectionSupplier Supplier of additional database connections, or null if only the
+   *     single connection may be used
+   * @param informationSchemaViews Queries for the database, including row count estimates
+   * @param catalog Catalog with tables to count
+   * @param loadOptions Options for how row counts are loaded
+   * @throws SQLException On an exception
+   */
+  public TableRowCountsRetriever(
+      final Connection connection,
+      final Supplier<Connection> connectionSupplier,
+      final InformationSchemaViews informationSchemaViews,
+      final Catalog catalog,
+      final LoadOptions loadOptions)
+      throws SQLException {
     this.connection = checkConnection(connection);
+    this.connectionSupplier = connectionSupplier;
+    this.informationSchemaViews =
+        requireNonNull(informationSchemaViews, "No information schema views provided");
     this.catalog = requireNonNull(catalog, "No catalog provided");
+    this.loadOptions = requireNonNull(loadOptions, "No load options provided");
   }
 
   public void retrieveTableRowCounts() {
@@ -76,16 +149,239 @@ public final class TableRowCountsRetriever {
       return;
     }
 
-    final Query query =
-        new Query("schemacrawler.table.row_counts", "SELECT COUNT(*) FROM ${table}");
-    final List<Table> allTables = new ArrayList<>(catalog.getTables());
-    for (final Table table : allTables) {
+    if (loadOptions.getRowCountsMode() == RowCountsMode.estimate) {
+      if (informationSchemaViews.hasQuery(EXT_TABLE_ROW_COUNTS)) {
+        retrieveEstimatedRowCounts();
+        return;
+      }
+      LOGGER.log(
+          Level.INFO, "Row count estimates SQL statement was not provided, so counting rows");
+    }
+
+    retrieveExactRowCounts(identifiers);
+  }
+
+  /**
+   * Counts rows for a batch of tables in a single query, and records the counts. If the query runs
+   * for longer than the timeout, it is cancelled.
+   */
+  private void countRows(
+      final Connection countConnection,
+      final StatementCanceller canceller,
+      final Identifiers identifiers,
+      final List<Table> allTables,
+      final int[] batch,
+      final AtomicLongArray counts)
+      throws SQLException {
+
+    final StringBuilder sql = new StringBuilder(128 * batch.length);
+    for (int i = 0; i < batch.length; i++) {
+      if (i > 0) {
+        sql.append(System.lineSeparator()).append("UNION ALL").append(System.lineSeparator());
+      }
+      final Table table = allTables.get(batch[i]);
+      sql.append("SELECT ")
+          .append(i)
+          .append(" AS TABLE_INDEX, COUNT(*) AS ROW_COUNT FROM ")
+          .append(identifiers.quoteFullName(table));
+    }
+
+    try (final Statement statement = countConnection.createStatement()) {
+      final Future<?> cancellation = canceller.cancelAfterTimeout(statement, "row count query");
+      try (final ResultSet results = executeSql(statement, sql.toString())) {
+        while (results != null && results.next()) {
+          final int index = results.getInt(1);
+          final long count = results.getLong(2);
+          counts.set(batch[index], count);
+        }
+      } finally {
+        cancellation.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Counts rows for batches of tables from the queue, until the queue is empty. If a batch cannot
+   * be counted, tables in the batch are counted one at a time, so that a single table that cannot
+   * be counted does not lose counts for the others.
+   */
+  private void countRowsInBatches(
+      final Connection countConnection,
+      final StatementCanceller canceller,
+      final Identifiers identifiers,
+      final List<Table> allTables,
+      final Queue<int[]> batches,
+      final AtomicLongArray counts) {
+    int[] batch;
+    while ((batch = batches.poll()) != null) {
       try {
-        final long count = executeForLong(query, connection, table, identifiers);
-        addRowCountToTable(table, count);
+        countRows(countConnection, canceller, identifiers, allTables, batch, counts);
+        continue;
       } catch (final SQLException e) {
-        LOGGER.log(Level.WARNING, new StringFormat("Could not get count for table <%s>", table), e);
+        if (batch.length == 1) {
+          LOGGER.log(
+              Level.WARNING,
+              new StringFormat("Could not get count for table <%s>", allTables.get(batch[0])),
+              e);
+          continue;
+        }
+        LOGGER.log(
+            Level.FINE,
+            new StringFormat("Could not get counts for batch of %d tables", batch.length),
+            e);
+      }
+      for (final int tableIndex : batch) {
+        try {
+          countRows(
+              countConnection, canceller, identifiers, allTables, new int[] {tableIndex}, counts);
+        } catch (final SQLException e) {
+          LOGGER.log(
+              Level.WARNING,
+              new StringFormat("Could not get count for table <%s>", allTables.get(tableIndex)),
+              e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts rows in every table. Tables are split into batches, and the batches are shared between
+   * workers, each with its own connection. Counts are added to tables on the calling thread, once
+   * all workers have completed.
+   */
+  private void retrieveExactRowCounts(final Identifiers identifiers) {
+    final List<Table> allTables = new ArrayList<>(catalog.getTables());
+    if (allTables.isEmpty()) {
+      return;
+    }
+
+    final int batchSize = Math.max(1, loadOptions.getRowCountsBatchSize());
+    final Queue<int[]> batches = new ConcurrentLinkedQueue<>();
+    for (int start = 0; start < allTables.size(); start = start + batchSize) {
+      final int end = Math.min(start + batchSize, allTables.size());
+      final int[] batch = new int[end - start];
+      for (int i = 0; i < batch.length; i++) {
+        batch[i] = start + i;
+      }
+      batches.add(batch);
+    }
+
+    final int threadCount;
+    if (connectionSupplier == null) {
+      threadCount = 1;
+    } else {
+      threadCount = Math.min(Math.max(1, loadOptions.getMaxThreads()), batches.size());
+    }
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Counting rows for %d tables in %d batches using %d connections",
+            allTables.size(), batches.size(), threadCount));
+
+    final AtomicLongArray counts = new AtomicLongArray(allTables.size());
+    for (int i = 0; i < allTables.size(); i++) {
+      counts.set(i, UNKNOWN_ROW_COUNT);
+    }
+
+    try (final StatementCanceller canceller =
+        new StatementCanceller(
+            "schemacrawler-row-counts-canceller", loadOptions.getRowCountsTimeoutSeconds())) {
+      if (threadCount == 1) {
+        countRowsInBatches(connection, canceller, identifiers, allTables, batches, counts);
+      } else {
+        retrieveExactRowCountsConcurrently(
+            threadCount, canceller, identifiers, allTables, batches, counts);
+      }
+    }
+
+    for (int i = 0; i < allTables.size(); i++) {
+      final long count = counts.get(i);
+      if (count != UNKNOWN_ROW_COUNT) {
+        addRowCountToTable(allTables.get(i), count);
+      }
+    }
+  }
+
+  private void retrieveExactRowCountsConcurrently(
+      final int threadCount,
+      final StatementCanceller canceller,
+      final Identifiers identifiers,
+      final List<Table> allTables,
+      final Queue<int[]> batches,
+      final AtomicLongArray counts) {
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threadCount, new DaemonThreadFactory("schemacrawler-row-counts"));
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  try (final Connection workerConnection = connectionSupplier.get()) {
+                    countRowsInBatches(
+                        workerConnection, canceller, identifiers, allTables, batches, counts);
+                  } catch (final SQLException e) {
+                    LOGGER.log(Level.WARNING, "Could not close row count connection", e);
+                  }
+                }));
+      }
+      for (final Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (final ExecutionException e) {
+          LOGGER.log(Level.WARNING, "Could not get row counts", e.getCause());
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.log(Level.WARNING, "Interrupted while counting rows", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Reads row count estimates for all tables in a single query. Tables without statistics, such as
+   * views, do not get a row count.
+   */
+  private void retrieveEstimatedRowCounts() {
+    final Map<String, Table> tables = new HashMap<>();
+    for (final Table table : catalog.getTables()) {
+      final Schema schema = table.getSchema();
+      tables.put(tableKey(schema.getCatalogName(), schema.getName(), table.getName()), table);
+    }
+
+    LOGGER.log(Level.INFO, "Retrieving row count estimates");
+
+    final Query rowCountsSql = informationSchemaViews.getQuery(EXT_TABLE_ROW_COUNTS);
+    int estimatesCount = 0;
+    try (final Statement statement = connection.createStatement();
+        final ResultSet results = executeAgainstSchema(rowCountsSql, statement, null)) {
+      while (results != null && results.next()) {
+        final String catalogName = results.getString("TABLE_CATALOG");
+        final String schemaName = results.getString("TABLE_SCHEMA");
+        final String tableName = results.getString("TABLE_NAME");
+        final long rowCount = results.getLong("ROW_COUNT");
+        if (results.wasNull()) {
+          continue;
+        }
+
+        final Table table = tables.get(tableKey(catalogName, schemaName, tableName));
+        if (table == null) {
+          continue;
+        }
+        addRowCountToTable(table, rowCount, true);
+        estimatesCount++;
       }
+    } catch (final SQLException e) {
+      LOGGER.log(
+          Level.WARNING,
+          new StringFormat("Could not retrieve row count estimates from SQL:%n%s", rowCountsSql),
+          e);
     }
+
+    LOGGER.log(
+        Level.INFO, new StringFormat("Retrieved %d row count estimates", estimatesCount));
   }
 }
@@ -36,11 +36,14 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.crawl.PartitionedMetadataRetrieval.TableMetadataFetch;
+import schemacrawler.crawl.PartitionedMetadataRetrieval.TableMetadataMerge;
 import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.DatabaseObject;
 import schemacrawler.schema.JavaSqlType;
@@ -113,6 +116,10 @@ abstract class AbstractRetriever {
     return retrieverConnection.getConnection();
   }
 
+  final FetchSizePolicy getFetchSizePolicy() {
+    return retrieverConnection.getFetchSizePolicy();
+  }
+
   final DatabaseMetaData getMetaData() {
     return retrieverConnection.getMetaData();
   }
@@ -125,6 +132,18 @@ abstract class AbstractRetriever {
     return options.getLimitOptions().get(ruleForSchemaInclusion);
   }
 
+  /**
+   * Checks whether table metadata from database metadata calls can be retrieved concurrently, on
+   * additional connections. This needs a supplier of connections, and load options that allow more
+   * than one thread.
+   *
+   * @return Whether table metadata can be retrieved concurrently
+   */
+  final boolean isPartitionedMetadataRetrieval() {
+    return retrieverConnection.isSupportsAdditionalConnections()
+        && options.getLoadOptions().isParallelCrawl();
+  }
+
   final void logPossiblyUnsupportedSQLFeature(
       final Supplier<String> message, final SQLException e) {
     // HYC00 = Optional feature not implemented
@@ -171,31 +190,36 @@ abstract class AbstractRetriever {
       final int javaSqlTypeInt,
       final String databaseSpecificTypeName,
       final String mappedClassName) {
-    MutableColumnDataType columnDataType =
-        catalog
-            .lookupColumnDataType(schema, databaseSpecificTypeName)
-            .orElse(catalog.lookupSystemColumnDataType(databaseSpecificTypeName).orElse(null));
-    // Create new data type, if needed
-    if (columnDataType == null) {
-      columnDataType = new MutableColumnDataType(schema, databaseSpecificTypeName);
-      final JavaSqlType javaSqlType = retrieverConnection.getJavaSqlTypes().valueOf(javaSqlTypeInt);
-      columnDataType.setJavaSqlType(javaSqlType);
-      if (isBlank(mappedClassName)) {
-        final TypeMap typeMap = retrieverConnection.getTypeMap();
-        final Class<?> mappedClass;
-        if (typeMap.containsKey(databaseSpecificTypeName)) {
-          mappedClass = typeMap.get(databaseSpecificTypeName);
+    // Tables and routines may be crawled in parallel, and both can create
+    // column data types, so lookup and creation need to be atomic
+    synchronized (catalog) {
+      MutableColumnDataType columnDataType =
+          catalog
+              .lookupColumnDataType(schema, databaseSpecificTypeName)
+              .orElse(catalog.lookupSystemColumnDataType(databaseSpecificTypeName).orElse(null));
+      // Create new data type, if needed
+      if (columnDataType == null) {
+        columnDataType = new MutableColumnDataType(schema, databaseSpecificTypeName);
+        final JavaSqlType javaSqlType =
+            retrieverConnection.getJavaSqlTypes().valueOf(javaSqlTypeInt);
+        columnDataType.setJavaSqlType(javaSqlType);
+        if (isBlank(mappedClassName)) {
+          final TypeMap typeMap = retrieverConnection.getTypeMap();
+          final Class<?> mappedClass;
+          if (typeMap.containsKey(databaseSpecificTypeName)) {
+            mappedClass = typeMap.get(databaseSpecificTypeName);
+          } else {
+            mappedClass = typeMap.get(javaSqlType.getName());
+          }
+          columnDataType.setTypeMappedClass(mappedClass);
         } else {
-          mappedClass = typeMap.get(javaSqlType.getName());
+          columnDataType.setTypeMappedClass(mappedClassName);
         }
-        columnDataType.setTypeMappedClass(mappedClass);
-      } else {
-        columnDataType.setTypeMappedClass(mappedClassName);
-      }
 
-      catalog.addColumnDataType(columnDataType);
+        catalog.addColumnDataType(columnDataType);
+      }
+      return columnDataType;
     }
-    return columnDataType;
   }
 
   final Optional<MutableRoutine> lookupRoutine(
@@ -226,4 +250,27 @@ abstract class AbstractRetriever {
       return null;
     }
   }
+
+  /**
+   * Retrieves table metadata concurrently, with tables partitioned by schema, and each partition
+   * fetched on its own connection, as long as connections are free. Results are merged on the
+   * calling thread.
+   *
+   * @param description Description of the metadata, for logging and error messages
+   * @param tables Tables to retrieve metadata for
+   * @param merge Merges results for a table into the catalog
+   * @param fetches Database metadata calls to make for each table
+   * @throws SQLException On an exception
+   */
+  final void retrievePartitioned(
+      final String description,
+      final List<MutableTable> tables,
+      final TableMetadataMerge merge,
+      final TableMetadataFetch... fetches)
+      throws SQLException {
+    final PartitionedMetadataRetrieval partitionedRetrieval =
+        new PartitionedMetadataRetrieval(
+            retrieverConnection, options.getLoadOptions().getMaxThreads(), description);
+    partitionedRetrieval.retrieve(tables, merge, fetches);
+  }
 }
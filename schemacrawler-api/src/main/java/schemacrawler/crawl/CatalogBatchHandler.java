@@ -0,0 +1,61 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Receives a catalog from a streaming crawl, in batches, as soon as each batch has been crawled.
+ *
+ * @author Sualeh Fatehi
+ */
+public interface CatalogBatchHandler {
+
+  /**
+   * Called once, before any batches, with a catalog that has database information, schemas and
+   * column data types, but no tables, routines, sequences or synonyms.
+   *
+   * @param catalog Catalog without any schema objects
+   * @throws SchemaCrawlerException On an exception
+   */
+  void begin(Catalog catalog) throws SchemaCrawlerException;
+
+  /** Called once, after all the batches have been handled. */
+  void end() throws SchemaCrawlerException;
+
+  /**
+   * Called once for each schema, with a catalog that has only the tables, routines, sequences and
+   * synonyms in that schema. The crawler does not hold on to a batch once it has been handled.
+   *
+   * @param batch Catalog for a single schema
+   * @throws SchemaCrawlerException On an exception
+   */
+  void handle(Catalog batch) throws SchemaCrawlerException;
+}
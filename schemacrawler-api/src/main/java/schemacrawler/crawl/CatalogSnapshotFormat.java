@@ -0,0 +1,94 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+/**
+ * Layout of a binary catalog snapshot. All numbers are big-endian. Strings are stored once, in a
+ * string table, and referred to everywhere else by an int string id, where -1 is null.
+ *
+ * <pre>
+ * file    := MAGIC VERSION block* strings index trailer
+ * trailer := stringsOffset:long indexOffset:long MAGIC
+ * strings := count:int offsets:int[count + 1] utf8:byte[]
+ * index   := catalogOffset:long catalogLength:int entryCount:int entry*
+ * entry   := kind:byte catalogName:str schemaName:str name:str type:str specificName:str
+ *            offset:long length:int
+ * </pre>
+ *
+ * <p>There is one block for each table, routine, sequence and synonym, and one catalog block with
+ * the database information, schemas and column data types. The index is written after the blocks,
+ * so that a snapshot can be written to a stream, and a reader can pick out the blocks it needs
+ * without reading the rest of the file. Inside a table block, column attributes are written one
+ * attribute at a time for all columns, rather than one column at a time.
+ */
+final class CatalogSnapshotFormat {
+
+  static final int MAGIC = 0x5343534E; // "SCSN"
+  static final int VERSION = 1;
+
+  static final int HEADER_LENGTH = 8;
+  static final int TRAILER_LENGTH = 20;
+
+  static final int NULL_ID = -1;
+
+  static final byte TABLE = 1;
+  static final byte VIEW = 2;
+  static final byte FUNCTION = 3;
+  static final byte PROCEDURE = 4;
+  static final byte SEQUENCE = 5;
+  static final byte SYNONYM = 6;
+
+  // Kinds of objects referenced by a synonym
+  static final byte REFERENCE_TABLE = 1;
+  static final byte REFERENCE_ROUTINE = 2;
+  static final byte REFERENCE_OTHER = 3;
+
+  // Attribute value types
+  static final byte VALUE_NULL = 0;
+  static final byte VALUE_STRING = 1;
+  static final byte VALUE_BOOLEAN = 2;
+  static final byte VALUE_INT = 3;
+  static final byte VALUE_LONG = 4;
+  static final byte VALUE_DOUBLE = 5;
+  static final byte VALUE_SERIALIZED = 6;
+
+  // Column flags
+  static final int COLUMN_NULLABLE = 1;
+  static final int COLUMN_AUTO_INCREMENTED = 1 << 1;
+  static final int COLUMN_GENERATED = 1 << 2;
+  static final int COLUMN_HIDDEN = 1 << 3;
+  static final int COLUMN_PART_OF_INDEX = 1 << 4;
+  static final int COLUMN_PART_OF_PRIMARY_KEY = 1 << 5;
+  static final int COLUMN_PART_OF_UNIQUE_INDEX = 1 << 6;
+  static final int COLUMN_IN_HIDDEN_LIST = 1 << 7;
+
+  private CatalogSnapshotFormat() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,1029 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.newInputStream;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_AUTO_INCREMENTED;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_GENERATED;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_HIDDEN;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_IN_HIDDEN_LIST;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_NULLABLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_PART_OF_INDEX;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_PART_OF_PRIMARY_KEY;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_PART_OF_UNIQUE_INDEX;
+import static schemacrawler.crawl.CatalogSnapshotFormat.FUNCTION;
+import static schemacrawler.crawl.CatalogSnapshotFormat.HEADER_LENGTH;
+import static schemacrawler.crawl.CatalogSnapshotFormat.MAGIC;
+import static schemacrawler.crawl.CatalogSnapshotFormat.NULL_ID;
+import static schemacrawler.crawl.CatalogSnapshotFormat.PROCEDURE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.REFERENCE_ROUTINE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.REFERENCE_TABLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.SEQUENCE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.SYNONYM;
+import static schemacrawler.crawl.CatalogSnapshotFormat.TABLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.TRAILER_LENGTH;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_BOOLEAN;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_DOUBLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_INT;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_LONG;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_NULL;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_SERIALIZED;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_STRING;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VERSION;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VIEW;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForRoutineInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSchemaInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSequenceInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSynonymInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForTableInclusion;
+import static schemacrawler.utility.EnumUtility.enumValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.DriverPropertyInfo;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
+import schemacrawler.BaseProductVersion;
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.filter.InclusionRuleFilter;
+import schemacrawler.filter.TableTypesFilter;
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.ParameterModeType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.LimitOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Loads a catalog from a binary snapshot written by a {@link CatalogSnapshotWriter}. The snapshot
+ * file is memory-mapped, and only the tables, routines, sequences and synonyms that are included
+ * by the limit options are read. Strings are decoded when they are first needed. Grep options and
+ * filter options are not applied, and the catalog should be reduced afterwards, as for a catalog
+ * loaded in any other way.
+ */
+public final class CatalogSnapshotReader {
+
+  private static final class IndexEntry {
+
+    private final byte kind;
+    private final List<String> schemaKey;
+    private final String name;
+    private final String type;
+    private final String specificName;
+    private final long offset;
+    private final int length;
+
+    IndexEntry(
+        final byte kind,
+        final List<String> schemaKey,
+        final String name,
+        final String type,
+        final String specificName,
+        final long offset,
+        final int length) {
+      this.kind = kind;
+      this.schemaKey = schemaKey;
+      this.name = name;
+      this.type = type;
+      this.specificName = specificName;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(CatalogSnapshotReader.class.getName());
+
+  /**
+   * Checks whether a file is a catalog snapshot, from the first few bytes of the file.
+   *
+   * @param file File to check
+   * @return Whether the file is a catalog snapshot
+   */
+  public static boolean isCatalogSnapshot(final Path file) {
+    if (file == null || !isRegularFile(file)) {
+      return false;
+    }
+    try (final DataInputStream in = new DataInputStream(newInputStream(file))) {
+      return in.readInt() == MAGIC;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  private final Path snapshotFile;
+  private final Map<List<String>, SchemaReference> schemas;
+  private final Map<List<String>, MutableForeignKey> foreignKeys;
+  private final Set<String> weakAssociationNames;
+  private FileChannel channel;
+  private ByteBuffer fileBuffer;
+  private ByteBuffer stringsBuffer;
+  private int stringsDataStart;
+  private String[] strings;
+  private MutableCatalog catalog;
+  private MutableColumnDataType[] columnDataTypes;
+
+  public CatalogSnapshotReader(final Path snapshotFile) {
+    this.snapshotFile = requireNonNull(snapshotFile, "No snapshot file provided");
+
+    schemas = new HashMap<>();
+    foreignKeys = new HashMap<>();
+    weakAssociationNames = new HashSet<>();
+  }
+
+  /**
+   * Loads the parts of the catalog that are included by the limit options.
+   *
+   * @param options SchemaCrawler options
+   * @return Catalog
+   * @throws SchemaCrawlerException On an exception reading the snapshot
+   */
+  public Catalog read(final SchemaCrawlerOptions options) throws SchemaCrawlerException {
+    requireNonNull(options, "No SchemaCrawler options provided");
+    final LimitOptions limitOptions = options.getLimitOptions();
+
+    try (final FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+      this.channel = channel;
+
+      final long size = channel.size();
+      if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+        throw new SchemaCrawlerException("Not a catalog snapshot, " + snapshotFile);
+      }
+      // Files larger than the largest buffer are mapped one section at a time
+      if (size <= Integer.MAX_VALUE) {
+        fileBuffer = channel.map(READ_ONLY, 0, size);
+      }
+
+      final ByteBuffer header = map(0, HEADER_LENGTH);
+      final ByteBuffer trailer = map(size - TRAILER_LENGTH, TRAILER_LENGTH);
+      final long stringsOffset = trailer.getLong();
+      final long indexOffset = trailer.getLong();
+      if (header.getInt() != MAGIC || trailer.getInt() != MAGIC) {
+        throw new SchemaCrawlerException("Not a catalog snapshot, " + snapshotFile);
+      }
+      final int version = header.getInt();
+      if (version != VERSION) {
+        throw new SchemaCrawlerException(
+            String.format("Cannot read version %d catalog snapshot, %s", version, snapshotFile));
+      }
+
+      stringsBuffer = map(stringsOffset, indexOffset - stringsOffset);
+      final int stringsCount = stringsBuffer.getInt(0);
+      stringsDataStart = 4 * (stringsCount + 2);
+      strings = new String[stringsCount];
+
+      final ByteBuffer index = map(indexOffset, size - TRAILER_LENGTH - indexOffset);
+      final long catalogOffset = index.getLong();
+      final int catalogLength = index.getInt();
+      final int entryCount = index.getInt();
+
+      readCatalog(map(catalogOffset, catalogLength), limitOptions);
+
+      final List<IndexEntry> entries = new ArrayList<>(entryCount);
+      for (int i = 0; i < entryCount; i++) {
+        final IndexEntry entry =
+            new IndexEntry(
+                index.get(),
+                Arrays.asList(readString(index), readString(index)),
+                readString(index),
+                readString(index),
+                readString(index),
+                index.getLong(),
+                index.getInt());
+        if (schemas.containsKey(entry.schemaKey)) {
+          entries.add(entry);
+        }
+      }
+
+      final int loadedCount = readEntries(entries, limitOptions);
+
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat(
+              "Loaded <%d> of <%d> objects from catalog snapshot <%s>",
+              loadedCount, entryCount, snapshotFile));
+
+      return catalog;
+    } catch (final IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new SchemaCrawlerException("Could not read catalog snapshot, " + snapshotFile, e);
+    } finally {
+      channel = null;
+      fileBuffer = null;
+      stringsBuffer = null;
+      strings = null;
+    }
+  }
+
+  private Column lookupOrCreateColumn(
+      final List<String> tableLookupKey, final String columnName) {
+    final Optional<MutableTable> tableOptional = catalog.lookupTable(tableLookupKey);
+    if (tableOptional.isPresent()) {
+      final Optional<MutableColumn> columnOptional = tableOptional.get().lookupColumn(columnName);
+      if (columnOptional.isPresent()) {
+        return columnOptional.get();
+      }
+    }
+
+    // Create the table and column, but do not add it to the catalog
+    final TablePartial table =
+        new TablePartial(schemaOf(tableLookupKey.subList(0, 2)), tableLookupKey.get(2));
+    final ColumnPartial column = new ColumnPartial(table, columnName);
+    table.addColumn(column);
+    return column;
+  }
+
+  private ByteBuffer map(final long offset, final long length) throws IOException {
+    if (offset < 0 || length < 0 || length > Integer.MAX_VALUE) {
+      throw new IOException("Bad section in catalog snapshot, at " + offset);
+    }
+    if (fileBuffer != null) {
+      final ByteBuffer buffer = fileBuffer.duplicate();
+      buffer.position((int) offset);
+      buffer.limit((int) (offset + length));
+      return buffer.slice();
+    } else {
+      return channel.map(READ_ONLY, offset, length);
+    }
+  }
+
+  private List<String> readTableLookupKey(final ByteBuffer in) {
+    return Arrays.asList(readString(in), readString(in), readString(in));
+  }
+
+  private Map<String, Object> readAttributes(final ByteBuffer in) throws IOException {
+    final int count = in.getInt();
+    final Map<String, Object> attributes = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      final String name = readString(in);
+      final Object value = readValue(in);
+      if (value != null) {
+        attributes.put(name, value);
+      }
+    }
+    return attributes;
+  }
+
+  private BigInteger readBigInteger(final ByteBuffer in) {
+    final String value = readString(in);
+    return value == null ? null : new BigInteger(value);
+  }
+
+  private boolean readBoolean(final ByteBuffer in) {
+    return in.get() != 0;
+  }
+
+  private void readCatalog(final ByteBuffer in, final LimitOptions limitOptions)
+      throws IOException {
+    final String catalogName = readString(in);
+
+    final BaseProductVersion schemaCrawlerVersion = readProductVersion(in);
+    final BaseProductVersion operatingSystemVersion = readProductVersion(in);
+    final BaseProductVersion jvmVersion = readProductVersion(in);
+    final Instant crawlTimestamp = Instant.ofEpochSecond(in.getLong(), in.getInt());
+    final UUID runId = UUID.fromString(readString(in));
+    catalog =
+        new MutableCatalog(
+            catalogName,
+            new MutableCrawlInfo(
+                schemaCrawlerVersion, operatingSystemVersion, jvmVersion, crawlTimestamp, runId));
+    readRemarksAndAttributes(catalog, in);
+
+    final MutableDatabaseInfo databaseInfo = catalog.getDatabaseInfo();
+    databaseInfo.setProductName(readString(in));
+    databaseInfo.setProductVersion(readString(in));
+    databaseInfo.setUserName(readString(in));
+    final int databasePropertiesCount = in.getInt();
+    final List<ImmutableDatabaseProperty> databaseProperties = new ArrayList<>();
+    for (int i = 0; i < databasePropertiesCount; i++) {
+      databaseProperties.add(new ImmutableDatabaseProperty(readString(in), readValue(in)));
+    }
+    databaseInfo.addAll(databaseProperties);
+    final int serverInfoCount = in.getInt();
+    for (int i = 0; i < serverInfoCount; i++) {
+      databaseInfo.addServerInfo(
+          new ImmutableServerInfoProperty(readString(in), readString(in), readString(in)));
+    }
+
+    final MutableJdbcDriverInfo jdbcDriverInfo = catalog.getJdbcDriverInfo();
+    jdbcDriverInfo.setDriverName(readString(in));
+    jdbcDriverInfo.setDriverVersion(readString(in));
+    jdbcDriverInfo.setJdbcDriverClassName(readString(in));
+    jdbcDriverInfo.setConnectionUrl(readString(in));
+    jdbcDriverInfo.setJdbcCompliant(readBoolean(in));
+    final int driverPropertiesCount = in.getInt();
+    for (int i = 0; i < driverPropertiesCount; i++) {
+      final DriverPropertyInfo driverPropertyInfo =
+          new DriverPropertyInfo(readString(in), readString(in));
+      driverPropertyInfo.description = readString(in);
+      driverPropertyInfo.required = readBoolean(in);
+      final List<String> choices = readStrings(in);
+      if (!choices.isEmpty()) {
+        driverPropertyInfo.choices = choices.toArray(new String[choices.size()]);
+      }
+      jdbcDriverInfo.addJdbcDriverProperty(new ImmutableJdbcDriverProperty(driverPropertyInfo));
+    }
+
+    final int databaseUsersCount = in.getInt();
+    for (int i = 0; i < databaseUsersCount; i++) {
+      final ImmutableDatabaseUser databaseUser = new ImmutableDatabaseUser(readString(in));
+      databaseUser.addAttributes(readAttributes(in));
+      catalog.addDatabaseUser(databaseUser);
+    }
+
+    final InclusionRuleFilter<Schema> schemaFilter =
+        new InclusionRuleFilter<>(limitOptions.get(ruleForSchemaInclusion), true);
+    final int schemasCount = in.getInt();
+    for (int i = 0; i < schemasCount; i++) {
+      final SchemaReference schema = new SchemaReference(readString(in), readString(in));
+      for (final Map.Entry<String, Object> attribute : readAttributes(in).entrySet()) {
+        schema.setAttribute(attribute.getKey(), attribute.getValue());
+      }
+      if (schemaFilter.test(schema)) {
+        catalog.addSchema(schema);
+        schemas.put(schema.toUniqueLookupKey(), schema);
+      }
+    }
+
+    readColumnDataTypes(in);
+
+    catalog.setCrawlInfo();
+  }
+
+  private void readColumnDataTypes(final ByteBuffer in) throws IOException {
+    final JavaSqlTypes javaSqlTypes = new JavaSqlTypes();
+
+    final int count = in.getInt();
+    columnDataTypes = new MutableColumnDataType[count];
+    final int[] baseTypes = new int[count];
+    for (int i = 0; i < count; i++) {
+      final Schema schema = schemaOf(Arrays.asList(readString(in), readString(in)));
+      final MutableColumnDataType columnDataType =
+          new MutableColumnDataType(schema, readString(in));
+      final boolean inCatalog = readBoolean(in);
+      readRemarksAndAttributes(columnDataType, in);
+
+      columnDataType.setAutoIncrementable(readBoolean(in));
+      columnDataType.setCaseSensitive(readBoolean(in));
+      columnDataType.setFixedPrecisionScale(readBoolean(in));
+      columnDataType.setNullable(readBoolean(in));
+      columnDataType.setUnsigned(readBoolean(in));
+      columnDataType.setUserDefined(readBoolean(in));
+      columnDataType.setCreateParameters(readString(in));
+      columnDataType.setJavaSqlType(javaSqlTypes.valueOf(in.getInt()));
+      columnDataType.setTypeMappedClass(readString(in));
+      columnDataType.setLiteralPrefix(readString(in));
+      columnDataType.setLiteralSuffix(readString(in));
+      columnDataType.setLocalTypeName(readString(in));
+      columnDataType.setMaximumScale(in.getInt());
+      columnDataType.setMinimumScale(in.getInt());
+      columnDataType.setNumPrecisionRadix(in.getInt());
+      columnDataType.setPrecision(in.getLong());
+      columnDataType.setSearchable(readEnum(in, SearchableType.unknown));
+      baseTypes[i] = in.getInt();
+      columnDataType.setEnumValues(readStrings(in));
+
+      columnDataTypes[i] = columnDataType;
+      if (inCatalog) {
+        catalog.addColumnDataType(columnDataType);
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      if (baseTypes[i] != NULL_ID) {
+        columnDataTypes[i].setBaseType(columnDataTypes[baseTypes[i]]);
+      }
+    }
+  }
+
+  private void readColumns(final MutableTable table, final ByteBuffer in) throws IOException {
+    final int count = in.getInt();
+    final MutableColumn[] columns = new MutableColumn[count];
+    for (int i = 0; i < count; i++) {
+      columns[i] = new MutableColumn(table, readString(in));
+    }
+    for (final MutableColumn column : columns) {
+      column.setOrdinalPosition(in.getInt());
+    }
+    for (final MutableColumn column : columns) {
+      final int columnDataTypeId = in.getInt();
+      if (columnDataTypeId != NULL_ID) {
+        column.setColumnDataType(columnDataTypes[columnDataTypeId]);
+      }
+    }
+    for (final MutableColumn column : columns) {
+      column.setSize(in.getInt());
+    }
+    for (final MutableColumn column : columns) {
+      column.setDecimalDigits(in.getInt());
+    }
+    for (final MutableColumn column : columns) {
+      final int flags = in.get();
+      column.setNullable((flags & COLUMN_NULLABLE) != 0);
+      column.setAutoIncremented((flags & COLUMN_AUTO_INCREMENTED) != 0);
+      column.setGenerated((flags & COLUMN_GENERATED) != 0);
+      column.setHidden((flags & COLUMN_HIDDEN) != 0);
+      if ((flags & COLUMN_PART_OF_INDEX) != 0) {
+        column.markAsPartOfIndex();
+      }
+      if ((flags & COLUMN_PART_OF_PRIMARY_KEY) != 0) {
+        column.markAsPartOfPrimaryKey();
+      }
+      if ((flags & COLUMN_PART_OF_UNIQUE_INDEX) != 0) {
+        column.markAsPartOfUniqueIndex();
+      }
+      if ((flags & COLUMN_IN_HIDDEN_LIST) != 0) {
+        table.addHiddenColumn(column);
+      } else {
+        table.addColumn(column);
+      }
+    }
+    for (final MutableColumn column : columns) {
+      column.setDefaultValue(readString(in));
+    }
+    for (final MutableColumn column : columns) {
+      readRemarksAndAttributes(column, in);
+      final int privilegesCount = in.getInt();
+      for (int i = 0; i < privilegesCount; i++) {
+        final MutablePrivilege<Column> privilege =
+            new MutablePrivilege<>(new ColumnReference(column), readString(in));
+        readPrivilege(privilege, in);
+        column.addPrivilege(privilege);
+      }
+    }
+  }
+
+  private int readEntries(final List<IndexEntry> entries, final LimitOptions limitOptions)
+      throws IOException {
+    final TableTypesFilter tableTypesFilter = new TableTypesFilter(limitOptions);
+    final InclusionRuleFilter<Table> tableFilter =
+        new InclusionRuleFilter<>(limitOptions.get(ruleForTableInclusion), true);
+    final InclusionRuleFilter<Routine> routineFilter =
+        new InclusionRuleFilter<>(limitOptions.get(ruleForRoutineInclusion), true);
+    final InclusionRuleFilter<Sequence> sequenceFilter =
+        new InclusionRuleFilter<>(limitOptions.get(ruleForSequenceInclusion), true);
+    final InclusionRuleFilter<Synonym> synonymFilter =
+        new InclusionRuleFilter<>(limitOptions.get(ruleForSynonymInclusion), true);
+
+    int loadedCount = 0;
+
+    // Load tables, and then resolve references between tables once all
+    // the tables that are included have been loaded
+    final Map<MutableTable, ByteBuffer> tableReferences = new HashMap<>();
+    for (final IndexEntry entry : entries) {
+      if (entry.kind != TABLE && entry.kind != VIEW) {
+        continue;
+      }
+      final Schema schema = schemas.get(entry.schemaKey);
+      final MutableTable table;
+      if (entry.kind == VIEW) {
+        table = new MutableView(schema, entry.name);
+      } else {
+        table = new MutableTable(schema, entry.name);
+      }
+      table.setTableType(new TableType(entry.type));
+      if (!tableTypesFilter.test(table) || !tableFilter.test(table)) {
+        continue;
+      }
+
+      final ByteBuffer in = map(entry.offset, entry.length);
+      readTable(table, in);
+      catalog.addTable(table);
+      tableReferences.put(table, in);
+      loadedCount++;
+    }
+    for (final Map.Entry<MutableTable, ByteBuffer> tableReference : tableReferences.entrySet()) {
+      readTableReferences(tableReference.getKey(), tableReference.getValue());
+    }
+
+    for (final IndexEntry entry : entries) {
+      final Schema schema = schemas.get(entry.schemaKey);
+      switch (entry.kind) {
+        case FUNCTION:
+        case PROCEDURE:
+          final MutableRoutine routine;
+          if (entry.kind == FUNCTION) {
+            routine = new MutableFunction(schema, entry.name);
+          } else {
+            routine = new MutableProcedure(schema, entry.name);
+          }
+          routine.setSpecificName(entry.specificName);
+          if (limitOptions.getRoutineTypes().contains(routine.getRoutineType())
+              && routineFilter.test(routine)) {
+            readRoutine(routine, map(entry.offset, entry.length));
+            catalog.addRoutine(routine);
+            loadedCount++;
+          }
+          break;
+        case SEQUENCE:
+          final MutableSequence sequence = new MutableSequence(schema, entry.name);
+          if (sequenceFilter.test(sequence)) {
+            readSequence(sequence, map(entry.offset, entry.length));
+            catalog.addSequence(sequence);
+            loadedCount++;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    // Synonyms can refer to tables and routines, so they are loaded last
+    for (final IndexEntry entry : entries) {
+      if (entry.kind != SYNONYM) {
+        continue;
+      }
+      final MutableSynonym synonym = new MutableSynonym(schemas.get(entry.schemaKey), entry.name);
+      if (synonymFilter.test(synonym)) {
+        readSynonym(synonym, map(entry.offset, entry.length));
+        catalog.addSynonym(synonym);
+        loadedCount++;
+      }
+    }
+
+    return loadedCount;
+  }
+
+  private <E extends Enum<E>> E readEnum(final ByteBuffer in, final E defaultValue) {
+    final String value = readString(in);
+    if (value == null) {
+      return null;
+    }
+    return enumValue(value, defaultValue);
+  }
+
+  private void readForeignKeys(final ByteBuffer in) throws IOException {
+    final int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      final String name = readString(in);
+      final String specificName = readString(in);
+      final MutableForeignKey foreignKey = new MutableForeignKey(name);
+      foreignKey.setSpecificName(specificName);
+      readRemarksAndAttributes(foreignKey, in);
+      foreignKey.setUpdateRule(readEnum(in, ForeignKeyUpdateRule.unknown));
+      foreignKey.setDeleteRule(readEnum(in, ForeignKeyUpdateRule.unknown));
+      foreignKey.setDeferrability(readEnum(in, ForeignKeyDeferrability.unknown));
+      foreignKey.appendDefinition(readString(in));
+
+      final int columnReferencesCount = in.getInt();
+      final int[] keySequences = new int[columnReferencesCount];
+      final List<List<String>> pkColumnKeys = new ArrayList<>();
+      final List<List<String>> fkColumnKeys = new ArrayList<>();
+      for (int j = 0; j < columnReferencesCount; j++) {
+        keySequences[j] = in.getInt();
+        pkColumnKeys.add(Arrays.asList(readString(in), readString(in), readString(in), readString(in)));
+        fkColumnKeys.add(Arrays.asList(readString(in), readString(in), readString(in), readString(in)));
+      }
+
+      // A foreign key is written with both of the tables that it relates
+      final List<String> foreignKeyLookupKey = Arrays.asList(name, specificName);
+      if (foreignKeys.containsKey(foreignKeyLookupKey)) {
+        continue;
+      }
+      foreignKeys.put(foreignKeyLookupKey, foreignKey);
+
+      for (int j = 0; j < columnReferencesCount; j++) {
+        final Column pkColumn =
+            lookupOrCreateColumn(pkColumnKeys.get(j).subList(0, 3), pkColumnKeys.get(j).get(3));
+        final Column fkColumn =
+            lookupOrCreateColumn(fkColumnKeys.get(j).subList(0, 3), fkColumnKeys.get(j).get(3));
+        final boolean isPkColumnPartial = pkColumn instanceof ColumnPartial;
+        final boolean isFkColumnPartial = fkColumn instanceof ColumnPartial;
+        if (isFkColumnPartial && isPkColumnPartial) {
+          continue;
+        }
+
+        foreignKey.addColumnReference(keySequences[j], pkColumn, fkColumn);
+
+        if (fkColumn instanceof MutableColumn) {
+          ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+          ((MutableTable) fkColumn.getParent()).addForeignKey(foreignKey);
+        } else if (isFkColumnPartial) {
+          ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+          ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+        }
+
+        if (pkColumn instanceof MutableColumn) {
+          ((MutableTable) pkColumn.getParent()).addForeignKey(foreignKey);
+        } else if (isPkColumnPartial) {
+          ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+        }
+      }
+    }
+  }
+
+  private void readIndexes(final MutableTable table, final ByteBuffer in) throws IOException {
+    final int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      final MutableIndex index = new MutableIndex(table, readString(in));
+      readRemarksAndAttributes(index, in);
+      index.setUnique(readBoolean(in));
+      index.setIndexType(readEnum(in, IndexType.unknown));
+      index.setCardinality(in.getInt());
+      index.setPages(in.getInt());
+      index.appendDefinition(readString(in));
+
+      final int columnsCount = in.getInt();
+      for (int j = 0; j < columnsCount; j++) {
+        final String columnName = readString(in);
+        final Optional<MutableColumn> columnOptional = table.lookupColumn(columnName);
+        final Column column;
+        if (columnOptional.isPresent()) {
+          column = columnOptional.get();
+        } else {
+          column = new ColumnPartial(table, columnName);
+        }
+        final MutableIndexColumn indexColumn = new MutableIndexColumn(index, column);
+        indexColumn.setKeyOrdinalPosition(in.getInt());
+        indexColumn.setSortSequence(readEnum(in, IndexColumnSortSequence.unknown));
+        indexColumn.appendDefinition(readString(in));
+        index.addColumn(indexColumn);
+      }
+
+      table.addIndex(index);
+    }
+  }
+
+  private void readPrivilege(final MutablePrivilege<?> privilege, final ByteBuffer in)
+      throws IOException {
+    readRemarksAndAttributes(privilege, in);
+    final int grantsCount = in.getInt();
+    for (int i = 0; i < grantsCount; i++) {
+      privilege.addGrant(readString(in), readString(in), readBoolean(in));
+    }
+  }
+
+  private BaseProductVersion readProductVersion(final ByteBuffer in) {
+    return new BaseProductVersion(readString(in), readString(in));
+  }
+
+  private void readRemarksAndAttributes(
+      final AbstractNamedObjectWithAttributes namedObject, final ByteBuffer in)
+      throws IOException {
+    final String remarks = readString(in);
+    if (remarks != null) {
+      namedObject.setRemarks(remarks);
+    }
+    namedObject.addAttributes(readAttributes(in));
+  }
+
+  private void readRoutine(final MutableRoutine routine, final ByteBuffer in)
+      throws IOException {
+    readRemarksAndAttributes(routine, in);
+    routine.setRoutineBodyType(readEnum(in, RoutineBodyType.unknown));
+    routine.appendDefinition(readString(in));
+    final String returnType = readString(in);
+
+    final MutableFunction function;
+    final MutableProcedure procedure;
+    if (routine instanceof MutableFunction) {
+      function = (MutableFunction) routine;
+      procedure = null;
+      function.setReturnType(enumValue(returnType, FunctionReturnType.unknown));
+    } else {
+      function = null;
+      procedure = (MutableProcedure) routine;
+      procedure.setReturnType(enumValue(returnType, ProcedureReturnType.unknown));
+    }
+
+    final int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      final String name = readString(in);
+      final MutableRoutineParameter<?> parameter;
+      if (function != null) {
+        final MutableFunctionParameter functionParameter =
+            new MutableFunctionParameter(function, name);
+        function.addParameter(functionParameter);
+        parameter = functionParameter;
+      } else {
+        final MutableProcedureParameter procedureParameter =
+            new MutableProcedureParameter(procedure, name);
+        procedure.addParameter(procedureParameter);
+        parameter = procedureParameter;
+      }
+      parameter.setOrdinalPosition(in.getInt());
+      final int columnDataTypeId = in.getInt();
+      if (columnDataTypeId != NULL_ID) {
+        parameter.setColumnDataType(columnDataTypes[columnDataTypeId]);
+      }
+      parameter.setSize(in.getInt());
+      parameter.setDecimalDigits(in.getInt());
+      parameter.setNullable(readBoolean(in));
+      parameter.setParameterMode(readEnum(in, ParameterModeType.unknown));
+      readRemarksAndAttributes(parameter, in);
+    }
+  }
+
+  private void readSequence(final MutableSequence sequence, final ByteBuffer in)
+      throws IOException {
+    readRemarksAndAttributes(sequence, in);
+    sequence.setCycle(readBoolean(in));
+    sequence.setIncrement(in.getLong());
+    sequence.setStartValue(readBigInteger(in));
+    sequence.setMaximumValue(readBigInteger(in));
+    sequence.setMinimumValue(readBigInteger(in));
+  }
+
+  private String readString(final ByteBuffer in) {
+    final int id = in.getInt();
+    if (id == NULL_ID) {
+      return null;
+    }
+
+    String string = strings[id];
+    if (string == null) {
+      final int start = stringsBuffer.getInt(4 * (id + 1));
+      final int end = stringsBuffer.getInt(4 * (id + 2));
+      final byte[] bytes = new byte[end - start];
+      final ByteBuffer data = stringsBuffer.duplicate();
+      data.position(stringsDataStart + start);
+      data.get(bytes);
+      string = new String(bytes, UTF_8);
+      strings[id] = string;
+    }
+    return string;
+  }
+
+  private List<String> readStrings(final ByteBuffer in) {
+    final int count = in.getInt();
+    final List<String> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(readString(in));
+    }
+    return values;
+  }
+
+  private void readSynonym(final MutableSynonym synonym, final ByteBuffer in)
+      throws IOException {
+    readRemarksAndAttributes(synonym, in);
+
+    final byte kind = in.get();
+    final List<String> schemaKey = Arrays.asList(readString(in), readString(in));
+    final String name = readString(in);
+    DatabaseObject referencedObject = null;
+    if (kind == REFERENCE_TABLE) {
+      final List<String> tableLookupKey = new ArrayList<>(schemaKey);
+      tableLookupKey.add(name);
+      referencedObject = catalog.lookupTable(tableLookupKey).orElse(null);
+    } else if (kind == REFERENCE_ROUTINE) {
+      final List<String> routineLookupKey = new ArrayList<>(schemaKey);
+      routineLookupKey.add(name);
+      routineLookupKey.add(readString(in));
+      referencedObject = catalog.lookupRoutine(routineLookupKey).orElse(null);
+    }
+    if (referencedObject == null) {
+      referencedObject =
+          new AbstractDatabaseObject(schemaOf(schemaKey), name) {
+
+            private static final long serialVersionUID = 3419813622806582557L;
+          };
+    }
+    synonym.setReferencedObject(referencedObject);
+  }
+
+  private void readTable(final MutableTable table, final ByteBuffer in) throws IOException {
+    readRemarksAndAttributes(table, in);
+    table.setSortIndex(in.getInt());
+    table.appendDefinition(readString(in));
+
+    readColumns(table, in);
+
+    if (readBoolean(in)) {
+      final MutablePrimaryKey primaryKey = new MutablePrimaryKey(table, readString(in));
+      readTableConstraint(table, primaryKey, in);
+      table.setPrimaryKey(primaryKey);
+    }
+
+    final int tableConstraintsCount = in.getInt();
+    for (int i = 0; i < tableConstraintsCount; i++) {
+      final boolean isPrimaryKey = readBoolean(in);
+      if (isPrimaryKey) {
+        table.addTableConstraint(table.getPrimaryKey());
+      } else {
+        final MutableTableConstraint tableConstraint =
+            new MutableTableConstraint(table, readString(in));
+        readTableConstraint(table, tableConstraint, in);
+        table.addTableConstraint(tableConstraint);
+      }
+    }
+
+    readIndexes(table, in);
+    readTriggers(table, in);
+
+    final int privilegesCount = in.getInt();
+    for (int i = 0; i < privilegesCount; i++) {
+      final MutablePrivilege<Table> privilege =
+          new MutablePrivilege<>(new TableReference(table), readString(in));
+      readPrivilege(privilege, in);
+      table.addPrivilege(privilege);
+    }
+
+    if (table instanceof MutableView) {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(readEnum(in, CheckOptionType.unknown));
+      view.setUpdatable(readBoolean(in));
+    }
+  }
+
+  private void readTableConstraint(
+      final MutableTable table, final MutableTableConstraint tableConstraint, final ByteBuffer in)
+      throws IOException {
+    readRemarksAndAttributes(tableConstraint, in);
+    tableConstraint.setTableConstraintType(readEnum(in, TableConstraintType.unknown));
+    tableConstraint.setDeferrable(readBoolean(in));
+    tableConstraint.setInitiallyDeferred(readBoolean(in));
+    tableConstraint.appendDefinition(readString(in));
+
+    final int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      final Optional<MutableColumn> columnOptional = table.lookupColumn(readString(in));
+      final int keyOrdinalPosition = in.getInt();
+      final String definition = readString(in);
+      if (columnOptional.isPresent()) {
+        final MutableTableConstraintColumn tableConstraintColumn =
+            new MutableTableConstraintColumn(tableConstraint, columnOptional.get());
+        tableConstraintColumn.setKeyOrdinalPosition(keyOrdinalPosition);
+        tableConstraintColumn.appendDefinition(definition);
+        tableConstraint.addColumn(tableConstraintColumn);
+      }
+    }
+  }
+
+  private void readTableReferences(final MutableTable table, final ByteBuffer in)
+      throws IOException {
+    if (table instanceof MutableView) {
+      final int count = in.getInt();
+      for (int i = 0; i < count; i++) {
+        final Optional<MutableTable> usedTable = catalog.lookupTable(readTableLookupKey(in));
+        if (usedTable.isPresent()) {
+          ((MutableView) table).addTableUsage(usedTable.get());
+        }
+      }
+    }
+
+    readForeignKeys(in);
+    readWeakAssociations(in);
+  }
+
+  private void readTriggers(final MutableTable table, final ByteBuffer in) throws IOException {
+    final int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      final MutableTrigger trigger = new MutableTrigger(table, readString(in));
+      readRemarksAndAttributes(trigger, in);
+      trigger.appendActionCondition(readString(in));
+      trigger.appendActionStatement(readString(in));
+      trigger.setActionOrder(in.getInt());
+      trigger.setActionOrientation(readEnum(in, ActionOrientationType.unknown));
+      trigger.setConditionTiming(readEnum(in, ConditionTimingType.unknown));
+      trigger.setEventManipulationType(readEnum(in, EventManipulationType.unknown));
+      table.addTrigger(trigger);
+    }
+  }
+
+  private Object readValue(final ByteBuffer in) throws IOException {
+    final byte valueType = in.get();
+    switch (valueType) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return readString(in);
+      case VALUE_BOOLEAN:
+        return readBoolean(in);
+      case VALUE_INT:
+        return in.getInt();
+      case VALUE_LONG:
+        return in.getLong();
+      case VALUE_DOUBLE:
+        return in.getDouble();
+      case VALUE_SERIALIZED:
+        final byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        try (final ObjectInputStream objIn =
+            new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+          return objIn.readObject();
+        } catch (final ClassNotFoundException e) {
+          LOGGER.log(Level.FINE, "Cannot read value from catalog snapshot", e);
+          return null;
+        }
+      default:
+        throw new IOException("Unknown value type in catalog snapshot, " + valueType);
+    }
+  }
+
+  private void readWeakAssociations(final ByteBuffer in) {
+    final int count = in.getInt();
+    for (int i = 0; i < count; i++) {
+      final String name = readString(in);
+      final int columnReferencesCount = in.getInt();
+      final List<List<String>> columnKeys = new ArrayList<>();
+      for (int j = 0; j < columnReferencesCount * 2; j++) {
+        columnKeys.add(Arrays.asList(readString(in), readString(in), readString(in), readString(in)));
+      }
+
+      // A weak association is written with both of the tables that it relates
+      if (!weakAssociationNames.add(name)) {
+        continue;
+      }
+
+      final WeakAssociation weakAssociation = new WeakAssociation(name);
+      final Set<MutableTable> tables = new HashSet<>();
+      for (int j = 0; j < columnReferencesCount; j++) {
+        final List<String> pkColumnKey = columnKeys.get(2 * j);
+        final List<String> fkColumnKey = columnKeys.get(2 * j + 1);
+        final Column pkColumn = lookupOrCreateColumn(pkColumnKey.subList(0, 3), pkColumnKey.get(3));
+        final Column fkColumn = lookupOrCreateColumn(fkColumnKey.subList(0, 3), fkColumnKey.get(3));
+        if (pkColumn instanceof ColumnPartial && fkColumn instanceof ColumnPartial) {
+          continue;
+        }
+        weakAssociation.addColumnReference(pkColumn, fkColumn);
+        if (pkColumn instanceof MutableColumn) {
+          tables.add((MutableTable) pkColumn.getParent());
+        }
+        if (fkColumn instanceof MutableColumn) {
+          tables.add((MutableTable) fkColumn.getParent());
+        }
+      }
+      for (final MutableTable table : tables) {
+        table.addWeakAssociation(weakAssociation);
+      }
+    }
+  }
+
+  private Schema schemaOf(final List<String> schemaKey) {
+    final SchemaReference schema = schemas.get(schemaKey);
+    if (schema != null) {
+      return schema;
+    } else {
+      return new SchemaReference(schemaKey.get(0), schemaKey.get(1));
+    }
+  }
+}
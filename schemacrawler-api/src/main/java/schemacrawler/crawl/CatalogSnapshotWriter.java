@@ -0,0 +1,780 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_AUTO_INCREMENTED;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_GENERATED;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_HIDDEN;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_IN_HIDDEN_LIST;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_NULLABLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_PART_OF_INDEX;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_PART_OF_PRIMARY_KEY;
+import static schemacrawler.crawl.CatalogSnapshotFormat.COLUMN_PART_OF_UNIQUE_INDEX;
+import static schemacrawler.crawl.CatalogSnapshotFormat.FUNCTION;
+import static schemacrawler.crawl.CatalogSnapshotFormat.HEADER_LENGTH;
+import static schemacrawler.crawl.CatalogSnapshotFormat.MAGIC;
+import static schemacrawler.crawl.CatalogSnapshotFormat.NULL_ID;
+import static schemacrawler.crawl.CatalogSnapshotFormat.PROCEDURE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.REFERENCE_OTHER;
+import static schemacrawler.crawl.CatalogSnapshotFormat.REFERENCE_ROUTINE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.REFERENCE_TABLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.SEQUENCE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.SYNONYM;
+import static schemacrawler.crawl.CatalogSnapshotFormat.TABLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_BOOLEAN;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_DOUBLE;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_INT;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_LONG;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_NULL;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_SERIALIZED;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VALUE_STRING;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VERSION;
+import static schemacrawler.crawl.CatalogSnapshotFormat.VIEW;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DatabaseUser;
+import schemacrawler.schema.DefinedObject;
+import schemacrawler.schema.DescribedObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Writes a catalog as a compact binary snapshot, which can be loaded in part by a {@link
+ * CatalogSnapshotReader}. See {@link CatalogSnapshotFormat} for the layout of the file.
+ */
+public final class CatalogSnapshotWriter {
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(CatalogSnapshotWriter.class.getName());
+
+  private final Catalog catalog;
+  private final Map<String, Integer> stringIds;
+  private final List<String> strings;
+  private final Map<ColumnDataType, Integer> columnDataTypeIds;
+  private final List<ColumnDataType> columnDataTypes;
+  private final ByteArrayOutputStream blockBytes;
+  private final DataOutputStream block;
+  private final ByteArrayOutputStream indexBytes;
+  private final DataOutputStream index;
+  private int entryCount;
+  private long position;
+
+  public CatalogSnapshotWriter(final Catalog catalog) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+
+    stringIds = new HashMap<>();
+    strings = new ArrayList<>();
+    columnDataTypeIds = new IdentityHashMap<>();
+    columnDataTypes = new ArrayList<>();
+
+    blockBytes = new ByteArrayOutputStream(4096);
+    block = new DataOutputStream(blockBytes);
+    indexBytes = new ByteArrayOutputStream(4096);
+    index = new DataOutputStream(indexBytes);
+  }
+
+  /**
+   * Writes the catalog snapshot, and closes the output stream.
+   *
+   * @param out Output stream
+   * @throws SchemaCrawlerException On an exception writing the snapshot
+   */
+  public void write(final OutputStream out) throws SchemaCrawlerException {
+    requireNonNull(out, "No output stream provided");
+
+    // Column data types in the catalog get the lowest ids, and column
+    // data types that are only referenced by columns are added as they
+    // are found
+    final Collection<ColumnDataType> catalogColumnDataTypes = catalog.getColumnDataTypes();
+    for (final ColumnDataType columnDataType : catalogColumnDataTypes) {
+      columnDataTypeId(columnDataType);
+    }
+    final int catalogColumnDataTypesCount = columnDataTypes.size();
+
+    try (final DataOutputStream fileOut =
+        new DataOutputStream(new BufferedOutputStream(out, 64 * 1024))) {
+      fileOut.writeInt(MAGIC);
+      fileOut.writeInt(VERSION);
+      position = HEADER_LENGTH;
+
+      for (final Table table : catalog.getTables()) {
+        writeTable(table);
+        writeBlock(
+            fileOut,
+            table instanceof View ? VIEW : TABLE,
+            table,
+            table.getTableType().getTableType(),
+            null);
+      }
+      for (final Routine routine : catalog.getRoutines()) {
+        writeRoutine(routine);
+        writeBlock(
+            fileOut,
+            routine instanceof Function ? FUNCTION : PROCEDURE,
+            routine,
+            null,
+            routine.getSpecificName());
+      }
+      for (final Sequence sequence : catalog.getSequences()) {
+        writeSequence(sequence);
+        writeBlock(fileOut, SEQUENCE, sequence, null, null);
+      }
+      for (final Synonym synonym : catalog.getSynonyms()) {
+        writeSynonym(synonym);
+        writeBlock(fileOut, SYNONYM, synonym, null, null);
+      }
+
+      final long catalogOffset = position;
+      writeCatalog(catalogColumnDataTypesCount);
+      final int catalogLength = blockBytes.size();
+      blockBytes.writeTo(fileOut);
+      blockBytes.reset();
+      position += catalogLength;
+
+      final long stringsOffset = position;
+      position += writeStringTable(fileOut);
+
+      final long indexOffset = position;
+      fileOut.writeLong(catalogOffset);
+      fileOut.writeInt(catalogLength);
+      fileOut.writeInt(entryCount);
+      indexBytes.writeTo(fileOut);
+
+      fileOut.writeLong(stringsOffset);
+      fileOut.writeLong(indexOffset);
+      fileOut.writeInt(MAGIC);
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not write catalog snapshot", e);
+    }
+
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Wrote catalog snapshot with <%d> objects, and <%d> distinct strings",
+            entryCount, strings.size()));
+  }
+
+  private int columnDataTypeId(final ColumnDataType columnDataType) {
+    if (columnDataType == null) {
+      return NULL_ID;
+    }
+    Integer id = columnDataTypeIds.get(columnDataType);
+    if (id == null) {
+      id = columnDataTypes.size();
+      columnDataTypeIds.put(columnDataType, id);
+      columnDataTypes.add(columnDataType);
+    }
+    return id;
+  }
+
+  private String definitionOf(final Object object) {
+    if (object instanceof DefinedObject && ((DefinedObject) object).hasDefinition()) {
+      return ((DefinedObject) object).getDefinition();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Encodes a value, with a leading type marker. Values that are not serializable are not written.
+   *
+   * @param value Value to encode
+   * @return Encoded value, or null if the value cannot be written
+   */
+  private byte[] encodeValue(final Object value) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      if (value == null) {
+        out.writeByte(VALUE_NULL);
+      } else if (value instanceof String) {
+        out.writeByte(VALUE_STRING);
+        out.writeInt(stringId((String) value));
+      } else if (value instanceof Boolean) {
+        out.writeByte(VALUE_BOOLEAN);
+        out.writeBoolean((Boolean) value);
+      } else if (value instanceof Integer) {
+        out.writeByte(VALUE_INT);
+        out.writeInt((Integer) value);
+      } else if (value instanceof Long) {
+        out.writeByte(VALUE_LONG);
+        out.writeLong((Long) value);
+      } else if (value instanceof Double) {
+        out.writeByte(VALUE_DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (value instanceof Serializable) {
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (final ObjectOutputStream objOut = new ObjectOutputStream(serialized)) {
+          objOut.writeObject(value);
+        }
+        out.writeByte(VALUE_SERIALIZED);
+        out.writeInt(serialized.size());
+        serialized.writeTo(out);
+      } else {
+        return null;
+      }
+    } catch (final IOException e) {
+      LOGGER.log(Level.FINE, new StringFormat("Cannot write value <%s>", value), e);
+      return null;
+    }
+    return bytes.toByteArray();
+  }
+
+  private int stringId(final String string) {
+    if (string == null) {
+      return NULL_ID;
+    }
+    Integer id = stringIds.get(string);
+    if (id == null) {
+      id = strings.size();
+      stringIds.put(string, id);
+      strings.add(string);
+    }
+    return id;
+  }
+
+  private void writeAttributes(final Map<String, Object> attributes) throws IOException {
+    final List<Integer> names = new ArrayList<>();
+    final List<byte[]> values = new ArrayList<>();
+    for (final Map.Entry<String, Object> attribute : attributes.entrySet()) {
+      final byte[] value = encodeValue(attribute.getValue());
+      if (value == null) {
+        LOGGER.log(
+            Level.FINE,
+            new StringFormat("Not writing attribute <%s> to snapshot", attribute.getKey()));
+        continue;
+      }
+      names.add(stringId(attribute.getKey()));
+      values.add(value);
+    }
+
+    block.writeInt(names.size());
+    for (int i = 0; i < names.size(); i++) {
+      block.writeInt(names.get(i));
+      block.write(values.get(i));
+    }
+  }
+
+  private void writeBigInteger(final BigInteger value) throws IOException {
+    writeString(value == null ? null : value.toString());
+  }
+
+  private void writeBlock(
+      final DataOutputStream fileOut,
+      final byte kind,
+      final DatabaseObject databaseObject,
+      final String type,
+      final String specificName)
+      throws IOException {
+    final Schema schema = databaseObject.getSchema();
+
+    index.writeByte(kind);
+    index.writeInt(stringId(schema.getCatalogName()));
+    index.writeInt(stringId(schema.getName()));
+    index.writeInt(stringId(databaseObject.getName()));
+    index.writeInt(stringId(type));
+    index.writeInt(stringId(specificName));
+    index.writeLong(position);
+    index.writeInt(blockBytes.size());
+    entryCount++;
+
+    position += blockBytes.size();
+    blockBytes.writeTo(fileOut);
+    blockBytes.reset();
+  }
+
+  private void writeCatalog(final int catalogColumnDataTypesCount) throws IOException {
+    writeString(catalog.getName());
+
+    final CrawlInfo crawlInfo = catalog.getCrawlInfo();
+    writeProductVersion(crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion(crawlInfo.getOperatingSystemVersion());
+    writeProductVersion(crawlInfo.getJvmVersion());
+    final Instant crawlTimestamp = crawlInfo.getCrawlTimestampInstant();
+    block.writeLong(crawlTimestamp.getEpochSecond());
+    block.writeInt(crawlTimestamp.getNano());
+    writeString(crawlInfo.getRunId());
+
+    writeRemarksAndAttributes(catalog);
+
+    final DatabaseInfo databaseInfo = catalog.getDatabaseInfo();
+    writeProductVersion(databaseInfo);
+    writeString(databaseInfo.getUserName());
+    final Collection<DatabaseProperty> databaseProperties = databaseInfo.getProperties();
+    block.writeInt(databaseProperties.size());
+    for (final DatabaseProperty databaseProperty : databaseProperties) {
+      writeProperty(databaseProperty);
+    }
+    final Collection<Property> serverInfo = databaseInfo.getServerInfo();
+    block.writeInt(serverInfo.size());
+    for (final Property property : serverInfo) {
+      writeString(property.getName());
+      writeString(property.getValue() == null ? null : String.valueOf(property.getValue()));
+      writeString(property.getDescription());
+    }
+
+    final JdbcDriverInfo jdbcDriverInfo = catalog.getJdbcDriverInfo();
+    writeProductVersion(jdbcDriverInfo);
+    writeString(jdbcDriverInfo.getDriverClassName());
+    writeString(jdbcDriverInfo.getConnectionUrl());
+    block.writeBoolean(jdbcDriverInfo.isJdbcCompliant());
+    final Collection<JdbcDriverProperty> driverProperties = jdbcDriverInfo.getDriverProperties();
+    block.writeInt(driverProperties.size());
+    for (final JdbcDriverProperty driverProperty : driverProperties) {
+      writeString(driverProperty.getName());
+      writeString(driverProperty.getValue());
+      writeString(driverProperty.getDescription());
+      block.writeBoolean(driverProperty.isRequired());
+      writeStrings(driverProperty.getChoices());
+    }
+
+    final Collection<DatabaseUser> databaseUsers = catalog.getDatabaseUsers();
+    block.writeInt(databaseUsers.size());
+    for (final DatabaseUser databaseUser : databaseUsers) {
+      writeString(databaseUser.getName());
+      writeAttributes(databaseUser.getAttributes());
+    }
+
+    final Collection<Schema> schemas = catalog.getSchemas();
+    block.writeInt(schemas.size());
+    for (final Schema schema : schemas) {
+      writeString(schema.getCatalogName());
+      writeString(schema.getName());
+      writeAttributes(schema.getAttributes());
+    }
+
+    // Base types can add more column data types while column data types
+    // are being written, so the count is written after them
+    final byte[] catalogHeader = blockBytes.toByteArray();
+    blockBytes.reset();
+    for (int i = 0; i < columnDataTypes.size(); i++) {
+      writeColumnDataType(columnDataTypes.get(i), i < catalogColumnDataTypesCount);
+    }
+    final byte[] columnDataTypesBytes = blockBytes.toByteArray();
+    blockBytes.reset();
+
+    block.write(catalogHeader);
+    block.writeInt(columnDataTypes.size());
+    block.write(columnDataTypesBytes);
+  }
+
+  private void writeColumnDataType(final ColumnDataType columnDataType, final boolean inCatalog)
+      throws IOException {
+    final Schema schema = columnDataType.getSchema();
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+    writeString(columnDataType.getName());
+    block.writeBoolean(inCatalog);
+    writeRemarksAndAttributes(columnDataType);
+
+    block.writeBoolean(columnDataType.isAutoIncrementable());
+    block.writeBoolean(columnDataType.isCaseSensitive());
+    block.writeBoolean(columnDataType.isFixedPrecisionScale());
+    block.writeBoolean(columnDataType.isNullable());
+    block.writeBoolean(columnDataType.isUnsigned());
+    block.writeBoolean(columnDataType.isUserDefined());
+    writeString(columnDataType.getCreateParameters());
+    block.writeInt(columnDataType.getJavaSqlType().getVendorTypeNumber());
+    writeString(columnDataType.getTypeMappedClass().getName());
+    writeString(columnDataType.getLiteralPrefix());
+    writeString(columnDataType.getLiteralSuffix());
+    writeString(columnDataType.getLocalTypeName());
+    block.writeInt(columnDataType.getMaximumScale());
+    block.writeInt(columnDataType.getMinimumScale());
+    block.writeInt(columnDataType.getNumPrecisionRadix());
+    block.writeLong(columnDataType.getPrecision());
+    writeEnum(columnDataType.getSearchable());
+    block.writeInt(columnDataTypeId(columnDataType.getBaseType()));
+    writeStrings(columnDataType.getEnumValues());
+  }
+
+  private void writeColumnReference(final Column column) throws IOException {
+    writeTableReference(column.getParent());
+    writeString(column.getName());
+  }
+
+  private void writeColumns(final Table table) throws IOException {
+    final List<Column> columns = new ArrayList<>(table.getColumns());
+    final int visibleColumnsCount = columns.size();
+    columns.addAll(table.getHiddenColumns());
+
+    final int count = columns.size();
+    block.writeInt(count);
+    for (final Column column : columns) {
+      writeString(column.getName());
+    }
+    for (final Column column : columns) {
+      block.writeInt(column.getOrdinalPosition());
+    }
+    for (final Column column : columns) {
+      block.writeInt(columnDataTypeId(column.getColumnDataType()));
+    }
+    for (final Column column : columns) {
+      block.writeInt(column.getSize());
+    }
+    for (final Column column : columns) {
+      block.writeInt(column.getDecimalDigits());
+    }
+    for (int i = 0; i < count; i++) {
+      final Column column = columns.get(i);
+      int flags = 0;
+      flags |= column.isNullable() ? COLUMN_NULLABLE : 0;
+      flags |= column.isAutoIncremented() ? COLUMN_AUTO_INCREMENTED : 0;
+      flags |= column.isGenerated() ? COLUMN_GENERATED : 0;
+      flags |= column.isHidden() ? COLUMN_HIDDEN : 0;
+      flags |= column.isPartOfIndex() ? COLUMN_PART_OF_INDEX : 0;
+      flags |= column.isPartOfPrimaryKey() ? COLUMN_PART_OF_PRIMARY_KEY : 0;
+      flags |= column.isPartOfUniqueIndex() ? COLUMN_PART_OF_UNIQUE_INDEX : 0;
+      flags |= i >= visibleColumnsCount ? COLUMN_IN_HIDDEN_LIST : 0;
+      block.writeByte(flags);
+    }
+    for (final Column column : columns) {
+      writeString(column.getDefaultValue());
+    }
+    for (final Column column : columns) {
+      writeRemarksAndAttributes(column);
+      writePrivileges(column.getPrivileges());
+    }
+  }
+
+  private void writeEnum(final Enum<?> enumValue) throws IOException {
+    writeString(enumValue == null ? null : enumValue.name());
+  }
+
+  private void writeForeignKey(final ForeignKey foreignKey) throws IOException {
+    writeString(foreignKey.getName());
+    writeString(foreignKey.getSpecificName());
+    writeRemarksAndAttributes(foreignKey);
+    writeEnum(foreignKey.getUpdateRule());
+    writeEnum(foreignKey.getDeleteRule());
+    writeEnum(foreignKey.getDeferrability());
+    writeString(definitionOf(foreignKey));
+
+    final List<ForeignKeyColumnReference> columnReferences = foreignKey.getColumnReferences();
+    block.writeInt(columnReferences.size());
+    for (final ForeignKeyColumnReference columnReference : columnReferences) {
+      block.writeInt(columnReference.getKeySequence());
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+      writeColumnReference(columnReference.getForeignKeyColumn());
+    }
+  }
+
+  private void writeIndex(final Index index) throws IOException {
+    writeString(index.getName());
+    writeRemarksAndAttributes(index);
+    block.writeBoolean(index.isUnique());
+    writeEnum(index.getIndexType());
+    block.writeInt(index.getCardinality());
+    block.writeInt(index.getPages());
+    writeString(definitionOf(index));
+
+    final List<IndexColumn> columns = index.getColumns();
+    block.writeInt(columns.size());
+    for (final IndexColumn column : columns) {
+      writeString(column.getName());
+      block.writeInt(column.getIndexOrdinalPosition());
+      writeEnum(column.getSortSequence());
+      writeString(definitionOf(column));
+    }
+  }
+
+  private <D extends DatabaseObject> void writePrivileges(
+      final Collection<Privilege<D>> privileges) throws IOException {
+    block.writeInt(privileges.size());
+    for (final Privilege<D> privilege : privileges) {
+      writeString(privilege.getName());
+      writeRemarksAndAttributes(privilege);
+      final Collection<Grant<D>> grants = privilege.getGrants();
+      block.writeInt(grants.size());
+      for (final Grant<D> grant : grants) {
+        writeString(grant.getGrantor());
+        writeString(grant.getGrantee());
+        block.writeBoolean(grant.isGrantable());
+      }
+    }
+  }
+
+  private void writeProductVersion(final ProductVersion productVersion) throws IOException {
+    writeString(productVersion.getProductName());
+    writeString(productVersion.getProductVersion());
+  }
+
+  private void writeProperty(final Property property) throws IOException {
+    writeString(property.getName());
+    final byte[] value = encodeValue(property.getValue());
+    if (value == null) {
+      block.writeByte(VALUE_NULL);
+    } else {
+      block.write(value);
+    }
+  }
+
+  private <N extends NamedObject & AttributedObject & DescribedObject>
+      void writeRemarksAndAttributes(final N namedObject) throws IOException {
+    writeString(namedObject.getRemarks());
+    writeAttributes(namedObject.getAttributes());
+  }
+
+  private void writeRoutine(final Routine routine) throws IOException {
+    writeRemarksAndAttributes(routine);
+    writeEnum(routine.getRoutineBodyType());
+    writeString(definitionOf(routine));
+    writeEnum((Enum<?>) routine.getReturnType());
+
+    final List<? extends RoutineParameter<? extends Routine>> parameters =
+        routine.getParameters();
+    block.writeInt(parameters.size());
+    for (final RoutineParameter<? extends Routine> parameter : parameters) {
+      writeString(parameter.getName());
+      block.writeInt(parameter.getOrdinalPosition());
+      block.writeInt(columnDataTypeId(parameter.getColumnDataType()));
+      block.writeInt(parameter.getSize());
+      block.writeInt(parameter.getDecimalDigits());
+      block.writeBoolean(parameter.isNullable());
+      writeEnum(parameter.getParameterMode());
+      writeRemarksAndAttributes(parameter);
+    }
+  }
+
+  private void writeSequence(final Sequence sequence) throws IOException {
+    writeRemarksAndAttributes(sequence);
+    block.writeBoolean(sequence.isCycle());
+    block.writeLong(sequence.getIncrement());
+    writeBigInteger(sequence.getStartValue());
+    writeBigInteger(sequence.getMaximumValue());
+    writeBigInteger(sequence.getMinimumValue());
+  }
+
+  private void writeString(final String string) throws IOException {
+    block.writeInt(stringId(string));
+  }
+
+  private void writeStrings(final Collection<String> values) throws IOException {
+    block.writeInt(values.size());
+    for (final String value : values) {
+      writeString(value);
+    }
+  }
+
+  private long writeStringTable(final DataOutputStream fileOut) throws IOException {
+    final int count = strings.size();
+    final byte[][] encoded = new byte[count][];
+    fileOut.writeInt(count);
+    int offset = 0;
+    for (int i = 0; i < count; i++) {
+      encoded[i] = strings.get(i).getBytes(UTF_8);
+      fileOut.writeInt(offset);
+      offset += encoded[i].length;
+    }
+    fileOut.writeInt(offset);
+    for (final byte[] bytes : encoded) {
+      fileOut.write(bytes);
+    }
+    return 4L * (count + 2) + offset;
+  }
+
+  private void writeSynonym(final Synonym synonym) throws IOException {
+    writeRemarksAndAttributes(synonym);
+
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    if (referencedObject instanceof Table) {
+      block.writeByte(REFERENCE_TABLE);
+    } else if (referencedObject instanceof Routine) {
+      block.writeByte(REFERENCE_ROUTINE);
+    } else {
+      block.writeByte(REFERENCE_OTHER);
+    }
+    final Schema schema = referencedObject.getSchema();
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+    writeString(referencedObject.getName());
+    if (referencedObject instanceof Routine) {
+      writeString(((Routine) referencedObject).getSpecificName());
+    }
+  }
+
+  private void writeTable(final Table table) throws IOException {
+    writeRemarksAndAttributes(table);
+    block.writeInt(table instanceof MutableTable ? ((MutableTable) table).getSortIndex() : 0);
+    writeString(definitionOf(table));
+
+    writeColumns(table);
+
+    final TableConstraint primaryKey = table.getPrimaryKey();
+    block.writeBoolean(primaryKey != null);
+    if (primaryKey != null) {
+      writeTableConstraint(primaryKey);
+    }
+
+    final Collection<TableConstraint> tableConstraints = table.getTableConstraints();
+    block.writeInt(tableConstraints.size());
+    for (final TableConstraint tableConstraint : tableConstraints) {
+      final boolean isPrimaryKey = tableConstraint == primaryKey;
+      block.writeBoolean(isPrimaryKey);
+      if (!isPrimaryKey) {
+        writeTableConstraint(tableConstraint);
+      }
+    }
+
+    final Collection<Index> indexes = table.getIndexes();
+    block.writeInt(indexes.size());
+    for (final Index index : indexes) {
+      writeIndex(index);
+    }
+
+    final Collection<Trigger> triggers = table.getTriggers();
+    block.writeInt(triggers.size());
+    for (final Trigger trigger : triggers) {
+      writeTrigger(trigger);
+    }
+
+    writePrivileges(table.getPrivileges());
+
+    if (table instanceof View) {
+      final View view = (View) table;
+      writeEnum(view.getCheckOption());
+      block.writeBoolean(view.isUpdatable());
+    }
+
+    // References to other tables come last, so that they can be resolved
+    // after all the tables that are needed have been loaded
+    if (table instanceof View) {
+      final Collection<Table> tableUsage = ((View) table).getTableUsage();
+      block.writeInt(tableUsage.size());
+      for (final Table usedTable : tableUsage) {
+        writeTableReference(usedTable);
+      }
+    }
+
+    // Foreign keys and weak associations are written with both of the
+    // tables that they relate, so that either one can be loaded alone
+    final Collection<ForeignKey> foreignKeys = table.getForeignKeys();
+    block.writeInt(foreignKeys.size());
+    for (final ForeignKey foreignKey : foreignKeys) {
+      writeForeignKey(foreignKey);
+    }
+
+    final Collection<WeakAssociation> weakAssociations = table.getWeakAssociations();
+    block.writeInt(weakAssociations.size());
+    for (final WeakAssociation weakAssociation : weakAssociations) {
+      writeString(weakAssociation.getName());
+      final List<WeakAssociationColumnReference> columnReferences =
+          weakAssociation.getColumnReferences();
+      block.writeInt(columnReferences.size());
+      for (final ColumnReference columnReference : columnReferences) {
+        writeColumnReference(columnReference.getPrimaryKeyColumn());
+        writeColumnReference(columnReference.getForeignKeyColumn());
+      }
+    }
+  }
+
+  private void writeTableConstraint(final TableConstraint tableConstraint) throws IOException {
+    writeString(tableConstraint.getName());
+    writeRemarksAndAttributes(tableConstraint);
+    writeEnum(tableConstraint.getConstraintType());
+    block.writeBoolean(tableConstraint.isDeferrable());
+    block.writeBoolean(tableConstraint.isInitiallyDeferred());
+    writeString(definitionOf(tableConstraint));
+
+    final List<TableConstraintColumn> columns = tableConstraint.getColumns();
+    block.writeInt(columns.size());
+    for (final TableConstraintColumn column : columns) {
+      writeString(column.getName());
+      block.writeInt(column.getTableConstraintOrdinalPosition());
+      writeString(definitionOf(column));
+    }
+  }
+
+  private void writeTableReference(final Table table) throws IOException {
+    final Schema schema = table.getSchema();
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+    writeString(table.getName());
+  }
+
+  private void writeTrigger(final Trigger trigger) throws IOException {
+    writeString(trigger.getName());
+    writeRemarksAndAttributes(trigger);
+    writeString(trigger.getActionCondition());
+    writeString(trigger.getActionStatement());
+    block.writeInt(trigger.getActionOrder());
+    writeEnum(trigger.getActionOrientation());
+    writeEnum(trigger.getConditionTiming());
+    writeEnum(trigger.getEventManipulationType());
+  }
+}
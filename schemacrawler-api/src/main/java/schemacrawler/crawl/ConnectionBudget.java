@@ -0,0 +1,95 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of connections that a crawl takes from a data source at the same time. Crawl
+ * phases wait for a connection, but workers that retrieve metadata for a phase only take
+ * connections that are free, so that a phase never waits for connections that are held by phases
+ * which are themselves waiting for workers.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ConnectionBudget {
+
+  /**
+   * A budget without a limit, for retrievers that are not part of a parallel crawl.
+   *
+   * @return Connection budget without a limit
+   */
+  static ConnectionBudget unlimited() {
+    return new ConnectionBudget(Integer.MAX_VALUE);
+  }
+
+  private final Semaphore connections;
+
+  ConnectionBudget(final int maxConnections) {
+    connections = new Semaphore(Math.max(1, maxConnections));
+  }
+
+  /**
+   * Waits for a connection to become free.
+   *
+   * @throws InterruptedException If interrupted while waiting
+   */
+  void acquire() throws InterruptedException {
+    connections.acquire();
+  }
+
+  /**
+   * Frees connections that were taken from the budget.
+   *
+   * @param count Number of connections to free
+   */
+  void release(final int count) {
+    if (count > 0) {
+      connections.release(count);
+    }
+  }
+
+  /**
+   * Takes as many connections as are free, up to the number wanted, without waiting.
+   *
+   * @param wanted Number of connections wanted
+   * @return Number of connections taken, which may be 0
+   */
+  int tryAcquire(final int wanted) {
+    while (wanted > 0) {
+      final int count = Math.min(wanted, connections.availablePermits());
+      if (count <= 0) {
+        return 0;
+      }
+      if (connections.tryAcquire(count)) {
+        return count;
+      }
+    }
+    return 0;
+  }
+}
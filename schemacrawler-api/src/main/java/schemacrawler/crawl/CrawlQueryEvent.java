@@ -0,0 +1,82 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one execution of a metadata query. Only loaded if the flight recorder
+ * is available in the Java runtime.
+ */
+@Name("schemacrawler.CrawlQuery")
+@Label("Crawl Query")
+@Category("SchemaCrawler")
+@Description("Rows read and time taken by a metadata query")
+final class CrawlQueryEvent extends Event {
+
+  static void commit(
+      final String queryName,
+      final String sqlHash,
+      final int rowCount,
+      final long fetchNanos,
+      final long decodeNanos) {
+    final CrawlQueryEvent event = new CrawlQueryEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.queryName = queryName;
+    event.sqlHash = sqlHash;
+    event.rowCount = rowCount;
+    event.fetchTime = fetchNanos;
+    event.decodeTime = decodeNanos;
+    event.commit();
+  }
+
+  @Label("Query Name")
+  String queryName;
+
+  @Label("SQL Hash")
+  String sqlHash;
+
+  @Label("Row Count")
+  int rowCount;
+
+  @Label("Fetch Time")
+  @Timespan
+  long fetchTime;
+
+  @Label("Decode Time")
+  @Timespan
+  long decodeTime;
+}
@@ -0,0 +1,68 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a task in a crawl phase. Only loaded if the flight recorder is
+ * available in the Java runtime.
+ */
+@Name("schemacrawler.CrawlTask")
+@Label("Crawl Task")
+@Category("SchemaCrawler")
+@Description("Time taken by a task in a phase of a crawl")
+final class CrawlTaskEvent extends Event {
+
+  static void commit(final String phase, final String task, final long durationNanos) {
+    final CrawlTaskEvent event = new CrawlTaskEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.phase = phase;
+    event.task = task;
+    event.taskDuration = durationNanos;
+    event.commit();
+  }
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Task")
+  String task;
+
+  @Label("Task Duration")
+  @Timespan
+  long taskDuration;
+}
@@ -0,0 +1,238 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.plugin.CrawlMetricsListener;
+import schemacrawler.schema.CrawlQueryTiming;
+import schemacrawler.schema.CrawlTaskTiming;
+import us.fatehi.utility.StopWatch;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Collects timings for tasks in crawl phases, and for metadata queries, over the course of a
+ * crawl. Timings are published as flight recorder events if the flight recorder is available in
+ * the Java runtime, and as counters and timers to crawl metrics listeners that are registered as
+ * services. Timings are also recorded in the crawl information of the catalog at the end of the
+ * crawl.
+ */
+final class CrawlTelemetry {
+
+  private static final class QueryStatistics {
+
+    private final String sqlHash;
+    private long executions;
+    private long rowCount;
+    private long fetchNanos;
+    private long decodeNanos;
+
+    QueryStatistics(final String sqlHash) {
+      this.sqlHash = sqlHash;
+    }
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(CrawlTelemetry.class.getName());
+
+  private static final boolean isFlightRecorderAvailable = checkFlightRecorder();
+
+  /**
+   * Hash of the SQL text of a query, which is stable across Java runtimes.
+   *
+   * @param sql SQL text
+   * @return Hash as a hexadecimal string
+   */
+  static String sqlHash(final String sql) {
+    if (sql == null) {
+      return "";
+    }
+    return String.format("%08x", sql.hashCode());
+  }
+
+  private static boolean checkFlightRecorder() {
+    try {
+      Class.forName("jdk.jfr.Event");
+      return true;
+    } catch (final ClassNotFoundException | LinkageError e) {
+      LOGGER.log(Level.CONFIG, "Flight recorder is not available, so events are not recorded");
+      return false;
+    }
+  }
+
+  private static List<CrawlMetricsListener> loadCrawlMetricsListeners() {
+    final List<CrawlMetricsListener> listeners = new ArrayList<>();
+    try {
+      final ServiceLoader<CrawlMetricsListener> serviceLoader =
+          ServiceLoader.load(CrawlMetricsListener.class);
+      for (final CrawlMetricsListener listener : serviceLoader) {
+        LOGGER.log(
+            Level.CONFIG,
+            new StringFormat("Loading crawl metrics listener <%s>", listener.getClass().getName()));
+        listeners.add(listener);
+      }
+    } catch (final Exception | ServiceConfigurationError e) {
+      LOGGER.log(Level.WARNING, "Could not load crawl metrics listeners", e);
+    }
+    return listeners;
+  }
+
+  private final List<CrawlMetricsListener> listeners;
+  private final List<CrawlTaskTiming> taskTimings;
+  private final Map<String, QueryStatistics> queryStatistics;
+
+  /** Telemetry that is published to crawl metrics listeners registered as services. */
+  CrawlTelemetry() {
+    this(loadCrawlMetricsListeners());
+  }
+
+  CrawlTelemetry(final List<CrawlMetricsListener> listeners) {
+    this.listeners = new ArrayList<>(requireNonNull(listeners, "No listeners provided"));
+    taskTimings = new ArrayList<>();
+    queryStatistics = new TreeMap<>();
+  }
+
+  /**
+   * Timings for each metadata query, in order of query name.
+   *
+   * @return Query timings
+   */
+  synchronized List<CrawlQueryTiming> getQueryTimings() {
+    final List<CrawlQueryTiming> queryTimings = new ArrayList<>();
+    for (final Map.Entry<String, QueryStatistics> entry : queryStatistics.entrySet()) {
+      final QueryStatistics statistics = entry.getValue();
+      queryTimings.add(
+          new ImmutableCrawlQueryTiming(
+              entry.getKey(),
+              statistics.sqlHash,
+              statistics.executions,
+              statistics.rowCount,
+              Duration.ofNanos(statistics.fetchNanos),
+              Duration.ofNanos(statistics.decodeNanos)));
+    }
+    return queryTimings;
+  }
+
+  /**
+   * Timings for each task, in the order that crawl phases completed.
+   *
+   * @return Task timings
+   */
+  synchronized List<CrawlTaskTiming> getTaskTimings() {
+    return new ArrayList<>(taskTimings);
+  }
+
+  /**
+   * Records timings for all tasks in a crawl phase, once the phase is complete.
+   *
+   * @param stopWatch Stop watch for the crawl phase, with the phase name as the identifier
+   */
+  void recordPhase(final StopWatch stopWatch) {
+    requireNonNull(stopWatch, "No stop watch provided");
+    final String phase = stopWatch.getId();
+    final List<CrawlTaskTiming> phaseTimings = new ArrayList<>();
+    for (final Map.Entry<String, Duration> entry : stopWatch.getTaskDurations().entrySet()) {
+      phaseTimings.add(new ImmutableCrawlTaskTiming(phase, entry.getKey(), entry.getValue()));
+    }
+    synchronized (this) {
+      taskTimings.addAll(phaseTimings);
+    }
+
+    for (final CrawlTaskTiming taskTiming : phaseTimings) {
+      final Duration duration = taskTiming.getDuration();
+      if (isFlightRecorderAvailable) {
+        CrawlTaskEvent.commit(phase, taskTiming.getTask(), duration.toNanos());
+      }
+      for (final CrawlMetricsListener listener : listeners) {
+        try {
+          listener.recordTimer(
+              String.format("schemacrawler.crawl.%s.%s", phase, taskTiming.getTask()), duration);
+        } catch (final RuntimeException e) {
+          LOGGER.log(Level.WARNING, "Could not record crawl metrics", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Records one execution of a metadata query.
+   *
+   * @param queryName Name of the query
+   * @param sqlHash Hash of the SQL text of the query
+   * @param rowCount Number of rows read
+   * @param fetchNanos Time taken to execute the query and fetch rows, in nanoseconds
+   * @param decodeNanos Time taken to read values from rows, in nanoseconds
+   */
+  void recordQuery(
+      final String queryName,
+      final String sqlHash,
+      final int rowCount,
+      final long fetchNanos,
+      final long decodeNanos) {
+    requireNonNull(queryName, "No query name provided");
+    synchronized (this) {
+      final QueryStatistics statistics =
+          queryStatistics.computeIfAbsent(queryName, key -> new QueryStatistics(sqlHash));
+      statistics.executions++;
+      statistics.rowCount += rowCount;
+      statistics.fetchNanos += fetchNanos;
+      statistics.decodeNanos += decodeNanos;
+    }
+
+    if (isFlightRecorderAvailable) {
+      CrawlQueryEvent.commit(queryName, sqlHash, rowCount, fetchNanos, decodeNanos);
+    }
+    final String prefix = "schemacrawler.query." + queryName;
+    for (final CrawlMetricsListener listener : listeners) {
+      try {
+        listener.incrementCounter(prefix + ".executions", 1);
+        listener.incrementCounter(prefix + ".rows", rowCount);
+        listener.recordTimer(prefix + ".fetch", Duration.ofNanos(fetchNanos));
+        listener.recordTimer(prefix + ".decode", Duration.ofNanos(decodeNanos));
+      } catch (final RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Could not record crawl metrics", e);
+      }
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("%s%n%s", taskTimings, getQueryTimings());
+  }
+}
@@ -197,7 +197,8 @@ final class DataTypeRetriever extends AbstractRetriever {
 
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(typeInfoSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                typeInfoSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveSystemColumnDataTypesFromDataDictionary");
       int numSystemColumnDataTypes = 0;
       while (results.next()) {
@@ -261,7 +261,8 @@ final class DatabaseInfoRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(databaseUsersSql, statement, new IncludeAll())) {
+            new MetadataResultSet(
+                databaseUsersSql, statement, new IncludeAll(), getFetchSizePolicy())) {
       results.setDescription("retrieveDatabaseUsers");
       while (results.next()) {
         final String username = results.getString("USERNAME");
@@ -323,7 +324,8 @@ final class DatabaseInfoRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(serverInfoSql, statement, new IncludeAll())) {
+            new MetadataResultSet(
+                serverInfoSql, statement, new IncludeAll(), getFetchSizePolicy())) {
       results.setDescription("retrieveServerInfo");
       while (results.next()) {
         final String propertyName = results.getString("NAME");
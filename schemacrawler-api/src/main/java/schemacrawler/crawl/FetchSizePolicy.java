@@ -0,0 +1,201 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Decides how many rows to fetch in each round trip for results of metadata queries, over the
+ * course of a crawl. Fetch sizes start from the configured default, and double as rows are read,
+ * up to a limit on the number of rows and the estimated number of bytes in each fetch. Later
+ * executions of the same query start from the number of rows returned before. Fixed fetch sizes
+ * for information schema view queries override the adaptive fetch size.
+ *
+ * <p>Rows, estimated bytes and estimated round trips are recorded for each query, and logged at
+ * the end of a crawl.
+ */
+final class FetchSizePolicy {
+
+  private static final class QueryFetchStatistics {
+
+    private int executions;
+    private long rows;
+    private long bytes;
+    private long roundTrips;
+    private int maxRows;
+    private int maxFetchSize;
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d executions, %d rows, %d bytes, %d round trips, fetch size up to %d",
+          executions, rows, bytes, roundTrips, maxFetchSize);
+    }
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(FetchSizePolicy.class.getName());
+
+  static final int MAX_FETCH_SIZE = 10_000;
+  static final long MAX_FETCH_BYTES = 4L * 1024 * 1024;
+
+  private final int defaultFetchSize;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
+  private final CrawlTelemetry crawlTelemetry;
+  private final Map<String, QueryFetchStatistics> statistics;
+
+  FetchSizePolicy(final SchemaRetrievalOptions schemaRetrievalOptions) {
+    this(schemaRetrievalOptions, new CrawlTelemetry(Collections.emptyList()));
+  }
+
+  FetchSizePolicy(
+      final SchemaRetrievalOptions schemaRetrievalOptions, final CrawlTelemetry crawlTelemetry) {
+    this.schemaRetrievalOptions =
+        requireNonNull(schemaRetrievalOptions, "No schema retrieval options provided");
+    this.crawlTelemetry = requireNonNull(crawlTelemetry, "No crawl telemetry provided");
+    defaultFetchSize = Math.min(schemaRetrievalOptions.getFetchSize(), MAX_FETCH_SIZE);
+    statistics = new TreeMap<>();
+  }
+
+  /**
+   * Telemetry for the crawl that metadata queries are run in.
+   *
+   * @return Crawl telemetry
+   */
+  CrawlTelemetry getCrawlTelemetry() {
+    return crawlTelemetry;
+  }
+
+  /**
+   * Fetch size for the first round trip for a query.
+   *
+   * @param queryName Name of the query
+   * @return Fetch size
+   */
+  synchronized int initialFetchSize(final String queryName) {
+    final Optional<Integer> fixedFetchSize = lookupFixedFetchSize(queryName);
+    if (fixedFetchSize.isPresent()) {
+      return fixedFetchSize.get();
+    }
+
+    final QueryFetchStatistics queryStatistics = statistics.get(queryName);
+    if (queryStatistics == null || queryStatistics.rows == 0) {
+      return defaultFetchSize;
+    }
+    // Fetch as many rows as the largest previous execution, in a single round trip if possible
+    final int fetchSize = Math.min(queryStatistics.maxRows + 1, MAX_FETCH_SIZE);
+    final long rowBytes = Math.max(1, queryStatistics.bytes / queryStatistics.rows);
+    return boundedFetchSize(fetchSize, rowBytes);
+  }
+
+  /**
+   * Fetch size for the next round trip for a query, based on the rows read so far.
+   *
+   * @param queryName Name of the query
+   * @param fetchSize Fetch size of the previous round trip
+   * @param rows Number of rows read so far
+   * @param bytes Estimated number of bytes read so far
+   * @return Fetch size
+   */
+  int nextFetchSize(final String queryName, final int fetchSize, final int rows, final long bytes) {
+    if (lookupFixedFetchSize(queryName).isPresent() || rows <= 0) {
+      return fetchSize;
+    }
+    final int doubledFetchSize = (int) Math.min(2L * fetchSize, MAX_FETCH_SIZE);
+    final long rowBytes = Math.max(1, bytes / rows);
+    return Math.max(fetchSize, boundedFetchSize(doubledFetchSize, rowBytes));
+  }
+
+  /**
+   * Records the results of one execution of a query.
+   *
+   * @param queryName Name of the query
+   * @param rows Number of rows read
+   * @param bytes Estimated number of bytes read
+   * @param roundTrips Estimated number of round trips
+   * @param maxFetchSize Largest fetch size used
+   */
+  synchronized void record(
+      final String queryName,
+      final int rows,
+      final long bytes,
+      final int roundTrips,
+      final int maxFetchSize) {
+    final QueryFetchStatistics queryStatistics =
+        statistics.computeIfAbsent(queryName, key -> new QueryFetchStatistics());
+    queryStatistics.executions++;
+    queryStatistics.rows += rows;
+    queryStatistics.bytes += bytes;
+    queryStatistics.roundTrips += roundTrips;
+    queryStatistics.maxRows = Math.max(queryStatistics.maxRows, rows);
+    queryStatistics.maxFetchSize = Math.max(queryStatistics.maxFetchSize, maxFetchSize);
+  }
+
+  /** Logs rows, bytes and round trips for each query. */
+  synchronized void logStatistics() {
+    if (!LOGGER.isLoggable(Level.INFO)) {
+      return;
+    }
+    for (final Map.Entry<String, QueryFetchStatistics> entry : statistics.entrySet()) {
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat("Fetched results for <%s>: %s", entry.getKey(), entry.getValue()));
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return statistics.toString();
+  }
+
+  private int boundedFetchSize(final int fetchSize, final long rowBytes) {
+    final long byteBoundFetchSize = Math.max(1, MAX_FETCH_BYTES / rowBytes);
+    return (int) Math.max(defaultFetchSize, Math.min(fetchSize, byteBoundFetchSize));
+  }
+
+  private Optional<Integer> lookupFixedFetchSize(final String queryName) {
+    for (final InformationSchemaKey informationSchemaKey : InformationSchemaKey.values()) {
+      if (informationSchemaKey.name().equals(queryName)) {
+        return schemaRetrievalOptions.lookupFetchSize(informationSchemaKey);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -40,6 +40,7 @@ import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.schema.Column;
@@ -221,7 +222,8 @@ final class ForeignKeyRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(fkSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                fkSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveForeignKeysUsingSql");
       createForeignKeys(results, foreignKeys);
     } catch (final SQLException e) {
@@ -230,8 +232,29 @@ final class ForeignKeyRetriever extends AbstractRetriever {
   }
 
   private void retrieveForeignKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
-      throws SchemaCrawlerSQLException {
+      throws SQLException {
     final NamedObjectList<MutableForeignKey> foreignKeys = new NamedObjectList<>();
+    if (isPartitionedMetadataRetrieval()) {
+      // Exported keys are needed as well, for the same reason as below
+      retrievePartitioned(
+          "foreign keys",
+          allTables.values().stream()
+              .filter(table -> !(table instanceof View))
+              .collect(Collectors.toList()),
+          (table, results) -> createForeignKeys(results, foreignKeys),
+          (metaData, table) ->
+              metaData.getImportedKeys(
+                  table.getSchema().getCatalogName(),
+                  table.getSchema().getName(),
+                  table.getName()),
+          (metaData, table) ->
+              metaData.getExportedKeys(
+                  table.getSchema().getCatalogName(),
+                  table.getSchema().getName(),
+                  table.getName()));
+      return;
+    }
+
     for (final MutableTable table : allTables) {
       if (table instanceof View) {
         continue;
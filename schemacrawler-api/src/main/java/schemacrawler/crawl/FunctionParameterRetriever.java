@@ -206,7 +206,8 @@ final class FunctionParameterRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(functionColumnsSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                functionColumnsSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveFunctionColumnsFromDataDictionary");
       while (results.next()) {
         createFunctionParameter(results, allRoutines, parameterFilter);
@@ -0,0 +1,105 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+import schemacrawler.schema.CrawlQueryTiming;
+
+final class ImmutableCrawlQueryTiming implements CrawlQueryTiming {
+
+  private static final long serialVersionUID = 6170725316941546103L;
+
+  private final String queryName;
+  private final String sqlHash;
+  private final long executions;
+  private final long rowCount;
+  private final Duration fetchTime;
+  private final Duration decodeTime;
+
+  ImmutableCrawlQueryTiming(
+      final String queryName,
+      final String sqlHash,
+      final long executions,
+      final long rowCount,
+      final Duration fetchTime,
+      final Duration decodeTime) {
+    this.queryName = requireNonNull(queryName, "No query name provided");
+    this.sqlHash = requireNonNull(sqlHash, "No SQL hash provided");
+    this.executions = executions;
+    this.rowCount = rowCount;
+    this.fetchTime = requireNonNull(fetchTime, "No fetch time provided");
+    this.decodeTime = requireNonNull(decodeTime, "No decode time provided");
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Duration getDecodeTime() {
+    return decodeTime;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getExecutions() {
+    return executions;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Duration getFetchTime() {
+    return fetchTime;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getQueryName() {
+    return queryName;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getSqlHash() {
+    return sqlHash;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s [%s] - %d executions, %d rows, fetch %d ms, decode %d ms",
+        queryName, sqlHash, executions, rowCount, fetchTime.toMillis(), decodeTime.toMillis());
+  }
+}
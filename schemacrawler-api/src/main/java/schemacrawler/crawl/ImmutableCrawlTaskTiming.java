@@ -0,0 +1,73 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+import schemacrawler.schema.CrawlTaskTiming;
+
+final class ImmutableCrawlTaskTiming implements CrawlTaskTiming {
+
+  private static final long serialVersionUID = -3412578914508046285L;
+
+  private final String phase;
+  private final String task;
+  private final Duration duration;
+
+  ImmutableCrawlTaskTiming(final String phase, final String task, final Duration duration) {
+    this.phase = requireNonNull(phase, "No crawl phase provided");
+    this.task = requireNonNull(task, "No task name provided");
+    this.duration = requireNonNull(duration, "No duration provided");
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Duration getDuration() {
+    return duration;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getPhase() {
+    return phase;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getTask() {
+    return task;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s.%s - %d ms", phase, task, duration.toMillis());
+  }
+}
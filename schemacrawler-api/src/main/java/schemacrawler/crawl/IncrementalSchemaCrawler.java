@@ -0,0 +1,491 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.ObjectChangesRetriever.ROUTINE;
+import static schemacrawler.crawl.ObjectChangesRetriever.SEQUENCE;
+import static schemacrawler.crawl.ObjectChangesRetriever.TABLE;
+import static schemacrawler.crawl.ObjectChangesRetriever.changeMarkerKey;
+import static schemacrawler.filter.ReducerFactory.getSynonymReducer;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForRoutineInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSequenceInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSynonymInclusion;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForTableInclusion;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveForeignKeys;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveSynonymInformation;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveTableColumns;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveWeakAssociations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.inclusionrule.ExcludeAll;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.schema.BaseForeignKey;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.FilterOptions;
+import schemacrawler.schemacrawler.LimitOptions;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import schemacrawler.schemacrawler.SchemaInfoLevel;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import us.fatehi.utility.StopWatch;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Crawls only the parts of the database that changed since a previous catalog was obtained. The
+ * data dictionary is asked for a change marker, such as a last DDL timestamp, for each table,
+ * routine and sequence. Objects with a changed marker, and new objects, are crawled again, and all
+ * other objects are copied over from the previous catalog. Foreign keys of changed tables,
+ * synonyms and weak associations are retrieved again against the combined catalog.
+ *
+ * <p>Only changes that are reflected in the change marker are detected. For example, if the
+ * change marker for a table does not cover its remarks or privileges, then an edited comment or a
+ * new grant on an otherwise unchanged table is not picked up until the next full crawl. Change
+ * marker queries should therefore cover all of the metadata that is retrieved for an object.
+ *
+ * <p>A full crawl is done when the database does not provide change markers, when the previous
+ * catalog was not obtained with change markers, or when tables are filtered by their relationships
+ * to other tables. Change markers are recorded in the returned catalog, so that it can be saved as
+ * an offline snapshot, and be used for the next incremental crawl.
+ *
+ * <p>Unchanged objects are moved from the previous catalog into the new catalog, so the previous
+ * catalog should not be used after an incremental crawl. Row counts of unchanged tables are not
+ * retrieved again.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class IncrementalSchemaCrawler {
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(IncrementalSchemaCrawler.class.getName());
+
+  /** Catalog attribute used to record change markers, by object type and full name. */
+  public static final String CHANGE_MARKERS = "schemacrawler.change_markers";
+
+  private static final class ChangedObjectsInclusionRule implements InclusionRule {
+
+    private static final long serialVersionUID = -3185421632167043598L;
+
+    private final Set<String> fullNames;
+    private final InclusionRule inclusionRule;
+
+    ChangedObjectsInclusionRule(final Set<String> fullNames, final InclusionRule inclusionRule) {
+      this.fullNames = requireNonNull(fullNames, "No changed objects provided");
+      this.inclusionRule = requireNonNull(inclusionRule, "No inclusion rule provided");
+    }
+
+    @Override
+    public boolean test(final String text) {
+      return fullNames.contains(text) && inclusionRule.test(text);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("changed objects %s, and %s", fullNames, inclusionRule);
+    }
+  }
+
+  private final Connection connection;
+  private final SchemaCrawlerOptions options;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
+
+  /**
+   * Constructs an incremental SchemaCrawler object, from a connection.
+   *
+   * @param connection An database connection.
+   * @param schemaRetrievalOptions Database-specific schema retrieval overrides
+   * @param options SchemaCrawler options
+   */
+  public IncrementalSchemaCrawler(
+      final Connection connection,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final SchemaCrawlerOptions options) {
+    this.connection = requireNonNull(connection, "No connection specified");
+    this.schemaRetrievalOptions =
+        requireNonNull(
+            schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Crawls the database, reusing unchanged objects from a previous catalog.
+   *
+   * @param previousCatalog Catalog from a previous crawl, for example loaded from an offline
+   *     snapshot, or null for a full crawl
+   * @return Database metadata
+   * @throws SchemaCrawlerException On an exception
+   */
+  public Catalog crawl(final Catalog previousCatalog) throws SchemaCrawlerException {
+    final StopWatch stopWatch = new StopWatch("crawlIncremental");
+    try {
+      final RetrieverConnection retrieverConnection =
+          new RetrieverConnection(connection, schemaRetrievalOptions);
+      final ObjectChangesRetriever changesRetriever =
+          new ObjectChangesRetriever(retrieverConnection, new MutableCatalog("catalog"), options);
+      if (!changesRetriever.isChangeMarkersSupported()) {
+        LOGGER.log(
+            Level.INFO,
+            "Doing a full crawl, since object change markers are not available for this database");
+        return new SchemaCrawler(connection, schemaRetrievalOptions, options).crawl();
+      }
+
+      // Retrieve change markers before crawling, so that objects that
+      // change during the crawl are crawled again the next time
+      final Map<String, String> changeMarkers =
+          stopWatch.time("retrieveChangeMarkers", changesRetriever::retrieveChangeMarkers);
+      final Map<String, String> previousChangeMarkers = getChangeMarkers(previousCatalog);
+
+      final MutableCatalog catalog;
+      if (previousChangeMarkers == null || !isIncrementalCrawlSupported()) {
+        LOGGER.log(Level.INFO, "Doing a full crawl, and recording object change markers");
+        catalog =
+            (MutableCatalog)
+                stopWatch.time(
+                    "crawl",
+                    () -> new SchemaCrawler(connection, schemaRetrievalOptions, options).crawl());
+      } else {
+        final Map<String, Set<String>> changedObjects =
+            changedObjects(changeMarkers, previousChangeMarkers);
+        LOGGER.log(
+            Level.INFO,
+            new StringFormat(
+                "Crawling %d changed tables, %d changed routines, and %d changed sequences",
+                changedObjects.get(TABLE).size(),
+                changedObjects.get(ROUTINE).size(),
+                changedObjects.get(SEQUENCE).size()));
+
+        catalog =
+            (MutableCatalog)
+                stopWatch.time(
+                    "crawlChangedObjects",
+                    () ->
+                        new SchemaCrawler(
+                                connection,
+                                schemaRetrievalOptions,
+                                changedObjectsOptions(changedObjects))
+                            .crawl());
+        stopWatch.time(
+            "mergePreviousCatalog",
+            () -> {
+              mergePreviousCatalog(
+                  retrieverConnection,
+                  catalog,
+                  (MutableCatalog) previousCatalog,
+                  changeMarkers,
+                  previousChangeMarkers);
+              return null;
+            });
+      }
+
+      catalog.setAttribute(CHANGE_MARKERS, new HashMap<>(changeMarkers));
+
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+      return catalog;
+    } catch (final SchemaCrawlerSQLException e) {
+      throw new SchemaCrawlerException(e.getMessage(), e.getCause());
+    } catch (final SchemaCrawlerException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new SchemaCrawlerException("Exception during incremental crawl", e);
+    }
+  }
+
+  /**
+   * Groups the full names of changed and new objects by object type. Objects whose change marker is
+   * the same as in the previous catalog are not included.
+   */
+  private Map<String, Set<String>> changedObjects(
+      final Map<String, String> changeMarkers, final Map<String, String> previousChangeMarkers) {
+    final Map<String, Set<String>> changedObjects = new HashMap<>();
+    changedObjects.put(TABLE, new HashSet<>());
+    changedObjects.put(ROUTINE, new HashSet<>());
+    changedObjects.put(SEQUENCE, new HashSet<>());
+    for (final Map.Entry<String, String> changeMarker : changeMarkers.entrySet()) {
+      final String changeMarkerKey = changeMarker.getKey();
+      if (Objects.equals(changeMarker.getValue(), previousChangeMarkers.get(changeMarkerKey))) {
+        continue;
+      }
+      final String objectType = changeMarkerKey.substring(0, changeMarkerKey.indexOf(' '));
+      changedObjects.get(objectType).add(ObjectChangesRetriever.fullName(changeMarkerKey));
+    }
+    return changedObjects;
+  }
+
+  /**
+   * Options for crawling only changed objects. Foreign keys, synonyms and weak associations are
+   * retrieved after the previous catalog is merged in, since they refer to unchanged objects.
+   */
+  private SchemaCrawlerOptions changedObjectsOptions(
+      final Map<String, Set<String>> changedObjects) {
+    final LimitOptions limitOptions = options.getLimitOptions();
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder()
+            .fromOptions(limitOptions)
+            .includeSynonyms(new ExcludeAll());
+    limitOptionsBuilder.includeTables(
+        changedObjectsRule(changedObjects.get(TABLE), limitOptions.get(ruleForTableInclusion)));
+    limitOptionsBuilder.includeRoutines(
+        changedObjectsRule(changedObjects.get(ROUTINE), limitOptions.get(ruleForRoutineInclusion)));
+    limitOptionsBuilder.includeSequences(
+        changedObjectsRule(
+            changedObjects.get(SEQUENCE), limitOptions.get(ruleForSequenceInclusion)));
+
+    final SchemaInfoLevel schemaInfoLevel =
+        SchemaInfoLevelBuilder.builder()
+            .fromOptions(options.getLoadOptions().getSchemaInfoLevel())
+            .setRetrieveForeignKeys(false)
+            .setRetrieveWeakAssociations(false)
+            .toOptions();
+
+    return options
+        .withLimitOptions(limitOptionsBuilder.toOptions())
+        .withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .fromOptions(options.getLoadOptions())
+                .withSchemaInfoLevel(schemaInfoLevel)
+                .toOptions());
+  }
+
+  private InclusionRule changedObjectsRule(
+      final Set<String> fullNames, final InclusionRule inclusionRule) {
+    if (fullNames.isEmpty() || inclusionRule == null || inclusionRule instanceof ExcludeAll) {
+      return new ExcludeAll();
+    }
+    return new ChangedObjectsInclusionRule(fullNames, inclusionRule);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, String> getChangeMarkers(final Catalog previousCatalog) {
+    if (!(previousCatalog instanceof MutableCatalog)) {
+      return null;
+    }
+    final Object changeMarkers = previousCatalog.getAttribute(CHANGE_MARKERS);
+    if (changeMarkers instanceof Map) {
+      return (Map<String, String>) changeMarkers;
+    } else {
+      LOGGER.log(Level.INFO, "Previous catalog does not have object change markers");
+      return null;
+    }
+  }
+
+  /**
+   * Tables may be included because of their relationships to other tables, so a partial crawl
+   * cannot filter them correctly.
+   */
+  private boolean isIncrementalCrawlSupported() {
+    final FilterOptions filterOptions = options.getFilterOptions();
+    return filterOptions.getChildTableFilterDepth() <= 0
+        && filterOptions.getParentTableFilterDepth() <= 0;
+  }
+
+  private boolean isStale(
+      final BaseForeignKey<? extends ColumnReference> foreignKey,
+      final Set<List<String>> staleTables) {
+    for (final ColumnReference columnReference : foreignKey.getColumnReferences()) {
+      if (staleTables.contains(
+              columnReference.getPrimaryKeyColumn().getParent().toUniqueLookupKey())
+          || staleTables.contains(
+              columnReference.getForeignKeyColumn().getParent().toUniqueLookupKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isUnchanged(
+      final String changeMarkerKey,
+      final Map<String, String> changeMarkers,
+      final Map<String, String> previousChangeMarkers) {
+    final String changeMarker = changeMarkers.get(changeMarkerKey);
+    return changeMarker != null
+        && changeMarker.equals(previousChangeMarkers.get(changeMarkerKey));
+  }
+
+  /**
+   * Moves unchanged tables, routines and sequences from the previous catalog into the catalog of
+   * changed objects, and connects them to each other.
+   */
+  private void mergePreviousCatalog(
+      final RetrieverConnection retrieverConnection,
+      final MutableCatalog catalog,
+      final MutableCatalog previousCatalog,
+      final Map<String, String> changeMarkers,
+      final Map<String, String> previousChangeMarkers)
+      throws SQLException {
+
+    final NamedObjectList<MutableTable> changedTables = new NamedObjectList<>();
+    for (final MutableTable table : catalog.getAllTables()) {
+      changedTables.add(table);
+    }
+
+    final Set<List<String>> staleTables = new HashSet<>();
+    final List<MutableTable> unchangedTables = new ArrayList<>();
+    for (final MutableTable table : previousCatalog.getAllTables()) {
+      final String changeMarkerKey = changeMarkerKey(TABLE, table.getSchema(), table.getName());
+      if (isUnchanged(changeMarkerKey, changeMarkers, previousChangeMarkers)
+          && !changedTables.contains(table)) {
+        unchangedTables.add(table);
+      } else {
+        staleTables.add(table.toUniqueLookupKey());
+      }
+    }
+    for (final MutableTable table : changedTables) {
+      staleTables.add(table.toUniqueLookupKey());
+    }
+
+    for (final MutableTable table : unchangedTables) {
+      for (final ForeignKey foreignKey : table.getForeignKeys()) {
+        if (isStale(foreignKey, staleTables)) {
+          for (final ColumnReference columnReference : foreignKey.getColumnReferences()) {
+            final Column fkColumn = columnReference.getForeignKeyColumn();
+            if (fkColumn instanceof MutableColumn && fkColumn.getParent() == table) {
+              ((MutableColumn) fkColumn).setReferencedColumn(null);
+            }
+          }
+          table.removeForeignKey((MutableForeignKey) foreignKey);
+        }
+      }
+      for (final WeakAssociation weakAssociation : table.getWeakAssociations()) {
+        if (isStale(weakAssociation, staleTables)) {
+          table.removeWeakAssociation(weakAssociation);
+        }
+      }
+      final List<Column> columns = new ArrayList<>(table.getColumns());
+      columns.addAll(table.getHiddenColumns());
+      for (final Column column : columns) {
+        remapColumnDataType(catalog, (MutableColumn) column);
+      }
+      catalog.addTable(table);
+    }
+
+    for (final Routine routine : previousCatalog.getRoutines()) {
+      final String changeMarkerKey =
+          changeMarkerKey(ROUTINE, routine.getSchema(), routine.getName());
+      if (!isUnchanged(changeMarkerKey, changeMarkers, previousChangeMarkers)
+          || catalog.lookupRoutine(routine.toUniqueLookupKey()).isPresent()) {
+        continue;
+      }
+      for (final RoutineParameter<?> parameter : routine.getParameters()) {
+        remapColumnDataType(catalog, (AbstractColumn<?>) parameter);
+      }
+      catalog.addRoutine((MutableRoutine) routine);
+    }
+
+    for (final Sequence sequence : previousCatalog.getSequences()) {
+      final String changeMarkerKey =
+          changeMarkerKey(SEQUENCE, sequence.getSchema(), sequence.getName());
+      if (isUnchanged(changeMarkerKey, changeMarkers, previousChangeMarkers)
+          && !catalog.lookupSequence(sequence.getSchema(), sequence.getName()).isPresent()) {
+        catalog.addSequence((MutableSequence) sequence);
+      }
+    }
+
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Reused %d unchanged tables from the previous catalog", unchangedTables.size()));
+
+    // Views may use tables that were crawled again
+    for (final MutableTable table : unchangedTables) {
+      if (table instanceof MutableView) {
+        final MutableView view = (MutableView) table;
+        for (final Table usedTable : view.getTableUsage()) {
+          catalog.lookupTable(usedTable.toUniqueLookupKey()).ifPresent(view::addTableUsage);
+        }
+      }
+    }
+
+    final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
+    final LimitOptions limitOptions = options.getLimitOptions();
+
+    // Foreign keys of changed tables are retrieved with exported keys as
+    // well, so relationships to unchanged tables are restored
+    if (infoLevel.is(retrieveForeignKeys) && infoLevel.is(retrieveTableColumns)) {
+      final ForeignKeyRetriever fkRetriever =
+          new ForeignKeyRetriever(retrieverConnection, catalog, options);
+      fkRetriever.retrieveForeignKeys(changedTables);
+    }
+
+    if (infoLevel.is(retrieveSynonymInformation)
+        && !limitOptions.isExcludeAll(ruleForSynonymInclusion)) {
+      final SynonymRetriever synonymRetriever =
+          new SynonymRetriever(retrieverConnection, catalog, options);
+      synonymRetriever.retrieveSynonymInformation(limitOptions.get(ruleForSynonymInclusion));
+      catalog.reduce(Synonym.class, getSynonymReducer(options));
+    }
+
+    final TablesGraph tablesGraph = new TablesGraph(catalog.getAllTables());
+    tablesGraph.setTablesSortIndexes();
+
+    if (infoLevel.is(retrieveWeakAssociations)) {
+      final WeakAssociationsRetriever weakAssociationsRetriever =
+          new WeakAssociationsRetriever(catalog);
+      weakAssociationsRetriever.retrieveWeakAssociations();
+    }
+  }
+
+  private void remapColumnDataType(final MutableCatalog catalog, final AbstractColumn<?> column) {
+    final ColumnDataType columnDataType = column.getColumnDataType();
+    if (columnDataType == null) {
+      return;
+    }
+    final Optional<MutableColumnDataType> optionalColumnDataType =
+        catalog.lookupColumnDataType(columnDataType.getSchema(), columnDataType.getName());
+    if (optionalColumnDataType.isPresent()) {
+      column.setColumnDataType(optionalColumnDataType.get());
+    } else if (columnDataType instanceof MutableColumnDataType) {
+      catalog.addColumnDataType((MutableColumnDataType) columnDataType);
+    }
+  }
+}
@@ -34,6 +34,8 @@ import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.in
 import static us.fatehi.utility.Utility.isBlank;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Optional;
@@ -163,6 +165,18 @@ final class IndexRetriever extends AbstractRetriever {
     index.addAttributes(results.getAttributes());
   }
 
+  private ResultSet getIndexInfo(
+      final DatabaseMetaData metaData, final MutableTable table, final boolean unique)
+      throws SQLException {
+    final Schema tableSchema = table.getSchema();
+    return metaData.getIndexInfo(
+        tableSchema.getCatalogName(),
+        tableSchema.getName(),
+        table.getName(),
+        unique,
+        true /* approximate */);
+  }
+
   private void retrieveIndexesFromDataDictionary(final NamedObjectList<MutableTable> allTables)
       throws SchemaCrawlerSQLException {
     final InformationSchemaViews informationSchemaViews =
@@ -177,7 +191,8 @@ final class IndexRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(indexesSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                indexesSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveIndexesFromDataDictionary");
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
@@ -199,6 +214,16 @@ final class IndexRetriever extends AbstractRetriever {
 
   private void retrieveIndexesFromMetadata(final NamedObjectList<MutableTable> allTables)
       throws SQLException {
+    if (isPartitionedMetadataRetrieval()) {
+      retrievePartitioned(
+          "indexes",
+          allTables.values(),
+          this::createIndexes,
+          (metaData, table) -> getIndexInfo(metaData, table, false),
+          (metaData, table) -> getIndexInfo(metaData, table, true));
+      return;
+    }
+
     for (final MutableTable table : allTables) {
       retrieveTableIndexesFromMetadata(table, false);
       retrieveTableIndexesFromMetadata(table, true);
@@ -207,17 +232,8 @@ final class IndexRetriever extends AbstractRetriever {
 
   private void retrieveTableIndexesFromMetadata(final MutableTable table, final boolean unique)
       throws SQLException {
-
-    final Schema tableSchema = table.getSchema();
     try (final MetadataResultSet results =
-        new MetadataResultSet(
-            getMetaData()
-                .getIndexInfo(
-                    tableSchema.getCatalogName(),
-                    tableSchema.getName(),
-                    table.getName(),
-                    unique,
-                    true /* approximate */))) {
+        new MetadataResultSet(getIndexInfo(getMetaData(), table, unique))) {
       createIndexes(table, results);
     } catch (final SQLException e) {
       throw new SchemaCrawlerSQLException("Could not retrieve indexes for table " + table, e);
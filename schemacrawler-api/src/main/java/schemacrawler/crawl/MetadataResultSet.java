@@ -38,7 +38,6 @@ import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
 import static schemacrawler.utility.EnumUtility.enumValue;
 import static schemacrawler.utility.EnumUtility.enumValueFromId;
-import static us.fatehi.utility.DatabaseUtility.logSQLWarnings;
 import static us.fatehi.utility.IOUtility.readFully;
 import static us.fatehi.utility.Utility.isBlank;
 import static us.fatehi.utility.Utility.isIntegral;
@@ -49,13 +48,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
@@ -72,6 +70,10 @@ import us.fatehi.utility.string.StringFormat;
  * methods to obtain boolean, integer and string data, while abstracting away the quirks of the JDBC
  * metadata API.
  *
+ * <p>Column names are resolved to result set columns only once for each result set, and values
+ * are then read by column ordinal. Columns that are read on the current row are tracked, so that
+ * the remaining columns can be returned as additional attributes.
+ *
  * @author Sualeh Fatehi
  */
 public final class MetadataResultSet implements AutoCloseable {
@@ -81,12 +83,34 @@ public final class MetadataResultSet implements AutoCloseable {
 
   private static final int FETCHSIZE = 20;
 
+  private static Statement withFetchSize(final Statement statement, final int fetchSize) {
+    try {
+      statement.setFetchSize(fetchSize);
+    } catch (final NullPointerException | SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+    return statement;
+  }
+
   private final ResultsColumns resultsColumns;
-  private final ResultSet results;
+  private final ResultsColumn[] columns;
+  private final Map<String, Integer> columnIndexes;
+  private final BitSet readColumns;
+  private final MetadataRowSource results;
   private String description;
-  private Set<ResultsColumn> readColumns;
   private int rowCount;
   private boolean showLobs;
+  private FetchSizePolicy fetchSizePolicy;
+  private String queryName;
+  private int fetchSize;
+  private int maxFetchSize;
+  private int fetchedRowCount;
+  private int roundTrips;
+  private long byteCount;
+  private String sqlHash;
+  private long fetchNanos;
+  private long decodeNanos;
+  private long fetchStop;
 
   public MetadataResultSet(
       final Query query, final Statement statement, final InclusionRule schemaInclusionRule)
@@ -95,16 +119,67 @@ public final class MetadataResultSet implements AutoCloseable {
     description = query.getName();
   }
 
+  /**
+   * Executes a query, with fetch sizes for the results that adapt to the number of rows and the size
+   * of rows.
+   */
+  MetadataResultSet(
+      final Query query,
+      final Statement statement,
+      final InclusionRule schemaInclusionRule,
+      final FetchSizePolicy fetchSizePolicy)
+      throws SQLException {
+    this(
+        query,
+        statement,
+        schemaInclusionRule,
+        fetchSizePolicy,
+        fetchSizePolicy.initialFetchSize(query.getName()),
+        System.nanoTime());
+  }
+
+  private MetadataResultSet(
+      final Query query,
+      final Statement statement,
+      final InclusionRule schemaInclusionRule,
+      final FetchSizePolicy fetchSizePolicy,
+      final int fetchSize,
+      final long executeStart)
+      throws SQLException {
+    this(executeAgainstSchema(query, withFetchSize(statement, fetchSize), schemaInclusionRule));
+    description = query.getName();
+    queryName = query.getName();
+    sqlHash = CrawlTelemetry.sqlHash(query.getQuery());
+    this.fetchSizePolicy = fetchSizePolicy;
+    setFetchSize(fetchSize);
+    // Time taken to execute the query counts towards the time taken to fetch rows
+    fetchStop = System.nanoTime();
+    fetchNanos = fetchStop - executeStart;
+  }
+
   public MetadataResultSet(final ResultSet resultSet) throws SQLException {
-    results = requireNonNull(resultSet, "Cannot use null results");
-    try {
-      results.setFetchSize(FETCHSIZE);
-    } catch (final NullPointerException | SQLException e) {
-      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
-    }
+    this(
+        new ResultSetRowSource(resultSet),
+        new ResultsCrawler(requireNonNull(resultSet, "Cannot use null results")).crawl());
+    setFetchSize(FETCHSIZE);
+  }
+
+  /**
+   * Reads results that were read into memory, for example on another connection.
+   *
+   * @param stagedResults Staged results
+   */
+  MetadataResultSet(final StagedResults stagedResults) {
+    this(stagedResults.rows(), stagedResults.getResultsColumns());
+  }
 
-    resultsColumns = new ResultsCrawler(results).crawl();
-    readColumns = new HashSet<>();
+  private MetadataResultSet(final MetadataRowSource results, final ResultsColumns resultsColumns) {
+    this.results = requireNonNull(results, "Cannot use null results");
+    this.resultsColumns = requireNonNull(resultsColumns, "No results columns provided");
+    final List<ResultsColumn> resultsColumnsList = resultsColumns.getColumns();
+    columns = resultsColumnsList.toArray(new ResultsColumn[resultsColumnsList.size()]);
+    columnIndexes = new HashMap<>();
+    readColumns = new BitSet(columns.length);
     showLobs = true;
   }
 
@@ -118,7 +193,24 @@ public final class MetadataResultSet implements AutoCloseable {
   public void close() throws SQLException {
     results.close();
 
-    if (LOGGER.isLoggable(Level.INFO) && !isBlank(description)) {
+    if (fetchSizePolicy != null) {
+      decodeNanos = decodeNanos + (System.nanoTime() - fetchStop);
+      fetchSizePolicy.record(queryName, rowCount, byteCount, roundTrips, maxFetchSize);
+      fetchSizePolicy
+          .getCrawlTelemetry()
+          .recordQuery(queryName, sqlHash, rowCount, fetchNanos, decodeNanos);
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat(
+              "Processed %d rows (about %d bytes in %d round trips) for <%s>, "
+                  + "fetched in %d ms and decoded in %d ms",
+              rowCount,
+              byteCount,
+              roundTrips,
+              description,
+              fetchNanos / 1_000_000,
+              decodeNanos / 1_000_000));
+    } else if (LOGGER.isLoggable(Level.INFO) && !isBlank(description)) {
       LOGGER.log(Level.INFO, new StringFormat("Processed %d rows for <%s>", rowCount, description));
     }
   }
@@ -131,25 +223,24 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public Map<String, Object> getAttributes() {
     final Map<String, Object> attributes = new HashMap<>();
-    for (final ResultsColumn resultsColumn : resultsColumns) {
-      if (!readColumns.contains(resultsColumn)) {
-        try {
-          final String key = resultsColumn.getLabel().toUpperCase();
-          final Object value = getColumnData(resultsColumn);
-          attributes.put(key, value);
-        } catch (final SQLException | ArrayIndexOutOfBoundsException e) {
-          /*
-           * MySQL connector is broken and can cause
-           * ArrayIndexOutOfBoundsExceptions for no good reason (tested
-           * with connector 5.1.26 and server version 5.0.95). Ignoring
-           * the exception, we can still get some useful data out of the
-           * database.
-           */
-          LOGGER.log(
-              Level.WARNING,
-              new StringFormat("Could not read value for column <%s>", resultsColumn),
-              e);
-        }
+    for (int index = readColumns.nextClearBit(0);
+        index < columns.length;
+        index = readColumns.nextClearBit(index + 1)) {
+      final ResultsColumn resultsColumn = columns[index];
+      try {
+        final String key = resultsColumn.getLabel().toUpperCase();
+        final Object value = getColumnData(resultsColumn);
+        attributes.put(key, value);
+      } catch (final SQLException | ArrayIndexOutOfBoundsException e) {
+        /*
+         * MySQL connector is broken and can cause
+         * ArrayIndexOutOfBoundsExceptions for no good reason (tested
+         * with connector 5.1.26 and server version 5.0.95). Ignoring
+         * the exception, we can still get some useful data out of the
+         * database.
+         */
+        LOGGER.log(
+            Level.WARNING, new StringFormat("Could not read value for column <%s>", resultsColumn), e);
       }
     }
     return attributes;
@@ -178,9 +269,10 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return Whether the string evaluates to true
    */
   public boolean getBoolean(final String columnName) {
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        final Object booleanValue = results.getObject(columnName);
+        final Object booleanValue = results.getObject(ordinalPosition);
         final String stringBooleanValue;
         if (results.wasNull() || booleanValue == null) {
           LOGGER.log(
@@ -189,6 +281,7 @@ public final class MetadataResultSet implements AutoCloseable {
           return false;
         } else {
           stringBooleanValue = String.valueOf(booleanValue).trim();
+          byteCount = byteCount + stringBooleanValue.length();
         }
 
         if (isIntegral(stringBooleanValue)) {
@@ -266,9 +359,11 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public int getInt(final String columnName, final int defaultValue) {
     int value = defaultValue;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getInt(columnName);
+        value = results.getInt(ordinalPosition);
+        byteCount = byteCount + Integer.BYTES;
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
@@ -296,9 +391,11 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public long getLong(final String columnName, final long defaultValue) {
     long value = defaultValue;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getLong(columnName);
+        value = results.getLong(ordinalPosition);
+        byteCount = byteCount + Long.BYTES;
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
@@ -327,9 +424,11 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public short getShort(final String columnName, final short defaultValue) {
     short value = defaultValue;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getShort(columnName);
+        value = results.getShort(ordinalPosition);
+        byteCount = byteCount + Short.BYTES;
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
@@ -356,14 +455,16 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public String getString(final String columnName) {
     String value = null;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getString(columnName);
+        value = results.getString(ordinalPosition);
         if (results.wasNull()) {
           value = null;
         }
 
         if (value != null) {
+          byteCount = byteCount + value.length();
           value = value.trim();
         }
       } catch (final SQLException e) {
@@ -386,13 +487,27 @@ public final class MetadataResultSet implements AutoCloseable {
    * @throws SQLException On a database access error
    */
   public boolean next() throws SQLException {
-    readColumns = new HashSet<>();
+    readColumns.clear();
 
-    final boolean next = results.next();
-    logSQLWarnings(results);
-    if (next) {
-      rowCount = rowCount + 1;
+    if (fetchSizePolicy == null) {
+      return nextRow();
+    }
+
+    if (rowCount == fetchedRowCount) {
+      // All fetched rows have been read, so the next row needs a round trip
+      if (rowCount > 0) {
+        setFetchSize(fetchSizePolicy.nextFetchSize(queryName, fetchSize, rowCount, byteCount));
+      }
+      roundTrips = roundTrips + 1;
+      fetchedRowCount = fetchedRowCount + fetchSize;
     }
+
+    // Time between rows is spent reading values from the previous row
+    final long fetchStart = System.nanoTime();
+    decodeNanos = decodeNanos + (fetchStart - fetchStop);
+    final boolean next = nextRow();
+    fetchStop = System.nanoTime();
+    fetchNanos = fetchNanos + (fetchStop - fetchStart);
     return next;
   }
 
@@ -449,9 +564,24 @@ public final class MetadataResultSet implements AutoCloseable {
         }
         break;
     }
+    if (columnData instanceof String) {
+      byteCount = byteCount + ((String) columnData).length();
+    } else if (columnData instanceof byte[]) {
+      byteCount = byteCount + ((byte[]) columnData).length;
+    } else if (columnData != null) {
+      byteCount = byteCount + Long.BYTES;
+    }
     return columnData;
   }
 
+  private boolean nextRow() throws SQLException {
+    final boolean next = results.next();
+    if (next) {
+      rowCount = rowCount + 1;
+    }
+    return next;
+  }
+
   private Object readCharacterData(final Reader reader) {
     try {
       if (reader != null && showLobs) {
@@ -465,9 +595,52 @@ public final class MetadataResultSet implements AutoCloseable {
     return new BinaryData();
   }
 
-  private boolean useColumn(final String columnName) {
-    final Optional<ResultsColumn> optionalResultsColumn = resultsColumns.lookupColumn(columnName);
-    optionalResultsColumn.ifPresent(readColumns::add);
-    return optionalResultsColumn.isPresent();
+  private void setFetchSize(final int fetchSize) {
+    this.fetchSize = fetchSize;
+    maxFetchSize = Math.max(maxFetchSize, fetchSize);
+    try {
+      results.setFetchSize(fetchSize);
+    } catch (final NullPointerException | SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+  }
+
+  /**
+   * Resolves a column name to a result set column, and marks the column as read on the current row.
+   * Column names are resolved only once for each result set.
+   *
+   * @param columnName Column name, full name or label
+   * @return Ordinal position of the column in the result set, or -1 if there is no such column
+   */
+  private int useColumn(final String columnName) {
+    if (columnName == null) {
+      return -1;
+    }
+    Integer columnIndex = columnIndexes.get(columnName);
+    if (columnIndex == null) {
+      columnIndex = lookupColumnIndex(columnName);
+      columnIndexes.put(columnName, columnIndex);
+    }
+
+    final int index = columnIndex;
+    if (index < 0) {
+      return -1;
+    }
+    readColumns.set(index);
+    return columns[index].getOrdinalPosition();
+  }
+
+  private int lookupColumnIndex(final String columnName) {
+    final Optional<ResultsColumn> optionalResultsColumn =
+        resultsColumns.lookupColumn(columnName);
+    if (optionalResultsColumn.isPresent()) {
+      final ResultsColumn resultsColumn = optionalResultsColumn.get();
+      for (int index = 0; index < columns.length; index++) {
+        if (columns[index] == resultsColumn) {
+          return index;
+        }
+      }
+    }
+    return -1;
   }
 }
@@ -0,0 +1,62 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import java.io.Reader;
+import java.sql.SQLException;
+
+/**
+ * Rows that a {@link MetadataResultSet} reads from, either from a live result set, or from results
+ * that were read into memory. Only the methods that are needed to read metadata are supported.
+ * Columns are identified by ordinal position, starting at 1.
+ *
+ * @author Sualeh Fatehi
+ */
+interface MetadataRowSource extends AutoCloseable {
+
+  @Override
+  void close() throws SQLException;
+
+  Reader getCharacterStream(int columnIndex) throws SQLException;
+
+  int getInt(int columnIndex) throws SQLException;
+
+  long getLong(int columnIndex) throws SQLException;
+
+  Object getObject(int columnIndex) throws SQLException;
+
+  short getShort(int columnIndex) throws SQLException;
+
+  String getString(int columnIndex) throws SQLException;
+
+  boolean next() throws SQLException;
+
+  void setFetchSize(int fetchSize) throws SQLException;
+
+  boolean wasNull() throws SQLException;
+}
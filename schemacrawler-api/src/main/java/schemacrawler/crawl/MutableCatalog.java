@@ -87,10 +87,40 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
   private final MutableCrawlInfo crawlInfo;
 
   MutableCatalog(final String name) {
+    this(name, new MutableCrawlInfo());
+  }
+
+  MutableCatalog(final String name, final MutableCrawlInfo crawlInfo) {
     super(name);
     databaseInfo = new MutableDatabaseInfo();
     jdbcDriverInfo = new MutableJdbcDriverInfo();
+    this.crawlInfo = requireNonNull(crawlInfo, "No crawl information provided");
+  }
+
+  /**
+   * Creates a catalog for a batch of a streaming crawl, which shares database information, JDBC
+   * driver information, database users and system column data types with a catalog that was
+   * crawled earlier. Crawl timings are kept for the batch alone.
+   *
+   * @param name Catalog name
+   * @param sharedCatalog Catalog from an earlier crawl of the same database
+   */
+  MutableCatalog(final String name, final MutableCatalog sharedCatalog) {
+    super(name);
+    requireNonNull(sharedCatalog, "No shared catalog provided");
+    databaseInfo = sharedCatalog.databaseInfo;
+    jdbcDriverInfo = sharedCatalog.jdbcDriverInfo;
     crawlInfo = new MutableCrawlInfo();
+    setCrawlInfo();
+    for (final ImmutableDatabaseUser databaseUser : sharedCatalog.databaseUsers) {
+      databaseUsers.add(databaseUser);
+    }
+    final SchemaReference systemSchema = new SchemaReference();
+    for (final MutableColumnDataType columnDataType : sharedCatalog.columnDataTypes) {
+      if (columnDataType.getSchema().equals(systemSchema)) {
+        columnDataTypes.add(columnDataType);
+      }
+    }
   }
 
   /** {@inheritDoc} */
@@ -372,4 +402,9 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
   void setCrawlInfo() {
     crawlInfo.setDatabaseInfo(jdbcDriverInfo, databaseInfo);
   }
+
+  void setCrawlTimings(final CrawlTelemetry crawlTelemetry) {
+    requireNonNull(crawlTelemetry, "No crawl telemetry provided");
+    crawlInfo.setCrawlTimings(crawlTelemetry.getTaskTimings(), crawlTelemetry.getQueryTimings());
+  }
 }
@@ -37,6 +37,9 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import schemacrawler.BaseProductVersion;
@@ -45,6 +48,8 @@ import schemacrawler.OperatingSystemInfo;
 import schemacrawler.ProductVersion;
 import schemacrawler.SchemaCrawlerInfo;
 import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlQueryTiming;
+import schemacrawler.schema.CrawlTaskTiming;
 import schemacrawler.schema.DatabaseInfo;
 import schemacrawler.schema.JdbcDriverInfo;
 
@@ -75,6 +80,8 @@ final class MutableCrawlInfo implements CrawlInfo {
   private final ProductVersion schemaCrawlerVersion;
   private ProductVersion databaseVersion;
   private ProductVersion jdbcDriverVersion;
+  private List<CrawlTaskTiming> crawlTaskTimings;
+  private List<CrawlQueryTiming> crawlQueryTimings;
 
   MutableCrawlInfo() {
     schemaCrawlerVersion = new SchemaCrawlerInfo();
@@ -85,6 +92,40 @@ final class MutableCrawlInfo implements CrawlInfo {
     runId = UUID.randomUUID();
   }
 
+  MutableCrawlInfo(
+      final ProductVersion schemaCrawlerVersion,
+      final ProductVersion operatingSystemVersion,
+      final ProductVersion jvmVersion,
+      final Instant crawlTimestamp,
+      final UUID runId) {
+    this.schemaCrawlerVersion =
+        requireNonNull(schemaCrawlerVersion, "No SchemaCrawler version provided");
+    this.operatingSystemVersion =
+        requireNonNull(operatingSystemVersion, "No operating system version provided");
+    this.jvmVersion = requireNonNull(jvmVersion, "No JVM version provided");
+
+    this.crawlTimestamp = requireNonNull(crawlTimestamp, "No crawl timestamp provided");
+    this.runId = requireNonNull(runId, "No run id provided");
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<CrawlQueryTiming> getCrawlQueryTimings() {
+    if (crawlQueryTimings == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(crawlQueryTimings);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<CrawlTaskTiming> getCrawlTaskTimings() {
+    if (crawlTaskTimings == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(crawlTaskTimings);
+  }
+
   @Override
   public String getCrawlTimestamp() {
     final ZonedDateTime dateTime = ZonedDateTime.ofInstant(crawlTimestamp, UTC);
@@ -148,6 +189,15 @@ final class MutableCrawlInfo implements CrawlInfo {
     return info.toString();
   }
 
+  void setCrawlTimings(
+      final List<CrawlTaskTiming> crawlTaskTimings,
+      final List<CrawlQueryTiming> crawlQueryTimings) {
+    this.crawlTaskTimings =
+        new ArrayList<>(requireNonNull(crawlTaskTimings, "No task timings provided"));
+    this.crawlQueryTimings =
+        new ArrayList<>(requireNonNull(crawlQueryTimings, "No query timings provided"));
+  }
+
   void setDatabaseInfo(final JdbcDriverInfo jdbcDriverInfo, final DatabaseInfo databaseInfo) {
     requireNonNull(jdbcDriverInfo, "No JDBC driver information provided");
     this.jdbcDriverVersion = new BaseProductVersion(jdbcDriverInfo);
@@ -160,8 +160,7 @@ class MutableTable extends AbstractDatabaseObject implements Table {
   public Collection<Table> getRelatedTables(final TableRelationshipType tableRelationshipType) {
     final Set<Table> relatedTables = new HashSet<>();
     if (tableRelationshipType != null && tableRelationshipType != TableRelationshipType.none) {
-      final List<MutableForeignKey> foreignKeysList = new ArrayList<>(foreignKeys.values());
-      for (final ForeignKey foreignKey : foreignKeysList) {
+      for (final ForeignKey foreignKey : foreignKeys) {
         for (final ForeignKeyColumnReference columnReference : foreignKey) {
           final Table parentTable = columnReference.getPrimaryKeyColumn().getParent();
           final Table childTable = columnReference.getForeignKeyColumn().getParent();
@@ -316,6 +315,18 @@ class MutableTable extends AbstractDatabaseObject implements Table {
     return columns;
   }
 
+  final int getSortIndex() {
+    return sortIndex;
+  }
+
+  final void removeForeignKey(final MutableForeignKey foreignKey) {
+    foreignKeys.remove(foreignKey);
+  }
+
+  final void removeWeakAssociation(final WeakAssociation weakAssociation) {
+    weakAssociations.remove(weakAssociation);
+  }
+
   final void setPrimaryKey(final MutablePrimaryKey primaryKey) {
     if (primaryKey == null) {
       return;
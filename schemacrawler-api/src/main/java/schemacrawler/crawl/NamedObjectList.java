@@ -28,18 +28,24 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.crawl;
 
-import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import schemacrawler.schema.NamedObject;
@@ -51,45 +57,164 @@ import us.fatehi.utility.ObjectToString;
  * ability to look up by dependent object which is not created yet. That is, by NamedObject +
  * String. Returns values sorted in natural sort order, and is iterable. The iterator does not allow
  * modifications to the underlying data structure.
+ *
+ * <p>Objects are indexed by their unique lookup key, held as an array of interned key parts with a
+ * precomputed hash, so that lookups do not need to build a new key. The lookup key of the last
+ * parent object is cached, since dependent objects are usually looked up on the same parent. The
+ * sorted view is cached, and is rebuilt when objects are added or removed. Properties that objects
+ * are sorted on can change after they are added, for example when table sort indexes are set, so
+ * the cached view is checked to still be in order before it is used, and is sorted again if not.
+ *
+ * <p>The serialized form is the same as that of earlier versions, a map of lookup keys to named
+ * objects, so that offline catalogs that were saved by earlier versions can still be read.
  */
 final class NamedObjectList<N extends NamedObject> implements Serializable, ReducibleCollection<N> {
 
+  private static final class Entry<N> {
+
+    private final int hash;
+    private final String[] key;
+    private Entry<N> next;
+    private N value;
+
+    Entry(final String[] key, final int hash, final N value, final Entry<N> next) {
+      this.key = key;
+      this.hash = hash;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  private static final class ParentKey {
+
+    private final int hash;
+    private final String[] key;
+    private final NamedObject parent;
+
+    ParentKey(final NamedObject parent) {
+      this.parent = parent;
+      key = toKey(parent.toUniqueLookupKey());
+      hash = hash(key);
+    }
+  }
+
+  private final class SortedIterator implements Iterator<N> {
+
+    private final Object[] view;
+    private int index;
+
+    SortedIterator(final Object[] view) {
+      this.view = view;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < view.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public N next() {
+      if (index >= view.length) {
+        throw new NoSuchElementException();
+      }
+      return (N) view[index++];
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
   private static final long serialVersionUID = 3257847666804142128L;
 
-  private static List<String> makeLookupKey(final NamedObject namedObject) {
-    final List<String> key;
-    if (namedObject == null) {
-      key = null;
-    } else {
-      key = namedObject.toUniqueLookupKey();
+  private static final ObjectStreamField[] serialPersistentFields = {
+    new ObjectStreamField("objects", Map.class)
+  };
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private static int hash(final int hash, final String part) {
+    return 31 * hash + Objects.hashCode(part);
+  }
+
+  private static int hash(final List<String> key) {
+    int hash = 1;
+    for (final String part : key) {
+      hash = hash(hash, part);
     }
-    return key;
+    return hash;
+  }
+
+  private static int hash(final String[] key) {
+    int hash = 1;
+    for (final String part : key) {
+      hash = hash(hash, part);
+    }
+    return hash;
+  }
+
+  private static boolean isSorted(final Object[] view) {
+    for (int i = 1; i < view.length; i++) {
+      if (((NamedObject) view[i - 1]).compareTo((NamedObject) view[i]) > 0) {
+        return false;
+      }
+    }
+    return true;
   }
 
-  private static List<String> makeLookupKey(final NamedObject namedObject, final String name) {
-    final List<String> key = makeLookupKey(namedObject);
-    if (key != null) {
-      key.add(name);
+  /**
+   * Interns the parts of a lookup key, so that the keys of dependent objects share the strings in
+   * the keys of their parents, and matching keys are usually the same strings.
+   */
+  private static String[] toKey(final List<String> lookupKey) {
+    final String[] key = new String[lookupKey.size()];
+    for (int i = 0; i < key.length; i++) {
+      final String part = lookupKey.get(i);
+      key[i] = part == null ? null : part.intern();
     }
     return key;
   }
 
-  private final Map<List<String>, N> objects = new HashMap<>();
+  private transient Entry<N>[] buckets;
+  private transient volatile ParentKey parentKey;
+  private transient volatile Object[] pending;
+  private transient int size;
+  private transient volatile Object[] sorted;
+
+  NamedObjectList() {
+    buckets = newBuckets(INITIAL_CAPACITY);
+  }
 
   @Override
   public void filter(final Predicate<? super N> predicate) {
     if (predicate == null) {
       return;
     }
-
-    final Set<Entry<List<String>, N>> entrySet = objects.entrySet();
-    for (final Iterator<Entry<List<String>, N>> iterator = entrySet.iterator();
-        iterator.hasNext(); ) {
-      final Entry<List<String>, N> entry = iterator.next();
-      if (!predicate.test(entry.getValue())) {
-        iterator.remove();
+    index();
+
+    for (int i = 0; i < buckets.length; i++) {
+      Entry<N> previous = null;
+      for (Entry<N> entry = buckets[i]; entry != null; entry = entry.next) {
+        if (predicate.test(entry.value)) {
+          previous = entry;
+        } else {
+          unlink(i, previous, entry);
+        }
       }
     }
+    sorted = null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(final Consumer<? super N> action) {
+    requireNonNull(action, "No action provided");
+    for (final Object namedObject : sortedView()) {
+      action.accept((N) namedObject);
+    }
   }
 
   @Override
@@ -100,30 +225,7 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
   /** {@inheritDoc} */
   @Override
   public Iterator<N> iterator() {
-    final class UnmodifiableIterator implements Iterator<N> {
-
-      private final Iterator<N> iterator;
-
-      UnmodifiableIterator(final Iterator<N> iterator) {
-        this.iterator = iterator;
-      }
-
-      @Override
-      public boolean hasNext() {
-        return iterator.hasNext();
-      }
-
-      @Override
-      public N next() {
-        return iterator.next();
-      }
-
-      @Override
-      public void remove() {
-        throw new UnsupportedOperationException();
-      }
-    }
-    return new UnmodifiableIterator(values().iterator());
+    return new SortedIterator(sortedView());
   }
 
   /** {@inheritDoc} */
@@ -139,17 +241,34 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
    */
   boolean add(final N namedObject) {
     requireNonNull(namedObject, "Cannot add a null object to the list");
-    final List<String> key = makeLookupKey(namedObject);
-    objects.put(key, namedObject);
+    index();
+
+    final String[] key = toKey(namedObject.toUniqueLookupKey());
+    final int hash = hash(key);
+    final Entry<N> entry = find(hash, key);
+    if (entry != null) {
+      entry.value = namedObject;
+    } else {
+      if (size >= buckets.length) {
+        resize(buckets.length * 2);
+      }
+      final int i = bucket(hash, buckets.length);
+      buckets[i] = new Entry<>(key, hash, namedObject, buckets[i]);
+      size++;
+    }
+    sorted = null;
     return true;
   }
 
   boolean contains(final NamedObject namedObject) {
-    return objects.containsKey(makeLookupKey(namedObject));
+    if (namedObject == null) {
+      return false;
+    }
+    return lookup(namedObject.toUniqueLookupKey()).isPresent();
   }
 
   boolean isEmpty() {
-    return objects.isEmpty();
+    return size() == 0;
   }
 
   /**
@@ -159,16 +278,65 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
    * @return Named object
    */
   Optional<N> lookup(final List<String> lookupKey) {
-    return internalGet(lookupKey);
+    if (lookupKey == null) {
+      return Optional.empty();
+    }
+    index();
+
+    final int hash = hash(lookupKey);
+    for (Entry<N> entry = buckets[bucket(hash, buckets.length)];
+        entry != null;
+        entry = entry.next) {
+      if (entry.hash == hash && matches(entry.key, lookupKey)) {
+        return Optional.of(entry.value);
+      }
+    }
+    return Optional.empty();
   }
 
   Optional<N> lookup(final NamedObject namedObject, final String name) {
-    final List<String> key = makeLookupKey(namedObject, name);
-    return internalGet(key);
+    if (namedObject == null) {
+      return Optional.empty();
+    }
+    index();
+
+    ParentKey parentKey = this.parentKey;
+    if (parentKey == null || parentKey.parent != namedObject) {
+      parentKey = new ParentKey(namedObject);
+      this.parentKey = parentKey;
+    }
+
+    final int hash = hash(parentKey.hash, name);
+    final String[] parent = parentKey.key;
+    for (Entry<N> entry = buckets[bucket(hash, buckets.length)];
+        entry != null;
+        entry = entry.next) {
+      if (entry.hash == hash && matches(entry.key, parent, name)) {
+        return Optional.of(entry.value);
+      }
+    }
+    return Optional.empty();
   }
 
   N remove(final N namedObject) {
-    return objects.remove(makeLookupKey(namedObject));
+    if (namedObject == null) {
+      return null;
+    }
+    index();
+
+    final String[] key = toKey(namedObject.toUniqueLookupKey());
+    final int hash = hash(key);
+    final int i = bucket(hash, buckets.length);
+    Entry<N> previous = null;
+    for (Entry<N> entry = buckets[i]; entry != null; entry = entry.next) {
+      if (entry.hash == hash && Arrays.equals(entry.key, key)) {
+        unlink(i, previous, entry);
+        sorted = null;
+        return entry.value;
+      }
+      previous = entry;
+    }
+    return null;
   }
 
   /**
@@ -177,21 +345,163 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
    * @return Number of elements in this list.
    */
   int size() {
-    return objects.size();
+    index();
+    return size;
   }
 
   /**
-   * Gets all named objects in the list, in sorted order.
+   * Gets all named objects in the list, in sorted order. The returned list cannot be modified.
    *
    * @return All named objects
    */
+  @SuppressWarnings("unchecked")
   List<N> values() {
-    final List<N> all = new ArrayList<>(objects.values());
-    all.sort(naturalOrder());
-    return all;
+    return (List<N>) (List<?>) Collections.unmodifiableList(Arrays.asList(sortedView()));
+  }
+
+  private int bucket(final int hash, final int length) {
+    return (hash ^ hash >>> 16) & length - 1;
+  }
+
+  private Entry<N> find(final int hash, final String[] key) {
+    for (Entry<N> entry = buckets[bucket(hash, buckets.length)];
+        entry != null;
+        entry = entry.next) {
+      if (entry.hash == hash && Arrays.equals(entry.key, key)) {
+        return entry;
+      }
+    }
+    return null;
   }
 
-  private Optional<N> internalGet(final List<String> key) {
-    return Optional.ofNullable(objects.get(key));
+  /**
+   * Builds the index for a list that was deserialized. Lookup keys are not computed while the list
+   * is being read, since the objects in the list may not be completely read in yet.
+   */
+  @SuppressWarnings("unchecked")
+  private void index() {
+    if (pending == null) {
+      return;
+    }
+    synchronized (this) {
+      final Object[] values = pending;
+      if (values == null) {
+        return;
+      }
+      buckets = newBuckets(INITIAL_CAPACITY);
+      size = 0;
+      pending = null;
+      for (final Object value : values) {
+        add((N) value);
+      }
+    }
+  }
+
+  private boolean matches(final String[] key, final List<String> lookupKey) {
+    if (key.length != lookupKey.size()) {
+      return false;
+    }
+    for (int i = 0; i < key.length; i++) {
+      if (!Objects.equals(key[i], lookupKey.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean matches(final String[] key, final String[] parent, final String name) {
+    if (key.length != parent.length + 1) {
+      return false;
+    }
+    for (int i = 0; i < parent.length; i++) {
+      if (!Objects.equals(key[i], parent[i])) {
+        return false;
+      }
+    }
+    return Objects.equals(key[parent.length], name);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Entry<N>[] newBuckets(final int capacity) {
+    return new Entry[capacity];
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    final ObjectInputStream.GetField fields = in.readFields();
+    final Map<?, ?> objects = (Map<?, ?>) fields.get("objects", null);
+    if (objects == null) {
+      pending = new Object[0];
+    } else {
+      pending = objects.values().toArray();
+    }
+  }
+
+  private void resize(final int capacity) {
+    final Entry<N>[] resized = newBuckets(capacity);
+    for (final Entry<N> bucket : buckets) {
+      Entry<N> entry = bucket;
+      while (entry != null) {
+        final Entry<N> next = entry.next;
+        final int i = bucket(entry.hash, capacity);
+        entry.next = resized[i];
+        resized[i] = entry;
+        entry = next;
+      }
+    }
+    buckets = resized;
+  }
+
+  /**
+   * Gets the cached sorted view, and sorts it again if objects were added or removed, or if it is
+   * no longer in order. A view that has been handed out is never modified.
+   *
+   * @return Sorted view of all named objects
+   */
+  private Object[] sortedView() {
+    index();
+
+    final Object[] sortedView = sorted;
+    if (sortedView != null && isSorted(sortedView)) {
+      return sortedView;
+    }
+
+    final Object[] view;
+    if (sortedView == null) {
+      view = new Object[size];
+      int i = 0;
+      for (final Entry<N> bucket : buckets) {
+        for (Entry<N> entry = bucket; entry != null; entry = entry.next) {
+          view[i++] = entry.value;
+        }
+      }
+    } else {
+      view = sortedView.clone();
+    }
+    Arrays.sort(view);
+    sorted = view;
+    return view;
+  }
+
+  private void unlink(final int i, final Entry<N> previous, final Entry<N> entry) {
+    if (previous == null) {
+      buckets[i] = entry.next;
+    } else {
+      previous.next = entry.next;
+    }
+    size--;
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    index();
+
+    final Map<List<String>, N> objects = new HashMap<>();
+    for (final Entry<N> bucket : buckets) {
+      for (Entry<N> entry = bucket; entry != null; entry = entry.next) {
+        objects.put(new ArrayList<>(Arrays.asList(entry.key)), entry.value);
+      }
+    }
+    final ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("objects", objects);
+    out.writeFields();
   }
 }
@@ -0,0 +1,171 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_OBJECT_CHANGES;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import schemacrawler.schemacrawler.SchemaReference;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * A retriever that uses the data dictionary to find out when database objects last changed. Each
+ * table, routine and sequence gets a change marker, which is compared against the marker recorded
+ * in a previous catalog to decide whether the object needs to be crawled again.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ObjectChangesRetriever extends AbstractRetriever {
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(ObjectChangesRetriever.class.getName());
+
+  static final String ROUTINE = "ROUTINE";
+  static final String SEQUENCE = "SEQUENCE";
+  static final String TABLE = "TABLE";
+
+  /**
+   * Builds the key under which the change marker for a database object is recorded. The key
+   * includes the full name of the object, as it is matched by inclusion rules.
+   *
+   * @param objectType One of table, routine or sequence
+   * @param schema Schema of the object
+   * @param name Name of the object
+   * @return Change marker key
+   */
+  static String changeMarkerKey(final String objectType, final Schema schema, final String name) {
+    final StringBuilder buffer = new StringBuilder(512);
+    buffer.append(objectType).append(' ');
+    final String schemaFullName = Identifiers.STANDARD.quoteFullName(schema);
+    buffer.append(schemaFullName);
+    if (!schemaFullName.isEmpty()) {
+      buffer.append('.');
+    }
+    buffer.append(Identifiers.STANDARD.quoteName(name));
+    return buffer.toString();
+  }
+
+  /**
+   * Gets the full name of the database object from the change marker key.
+   *
+   * @param changeMarkerKey Change marker key
+   * @return Full name of the object
+   */
+  static String fullName(final String changeMarkerKey) {
+    return changeMarkerKey.substring(changeMarkerKey.indexOf(' ') + 1);
+  }
+
+  ObjectChangesRetriever(
+      final RetrieverConnection retrieverConnection,
+      final MutableCatalog catalog,
+      final SchemaCrawlerOptions options)
+      throws SQLException {
+    super(retrieverConnection, catalog, options);
+  }
+
+  boolean isChangeMarkersSupported() {
+    return getRetrieverConnection().getInformationSchemaViews().hasQuery(EXT_OBJECT_CHANGES);
+  }
+
+  /**
+   * Retrieves change markers for tables, routines and sequences in the included schemas.
+   *
+   * @return Change markers, by change marker key
+   * @throws SchemaCrawlerSQLException On an exception
+   */
+  Map<String, String> retrieveChangeMarkers() throws SchemaCrawlerSQLException {
+    final Map<String, String> changeMarkers = new HashMap<>();
+
+    final InformationSchemaViews informationSchemaViews =
+        getRetrieverConnection().getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(EXT_OBJECT_CHANGES)) {
+      LOGGER.log(Level.FINE, "Object changes SQL statement was not provided");
+      return changeMarkers;
+    }
+
+    LOGGER.log(Level.INFO, "Retrieving object change markers");
+
+    final InclusionRule schemaInclusionRule = getSchemaInclusionRule();
+    final Query objectChangesSql = informationSchemaViews.getQuery(EXT_OBJECT_CHANGES);
+    final Connection connection = getDatabaseConnection();
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(
+                objectChangesSql, statement, schemaInclusionRule, getFetchSizePolicy())) {
+      results.setDescription("retrieveChangeMarkers");
+      while (results.next()) {
+        final String catalogName = normalizeCatalogName(results.getString("OBJECT_CATALOG"));
+        final String schemaName = normalizeSchemaName(results.getString("OBJECT_SCHEMA"));
+        final String objectName = results.getString("OBJECT_NAME");
+        final String objectType = results.getString("OBJECT_TYPE");
+        final String changeMarker = results.getString("CHANGE_MARKER");
+
+        final Schema schema = new SchemaReference(catalogName, schemaName);
+        if (schemaInclusionRule != null && !schemaInclusionRule.test(schema.getFullName())) {
+          continue;
+        }
+        if (!TABLE.equalsIgnoreCase(objectType)
+            && !ROUTINE.equalsIgnoreCase(objectType)
+            && !SEQUENCE.equalsIgnoreCase(objectType)) {
+          LOGGER.log(
+              Level.FINE,
+              new StringFormat("Ignoring change marker for object of type <%s>", objectType));
+          continue;
+        }
+
+        final String changeMarkerKey =
+            changeMarkerKey(objectType.toUpperCase(), schema, objectName);
+        // Objects that share a name, such as overloaded routines, get
+        // a combined marker
+        changeMarkers.merge(changeMarkerKey, String.valueOf(changeMarker), (a, b) -> a + "," + b);
+      }
+    } catch (final SQLException e) {
+      throw new SchemaCrawlerSQLException(
+          "Could not retrieve object change markers from SQL:\n" + objectChangesSql, e);
+    }
+
+    LOGGER.log(
+        Level.INFO, new StringFormat("Retrieved %d object change markers", changeMarkers.size()));
+    return changeMarkers;
+  }
+}
@@ -0,0 +1,280 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import us.fatehi.utility.DaemonThreadFactory;
+import us.fatehi.utility.StopWatch;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Runs crawl phases on a bounded pool of threads. Each phase runs on its own database connection,
+ * and only after all the phases that it depends on have completed. Phases that do not depend on
+ * each other run at the same time. Phases, and the workers that they use to retrieve metadata,
+ * share a budget of connections, so that no more connections than the maximum number of threads
+ * are taken from the data source at the same time.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ParallelCrawlScheduler {
+
+  @FunctionalInterface
+  interface CrawlPhase {
+
+    void crawl(RetrieverConnection retrieverConnection) throws SchemaCrawlerException;
+  }
+
+  private static final class PhaseInfo {
+
+    private final String name;
+    private final CrawlPhase phase;
+    private final List<String> dependencies;
+    private Duration duration;
+
+    PhaseInfo(final String name, final CrawlPhase phase, final List<String> dependencies) {
+      this.name = name;
+      this.phase = phase;
+      this.dependencies = dependencies;
+      duration = Duration.ofNanos(0);
+    }
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(ParallelCrawlScheduler.class.getName());
+
+  private final Supplier<Connection> connectionSupplier;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
+  private final FetchSizePolicy fetchSizePolicy;
+  private final int maxThreads;
+  private final ConnectionBudget connectionBudget;
+  private final Map<String, PhaseInfo> phases;
+  private final StopWatch stopWatch;
+
+  ParallelCrawlScheduler(
+      final Supplier<Connection> connectionSupplier,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final FetchSizePolicy fetchSizePolicy,
+      final int maxThreads) {
+    this.connectionSupplier = requireNonNull(connectionSupplier, "No connection supplier provided");
+    this.schemaRetrievalOptions =
+        requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
+    this.fetchSizePolicy = requireNonNull(fetchSizePolicy, "No fetch size policy provided");
+    this.maxThreads = Math.max(1, maxThreads);
+    connectionBudget = new ConnectionBudget(this.maxThreads);
+    phases = new LinkedHashMap<>();
+    stopWatch = new StopWatch("crawl");
+  }
+
+  /**
+   * Adds a crawl phase. Dependencies need to be added before the phases that depend on them, so
+   * that phases always form a directed acyclic graph.
+   *
+   * @param name Unique name of the phase
+   * @param phase Crawl phase to run
+   * @param dependencies Names of phases that need to complete before this one can start
+   */
+  void addPhase(final String name, final CrawlPhase phase, final String... dependencies) {
+    requireNonNull(name, "No phase name provided");
+    requireNonNull(phase, "No crawl phase provided");
+    if (phases.containsKey(name)) {
+      throw new IllegalArgumentException(String.format("Phase <%s> is already added", name));
+    }
+    final List<String> dependencyNames = Arrays.asList(dependencies);
+    for (final String dependency : dependencyNames) {
+      if (!phases.containsKey(dependency)) {
+        throw new IllegalArgumentException(
+            String.format("Phase <%s> depends on unknown phase <%s>", name, dependency));
+      }
+    }
+    phases.put(name, new PhaseInfo(name, phase, dependencyNames));
+  }
+
+  StopWatch getStopWatch() {
+    return stopWatch;
+  }
+
+  /**
+   * Runs all phases, and waits for them to complete. If any phase fails, phases that depend on it
+   * are not run, and the first failure is rethrown once all running phases have completed.
+   *
+   * @throws SchemaCrawlerException On an exception in any phase
+   */
+  void run() throws SchemaCrawlerException {
+    if (phases.isEmpty()) {
+      return;
+    }
+
+    // Phases are added after their dependencies, so they are already in
+    // topological order
+    final List<String> sortedPhaseNames = new ArrayList<>(phases.keySet());
+
+    final int threadCount = Math.min(maxThreads, phases.size());
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat("Crawling %d phases using %d threads", phases.size(), threadCount));
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(threadCount, new DaemonThreadFactory("schemacrawler-crawl"));
+    try {
+      final Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+      for (final String phaseName : sortedPhaseNames) {
+        final PhaseInfo phaseInfo = phases.get(phaseName);
+        final CompletableFuture<?>[] dependencyFutures =
+            phaseInfo.dependencies.stream().map(futures::get).toArray(CompletableFuture[]::new);
+        final CompletableFuture<Void> future =
+            CompletableFuture.allOf(dependencyFutures)
+                .thenRunAsync(() -> runPhase(phaseInfo), executor);
+        futures.put(phaseName, future);
+      }
+
+      try {
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+      } catch (final CompletionException e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+          cause = cause.getCause();
+        }
+        if (cause instanceof SchemaCrawlerException) {
+          throw (SchemaCrawlerException) cause;
+        }
+        throw new SchemaCrawlerException("Exception crawling in parallel", cause);
+      }
+    } finally {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    stopWatch.setCriticalPath(criticalPath(sortedPhaseNames));
+    LOGGER.log(Level.INFO, stopWatch.stringify());
+  }
+
+  /**
+   * Finds the chain of dependent phases with the longest total duration, which determines the
+   * wall-clock time of the crawl.
+   */
+  private List<String> criticalPath(final List<String> sortedPhaseNames) {
+    final Map<String, Duration> finishTimes = new HashMap<>();
+    final Map<String, String> predecessors = new HashMap<>();
+    String lastPhaseName = null;
+    for (final String phaseName : sortedPhaseNames) {
+      final PhaseInfo phaseInfo = phases.get(phaseName);
+      Duration startTime = Duration.ofNanos(0);
+      for (final String dependency : phaseInfo.dependencies) {
+        final Duration dependencyFinishTime = finishTimes.get(dependency);
+        if (dependencyFinishTime.compareTo(startTime) > 0) {
+          startTime = dependencyFinishTime;
+          predecessors.put(phaseName, dependency);
+        }
+      }
+      final Duration finishTime = startTime.plus(phaseInfo.duration);
+      finishTimes.put(phaseName, finishTime);
+      if (lastPhaseName == null || finishTime.compareTo(finishTimes.get(lastPhaseName)) > 0) {
+        lastPhaseName = phaseName;
+      }
+    }
+
+    final List<String> criticalPath = new ArrayList<>();
+    for (String phaseName = lastPhaseName;
+        phaseName != null;
+        phaseName = predecessors.get(phaseName)) {
+      criticalPath.add(phaseName);
+    }
+    Collections.reverse(criticalPath);
+    return criticalPath;
+  }
+
+  private void runPhase(final PhaseInfo phaseInfo) {
+    // Time spent waiting for a connection is not part of the duration of the phase, since it
+    // depends on other phases, and would otherwise distort the critical path
+    final Instant waitStart = Instant.now();
+    try {
+      connectionBudget.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(
+          new SchemaCrawlerException(
+              String.format("Interrupted while waiting to start <%s>", phaseInfo.name), e));
+    }
+    final Instant start = Instant.now();
+    LOGGER.log(
+        Level.FINE,
+        new StringFormat(
+            "Starting crawl phase <%s>, after waiting %s for a connection",
+            phaseInfo.name,
+            Duration.between(waitStart, start)));
+    try (final Connection connection = connectionSupplier.get()) {
+      final RetrieverConnection retrieverConnection =
+          new RetrieverConnection(
+              connection,
+              connectionSupplier,
+              connectionBudget,
+              schemaRetrievalOptions,
+              fetchSizePolicy);
+      phaseInfo.phase.crawl(retrieverConnection);
+    } catch (final SchemaCrawlerException e) {
+      throw new CompletionException(e);
+    } catch (final SQLException e) {
+      throw new CompletionException(
+          new SchemaCrawlerException(
+              String.format("Database access exception in <%s>", phaseInfo.name), e));
+    } finally {
+      connectionBudget.release(1);
+      final Instant stop = Instant.now();
+      phaseInfo.duration = Duration.between(start, stop);
+      stopWatch.record(phaseInfo.name, start, stop);
+    }
+  }
+}
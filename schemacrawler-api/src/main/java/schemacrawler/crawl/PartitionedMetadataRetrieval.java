@@ -0,0 +1,302 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.ExecutorUtility.awaitTermination;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import us.fatehi.utility.DaemonThreadFactory;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Retrieves table metadata using database metadata calls, with the tables split into partitions by
+ * schema. Each partition is fetched by a worker on its own database connection. Workers stage the
+ * results that they fetch, and do not touch the catalog. Staged results are merged on the calling
+ * thread, one partition at a time, in partition order, so the catalog is only ever modified by one
+ * thread, and is built in the same order on every run. A partition is merged as soon as it and all
+ * the partitions before it are fetched.
+ *
+ * <p>Workers only take connections that are free in the connection budget that is shared with the
+ * other crawl phases. If no connection is free, metadata is retrieved on the calling thread, with
+ * the connection of the crawl phase.
+ *
+ * @author Sualeh Fatehi
+ */
+final class PartitionedMetadataRetrieval {
+
+  /** Makes a database metadata call for a single table. */
+  @FunctionalInterface
+  interface TableMetadataFetch {
+
+    ResultSet fetch(DatabaseMetaData metaData, MutableTable table) throws SQLException;
+  }
+
+  /** Folds the results of a database metadata call for a single table into the catalog. */
+  @FunctionalInterface
+  interface TableMetadataMerge {
+
+    void merge(MutableTable table, MetadataResultSet results) throws SQLException;
+  }
+
+  private static final class StagedTable {
+
+    private final MutableTable table;
+    private final List<StagedResults> results;
+
+    StagedTable(final MutableTable table, final List<StagedResults> results) {
+      this.table = table;
+      this.results = results;
+    }
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(PartitionedMetadataRetrieval.class.getName());
+
+  private final RetrieverConnection retrieverConnection;
+  private final int maxThreads;
+  private final String description;
+
+  PartitionedMetadataRetrieval(
+      final RetrieverConnection retrieverConnection,
+      final int maxThreads,
+      final String description) {
+    this.retrieverConnection =
+        requireNonNull(retrieverConnection, "No retriever connection provided");
+    requireNonNull(
+        retrieverConnection.getConnectionSupplier(), "No connection supplier provided");
+    this.maxThreads = Math.max(1, maxThreads);
+    this.description = requireNonNull(description, "No description provided");
+  }
+
+  /**
+   * Fetches metadata for all the tables concurrently, and merges the results for each partition in
+   * partition order. For each table, every fetch is made in turn, and the results are merged in the
+   * same order.
+   *
+   * @param tables Tables to retrieve metadata for
+   * @param merge Merges results for a table into the catalog
+   * @param fetches Database metadata calls to make for each table
+   * @throws SQLException On an exception in any worker, or while merging
+   */
+  void retrieve(
+      final List<MutableTable> tables,
+      final TableMetadataMerge merge,
+      final TableMetadataFetch... fetches)
+      throws SQLException {
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(merge, "No merge provided");
+    if (tables.isEmpty()) {
+      return;
+    }
+
+    final ConnectionBudget connectionBudget = retrieverConnection.getConnectionBudget();
+    final int workerCount = connectionBudget.tryAcquire(Math.min(maxThreads, tables.size()));
+    try {
+      if (workerCount == 0) {
+        LOGGER.log(
+            Level.INFO,
+            new StringFormat(
+                "Retrieving %s for %d tables on the crawl connection, "
+                    + "since no other connections are free",
+                description, tables.size()));
+        retrieveOnCrawlConnection(tables, merge, fetches);
+      } else {
+        retrieveConcurrently(partition(tables, workerCount), merge, fetches);
+      }
+    } finally {
+      connectionBudget.release(workerCount);
+    }
+  }
+
+  private List<StagedTable> fetchPartition(
+      final List<MutableTable> partition, final TableMetadataFetch[] fetches) throws SQLException {
+    final List<StagedTable> stagedTables = new ArrayList<>(partition.size());
+    try (final Connection connection = retrieverConnection.getConnectionSupplier().get()) {
+      final DatabaseMetaData metaData = connection.getMetaData();
+      for (final MutableTable table : partition) {
+        LOGGER.log(Level.FINE, new StringFormat("Retrieving %s for <%s>", description, table));
+        final List<StagedResults> tableResults = new ArrayList<>(fetches.length);
+        for (final TableMetadataFetch fetch : fetches) {
+          try (final ResultSet results = fetch.fetch(metaData, table)) {
+            tableResults.add(StagedResults.stage(results));
+          } catch (final SQLException e) {
+            throw new SchemaCrawlerSQLException(
+                String.format("Could not retrieve %s for table <%s>", description, table), e);
+          }
+        }
+        stagedTables.add(new StagedTable(table, tableResults));
+      }
+    }
+    return stagedTables;
+  }
+
+  /**
+   * Splits tables into partitions by schema. Schemas that are larger than a fair share of the
+   * tables are split further, so that a single large schema is not fetched by only one worker.
+   * Partitions are then balanced by assigning the largest pieces first, each to the smallest
+   * partition.
+   */
+  private List<List<MutableTable>> partition(
+      final List<MutableTable> tables, final int partitionCount) {
+    final Map<Schema, List<MutableTable>> tablesBySchema = new LinkedHashMap<>();
+    for (final MutableTable table : tables) {
+      tablesBySchema.computeIfAbsent(table.getSchema(), schema -> new ArrayList<>()).add(table);
+    }
+
+    final int fairShare = (tables.size() + partitionCount - 1) / partitionCount;
+
+    final List<List<MutableTable>> pieces = new ArrayList<>();
+    for (final List<MutableTable> schemaTables : tablesBySchema.values()) {
+      for (int i = 0; i < schemaTables.size(); i = i + fairShare) {
+        pieces.add(schemaTables.subList(i, Math.min(i + fairShare, schemaTables.size())));
+      }
+    }
+    // Stable sort, so that pieces of the same size stay in schema order
+    pieces.sort(Comparator.comparingInt(List<MutableTable>::size).reversed());
+
+    final List<List<MutableTable>> partitions = new ArrayList<>();
+    for (int i = 0; i < partitionCount; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (final List<MutableTable> piece : pieces) {
+      List<MutableTable> smallestPartition = partitions.get(0);
+      for (final List<MutableTable> partition : partitions) {
+        if (partition.size() < smallestPartition.size()) {
+          smallestPartition = partition;
+        }
+      }
+      smallestPartition.addAll(piece);
+    }
+    partitions.removeIf(List::isEmpty);
+    return partitions;
+  }
+
+  /**
+   * Fetches partitions on workers, each with its own connection, and merges the partitions on the
+   * calling thread in partition order. Partitions that are fetched early are held until their turn,
+   * so no more than all the partitions are held at a time. Workers are stopped if any partition
+   * fails, and the calling thread waits for them to close their connections before it returns.
+   */
+  private void retrieveConcurrently(
+      final List<List<MutableTable>> partitions,
+      final TableMetadataMerge merge,
+      final TableMetadataFetch[] fetches)
+      throws SQLException {
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Retrieving %s in %d partitions, each on its own connection",
+            description, partitions.size()));
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            partitions.size(), new DaemonThreadFactory("schemacrawler-metadata"));
+    try {
+      final List<Future<List<StagedTable>>> fetchedPartitions = new ArrayList<>();
+      for (final List<MutableTable> partition : partitions) {
+        fetchedPartitions.add(executor.submit(() -> fetchPartition(partition, fetches)));
+      }
+      for (final Future<List<StagedTable>> fetchedPartition : fetchedPartitions) {
+        for (final StagedTable stagedTable : waitFor(fetchedPartition)) {
+          for (final StagedResults staged : stagedTable.results) {
+            try (final MetadataResultSet results = new MetadataResultSet(staged)) {
+              merge.merge(stagedTable.table, results);
+            }
+          }
+        }
+      }
+    } finally {
+      // Stop any workers that are still running if one of them failed, and wait for them to
+      // close their connections, so that the connections can be used by other phases
+      executor.shutdownNow();
+      awaitTermination(executor);
+    }
+  }
+
+  private void retrieveOnCrawlConnection(
+      final List<MutableTable> tables,
+      final TableMetadataMerge merge,
+      final TableMetadataFetch[] fetches)
+      throws SQLException {
+    final DatabaseMetaData metaData = retrieverConnection.getMetaData();
+    for (final MutableTable table : tables) {
+      for (final TableMetadataFetch fetch : fetches) {
+        try (final MetadataResultSet results =
+            new MetadataResultSet(fetch.fetch(metaData, table))) {
+          merge.merge(table, results);
+        } catch (final SQLException e) {
+          throw new SchemaCrawlerSQLException(
+              String.format("Could not retrieve %s for table <%s>", description, table), e);
+        }
+      }
+    }
+  }
+
+  private List<StagedTable> waitFor(final Future<List<StagedTable>> fetchedPartition)
+      throws SQLException {
+    try {
+      return fetchedPartition.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerSQLException(
+          String.format("Interrupted while retrieving %s", description), e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new SchemaCrawlerSQLException(
+          String.format("Could not retrieve %s", description), e);
+    }
+  }
+}
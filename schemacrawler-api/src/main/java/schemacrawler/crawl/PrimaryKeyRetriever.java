@@ -37,6 +37,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Optional;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.schema.Schema;
@@ -128,7 +129,8 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(pkSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                pkSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrievePrimaryKeysFromDataDictionary");
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
@@ -150,6 +152,25 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
 
   private void retrievePrimaryKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
       throws SQLException {
+    if (isPartitionedMetadataRetrieval()) {
+      retrievePartitioned(
+          "primary keys",
+          allTables.values().stream()
+              .filter(table -> !(table instanceof View))
+              .collect(Collectors.toList()),
+          (table, results) -> {
+            while (results.next()) {
+              createPrimaryKeyForTable(table, results);
+            }
+          },
+          (metaData, table) ->
+              metaData.getPrimaryKeys(
+                  table.getSchema().getCatalogName(),
+                  table.getSchema().getName(),
+                  table.getName()));
+      return;
+    }
+
     for (final MutableTable table : allTables) {
       if (table instanceof View) {
         continue;
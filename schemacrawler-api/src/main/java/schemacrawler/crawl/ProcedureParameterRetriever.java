@@ -206,7 +206,8 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(procedureColumnsSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                procedureColumnsSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveProcedureParametersFromDataDictionary");
       while (results.next()) {
         createProcedureParameter(results, allRoutines, parameterFilter);
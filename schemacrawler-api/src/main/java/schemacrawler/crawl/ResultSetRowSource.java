@@ -0,0 +1,101 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.DatabaseUtility.logSQLWarnings;
+
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads metadata rows from a live result set.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ResultSetRowSource implements MetadataRowSource {
+
+  private final ResultSet results;
+
+  ResultSetRowSource(final ResultSet results) {
+    this.results = requireNonNull(results, "Cannot use null results");
+  }
+
+  @Override
+  public void close() throws SQLException {
+    results.close();
+  }
+
+  @Override
+  public Reader getCharacterStream(final int columnIndex) throws SQLException {
+    return results.getCharacterStream(columnIndex);
+  }
+
+  @Override
+  public int getInt(final int columnIndex) throws SQLException {
+    return results.getInt(columnIndex);
+  }
+
+  @Override
+  public long getLong(final int columnIndex) throws SQLException {
+    return results.getLong(columnIndex);
+  }
+
+  @Override
+  public Object getObject(final int columnIndex) throws SQLException {
+    return results.getObject(columnIndex);
+  }
+
+  @Override
+  public short getShort(final int columnIndex) throws SQLException {
+    return results.getShort(columnIndex);
+  }
+
+  @Override
+  public String getString(final int columnIndex) throws SQLException {
+    return results.getString(columnIndex);
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    final boolean next = results.next();
+    logSQLWarnings(results);
+    return next;
+  }
+
+  @Override
+  public void setFetchSize(final int fetchSize) throws SQLException {
+    results.setFetchSize(fetchSize);
+  }
+
+  @Override
+  public boolean wasNull() throws SQLException {
+    return results.wasNull();
+  }
+}
@@ -37,6 +37,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
@@ -61,16 +62,84 @@ final class RetrieverConnection {
       SchemaCrawlerLogger.getLogger(RetrieverConnection.class.getName());
 
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
+  private final ConnectionBudget connectionBudget;
   private final JavaSqlTypes javaSqlTypes;
   private final DatabaseMetaData metaData;
+  private final FetchSizePolicy fetchSizePolicy;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private final TableTypes tableTypes;
 
   RetrieverConnection(
       final Connection connection, final SchemaRetrievalOptions schemaRetrievalOptions)
       throws SQLException {
+    this(connection, null, schemaRetrievalOptions);
+  }
+
+  /**
+   * Creates a retriever connection that can also obtain additional connections to the same
+   * database, so that metadata can be retrieved concurrently.
+   *
+   * @param connection Live database connection
+   * @param connectionSupplier Supplier of additional database connections, or null if only the
+   *     single connection may be used
+   * @param schemaRetrievalOptions Database specific overrides
+   * @throws SQLException On an exception
+   */
+  RetrieverConnection(
+      final Connection connection,
+      final Supplier<Connection> connectionSupplier,
+      final SchemaRetrievalOptions schemaRetrievalOptions)
+      throws SQLException {
+    this(connection, connectionSupplier, schemaRetrievalOptions, null);
+  }
+
+  /**
+   * Database connection for a crawl, with fetch sizes for metadata queries that are shared with
+   * other connections for the same crawl.
+   *
+   * @param connection Database connection
+   * @param connectionSupplier Supplier of additional connections, or null
+   * @param schemaRetrievalOptions Database specific overrides
+   * @param fetchSizePolicy Fetch sizes for metadata queries, or null to use fetch sizes for this
+   *     connection alone
+   */
+  RetrieverConnection(
+      final Connection connection,
+      final Supplier<Connection> connectionSupplier,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final FetchSizePolicy fetchSizePolicy)
+      throws SQLException {
+    this(
+        connection,
+        connectionSupplier,
+        ConnectionBudget.unlimited(),
+        schemaRetrievalOptions,
+        fetchSizePolicy);
+  }
+
+  /**
+   * Database connection for a phase of a parallel crawl, which shares a limit on the number of
+   * additional connections with other phases.
+   *
+   * @param connection Database connection
+   * @param connectionSupplier Supplier of additional connections, or null
+   * @param connectionBudget Limit on additional connections, shared by all phases
+   * @param schemaRetrievalOptions Database specific overrides
+   * @param fetchSizePolicy Fetch sizes for metadata queries, or null to use fetch sizes for this
+   *     connection alone
+   */
+  RetrieverConnection(
+      final Connection connection,
+      final Supplier<Connection> connectionSupplier,
+      final ConnectionBudget connectionBudget,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final FetchSizePolicy fetchSizePolicy)
+      throws SQLException {
 
     this.connection = checkConnection(connection);
+    this.connectionSupplier = connectionSupplier;
+    this.connectionBudget = requireNonNull(connectionBudget, "No connection budget provided");
     metaData = connection.getMetaData();
     this.schemaRetrievalOptions =
         requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
@@ -79,6 +148,11 @@ final class RetrieverConnection {
     LOGGER.log(Level.CONFIG, new StringFormat("Supported table types are <%s>", tableTypes));
 
     javaSqlTypes = new JavaSqlTypes();
+    if (fetchSizePolicy == null) {
+      this.fetchSizePolicy = new FetchSizePolicy(schemaRetrievalOptions);
+    } else {
+      this.fetchSizePolicy = fetchSizePolicy;
+    }
   }
 
   public MetadataRetrievalStrategy get(
@@ -116,10 +190,22 @@ final class RetrieverConnection {
     return connection;
   }
 
+  ConnectionBudget getConnectionBudget() {
+    return connectionBudget;
+  }
+
+  Supplier<Connection> getConnectionSupplier() {
+    return connectionSupplier;
+  }
+
   EnumDataTypeHelper getEnumDataTypeHelper() {
     return schemaRetrievalOptions.getEnumDataTypeHelper();
   }
 
+  FetchSizePolicy getFetchSizePolicy() {
+    return fetchSizePolicy;
+  }
+
   /**
    * Gets the INFORMATION_SCHEMA views select SQL statements.
    *
@@ -145,6 +231,10 @@ final class RetrieverConnection {
     return schemaRetrievalOptions.getTypeMap();
   }
 
+  boolean isSupportsAdditionalConnections() {
+    return connectionSupplier != null;
+  }
+
   boolean isSupportsCatalogs() {
     return schemaRetrievalOptions.isSupportsCatalogs();
   }
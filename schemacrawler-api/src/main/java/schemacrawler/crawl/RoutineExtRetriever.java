@@ -81,7 +81,8 @@ final class RoutineExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(routineDefinitionsSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                routineDefinitionsSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("ROUTINE_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("ROUTINE_SCHEMA"));
@@ -220,7 +220,8 @@ final class RoutineRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(functionsSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                functionsSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveFunctionsFromDataDictionary");
       int numFunctions = 0;
       while (results.next()) {
@@ -270,7 +271,8 @@ final class RoutineRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(proceduresSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                proceduresSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveProceduresFromDataDictionary");
       int numProcedures = 0;
       while (results.next()) {
@@ -74,6 +74,7 @@ import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveWeakAssoci
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
@@ -87,6 +88,7 @@ import schemacrawler.schema.Sequence;
 import schemacrawler.schema.Synonym;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.LimitOptions;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
@@ -107,10 +109,12 @@ public final class SchemaCrawler {
       SchemaCrawlerLogger.getLogger(SchemaCrawler.class.getName());
 
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
   private final SchemaCrawlerOptions options;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private MutableCatalog catalog;
-  private RetrieverConnection retrieverConnection;
+  private CrawlTelemetry crawlTelemetry;
+  private MutableCatalog sharedCatalog;
 
   /**
    * Constructs a SchemaCrawler object, from a connection.
@@ -124,6 +128,29 @@ public final class SchemaCrawler {
       final SchemaRetrievalOptions schemaRetrievalOptions,
       final SchemaCrawlerOptions options) {
     this.connection = requireNonNull(connection, "No connection specified");
+    connectionSupplier = null;
+    this.schemaRetrievalOptions =
+        requireNonNull(
+            schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Constructs a SchemaCrawler object, from a source of connections. If parallel crawl is requested
+   * in the load options, independent parts of the schema are crawled at the same time, each on a
+   * new connection obtained from the supplier. Connections are closed once they are no longer
+   * needed.
+   *
+   * @param connectionSupplier A supplier of new database connections.
+   * @param schemaRetrievalOptions Database-specific schema retrieval overrides
+   * @param options SchemaCrawler options
+   */
+  public SchemaCrawler(
+      final Supplier<Connection> connectionSupplier,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final SchemaCrawlerOptions options) {
+    connection = null;
+    this.connectionSupplier = requireNonNull(connectionSupplier, "No connection supplier specified");
     this.schemaRetrievalOptions =
         requireNonNull(
             schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
@@ -137,28 +164,98 @@ public final class SchemaCrawler {
    * @throws SchemaCrawlerException On an exception
    */
   public Catalog crawl() throws SchemaCrawlerException {
-    catalog = new MutableCatalog("catalog");
-    try {
-      retrieverConnection = new RetrieverConnection(connection, schemaRetrievalOptions);
+    return crawl(null);
+  }
+
+  /**
+   * Crawls the database, to obtain database metadata. If a shared catalog from an earlier crawl of
+   * the same database is provided, such as for the batches of a streaming crawl, database
+   * information, JDBC driver information, database users and system column data types are taken
+   * from it, instead of being retrieved again.
+   *
+   * @param sharedCatalog Catalog from an earlier crawl, or null to crawl everything
+   * @return Database metadata
+   * @throws SchemaCrawlerException On an exception
+   */
+  MutableCatalog crawl(final MutableCatalog sharedCatalog) throws SchemaCrawlerException {
+    this.sharedCatalog = sharedCatalog;
+    if (sharedCatalog == null) {
+      catalog = new MutableCatalog("catalog");
+    } else {
+      catalog = new MutableCatalog("catalog", sharedCatalog);
+    }
+    crawlTelemetry = new CrawlTelemetry();
+    final FetchSizePolicy fetchSizePolicy =
+        new FetchSizePolicy(schemaRetrievalOptions, crawlTelemetry);
+    if (connectionSupplier != null && options.getLoadOptions().isParallelCrawl()) {
+      crawlParallel(fetchSizePolicy);
+      fetchSizePolicy.logStatistics();
+      catalog.setCrawlTimings(crawlTelemetry);
+      return catalog;
+    }
 
-      crawlDatabaseInfo();
+    try (final Connection suppliedConnection = supplyConnection()) {
+      final Connection crawlConnection = connection != null ? connection : suppliedConnection;
+      final RetrieverConnection retrieverConnection =
+          new RetrieverConnection(
+              crawlConnection, connectionSupplier, schemaRetrievalOptions, fetchSizePolicy);
+
+      crawlDatabaseInfo(retrieverConnection);
       LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
 
-      crawlSchemas();
-      crawlColumnDataTypes();
-      crawlTables();
-      crawlRoutines();
-      crawlSynonyms();
-      crawlSequences();
-      crawlAnalysis();
+      crawlSchemas(retrieverConnection);
+      crawlColumnDataTypes(retrieverConnection);
+      crawlTables(retrieverConnection);
+      crawlRoutines(retrieverConnection);
+      crawlSynonyms(retrieverConnection);
+      crawlSequences(retrieverConnection);
+      crawlAnalysis(retrieverConnection);
 
+      fetchSizePolicy.logStatistics();
+      catalog.setCrawlTimings(crawlTelemetry);
       return catalog;
     } catch (final SQLException e) {
       throw new SchemaCrawlerException("Database access exception", e);
     }
   }
 
-  private void crawlAnalysis() throws SchemaCrawlerException {
+  /**
+   * Crawls independent phases at the same time, each on its own connection. Routines and sequences
+   * do not depend on tables, so they are crawled at the same time as tables. Synonyms are resolved
+   * against tables and routines, and analysis needs synonyms to be resolved before empty tables
+   * are filtered out, so these phases wait.
+   *
+   * @param fetchSizePolicy Fetch sizes for metadata queries, shared by all phases
+   * @throws SchemaCrawlerException On an exception
+   */
+  private void crawlParallel(final FetchSizePolicy fetchSizePolicy) throws SchemaCrawlerException {
+    final ParallelCrawlScheduler scheduler =
+        new ParallelCrawlScheduler(
+            connectionSupplier,
+            schemaRetrievalOptions,
+            fetchSizePolicy,
+            options.getLoadOptions().getMaxThreads());
+
+    scheduler.addPhase(
+        "crawlDatabaseInfo",
+        retrieverConnection -> {
+          crawlDatabaseInfo(retrieverConnection);
+          LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
+        });
+    scheduler.addPhase("crawlSchemas", this::crawlSchemas);
+    scheduler.addPhase("crawlColumnDataTypes", this::crawlColumnDataTypes, "crawlSchemas");
+    scheduler.addPhase("crawlTables", this::crawlTables, "crawlColumnDataTypes");
+    scheduler.addPhase("crawlRoutines", this::crawlRoutines, "crawlColumnDataTypes");
+    scheduler.addPhase("crawlSequences", this::crawlSequences, "crawlSchemas");
+    scheduler.addPhase("crawlSynonyms", this::crawlSynonyms, "crawlTables", "crawlRoutines");
+    scheduler.addPhase("crawlAnalysis", this::crawlAnalysis, "crawlTables", "crawlSynonyms");
+
+    scheduler.run();
+    crawlTelemetry.recordPhase(scheduler.getStopWatch());
+  }
+
+  private void crawlAnalysis(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
 
     final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
 
@@ -187,9 +284,26 @@ public final class SchemaCrawler {
     }
 
     LOGGER.log(Level.INFO, "Crawling table row counts");
+    // Rows are counted on as many additional connections as are free
+    final ConnectionBudget connectionBudget = retrieverConnection.getConnectionBudget();
+    final int rowCountConnections;
+    if (retrieverConnection.getConnectionSupplier() != null) {
+      rowCountConnections =
+          connectionBudget.tryAcquire(options.getLoadOptions().getMaxThreads());
+    } else {
+      rowCountConnections = 0;
+    }
     try {
       final TableRowCountsRetriever rowCountsRetriever =
-          new TableRowCountsRetriever(retrieverConnection.getConnection(), catalog);
+          new TableRowCountsRetriever(
+              retrieverConnection.getConnection(),
+              rowCountConnections > 0 ? retrieverConnection.getConnectionSupplier() : null,
+              retrieverConnection.getInformationSchemaViews(),
+              catalog,
+              LoadOptionsBuilder.builder()
+                  .fromOptions(options.getLoadOptions())
+                  .withMaxThreads(Math.max(1, rowCountConnections))
+                  .toOptions());
       stopWatch.time(
           "retrieveTableRowCounts",
           () -> {
@@ -212,12 +326,16 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final Exception e) {
       throw new SchemaCrawlerException("Exception retrieving table row counts", e);
+    } finally {
+      connectionBudget.release(rowCountConnections);
     }
   }
 
-  private void crawlColumnDataTypes() throws SchemaCrawlerException {
+  private void crawlColumnDataTypes(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
     try {
       LOGGER.log(Level.INFO, "Crawling column data types");
 
@@ -232,7 +350,11 @@ public final class SchemaCrawler {
       stopWatch.time(
           "retrieveSystemColumnDataTypes",
           () -> {
-            if (infoLevel.is(retrieveColumnDataTypes)) {
+            if (sharedCatalog != null) {
+              LOGGER.log(
+                  Level.INFO,
+                  "Not retrieving system column data types, since they were retrieved earlier");
+            } else if (infoLevel.is(retrieveColumnDataTypes)) {
               LOGGER.log(Level.INFO, "Retrieving system column data types");
               dataTypeRetriever.retrieveSystemColumnDataTypes();
             } else {
@@ -260,6 +382,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final SchemaCrawlerSQLException e) {
       throw new SchemaCrawlerException(e.getMessage(), e.getCause());
     } catch (final SchemaCrawlerException e) {
@@ -269,13 +392,19 @@ public final class SchemaCrawler {
     }
   }
 
-  private void crawlDatabaseInfo() throws SchemaCrawlerException {
+  private void crawlDatabaseInfo(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
     try {
       final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
       if (!infoLevel.is(retrieveDatabaseInfo)) {
         LOGGER.log(Level.INFO, "Not retrieving database information, since this was not requested");
         return;
       }
+      if (sharedCatalog != null) {
+        LOGGER.log(
+            Level.INFO, "Not retrieving database information, since it was retrieved earlier");
+        return;
+      }
 
       final StopWatch stopWatch = new StopWatch("crawlDatabaseInfo");
 
@@ -357,6 +486,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final SchemaCrawlerSQLException e) {
       throw new SchemaCrawlerException(e.getMessage(), e.getCause());
     } catch (final SchemaCrawlerException e) {
@@ -366,7 +496,8 @@ public final class SchemaCrawler {
     }
   }
 
-  private void crawlRoutines() throws SchemaCrawlerException {
+  private void crawlRoutines(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
 
     final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
     final LimitOptions limitOptions = options.getLimitOptions();
@@ -451,6 +582,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final SchemaCrawlerSQLException e) {
       throw new SchemaCrawlerException(e.getMessage(), e.getCause());
     } catch (final SchemaCrawlerException e) {
@@ -460,7 +592,8 @@ public final class SchemaCrawler {
     }
   }
 
-  private void crawlSchemas() throws SchemaCrawlerException {
+  private void crawlSchemas(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
     final StopWatch stopWatch = new StopWatch("crawlSchemas");
 
     LOGGER.log(Level.INFO, "Crawling schemas");
@@ -483,6 +616,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
 
       final NamedObjectList<SchemaReference> schemas = retriever.getAllSchemas();
       if (schemas.isEmpty()) {
@@ -498,7 +632,8 @@ public final class SchemaCrawler {
     }
   }
 
-  private void crawlSequences() throws SchemaCrawlerException {
+  private void crawlSequences(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
 
     final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
     final LimitOptions limitOptions = options.getLimitOptions();
@@ -531,6 +666,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final SchemaCrawlerSQLException e) {
       throw new SchemaCrawlerException(e.getMessage(), e.getCause());
     } catch (final SchemaCrawlerException e) {
@@ -540,7 +676,8 @@ public final class SchemaCrawler {
     }
   }
 
-  private void crawlSynonyms() throws SchemaCrawlerException {
+  private void crawlSynonyms(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
 
     final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
     final LimitOptions limitOptions = options.getLimitOptions();
@@ -572,6 +709,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final SchemaCrawlerSQLException e) {
       throw new SchemaCrawlerException(e.getMessage(), e.getCause());
     } catch (final SchemaCrawlerException e) {
@@ -581,7 +719,8 @@ public final class SchemaCrawler {
     }
   }
 
-  private void crawlTables() throws SchemaCrawlerException {
+  private void crawlTables(final RetrieverConnection retrieverConnection)
+      throws SchemaCrawlerException {
 
     final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
     final LimitOptions limitOptions = options.getLimitOptions();
@@ -793,6 +932,7 @@ public final class SchemaCrawler {
           });
 
       LOGGER.log(Level.INFO, stopWatch.stringify());
+      crawlTelemetry.recordPhase(stopWatch);
     } catch (final SchemaCrawlerSQLException e) {
       throw new SchemaCrawlerException(e.getMessage(), e.getCause());
     } catch (final SchemaCrawlerException e) {
@@ -801,4 +941,11 @@ public final class SchemaCrawler {
       throw new SchemaCrawlerException("Exception retrieving table information", e);
     }
   }
+
+  private Connection supplyConnection() {
+    if (connection != null) {
+      return null;
+    }
+    return connectionSupplier.get();
+  }
 }
@@ -0,0 +1,216 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import schemacrawler.schema.ResultsColumns;
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+
+/**
+ * Results of a database metadata call, read fully into memory, so that they can be processed
+ * after the connection that they were fetched on has been closed, or on another thread. Staged
+ * results can be read again by a {@link MetadataResultSet}.
+ *
+ * @author Sualeh Fatehi
+ */
+final class StagedResults {
+
+  /** Reads staged rows, from before the first row, converting values as JDBC drivers do. */
+  private final class StagedRowSource implements MetadataRowSource {
+
+    private int rowIndex;
+    private boolean wasNull;
+    private boolean closed;
+
+    StagedRowSource() {
+      rowIndex = -1;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public Reader getCharacterStream(final int columnIndex) throws SQLException {
+      final Object value = getValue(columnIndex);
+      return value == null ? null : new StringReader(String.valueOf(value));
+    }
+
+    @Override
+    public int getInt(final int columnIndex) throws SQLException {
+      return toNumber(getValue(columnIndex)).intValue();
+    }
+
+    @Override
+    public long getLong(final int columnIndex) throws SQLException {
+      return toNumber(getValue(columnIndex)).longValue();
+    }
+
+    @Override
+    public Object getObject(final int columnIndex) throws SQLException {
+      return getValue(columnIndex);
+    }
+
+    @Override
+    public short getShort(final int columnIndex) throws SQLException {
+      return toNumber(getValue(columnIndex)).shortValue();
+    }
+
+    @Override
+    public String getString(final int columnIndex) throws SQLException {
+      final Object value = getValue(columnIndex);
+      return value == null ? null : String.valueOf(value);
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+      if (closed) {
+        throw new SQLException("Staged results are closed");
+      }
+      rowIndex = Math.min(rowIndex + 1, rows.size());
+      return rowIndex < rows.size();
+    }
+
+    @Override
+    public void setFetchSize(final int fetchSize) {
+      // Do nothing, since all rows are in memory
+    }
+
+    @Override
+    public boolean wasNull() {
+      return wasNull;
+    }
+
+    private Object getValue(final int columnIndex) throws SQLException {
+      if (closed) {
+        throw new SQLException("Staged results are closed");
+      }
+      if (rowIndex < 0 || rowIndex >= rows.size()) {
+        throw new SQLException("Staged results are not positioned on a row");
+      }
+      final Object[] row = rows.get(rowIndex);
+      if (columnIndex < 1 || columnIndex > row.length) {
+        throw new SQLException("Invalid column index, " + columnIndex);
+      }
+      final Object value = row[columnIndex - 1];
+      wasNull = value == null;
+      return value;
+    }
+
+    private Number toNumber(final Object value) throws SQLException {
+      if (value == null) {
+        return 0;
+      }
+      if (value instanceof Number) {
+        return (Number) value;
+      }
+      if (value instanceof Boolean) {
+        return (Boolean) value ? 1 : 0;
+      }
+      try {
+        return Double.valueOf(String.valueOf(value).trim());
+      } catch (final NumberFormatException e) {
+        throw new SchemaCrawlerSQLException("Value is not a number, " + value, e);
+      }
+    }
+  }
+
+  /**
+   * Reads all rows from a result set into memory, along with the description of the result set
+   * columns. The result set is not closed.
+   *
+   * @param resultSet Result set to read
+   * @return Staged results
+   * @throws SQLException On an exception reading the result set
+   */
+  static StagedResults stage(final ResultSet resultSet) throws SQLException {
+    requireNonNull(resultSet, "Cannot use null results");
+
+    // Describe the columns up-front, since result set metadata may not be
+    // usable once the connection is closed
+    final ResultsColumns resultsColumns = new ResultsCrawler(resultSet).crawl();
+    final int columnCount = resultsColumns.getColumns().size();
+
+    final List<Object[]> rows = new ArrayList<>();
+    while (resultSet.next()) {
+      final Object[] row = new Object[columnCount];
+      for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
+        row[columnIndex - 1] = detach(resultSet.getObject(columnIndex));
+      }
+      rows.add(row);
+    }
+
+    return new StagedResults(resultsColumns, rows);
+  }
+
+  private static Object detach(final Object value) throws SQLException {
+    // Large objects are only valid while the connection is open
+    if (value instanceof Clob) {
+      final Clob clob = (Clob) value;
+      return clob.getSubString(1, (int) clob.length());
+    }
+    if (value instanceof Blob) {
+      final Blob blob = (Blob) value;
+      return blob.getBytes(1, (int) blob.length());
+    }
+    return value;
+  }
+
+  private final ResultsColumns resultsColumns;
+  private final List<Object[]> rows;
+
+  private StagedResults(final ResultsColumns resultsColumns, final List<Object[]> rows) {
+    this.resultsColumns = resultsColumns;
+    this.rows = rows;
+  }
+
+  ResultsColumns getResultsColumns() {
+    return resultsColumns;
+  }
+
+  /**
+   * Creates a new source of the staged rows. Each source that is created starts before the first
+   * row.
+   *
+   * @return Source of the staged rows
+   */
+  MetadataRowSource rows() {
+    return new StagedRowSource();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSchemaInclusion;
+
+import java.sql.Connection;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.inclusionrule.ExcludeAll;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.LimitOptions;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Crawls the database one schema at a time, and hands each schema to a handler as soon as it has
+ * been crawled, instead of building a catalog for the whole database. Memory use is bounded by the
+ * largest schema, rather than by the whole database.
+ *
+ * <p>Database information, JDBC driver information, database users and system column data types
+ * are crawled once, along with the list of schemas, and are shared by the catalog for each schema.
+ *
+ * <p>Each schema is crawled on its own, so relationships to tables in other schemas are not
+ * followed. A foreign key between tables in two schemas shows up in the batch for each of the two
+ * schemas, and each time the table in the other schema is a partial table, which only has the
+ * columns in the foreign key. Weak associations are only found within a schema, and parent and
+ * child table filters only include related tables in the same schema. Tables are sorted within
+ * each schema. Use a full crawl if relationships across schemas are needed.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class StreamingSchemaCrawler {
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(StreamingSchemaCrawler.class.getName());
+
+  private static final class SingleSchemaInclusionRule implements InclusionRule {
+
+    private static final long serialVersionUID = 1796127439126286538L;
+
+    private final String schemaFullName;
+
+    SingleSchemaInclusionRule(final Schema schema) {
+      schemaFullName = requireNonNull(schema, "No schema provided").getFullName();
+    }
+
+    @Override
+    public boolean test(final String text) {
+      return schemaFullName.equals(text);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("schema <%s>", schemaFullName);
+    }
+  }
+
+  private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
+  private final SchemaCrawlerOptions options;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
+
+  /**
+   * Constructs a streaming SchemaCrawler object, from a connection.
+   *
+   * @param connection An database connection.
+   * @param schemaRetrievalOptions Database-specific schema retrieval overrides
+   * @param options SchemaCrawler options
+   */
+  public StreamingSchemaCrawler(
+      final Connection connection,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final SchemaCrawlerOptions options) {
+    this.connection = requireNonNull(connection, "No connection specified");
+    connectionSupplier = null;
+    this.schemaRetrievalOptions =
+        requireNonNull(
+            schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Constructs a streaming SchemaCrawler object, from a source of connections. Each schema is
+   * crawled on connections obtained from the supplier, and if parallel crawl is requested in the
+   * load options, independent parts of each schema are crawled at the same time.
+   *
+   * @param connectionSupplier A supplier of new database connections.
+   * @param schemaRetrievalOptions Database-specific schema retrieval overrides
+   * @param options SchemaCrawler options
+   */
+  public StreamingSchemaCrawler(
+      final Supplier<Connection> connectionSupplier,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final SchemaCrawlerOptions options) {
+    connection = null;
+    this.connectionSupplier =
+        requireNonNull(connectionSupplier, "No connection supplier specified");
+    this.schemaRetrievalOptions =
+        requireNonNull(
+            schemaRetrievalOptions, "No database-specific schema retrieval overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Crawls the database, one schema at a time, handing each schema to the handler.
+   *
+   * @param handler Handler for each schema that is crawled
+   * @throws SchemaCrawlerException On an exception
+   */
+  public void crawl(final CatalogBatchHandler handler) throws SchemaCrawlerException {
+    requireNonNull(handler, "No catalog batch handler provided");
+
+    final LimitOptions limitOptions = options.getLimitOptions();
+
+    LOGGER.log(Level.INFO, "Crawling schemas, for a streaming crawl");
+    final LimitOptions schemasOnly =
+        LimitOptionsBuilder.builder()
+            .fromOptions(limitOptions)
+            .includeTables(new ExcludeAll())
+            .includeRoutines(new ExcludeAll())
+            .includeSequences(new ExcludeAll())
+            .includeSynonyms(new ExcludeAll())
+            .toOptions();
+    final MutableCatalog catalog = crawl(schemasOnly, null);
+
+    handler.begin(catalog);
+
+    for (final Schema schema : catalog.getSchemas()) {
+      LOGGER.log(Level.INFO, new StringFormat("Crawling schema <%s>", schema));
+      final LimitOptions schemaOnly =
+          LimitOptionsBuilder.builder()
+              .fromOptions(limitOptions)
+              .includeSchemas(new SingleSchemaInclusionRule(schema))
+              .toOptions();
+      handler.handle(crawl(schemaOnly, catalog));
+    }
+
+    handler.end();
+  }
+
+  private MutableCatalog crawl(
+      final LimitOptions limitOptions, final MutableCatalog sharedCatalog)
+      throws SchemaCrawlerException {
+    LOGGER.log(
+        Level.FINE, new StringFormat("Schemas <%s>", limitOptions.get(ruleForSchemaInclusion)));
+    final SchemaCrawlerOptions crawlOptions = options.withLimitOptions(limitOptions);
+    final SchemaCrawler schemaCrawler;
+    if (connectionSupplier != null) {
+      schemaCrawler = new SchemaCrawler(connectionSupplier, schemaRetrievalOptions, crawlOptions);
+    } else {
+      schemaCrawler = new SchemaCrawler(connection, schemaRetrievalOptions, crawlOptions);
+    }
+    return schemaCrawler.crawl(sharedCatalog);
+  }
+}
@@ -96,7 +96,8 @@ final class SynonymRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         MetadataResultSet results =
-            new MetadataResultSet(synonymsDefinitionSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                synonymsDefinitionSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("SYNONYM_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("SYNONYM_SCHEMA"));
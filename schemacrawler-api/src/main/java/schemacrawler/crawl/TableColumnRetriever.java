@@ -213,7 +213,8 @@ final class TableColumnRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(hiddenColumnsSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                hiddenColumnsSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveHiddenColumns");
       while (results.next()) {
         // NOTE: The column names in the extension table are different
@@ -252,7 +253,8 @@ final class TableColumnRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tableColumnsSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                tableColumnsSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveTableColumnsFromDataDictionary");
       while (results.next()) {
         createTableColumn(results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
@@ -264,7 +266,25 @@ final class TableColumnRetriever extends AbstractRetriever {
       final NamedObjectList<MutableTable> allTables,
       final InclusionRuleFilter<Column> columnFilter,
       final Set<List<String>> hiddenTableColumnsLookupKeys)
-      throws SchemaCrawlerSQLException {
+      throws SQLException {
+    if (isPartitionedMetadataRetrieval()) {
+      retrievePartitioned(
+          "table columns",
+          allTables.values(),
+          (table, results) -> {
+            while (results.next()) {
+              createTableColumn(results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
+            }
+          },
+          (metaData, table) ->
+              metaData.getColumns(
+                  table.getSchema().getCatalogName(),
+                  table.getSchema().getName(),
+                  table.getName(),
+                  null));
+      return;
+    }
+
     for (final MutableTable table : allTables) {
       LOGGER.log(Level.FINE, "Retrieving table columns for " + table);
       try (final MetadataResultSet results =
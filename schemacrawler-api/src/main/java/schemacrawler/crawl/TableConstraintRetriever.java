@@ -93,7 +93,10 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
             new MetadataResultSet(
-                extTableConstraintInformationSql, statement, getSchemaInclusionRule())) {
+                extTableConstraintInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getFetchSizePolicy())) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("CONSTRAINT_SCHEMA"));
@@ -152,7 +155,10 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
             new MetadataResultSet(
-                tableConstraintsInformationSql, statement, getSchemaInclusionRule())) {
+                tableConstraintsInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
@@ -214,7 +220,10 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
             new MetadataResultSet(
-                tableConstraintsColumnsInformationSql, statement, getSchemaInclusionRule())) {
+                tableConstraintsColumnsInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getFetchSizePolicy())) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("CONSTRAINT_SCHEMA"));
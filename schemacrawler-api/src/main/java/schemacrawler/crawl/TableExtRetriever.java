@@ -93,7 +93,8 @@ final class TableExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(columnAttributesSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                columnAttributesSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -133,6 +134,7 @@ final class TableExtRetriever extends AbstractRetriever {
   /** Retrieves additional column metadata. */
   void retrieveAdditionalColumnMetadata() {
     final EnumDataTypeHelper enumDataTypeHelper = getRetrieverConnection().getEnumDataTypeHelper();
+    enumDataTypeHelper.loadEnumDataTypes(catalog, getRetrieverConnection().getConnection());
 
     final NamedObjectList<MutableTable> tables = catalog.getAllTables();
     for (final MutableTable table : tables) {
@@ -184,7 +186,8 @@ final class TableExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tableAttributesSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                tableAttributesSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -231,7 +234,11 @@ final class TableExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(extIndexesInformationSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                extIndexesInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("INDEX_CATALOG"));
@@ -306,7 +313,10 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
             new MetadataResultSet(
-                tableDefinitionsInformationSql, statement, getSchemaInclusionRule())) {
+                tableDefinitionsInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -365,7 +375,8 @@ final class TableExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(triggerInformationSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                triggerInformationSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TRIGGER_CATALOG"));
@@ -441,7 +452,8 @@ final class TableExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(viewInformationSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                viewInformationSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -496,7 +508,8 @@ final class TableExtRetriever extends AbstractRetriever {
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(viewTableUsageSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                viewTableUsageSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("VIEW_CATALOG"));
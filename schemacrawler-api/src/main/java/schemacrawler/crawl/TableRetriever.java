@@ -172,7 +172,8 @@ final class TableRetriever extends AbstractRetriever {
     }
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablesSql, statement, getSchemaInclusionRule())) {
+            new MetadataResultSet(
+                tablesSql, statement, getSchemaInclusionRule(), getFetchSizePolicy())) {
       results.setDescription("retrieveTablesFromDataDictionary");
       int numTables = 0;
       while (results.next()) {
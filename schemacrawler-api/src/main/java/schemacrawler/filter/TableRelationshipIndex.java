@@ -0,0 +1,192 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.filter;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+
+/**
+ * Parent and child relationships between tables. Tables are numbered as they are found, and the
+ * parents and children of a table are read from its foreign keys only once, the first time the
+ * table is expanded, and held as arrays of table numbers. Tables that are never expanded do not
+ * have their foreign keys read at all.
+ */
+final class TableRelationshipIndex {
+
+  private final List<Table> tables;
+  private final Map<Table, Integer> tableIds;
+  private final List<int[]> parents;
+  private final List<int[]> children;
+
+  TableRelationshipIndex() {
+    tables = new ArrayList<>();
+    // Foreign keys refer to the same table objects that are in the
+    // catalog, so tables are looked up by identity
+    tableIds = new IdentityHashMap<>();
+    parents = new ArrayList<>();
+    children = new ArrayList<>();
+  }
+
+  /**
+   * Finds tables that are related to any of the given tables, following relationships of one type
+   * up to a given depth. All given tables are expanded together, breadth-first, so each table is
+   * visited only once. Partial tables are never included.
+   *
+   * @param tableRelationshipType Parent or child relationships
+   * @param depth Maximum number of relationships to follow
+   * @param seedTables Tables to start from
+   * @return Given tables, and all related tables
+   */
+  Collection<Table> includeRelatedTables(
+      final TableRelationshipType tableRelationshipType,
+      final int depth,
+      final Collection<Table> seedTables) {
+    requireNonNull(seedTables, "No tables provided");
+
+    final Set<Table> includedTables = new HashSet<>(seedTables);
+    if (tableRelationshipType != TableRelationshipType.parent
+        && tableRelationshipType != TableRelationshipType.child) {
+      return includedTables;
+    }
+
+    final BitSet visited = new BitSet();
+    int[] frontier = new int[seedTables.size()];
+    int frontierSize = 0;
+    for (final Table table : seedTables) {
+      if (isTablePartial(table)) {
+        continue;
+      }
+      final int tableId = tableId(table);
+      if (!visited.get(tableId)) {
+        visited.set(tableId);
+        frontier[frontierSize++] = tableId;
+      }
+    }
+
+    for (int level = 0; level < depth && frontierSize > 0; level++) {
+      int[] nextFrontier = new int[frontierSize];
+      int nextFrontierSize = 0;
+      for (int i = 0; i < frontierSize; i++) {
+        for (final int relatedTableId : relatedTableIds(tableRelationshipType, frontier[i])) {
+          if (visited.get(relatedTableId)) {
+            continue;
+          }
+          visited.set(relatedTableId);
+          if (nextFrontierSize == nextFrontier.length) {
+            nextFrontier = Arrays.copyOf(nextFrontier, nextFrontierSize * 2);
+          }
+          nextFrontier[nextFrontierSize++] = relatedTableId;
+          includedTables.add(tables.get(relatedTableId));
+        }
+      }
+      frontier = nextFrontier;
+      frontierSize = nextFrontierSize;
+    }
+
+    return includedTables;
+  }
+
+  private boolean isTablePartial(final Table table) {
+    return table instanceof PartialDatabaseObject;
+  }
+
+  /**
+   * Reads the parents and children of a table from its foreign keys, if they have not already been
+   * read. Relationships with partial tables are left out.
+   */
+  private void loadRelationships(final int tableId) {
+    final Table table = tables.get(tableId);
+    int[] parentIds = new int[4];
+    int parentCount = 0;
+    int[] childIds = new int[4];
+    int childCount = 0;
+    for (final ForeignKey foreignKey : table.getForeignKeys()) {
+      for (final ForeignKeyColumnReference columnReference : foreignKey) {
+        final Table parentTable = columnReference.getPrimaryKeyColumn().getParent();
+        final Table childTable = columnReference.getForeignKeyColumn().getParent();
+        if (isTablePartial(parentTable) || isTablePartial(childTable)) {
+          continue;
+        }
+        if (childTable == table) {
+          if (parentCount == parentIds.length) {
+            parentIds = Arrays.copyOf(parentIds, parentCount * 2);
+          }
+          parentIds[parentCount++] = tableId(parentTable);
+        }
+        if (parentTable == table) {
+          if (childCount == childIds.length) {
+            childIds = Arrays.copyOf(childIds, childCount * 2);
+          }
+          childIds[childCount++] = tableId(childTable);
+        }
+      }
+    }
+    parents.set(tableId, Arrays.copyOf(parentIds, parentCount));
+    children.set(tableId, Arrays.copyOf(childIds, childCount));
+  }
+
+  private int[] relatedTableIds(
+      final TableRelationshipType tableRelationshipType, final int tableId) {
+    if (parents.get(tableId) == null) {
+      loadRelationships(tableId);
+    }
+    if (tableRelationshipType == TableRelationshipType.parent) {
+      return parents.get(tableId);
+    } else {
+      return children.get(tableId);
+    }
+  }
+
+  private int tableId(final Table table) {
+    final Integer tableId = tableIds.get(table);
+    if (tableId != null) {
+      return tableId;
+    }
+    final int newTableId = tables.size();
+    tables.add(table);
+    tableIds.put(table, newTableId);
+    parents.add(null);
+    children.add(null);
+    return newTableId;
+  }
+}
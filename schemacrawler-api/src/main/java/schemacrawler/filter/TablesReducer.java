@@ -76,11 +76,21 @@ final class TablesReducer implements Reducer<Table> {
     // Add in referenced tables
     final FilterOptions filterOptions = options.getFilterOptions();
     final int childTableFilterDepth = filterOptions.getChildTableFilterDepth();
-    final Collection<Table> childTables =
-        includeRelatedTables(TableRelationshipType.child, childTableFilterDepth, reducedTables);
     final int parentTableFilterDepth = filterOptions.getParentTableFilterDepth();
-    final Collection<Table> parentTables =
-        includeRelatedTables(TableRelationshipType.parent, parentTableFilterDepth, reducedTables);
+    final Collection<Table> childTables;
+    final Collection<Table> parentTables;
+    if (childTableFilterDepth > 0 || parentTableFilterDepth > 0) {
+      final TableRelationshipIndex tableRelationshipIndex = new TableRelationshipIndex();
+      childTables =
+          tableRelationshipIndex.includeRelatedTables(
+              TableRelationshipType.child, childTableFilterDepth, reducedTables);
+      parentTables =
+          tableRelationshipIndex.includeRelatedTables(
+              TableRelationshipType.parent, parentTableFilterDepth, reducedTables);
+    } else {
+      childTables = reducedTables;
+      parentTables = reducedTables;
+    }
 
     final Set<Table> keepTables = new HashSet<>();
     keepTables.addAll(reducedTables);
@@ -97,26 +107,6 @@ final class TablesReducer implements Reducer<Table> {
     allTables.filter(table -> keepTables.contains(table));
   }
 
-  private Collection<Table> includeRelatedTables(
-      final TableRelationshipType tableRelationshipType,
-      final int depth,
-      final Set<Table> greppedTables) {
-    final Set<Table> includedTables = new HashSet<>();
-    includedTables.addAll(greppedTables);
-
-    for (int i = 0; i < depth; i++) {
-      for (final Table table : new HashSet<>(includedTables)) {
-        for (final Table relatedTable : table.getRelatedTables(tableRelationshipType)) {
-          if (!isTablePartial(relatedTable)) {
-            includedTables.add(relatedTable);
-          }
-        }
-      }
-    }
-
-    return includedTables;
-  }
-
   private boolean isTablePartial(final Table table) {
     return table instanceof PartialDatabaseObject;
   }
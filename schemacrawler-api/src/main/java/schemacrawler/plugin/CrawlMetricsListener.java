@@ -0,0 +1,65 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.plugin;
+
+import java.time.Duration;
+
+/**
+ * Receives counters and timers while a database is crawled, so that they can be published to a
+ * metrics system. Listeners are registered as services with the Java service loader, and are
+ * created once for each crawl. Listeners may be called from more than one thread at the same time
+ * during a parallel crawl.
+ *
+ * <p>Timers are named "schemacrawler.crawl.&lt;phase&gt;.&lt;task&gt;" for crawl tasks, and
+ * "schemacrawler.query.&lt;query&gt;.fetch" and "schemacrawler.query.&lt;query&gt;.decode" for
+ * metadata queries. Counters are named "schemacrawler.query.&lt;query&gt;.executions" and
+ * "schemacrawler.query.&lt;query&gt;.rows".
+ */
+public interface CrawlMetricsListener {
+
+  /**
+   * Called when a counter is incremented.
+   *
+   * @param name Counter name
+   * @param increment Amount to add to the counter
+   */
+  default void incrementCounter(final String name, final long increment) {
+    // Counters are ignored by default
+  }
+
+  /**
+   * Called when a timed task or query completes.
+   *
+   * @param name Timer name
+   * @param duration Time taken
+   */
+  default void recordTimer(final String name, final Duration duration) {
+    // Timers are ignored by default
+  }
+}
@@ -32,6 +32,7 @@ import static schemacrawler.plugin.EnumDataTypeInfo.EMPTY_ENUM_DATA_TYPE_INFO;
 
 import java.sql.Connection;
 
+import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnDataType;
 
@@ -43,4 +44,16 @@ public interface EnumDataTypeHelper {
 
   EnumDataTypeInfo getEnumDataTypeInfo(
       Column column, ColumnDataType columnDataType, Connection connection);
+
+  /**
+   * Called once, before enumeration information is obtained for any column, so that helpers can
+   * retrieve enumerated values for all data types in bulk, and look them up in memory for each
+   * column. By default, nothing is loaded up front.
+   *
+   * @param catalog Catalog with the tables and columns that will be looked up
+   * @param connection Database connection
+   */
+  default void loadEnumDataTypes(final Catalog catalog, final Connection connection) {
+    // Nothing is loaded in bulk by default
+  }
 }
@@ -29,6 +29,7 @@ package schemacrawler.schema;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.List;
 
 import schemacrawler.ProductVersion;
 
@@ -49,6 +50,22 @@ public interface CrawlInfo extends Serializable {
    */
   Instant getCrawlTimestampInstant();
 
+  /**
+   * Gets rows read and time taken by each metadata query during the crawl, in order of query name.
+   * Timings are not available for catalogs that were not crawled from a database.
+   *
+   * @return Query timings
+   */
+  List<CrawlQueryTiming> getCrawlQueryTimings();
+
+  /**
+   * Gets time taken by each task in each phase of the crawl, in the order that phases completed.
+   * Timings are not available for catalogs that were not crawled from a database.
+   *
+   * @return Task timings
+   */
+  List<CrawlTaskTiming> getCrawlTaskTimings();
+
   /**
    * Gets the version of the RDBMS vendor and product.
    *
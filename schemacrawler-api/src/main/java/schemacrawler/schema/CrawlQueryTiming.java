@@ -0,0 +1,84 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.schema;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Rows read and time taken by a metadata query over the course of a crawl, such as a query for an
+ * information schema view. Queries that run more than once, for example once for each schema, are
+ * added together.
+ */
+public interface CrawlQueryTiming extends Serializable {
+
+  /**
+   * Gets the time taken to read values from rows of results, and to build schema objects from
+   * them.
+   *
+   * @return Decode time
+   */
+  Duration getDecodeTime();
+
+  /**
+   * Gets the number of times that the query was run.
+   *
+   * @return Number of executions
+   */
+  long getExecutions();
+
+  /**
+   * Gets the time taken to execute the query, and to fetch rows of results from the database.
+   *
+   * @return Fetch time
+   */
+  Duration getFetchTime();
+
+  /**
+   * Gets the name of the query, such as "EXT_TABLES".
+   *
+   * @return Query name
+   */
+  String getQueryName();
+
+  /**
+   * Gets the number of rows of results that were read.
+   *
+   * @return Number of rows
+   */
+  long getRowCount();
+
+  /**
+   * Gets a hash of the SQL text of the query, which identifies the query when it is overridden for
+   * a particular database.
+   *
+   * @return Hash of the SQL text
+   */
+  String getSqlHash();
+}
@@ -0,0 +1,57 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.schema;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/** Time taken by a task in a phase of a crawl. */
+public interface CrawlTaskTiming extends Serializable {
+
+  /**
+   * Gets the time taken by the task.
+   *
+   * @return Duration of the task
+   */
+  Duration getDuration();
+
+  /**
+   * Gets the name of the crawl phase that the task was run in, such as "crawlTables".
+   *
+   * @return Crawl phase name
+   */
+  String getPhase();
+
+  /**
+   * Gets the name of the task, such as "retrieveTables".
+   *
+   * @return Task name
+   */
+  String getTask();
+}
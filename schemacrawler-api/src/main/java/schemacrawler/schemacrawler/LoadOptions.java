@@ -34,11 +34,89 @@ import us.fatehi.utility.ObjectToString;
 public final class LoadOptions implements Options {
 
   private final boolean isLoadRowCounts;
+  private final RowCountsMode rowCountsMode;
+  private final int rowCountsTimeoutSeconds;
+  private final int rowCountsBatchSize;
   private final SchemaInfoLevel schemaInfoLevel;
+  private final int maxThreads;
+  private final boolean isStreamingCrawl;
 
-  LoadOptions(final SchemaInfoLevel schemaInfoLevel, final boolean isLoadRowCounts) {
+  LoadOptions(
+      final SchemaInfoLevel schemaInfoLevel,
+      final boolean isLoadRowCounts,
+      final RowCountsMode rowCountsMode,
+      final int rowCountsTimeoutSeconds,
+      final int rowCountsBatchSize,
+      final int maxThreads,
+      final boolean isStreamingCrawl) {
     this.schemaInfoLevel = requireNonNull(schemaInfoLevel, "No schema info level provided");
     this.isLoadRowCounts = isLoadRowCounts;
+    this.rowCountsMode = requireNonNull(rowCountsMode, "No row counts mode provided");
+    this.rowCountsTimeoutSeconds = rowCountsTimeoutSeconds;
+    this.rowCountsBatchSize = rowCountsBatchSize;
+    this.maxThreads = maxThreads;
+    this.isStreamingCrawl = isStreamingCrawl;
+  }
+
+  /**
+   * Maximum number of database connections that a parallel crawl takes from a data source at the
+   * same time, in addition to the connection that it is given. Each crawl phase that runs at the
+   * same time has a connection of its own, and the workers that retrieve table metadata or row
+   * counts for a phase only use connections that are not taken by other phases or workers, so
+   * the crawl never takes more connections than the maximum number of threads. A crawl on a single
+   * connection does not take any connections from a data source.
+   *
+   * @return Maximum number of connections taken at the same time
+   */
+  public int getMaxConnections() {
+    if (!isParallelCrawl()) {
+      return 0;
+    }
+    return maxThreads;
+  }
+
+  /**
+   * Maximum number of threads, and therefore database connections, that can be used at the same
+   * time to crawl the schema. A value of 1 means that the schema is crawled on a single connection,
+   * one step after another. The limit is shared by crawl phases that run at the same time, and by
+   * the workers that retrieve table metadata, partitioned by schema, when database metadata calls
+   * are used.
+   *
+   * @return Maximum number of crawl threads
+   */
+  public int getMaxThreads() {
+    return maxThreads;
+  }
+
+  /**
+   * Number of tables that are counted together in a single query, with the counts for each table
+   * combined with UNION ALL. Batching reduces round trips to the database for many small tables. A
+   * value of 1 means that each table is counted with its own query.
+   *
+   * @return Number of tables counted in a single query
+   */
+  public int getRowCountsBatchSize() {
+    return rowCountsBatchSize;
+  }
+
+  /**
+   * Whether row counts are exact, or estimated from optimizer statistics.
+   *
+   * @return How row counts are loaded
+   */
+  public RowCountsMode getRowCountsMode() {
+    return rowCountsMode;
+  }
+
+  /**
+   * Maximum time in seconds that a query for exact row counts is allowed to run before it is
+   * cancelled. Tables that could not be counted in time do not have a row count. A value of 0 means
+   * that there is no limit.
+   *
+   * @return Row count query timeout, in seconds
+   */
+  public int getRowCountsTimeoutSeconds() {
+    return rowCountsTimeoutSeconds;
   }
 
   /**
@@ -59,6 +137,28 @@ public final class LoadOptions implements Options {
     return isLoadRowCounts;
   }
 
+  /**
+   * Whether independent parts of the schema can be crawled in parallel, on separate database
+   * connections.
+   *
+   * @return Whether the crawl can run in parallel
+   */
+  public boolean isParallelCrawl() {
+    return maxThreads > 1;
+  }
+
+  /**
+   * Whether commands that support it should crawl and output one schema at a time, instead of
+   * loading a catalog for the whole database first. Relationships between tables in different
+   * schemas are not followed in a streaming crawl, so foreign keys to tables in other schemas only
+   * show the columns in the key, and weak associations between schemas are not found.
+   *
+   * @return Whether to use a streaming crawl
+   */
+  public boolean isStreamingCrawl() {
+    return isStreamingCrawl;
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -39,11 +39,19 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
   }
 
   private boolean isLoadRowCounts;
+  private RowCountsMode rowCountsMode;
+  private int rowCountsTimeoutSeconds;
+  private int rowCountsBatchSize;
   private SchemaInfoLevel schemaInfoLevel;
+  private int maxThreads;
+  private boolean isStreamingCrawl;
 
   /** Default options. */
   private LoadOptionsBuilder() {
     schemaInfoLevel = SchemaInfoLevelBuilder.standard();
+    rowCountsMode = RowCountsMode.exact;
+    rowCountsBatchSize = 1;
+    maxThreads = 1;
   }
 
   @Override
@@ -54,6 +62,11 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
 
     schemaInfoLevel = options.getSchemaInfoLevel();
     isLoadRowCounts = options.isLoadRowCounts();
+    rowCountsMode = options.getRowCountsMode();
+    rowCountsTimeoutSeconds = options.getRowCountsTimeoutSeconds();
+    rowCountsBatchSize = options.getRowCountsBatchSize();
+    maxThreads = options.getMaxThreads();
+    isStreamingCrawl = options.isStreamingCrawl();
 
     return this;
   }
@@ -69,9 +82,27 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
     return this;
   }
 
+  /** Corresponds to the --streaming command-line argument. */
+  public LoadOptionsBuilder streamingCrawl() {
+    return streamingCrawl(true);
+  }
+
+  /** Corresponds to the --streaming=&lt;boolean&gt; command-line argument. */
+  public LoadOptionsBuilder streamingCrawl(final boolean value) {
+    isStreamingCrawl = value;
+    return this;
+  }
+
   @Override
   public LoadOptions toOptions() {
-    return new LoadOptions(schemaInfoLevel, isLoadRowCounts);
+    return new LoadOptions(
+        schemaInfoLevel,
+        isLoadRowCounts,
+        rowCountsMode,
+        rowCountsTimeoutSeconds,
+        rowCountsBatchSize,
+        maxThreads,
+        isStreamingCrawl);
   }
 
   public LoadOptionsBuilder withInfoLevel(final InfoLevel infoLevel) {
@@ -81,6 +112,47 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
     return this;
   }
 
+  /**
+   * Sets the maximum number of threads, and database connections, used to crawl the schema. Values
+   * less than 1 are treated as 1, that is, a crawl on a single connection.
+   *
+   * @param maxThreads Maximum number of crawl threads
+   */
+  public LoadOptionsBuilder withMaxThreads(final int maxThreads) {
+    this.maxThreads = Math.max(1, maxThreads);
+    return this;
+  }
+
+  /**
+   * Sets the number of tables that are counted together in a single query. Values less than 1 are
+   * treated as 1, that is, a query for each table.
+   *
+   * @param rowCountsBatchSize Number of tables counted in a single query
+   */
+  public LoadOptionsBuilder withRowCountsBatchSize(final int rowCountsBatchSize) {
+    this.rowCountsBatchSize = Math.max(1, rowCountsBatchSize);
+    return this;
+  }
+
+  /** Corresponds to the --row-counts-mode=&lt;mode&gt; command-line argument. */
+  public LoadOptionsBuilder withRowCountsMode(final RowCountsMode rowCountsMode) {
+    if (rowCountsMode != null) {
+      this.rowCountsMode = rowCountsMode;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the time after which a row count query is cancelled. Values less than 1 mean that there is
+   * no limit.
+   *
+   * @param rowCountsTimeoutSeconds Row count query timeout, in seconds
+   */
+  public LoadOptionsBuilder withRowCountsTimeoutSeconds(final int rowCountsTimeoutSeconds) {
+    this.rowCountsTimeoutSeconds = Math.max(0, rowCountsTimeoutSeconds);
+    return this;
+  }
+
   public LoadOptionsBuilder withSchemaInfoLevel(final SchemaInfoLevel schemaInfoLevel) {
     if (schemaInfoLevel != null) {
       this.schemaInfoLevel = schemaInfoLevel;
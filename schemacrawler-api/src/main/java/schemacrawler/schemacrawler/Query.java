@@ -31,10 +31,17 @@ import static us.fatehi.utility.TemplatingUtility.extractTemplateVariables;
 import static us.fatehi.utility.Utility.requireNotBlank;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
- * A SQL query. May be parameterized with ant-like variable references.
+ * A SQL query. May be parameterized with ant-like variable references, such as ${table}, which are
+ * substituted into the SQL text, or with bind parameters, such as ?{schemas}, which are sent to the
+ * database as values for a prepared statement. Bind parameters keep the SQL text the same from one
+ * execution to the next, so that the database can reuse the query plan.
  *
  * @author sfatehi
  */
@@ -42,6 +49,8 @@ public final class Query implements Serializable {
 
   private static final long serialVersionUID = 2820769346069413473L;
 
+  private static final Pattern BIND_PARAMETER = Pattern.compile("\\?\\{([\\w.]+)\\}");
+
   private final String name;
   private final String query;
 
@@ -56,6 +65,21 @@ public final class Query implements Serializable {
     this.query = requireNotBlank(query, "No query SQL provided");
   }
 
+  /**
+   * Gets the names of bind parameters, in the order in which they occur in the query. A name may
+   * occur more than once.
+   *
+   * @return Bind parameter names
+   */
+  public List<String> getBindParameters() {
+    final List<String> bindParameters = new ArrayList<>();
+    final Matcher matcher = BIND_PARAMETER.matcher(query);
+    while (matcher.find()) {
+      bindParameters.add(matcher.group(1));
+    }
+    return bindParameters;
+  }
+
   /**
    * Gets the query name.
    *
@@ -74,6 +98,25 @@ public final class Query implements Serializable {
     return query;
   }
 
+  /**
+   * Gets the query SQL, with bind parameters replaced by JDBC parameter markers, so that it can be
+   * used for a prepared statement.
+   *
+   * @return Query SQL for a prepared statement
+   */
+  public String getPreparedQuery() {
+    return BIND_PARAMETER.matcher(query).replaceAll("?");
+  }
+
+  /**
+   * Determines if this query has bind parameters.
+   *
+   * @return If the query has bind parameters
+   */
+  public boolean hasBindParameters() {
+    return BIND_PARAMETER.matcher(query).find();
+  }
+
   /**
    * Determines if this query has substitutable parameters, and whether it should be run once for
    * each table.
@@ -82,7 +125,7 @@ public final class Query implements Serializable {
    */
   public boolean isQueryOver() {
     final Set<String> keys = extractTemplateVariables(query);
-    return keys.contains("table");
+    return keys.contains("table") || getBindParameters().contains("tablename");
   }
 
   /** {@inheritDoc} */
@@ -27,17 +27,22 @@ http://www.gnu.org/licenses/
 */
 package schemacrawler.schemacrawler;
 
+import static java.lang.reflect.Proxy.newProxyInstance;
 import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.DatabaseUtility.executePreparedStatement;
+import static us.fatehi.utility.DatabaseUtility.executePreparedStatementForScalar;
 import static us.fatehi.utility.DatabaseUtility.executeSql;
-import static us.fatehi.utility.DatabaseUtility.executeSqlForLong;
 import static us.fatehi.utility.DatabaseUtility.executeSqlForScalar;
 import static us.fatehi.utility.TemplatingUtility.expandTemplate;
 import static us.fatehi.utility.Utility.isBlank;
 
+import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -65,7 +70,12 @@ public final class QueryUtility {
       final Query query, final Statement statement, final InclusionRule schemaInclusionRule)
       throws SQLException {
     requireNonNull(query, "No query provided");
-    final String sql = getQuery(query, schemaInclusionRule);
+    final Map<String, String> schemaProperties = getSchemaProperties(schemaInclusionRule);
+    if (query.hasBindParameters()) {
+      return executePrepared(query, statement, schemaProperties);
+    }
+
+    final String sql = expandQuery(query.getQuery(), schemaProperties);
     LOGGER.log(Level.FINE, new StringFormat("Executing %s: %n%s", query.getName(), sql));
     return executeSql(statement, sql);
   }
@@ -80,7 +90,13 @@ public final class QueryUtility {
     requireNonNull(query, "No query provided");
     requireNonNull(identifiers, "No identifiers provided");
 
-    final String sql = getQuery(query, table, isAlphabeticalSortForTableColumns, identifiers);
+    final Map<String, String> tableProperties =
+        getTableProperties(table, isAlphabeticalSortForTableColumns, identifiers);
+    if (query.hasBindParameters()) {
+      return executePrepared(query, statement, tableProperties);
+    }
+
+    final String sql = expandQuery(query.getQuery(), tableProperties);
     LOGGER.log(Level.FINE, new StringFormat("Executing %s: %n%s", query.getName(), sql));
     return executeSql(statement, sql);
   }
@@ -91,18 +107,19 @@ public final class QueryUtility {
       final Table table,
       final Identifiers identifiers)
       throws SQLException {
-    requireNonNull(query, "No query provided");
-    final String sql = getQuery(query, table, true, identifiers);
-    LOGGER.log(Level.FINE, new StringFormat("Executing %s: %n%s", query.getName(), sql));
-    return executeSqlForLong(connection, sql);
+    final Object longValue = executeForScalar(query, connection, table, identifiers);
+    // Error checking
+    if (longValue == null || !(longValue instanceof Number)) {
+      throw new SQLException("Cannot get a long value result from SQL query");
+    }
+
+    return ((Number) longValue).longValue();
   }
 
   public static Object executeForScalar(final Query query, final Connection connection)
       throws SQLException {
     requireNonNull(query, "No query provided");
-    final String sql = getQuery(query);
-    LOGGER.log(Level.FINE, new StringFormat("Executing %s: %n%s", query.getName(), sql));
-    return executeSqlForScalar(connection, sql);
+    return executeForScalar(query, connection, new HashMap<>());
   }
 
   public static Object executeForScalar(
@@ -112,11 +129,102 @@ public final class QueryUtility {
       final Identifiers identifiers)
       throws SQLException {
     requireNonNull(query, "No query provided");
-    final String sql = getQuery(query, table, true, identifiers);
+    return executeForScalar(query, connection, getTableProperties(table, true, identifiers));
+  }
+
+  /**
+   * Prepares a query that has bind parameters, to run against a table, with bind values for the
+   * table. The caller owns the statement, so that it can set limits on it and cancel it, and needs
+   * to close it.
+   *
+   * @param query Query with bind parameters
+   * @param connection Connection to prepare the statement on
+   * @param table Table to run the query against
+   * @param isAlphabeticalSortForTableColumns Whether table columns are listed alphabetically
+   * @param identifiers Identifiers for quoting names
+   * @return Prepared statement, with bind values set
+   * @throws SQLException On an exception preparing the statement
+   */
+  public static PreparedStatement prepareAgainstTable(
+      final Query query,
+      final Connection connection,
+      final Table table,
+      final boolean isAlphabeticalSortForTableColumns,
+      final Identifiers identifiers)
+      throws SQLException {
+    requireNonNull(query, "No query provided");
+    requireNonNull(connection, "No connection provided");
+    requireNonNull(identifiers, "No identifiers provided");
+
+    final Map<String, String> tableProperties =
+        getTableProperties(table, isAlphabeticalSortForTableColumns, identifiers);
+    final String sql = expandQuery(query.getPreparedQuery(), tableProperties);
+    return prepareStatement(connection, query, sql, tableProperties);
+  }
+
+  /**
+   * Runs a query that has bind parameters as a prepared statement on the same connection as the
+   * provided statement, with the same fetch size, maximum number of rows and query timeout. The
+   * prepared statement is closed when the results are closed, by closing the statement that the
+   * connection handed out rather than the driver's statement, so that a pooled connection can
+   * reuse it.
+   */
+  private static ResultSet executePrepared(
+      final Query query, final Statement statement, final Map<String, String> properties)
+      throws SQLException {
+    if (statement == null) {
+      return null;
+    }
+
+    final String sql = expandQuery(query.getPreparedQuery(), properties);
+    final PreparedStatement preparedStatement =
+        prepareStatement(statement.getConnection(), query, sql, properties);
+    boolean isReturned = false;
+    try {
+      final int fetchSize = statement.getFetchSize();
+      if (fetchSize > 0) {
+        preparedStatement.setFetchSize(fetchSize);
+      }
+      preparedStatement.setMaxRows(statement.getMaxRows());
+      preparedStatement.setQueryTimeout(statement.getQueryTimeout());
+
+      final ResultSet resultSet = executePreparedStatement(preparedStatement, sql);
+      if (resultSet == null) {
+        return null;
+      }
+      isReturned = true;
+      return statementClosingResultSet(resultSet, preparedStatement);
+    } finally {
+      if (!isReturned) {
+        preparedStatement.close();
+      }
+    }
+  }
+
+  private static Object executeForScalar(
+      final Query query, final Connection connection, final Map<String, String> properties)
+      throws SQLException {
+    if (query.hasBindParameters()) {
+      final String sql = expandQuery(query.getPreparedQuery(), properties);
+      try (final PreparedStatement statement =
+          prepareStatement(connection, query, sql, properties)) {
+        return executePreparedStatementForScalar(statement, sql);
+      }
+    }
+
+    final String sql = expandQuery(query.getQuery(), properties);
     LOGGER.log(Level.FINE, new StringFormat("Executing %s: %n%s", query.getName(), sql));
     return executeSqlForScalar(connection, sql);
   }
 
+  /**
+   * Substitutes variables into the query, first from the provided properties, and then from system
+   * properties.
+   */
+  private static String expandQuery(final String sql, final Map<String, String> properties) {
+    return expandTemplate(expandTemplate(sql, properties));
+  }
+
   private static String getColumnsListAsString(
       final List<Column> columns,
       final boolean omitLargeObjectColumns,
@@ -135,17 +243,13 @@ public final class QueryUtility {
     return String.join(", ", columnsList);
   }
 
-  private static String getQuery(final Query query) {
-    return expandTemplate(query.getQuery());
-  }
-
   /**
-   * Gets the query with parameters substituted.
+   * Gets the query parameters for a schema query.
    *
    * @param schemaInclusionRule Schema inclusion rule
-   * @return Ready-to-execute query
+   * @return Query parameters
    */
-  private static String getQuery(final Query query, final InclusionRule schemaInclusionRule) {
+  private static Map<String, String> getSchemaProperties(final InclusionRule schemaInclusionRule) {
     final Map<String, String> properties = new HashMap<>();
 
     properties.put("schemas", ".*");
@@ -160,15 +264,15 @@ public final class QueryUtility {
       }
     }
 
-    String sql = query.getQuery();
-    sql = expandTemplate(sql, properties);
-    sql = expandTemplate(sql);
-
-    return sql;
+    return properties;
   }
 
-  private static String getQuery(
-      final Query query,
+  /**
+   * Gets the query parameters for a table query.
+   *
+   * @return Query parameters
+   */
+  private static Map<String, String> getTableProperties(
       final Table table,
       final boolean isAlphabeticalSortForTableColumns,
       final Identifiers identifiers) {
@@ -190,12 +294,75 @@ public final class QueryUtility {
       tableProperties.put("orderbycolumns", getColumnsListAsString(columns, true, identifiers));
       tableProperties.put("tabletype", table.getTableType().toString());
     }
+    return tableProperties;
+  }
+
+  /**
+   * Prepares a statement, and sets bind parameters from the provided properties, or from system
+   * properties. Bind parameters without a value are set to null.
+   */
+  private static PreparedStatement prepareStatement(
+      final Connection connection,
+      final Query query,
+      final String sql,
+      final Map<String, String> properties)
+      throws SQLException {
+    final List<String> bindParameters = query.getBindParameters();
+    final List<String> bindValues = new ArrayList<>();
+    for (final String bindParameter : bindParameters) {
+      bindValues.add(properties.getOrDefault(bindParameter, System.getProperty(bindParameter)));
+    }
+    LOGGER.log(
+        Level.FINE,
+        new StringFormat(
+            "Executing %s: %n%s%nwith bind parameters %s", query.getName(), sql, bindValues));
 
-    String sql = query.getQuery();
-    sql = expandTemplate(sql, tableProperties);
-    sql = expandTemplate(sql);
+    final PreparedStatement statement = connection.prepareStatement(sql);
+    try {
+      for (int i = 0; i < bindValues.size(); i++) {
+        final String bindValue = bindValues.get(i);
+        if (bindValue == null) {
+          statement.setNull(i + 1, Types.VARCHAR);
+        } else {
+          statement.setString(i + 1, bindValue);
+        }
+      }
+    } catch (final SQLException e) {
+      statement.close();
+      throw e;
+    }
+    return statement;
+  }
 
-    return sql;
+  /**
+   * Wraps results, so that closing them also closes the statement that they came from, and so
+   * that they report that statement. All other calls go to the results.
+   */
+  private static ResultSet statementClosingResultSet(
+      final ResultSet results, final Statement statement) {
+    return (ResultSet)
+        newProxyInstance(
+            QueryUtility.class.getClassLoader(),
+            new Class[] {ResultSet.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "close":
+                  try {
+                    results.close();
+                  } finally {
+                    statement.close();
+                  }
+                  return null;
+                case "getStatement":
+                  return statement;
+                default:
+                  try {
+                    return method.invoke(results, args);
+                  } catch (final InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+              }
+            });
   }
 
   private QueryUtility() {
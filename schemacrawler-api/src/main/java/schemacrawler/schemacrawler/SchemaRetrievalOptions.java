@@ -32,6 +32,7 @@ import static us.fatehi.utility.Utility.isBlank;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Optional;
 
 import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.utility.TypeMap;
@@ -56,6 +57,9 @@ public final class SchemaRetrievalOptions implements Options {
   private final EnumDataTypeHelper enumDataTypeHelper;
   EnumMap<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy>
       metadataRetrievalStrategyMap;
+  private final int fetchSize;
+  private final Map<InformationSchemaKey, Integer> fetchSizes;
+  private final TableSampleSyntax tableSampleSyntax;
 
   protected SchemaRetrievalOptions(final SchemaRetrievalOptionsBuilder builder) {
     final SchemaRetrievalOptionsBuilder bldr =
@@ -69,6 +73,9 @@ public final class SchemaRetrievalOptions implements Options {
     typeMap = bldr.overridesTypeMap.orElse(new TypeMap());
     enumDataTypeHelper = bldr.enumDataTypeHelper;
     metadataRetrievalStrategyMap = new EnumMap<>(bldr.metadataRetrievalStrategyMap);
+    fetchSize = bldr.fetchSize;
+    fetchSizes = new EnumMap<>(bldr.fetchSizes);
+    tableSampleSyntax = bldr.tableSampleSyntax;
   }
 
   public MetadataRetrievalStrategy get(
@@ -86,6 +93,15 @@ public final class SchemaRetrievalOptions implements Options {
     return enumDataTypeHelper;
   }
 
+  /**
+   * Number of rows to fetch at first from results of metadata queries.
+   *
+   * @return Initial fetch size
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
   public String getIdentifierQuoteString() {
     if (!hasOverrideForIdentifierQuoteString()) {
       return "";
@@ -101,6 +117,15 @@ public final class SchemaRetrievalOptions implements Options {
     return informationSchemaViews;
   }
 
+  /**
+   * SQL syntax that the database supports for sampling and limiting rows read from tables.
+   *
+   * @return Table sample syntax
+   */
+  public TableSampleSyntax getTableSampleSyntax() {
+    return tableSampleSyntax;
+  }
+
   public TypeMap getTypeMap() {
     return typeMap;
   }
@@ -121,12 +146,29 @@ public final class SchemaRetrievalOptions implements Options {
     return supportsSchemas;
   }
 
+  /**
+   * Looks up a fixed fetch size for results of an information schema view query.
+   *
+   * @param informationSchemaKey Information schema view query
+   * @return Fixed fetch size, if one was set
+   */
+  public Optional<Integer> lookupFetchSize(final InformationSchemaKey informationSchemaKey) {
+    if (informationSchemaKey == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(fetchSizes.get(informationSchemaKey));
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
     return ObjectToString.toString(this);
   }
 
+  Map<InformationSchemaKey, Integer> getFetchSizes() {
+    return new EnumMap<>(fetchSizes);
+  }
+
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy>
       getMetadataRetrievalStrategyMap() {
     return new EnumMap<>(metadataRetrievalStrategyMap);
@@ -56,6 +56,8 @@ public final class SchemaRetrievalOptionsBuilder
     return new SchemaRetrievalOptionsBuilder().toOptions();
   }
 
+  private static final int DEFAULT_FETCH_SIZE = 20;
+
   DatabaseServerType dbServerType;
   String identifierQuoteString;
   Identifiers identifiers;
@@ -67,6 +69,9 @@ public final class SchemaRetrievalOptionsBuilder
   boolean supportsSchemas;
   EnumDataTypeHelper enumDataTypeHelper;
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy> metadataRetrievalStrategyMap;
+  int fetchSize;
+  Map<InformationSchemaKey, Integer> fetchSizes;
+  TableSampleSyntax tableSampleSyntax;
 
   private SchemaRetrievalOptionsBuilder() {
     dbServerType = DatabaseServerType.UNKNOWN;
@@ -79,6 +84,9 @@ public final class SchemaRetrievalOptionsBuilder
     identifiers = Identifiers.STANDARD;
     overridesTypeMap = Optional.empty();
     enumDataTypeHelper = NO_OP_ENUM_DATA_TYPE_HELPER;
+    fetchSize = DEFAULT_FETCH_SIZE;
+    fetchSizes = new EnumMap<>(InformationSchemaKey.class);
+    tableSampleSyntax = TableSampleSyntax.unknown;
 
     metadataRetrievalStrategyMap = new EnumMap<>(SchemaInfoMetadataRetrievalStrategy.class);
     for (final SchemaInfoMetadataRetrievalStrategy key :
@@ -133,6 +141,9 @@ public final class SchemaRetrievalOptionsBuilder
     identifiers = options.getIdentifiers();
     overridesTypeMap = Optional.empty();
     metadataRetrievalStrategyMap = options.getMetadataRetrievalStrategyMap();
+    fetchSize = options.getFetchSize();
+    fetchSizes = options.getFetchSizes();
+    tableSampleSyntax = options.getTableSampleSyntax();
 
     return this;
   }
@@ -203,6 +214,43 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Overrides the JDBC driver provided information about the identifier quote string.
+   *
+   * @param identifierQuoteString Value for the override
+   */
+  /**
+   * Sets the number of rows to fetch at first from results of metadata queries. Fetch sizes grow
+   * during the crawl, based on the number of rows and the size of rows in the results.
+   *
+   * @param fetchSize Initial fetch size, ignored if it is not positive
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(final int fetchSize) {
+    if (fetchSize > 0) {
+      this.fetchSize = fetchSize;
+    }
+    return this;
+  }
+
+  /**
+   * Sets a fixed fetch size for results of an information schema view query, which overrides the
+   * adaptive fetch size.
+   *
+   * @param informationSchemaKey Information schema view query
+   * @param fetchSize Fixed fetch size, or zero to remove the override
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(
+      final InformationSchemaKey informationSchemaKey, final int fetchSize) {
+    if (informationSchemaKey != null) {
+      if (fetchSize > 0) {
+        fetchSizes.put(informationSchemaKey, fetchSize);
+      } else {
+        fetchSizes.remove(informationSchemaKey);
+      }
+    }
+    return this;
+  }
+
   /**
    * Overrides the JDBC driver provided information about the identifier quote string.
    *
@@ -254,6 +302,22 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Sets the SQL syntax that the database supports for sampling and limiting rows read from
+   * tables.
+   *
+   * @param tableSampleSyntax Table sample syntax, or null if it is not known
+   */
+  public SchemaRetrievalOptionsBuilder withTableSampleSyntax(
+      final TableSampleSyntax tableSampleSyntax) {
+    if (tableSampleSyntax == null) {
+      this.tableSampleSyntax = TableSampleSyntax.unknown;
+    } else {
+      this.tableSampleSyntax = tableSampleSyntax;
+    }
+    return this;
+  }
+
   public SchemaRetrievalOptionsBuilder withTypeMap(final Map<String, Class<?>> typeMap) {
     if (typeMap == null) {
       overridesTypeMap = Optional.empty();
@@ -0,0 +1,128 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.schemacrawler;
+
+import java.math.BigDecimal;
+
+/**
+ * SQL syntax that a database supports for reading a sample of the rows in a table, either as an
+ * approximate percentage of the rows, or up to a maximum number of rows. Database plugins set the
+ * syntax that applies to their database. Where a database has no syntax for limiting rows, the
+ * JDBC driver is asked to limit rows instead.
+ */
+public enum TableSampleSyntax {
+
+  /** No known syntax for sampling rows, or for limiting rows. */
+  unknown(null, null),
+  /** Limits rows with the SQL standard FETCH FIRST clause, with no syntax for sampling rows. */
+  fetch_first(null, " FETCH FIRST %d ROWS ONLY"),
+  /** Limits rows with a LIMIT clause, with no syntax for sampling rows. */
+  limit(null, " LIMIT %d"),
+  /** PostgreSQL, which samples table blocks with TABLESAMPLE SYSTEM, and limits rows with LIMIT. */
+  postgresql(" TABLESAMPLE SYSTEM (%s)", " LIMIT %d"),
+  /**
+   * Microsoft SQL Server, which samples table pages with TABLESAMPLE, and has no clause to limit
+   * rows that can be appended to a query.
+   */
+  sqlserver(" TABLESAMPLE (%s PERCENT)", null),
+  /** Oracle, which samples rows with SAMPLE, and limits rows with FETCH FIRST. */
+  oracle(" SAMPLE (%s)", " FETCH FIRST %d ROWS ONLY"),
+  /**
+   * IBM DB2, which samples table pages with TABLESAMPLE SYSTEM, and limits rows with FETCH FIRST.
+   */
+  db2(" TABLESAMPLE SYSTEM (%s)", " FETCH FIRST %d ROWS ONLY"),
+  ;
+
+  /**
+   * Whether a percentage reads only a sample of the rows in a table, that is, whether it is more
+   * than 0, and less than 100.
+   *
+   * @param samplePercent Percentage of rows to sample
+   * @return Whether the percentage reads a sample of rows
+   */
+  public static boolean isSample(final double samplePercent) {
+    return samplePercent > 0 && samplePercent < 100;
+  }
+
+  private final String sampleClause;
+  private final String limitClause;
+
+  TableSampleSyntax(final String sampleClause, final String limitClause) {
+    this.sampleClause = sampleClause;
+    this.limitClause = limitClause;
+  }
+
+  /**
+   * Clause to append to a query to limit the number of rows returned.
+   *
+   * @param maxRows Maximum number of rows
+   * @return Clause with a leading space, or an empty string if rows are not limited, or if the
+   *     database has no syntax to limit rows
+   */
+  public String getLimitClause(final int maxRows) {
+    if (!supportsLimit() || maxRows <= 0) {
+      return "";
+    }
+    return String.format(limitClause, maxRows);
+  }
+
+  /**
+   * Clause to append to a table reference in a query to read an approximate percentage of the rows
+   * in the table.
+   *
+   * @param samplePercent Percentage of rows to sample
+   * @return Clause with a leading space, or an empty string if the percentage does not sample rows,
+   *     or if the database has no syntax to sample rows
+   */
+  public String getSampleClause(final double samplePercent) {
+    if (!supportsSampling() || !isSample(samplePercent)) {
+      return "";
+    }
+    // Plain notation, since the database may not parse exponents
+    return String.format(
+        sampleClause, BigDecimal.valueOf(samplePercent).stripTrailingZeros().toPlainString());
+  }
+
+  /**
+   * Whether the database has syntax to limit rows returned by a query.
+   *
+   * @return Whether rows can be limited in the query
+   */
+  public boolean supportsLimit() {
+    return limitClause != null;
+  }
+
+  /**
+   * Whether the database has syntax to sample the rows in a table.
+   *
+   * @return Whether rows can be sampled in the query
+   */
+  public boolean supportsSampling() {
+    return sampleClause != null;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.analysis.associations;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+
+@TestInstance(PER_CLASS)
+public class WeakAssociationsAnalyzerParallelTest {
+
+  private static final int TABLE_COUNT = 300;
+
+  private Connection connection;
+  private Collection<Table> tables;
+
+  @AfterAll
+  public void dropDatabase() throws Exception {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    connection.close();
+  }
+
+  @BeforeAll
+  public void loadCatalog() throws Exception {
+    connection = DriverManager.getConnection("jdbc:hsqldb:mem:weakassociations", "sa", "");
+    // Each table has columns named for two other tables, which are proposed as weak associations
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA SYNTHETIC");
+      for (int i = 0; i < TABLE_COUNT; i++) {
+        statement.execute(
+            String.format(
+                "CREATE TABLE SYNTHETIC.%s (ID INTEGER PRIMARY KEY, %s_ID INTEGER, "
+                    + "%s_ID INTEGER, NAME VARCHAR(20))",
+                tableName(i), tableName((i + 1) % TABLE_COUNT), tableName((i * 7) % TABLE_COUNT)));
+      }
+    }
+
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.SYNTHETIC"))
+                    .toOptions());
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    tables = catalog.getTables();
+  }
+
+  @Test
+  public void parallelAnalysisMatchesSequentialAnalysis() throws Exception {
+    assertThat(tables, hasSize(TABLE_COUNT));
+
+    final List<ProposedWeakAssociation> sequentialWeakAssociations =
+        new ArrayList<>(new WeakAssociationsAnalyzer(tables, Integer.MAX_VALUE).analyzeTables());
+    assertThat(sequentialWeakAssociations.size(), is(greaterThan(TABLE_COUNT)));
+
+    // Default split, and splits down to a single table per task
+    assertThat(
+        new ArrayList<>(new WeakAssociationsAnalyzer(tables).analyzeTables()),
+        is(sequentialWeakAssociations));
+    for (final int tablesPerTask : new int[] {1, 7, 64}) {
+      assertThat(
+          new ArrayList<>(new WeakAssociationsAnalyzer(tables, tablesPerTask).analyzeTables()),
+          is(sequentialWeakAssociations));
+    }
+  }
+
+  private String tableName(final int index) {
+    return String.format("T%03d", index);
+  }
+}
@@ -0,0 +1,191 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.analysis.counts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.getRowCount;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.hasRowCount;
+import static schemacrawler.analysis.counts.TableRowCountsUtility.isRowCountEstimated;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptions;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.RowCountsMode;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class TableRowCountsRetrieverTest {
+
+  private static final SchemaCrawlerOptions schemaCrawlerOptions =
+      SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+          .withLimitOptions(
+              LimitOptionsBuilder.builder()
+                  .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+                  .toOptions());
+
+  private static Supplier<Connection> connectionSupplier(
+      final DatabaseConnectionInfo databaseConnectionInfo, final List<Connection> connections) {
+    return () -> {
+      try {
+        final Connection connection =
+            DriverManager.getConnection(databaseConnectionInfo.getConnectionUrl(), "sa", "");
+        synchronized (connections) {
+          connections.add(connection);
+        }
+        return connection;
+      } catch (final SQLException e) {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    };
+  }
+
+  private static Map<String, Long> exactRowCounts(final Connection connection)
+      throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    new TableRowCountsRetriever(connection, catalog).retrieveTableRowCounts();
+    return rowCounts(catalog);
+  }
+
+  private static Map<String, Long> rowCounts(final Catalog catalog) {
+    final Map<String, Long> rowCounts = new HashMap<>();
+    for (final Table table : catalog.getTables()) {
+      if (hasRowCount(table)) {
+        rowCounts.put(table.getFullName(), getRowCount(table));
+      }
+    }
+    return rowCounts;
+  }
+
+  @Test
+  public void batchedRowCountsOnSeparateConnections(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final Map<String, Long> expectedRowCounts = exactRowCounts(connection);
+    assertThat(expectedRowCounts.size(), is(greaterThan(0)));
+
+    // Use a batch size and number of threads that do not evenly divide
+    // the tables
+    final LoadOptions loadOptions =
+        LoadOptionsBuilder.builder()
+            .withMaxThreads(3)
+            .withRowCountsBatchSize(4)
+            .withRowCountsTimeoutSeconds(60)
+            .toOptions();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    final List<Connection> connections = new ArrayList<>();
+    new TableRowCountsRetriever(
+            connection,
+            connectionSupplier(databaseConnectionInfo, connections),
+            InformationSchemaViewsBuilder.newInformationSchemaViews(),
+            catalog,
+            loadOptions)
+        .retrieveTableRowCounts();
+
+    assertThat(rowCounts(catalog), is(expectedRowCounts));
+    assertThat(connections, hasSize(3));
+    for (final Connection workerConnection : connections) {
+      assertThat(workerConnection.isClosed(), is(true));
+    }
+    for (final Table table : catalog.getTables()) {
+      assertThat(isRowCountEstimated(table), is(false));
+    }
+  }
+
+  @Test
+  public void estimatedRowCounts(final Connection connection) throws Exception {
+    final InformationSchemaViews informationSchemaViews =
+        InformationSchemaViewsBuilder.builder()
+            .withSql(
+                InformationSchemaKey.EXT_TABLE_ROW_COUNTS,
+                "SELECT TABLE_CAT AS TABLE_CATALOG, TABLE_SCHEM AS TABLE_SCHEMA, TABLE_NAME, "
+                    + "42 AS ROW_COUNT FROM INFORMATION_SCHEMA.SYSTEM_TABLES "
+                    + "WHERE TABLE_TYPE = 'TABLE'")
+            .toOptions();
+    final LoadOptions loadOptions =
+        LoadOptionsBuilder.builder().withRowCountsMode(RowCountsMode.estimate).toOptions();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    new TableRowCountsRetriever(connection, null, informationSchemaViews, catalog, loadOptions)
+        .retrieveTableRowCounts();
+
+    // Views do not have statistics, so they do not get estimates
+    for (final Table table : catalog.getTables()) {
+      final boolean isTable = "TABLE".equals(table.getTableType().getTableType());
+      assertThat(table.getFullName(), hasRowCount(table), is(isTable));
+      if (isTable) {
+        assertThat(getRowCount(table), is(42L));
+        assertThat(isRowCountEstimated(table), is(true));
+      }
+    }
+  }
+
+  @Test
+  public void estimatedRowCountsWithoutQuery(final Connection connection) throws Exception {
+    final Map<String, Long> expectedRowCounts = exactRowCounts(connection);
+
+    // Without a query for estimates, rows are counted
+    final LoadOptions loadOptions =
+        LoadOptionsBuilder.builder().withRowCountsMode(RowCountsMode.estimate).toOptions();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    new TableRowCountsRetriever(
+            connection,
+            null,
+            InformationSchemaViewsBuilder.newInformationSchemaViews(),
+            catalog,
+            loadOptions)
+        .retrieveTableRowCounts();
+
+    assertThat(rowCounts(catalog), is(expectedRowCounts));
+  }
+}
@@ -0,0 +1,207 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CatalogSnapshotTest {
+
+  private static List<String> fullNames(final Iterable<? extends NamedObject> namedObjects) {
+    final List<String> fullNames = new ArrayList<>();
+    for (final NamedObject namedObject : namedObjects) {
+      fullNames.add(namedObject.getFullName());
+    }
+    return fullNames;
+  }
+
+  @Test
+  public void notASnapshot() throws Exception {
+    final Path file = Files.createTempFile("sc", ".txt");
+    Files.write(file, "Not a snapshot".getBytes());
+
+    assertThat(CatalogSnapshotReader.isCatalogSnapshot(file), is(false));
+    assertThat(CatalogSnapshotReader.isCatalogSnapshot(file.resolveSibling("no-file")), is(false));
+
+    try {
+      new CatalogSnapshotReader(file).read(schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+      throw new AssertionError("Expected an exception");
+    } catch (final SchemaCrawlerException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void partialSnapshot(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Path file = writeSnapshot(catalog);
+
+    final SchemaCrawlerOptions options =
+        schemaCrawlerOptionsWithMaximumSchemaInfoLevel.withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeTables(new RegularExpressionInclusionRule(".*\\.BOOKS\\.BOOKS"))
+                .toOptions());
+    final Catalog snapshotCatalog = new CatalogSnapshotReader(file).read(options);
+
+    assertThat(fullNames(snapshotCatalog.getTables()), is(Arrays.asList("PUBLIC.BOOKS.BOOKS")));
+    assertThat(snapshotCatalog.getColumnDataTypes(), hasSize(catalog.getColumnDataTypes().size()));
+
+    // Foreign keys to tables that are not loaded refer to partial tables
+    final Table table = snapshotCatalog.getTables().iterator().next();
+    final Table originalTable = catalog.lookupTable(table.getSchema(), table.getName()).get();
+    assertThat(fullNames(table.getForeignKeys()), is(fullNames(originalTable.getForeignKeys())));
+    for (final ForeignKey foreignKey : table.getExportedForeignKeys()) {
+      for (final ForeignKeyColumnReference columnReference : foreignKey.getColumnReferences()) {
+        final Column fkColumn = columnReference.getForeignKeyColumn();
+        if (fkColumn.getParent() != table) {
+          assertThat(fkColumn, is(instanceOf(ColumnPartial.class)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void snapshot(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Path file = writeSnapshot(catalog);
+    assertThat(CatalogSnapshotReader.isCatalogSnapshot(file), is(true));
+
+    final Catalog snapshotCatalog =
+        new CatalogSnapshotReader(file).read(schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    assertThat(snapshotCatalog.getName(), is(catalog.getName()));
+    assertThat(
+        snapshotCatalog.getCrawlInfo().getRunId(), is(catalog.getCrawlInfo().getRunId()));
+    assertThat(
+        snapshotCatalog.getDatabaseInfo().getProductName(),
+        is(catalog.getDatabaseInfo().getProductName()));
+    assertThat(
+        snapshotCatalog.getDatabaseInfo().getProperties(),
+        hasSize(catalog.getDatabaseInfo().getProperties().size()));
+    assertThat(
+        snapshotCatalog.getJdbcDriverInfo().getConnectionUrl(),
+        is(catalog.getJdbcDriverInfo().getConnectionUrl()));
+    assertThat(fullNames(snapshotCatalog.getSchemas()), is(fullNames(catalog.getSchemas())));
+    assertThat(
+        fullNames(snapshotCatalog.getColumnDataTypes()),
+        is(fullNames(catalog.getColumnDataTypes())));
+
+    assertThat(snapshotCatalog.getTables(), is(not(empty())));
+    assertThat(fullNames(snapshotCatalog.getTables()), is(fullNames(catalog.getTables())));
+    for (final Table table : catalog.getTables()) {
+      final Table snapshotTable =
+          snapshotCatalog.lookupTable(table.getSchema(), table.getName()).get();
+      assertThat(snapshotTable.getTableType(), is(table.getTableType()));
+      assertThat(snapshotTable.getRemarks(), is(table.getRemarks()));
+      assertThat(fullNames(snapshotTable.getColumns()), is(fullNames(table.getColumns())));
+      for (final Column column : table.getColumns()) {
+        final Column snapshotColumn = snapshotTable.lookupColumn(column.getName()).get();
+        final ColumnDataType snapshotColumnDataType = snapshotColumn.getColumnDataType();
+        assertThat(snapshotColumnDataType.getFullName(), is(column.getColumnDataType().getFullName()));
+        assertThat(snapshotColumn.isNullable(), is(column.isNullable()));
+        assertThat(snapshotColumn.isPartOfPrimaryKey(), is(column.isPartOfPrimaryKey()));
+        assertThat(snapshotColumn.isPartOfForeignKey(), is(column.isPartOfForeignKey()));
+        assertThat(snapshotColumn.getDefaultValue(), is(column.getDefaultValue()));
+      }
+      assertThat(
+          snapshotTable.hasPrimaryKey() ? snapshotTable.getPrimaryKey().getFullName() : "",
+          is(table.hasPrimaryKey() ? table.getPrimaryKey().getFullName() : ""));
+      assertThat(fullNames(snapshotTable.getIndexes()), is(fullNames(table.getIndexes())));
+      for (final Index index : table.getIndexes()) {
+        assertThat(
+            fullNames(snapshotTable.lookupIndex(index.getName()).get().getColumns()),
+            is(fullNames(index.getColumns())));
+      }
+      assertThat(
+          fullNames(snapshotTable.getTableConstraints()),
+          is(fullNames(table.getTableConstraints())));
+      assertThat(
+          fullNames(snapshotTable.getImportedForeignKeys()),
+          is(fullNames(table.getImportedForeignKeys())));
+      assertThat(
+          fullNames(snapshotTable.getExportedForeignKeys()),
+          is(fullNames(table.getExportedForeignKeys())));
+      assertThat(fullNames(snapshotTable.getTriggers()), is(fullNames(table.getTriggers())));
+      assertThat(fullNames(snapshotTable.getPrivileges()), is(fullNames(table.getPrivileges())));
+    }
+
+    assertThat(fullNames(snapshotCatalog.getRoutines()), is(fullNames(catalog.getRoutines())));
+    for (final Routine routine : catalog.getRoutines()) {
+      final Routine snapshotRoutine =
+          snapshotCatalog.<Routine>lookupRoutine(routine.getSchema(), routine.getName()).get();
+      assertThat(snapshotRoutine.getRoutineType(), is(routine.getRoutineType()));
+      assertThat(snapshotRoutine.getReturnType(), is(routine.getReturnType()));
+      final List<? extends RoutineParameter<? extends Routine>> parameters =
+          routine.getParameters();
+      assertThat(snapshotRoutine.getParameters(), hasSize(parameters.size()));
+    }
+    assertThat(fullNames(snapshotCatalog.getSequences()), is(fullNames(catalog.getSequences())));
+    assertThat(fullNames(snapshotCatalog.getSynonyms()), is(fullNames(catalog.getSynonyms())));
+  }
+
+  private Path writeSnapshot(final Catalog catalog) throws IOException, SchemaCrawlerException {
+    final Path file = Files.createTempFile("sc", ".scsnap");
+    new CatalogSnapshotWriter(catalog).write(Files.newOutputStream(file));
+    return file;
+  }
+}
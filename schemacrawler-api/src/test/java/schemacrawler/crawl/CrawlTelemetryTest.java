@@ -0,0 +1,147 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.plugin.CrawlMetricsListener;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CrawlQueryTiming;
+import schemacrawler.schema.CrawlTaskTiming;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import us.fatehi.utility.StopWatch;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CrawlTelemetryTest {
+
+  private static final class RecordingCrawlMetricsListener implements CrawlMetricsListener {
+
+    private final Map<String, Long> counters = new HashMap<>();
+    private final Map<String, Duration> timers = new HashMap<>();
+
+    @Override
+    public void incrementCounter(final String name, final long increment) {
+      counters.merge(name, increment, Long::sum);
+    }
+
+    @Override
+    public void recordTimer(final String name, final Duration duration) {
+      timers.merge(name, duration, Duration::plus);
+    }
+  }
+
+  @Test
+  public void crawlTimings(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    final List<String> tasks = new ArrayList<>();
+    for (final CrawlTaskTiming taskTiming : catalog.getCrawlInfo().getCrawlTaskTimings()) {
+      tasks.add(taskTiming.getPhase() + "." + taskTiming.getTask());
+    }
+    assertThat(tasks, hasItem("crawlSchemas.retrieveSchemas"));
+    assertThat(tasks, hasItem("crawlTables.retrieveTables"));
+    assertThat(tasks, hasItem("crawlAnalysis.retrieveWeakAssociations"));
+  }
+
+  @Test
+  public void queryTimings() {
+    final RecordingCrawlMetricsListener listener = new RecordingCrawlMetricsListener();
+    final CrawlTelemetry crawlTelemetry = new CrawlTelemetry(Arrays.asList(listener));
+
+    final String sqlHash = CrawlTelemetry.sqlHash("SELECT * FROM TABLES");
+    crawlTelemetry.recordQuery("EXT_TABLES", sqlHash, 10, 3_000_000, 1_000_000);
+    crawlTelemetry.recordQuery("EXT_TABLES", sqlHash, 5, 2_000_000, 1_000_000);
+    crawlTelemetry.recordQuery("EXT_INDEXES", CrawlTelemetry.sqlHash(null), 0, 1_000_000, 0);
+
+    final List<CrawlQueryTiming> queryTimings = crawlTelemetry.getQueryTimings();
+    assertThat(queryTimings, hasSize(2));
+    final CrawlQueryTiming indexesTiming = queryTimings.get(0);
+    assertThat(indexesTiming.getQueryName(), is("EXT_INDEXES"));
+    assertThat(indexesTiming.getSqlHash(), is(""));
+    final CrawlQueryTiming tablesTiming = queryTimings.get(1);
+    assertThat(tablesTiming.getQueryName(), is("EXT_TABLES"));
+    assertThat(
+        tablesTiming.getSqlHash(), is(String.format("%08x", "SELECT * FROM TABLES".hashCode())));
+    assertThat(tablesTiming.getExecutions(), is(2L));
+    assertThat(tablesTiming.getRowCount(), is(15L));
+    assertThat(tablesTiming.getFetchTime(), is(Duration.ofMillis(5)));
+    assertThat(tablesTiming.getDecodeTime(), is(Duration.ofMillis(2)));
+
+    assertThat(listener.counters.get("schemacrawler.query.EXT_TABLES.executions"), is(2L));
+    assertThat(listener.counters.get("schemacrawler.query.EXT_TABLES.rows"), is(15L));
+    assertThat(
+        listener.timers.get("schemacrawler.query.EXT_TABLES.fetch"), is(Duration.ofMillis(5)));
+    assertThat(
+        listener.timers.get("schemacrawler.query.EXT_TABLES.decode"), is(Duration.ofMillis(2)));
+  }
+
+  @Test
+  public void taskTimings() throws Exception {
+    final RecordingCrawlMetricsListener listener = new RecordingCrawlMetricsListener();
+    final CrawlTelemetry crawlTelemetry = new CrawlTelemetry(Arrays.asList(listener));
+
+    final StopWatch stopWatch = new StopWatch("crawlTables");
+    final Instant start = Instant.now();
+    stopWatch.record("retrieveTables", start, start.plusMillis(20));
+    stopWatch.record("retrieveColumns", start, start.plusMillis(10));
+    stopWatch.record("retrieveTables", start, start.plusMillis(5));
+    crawlTelemetry.recordPhase(stopWatch);
+
+    final List<String> tasks = new ArrayList<>();
+    for (final CrawlTaskTiming taskTiming : crawlTelemetry.getTaskTimings()) {
+      assertThat(taskTiming.getPhase(), is("crawlTables"));
+      tasks.add(taskTiming.getTask() + " " + taskTiming.getDuration().toMillis());
+    }
+    assertThat(tasks, contains("retrieveTables 25", "retrieveColumns 10"));
+
+    assertThat(
+        listener.timers.get("schemacrawler.crawl.crawlTables.retrieveTables"),
+        is(Duration.ofMillis(25)));
+    assertThat(
+        listener.timers.get("schemacrawler.crawl.crawlTables.retrieveColumns"),
+        is(Duration.ofMillis(10)));
+  }
+}
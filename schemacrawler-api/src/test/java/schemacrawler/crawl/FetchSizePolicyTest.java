@@ -0,0 +1,100 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static schemacrawler.crawl.FetchSizePolicy.MAX_FETCH_BYTES;
+import static schemacrawler.crawl.FetchSizePolicy.MAX_FETCH_SIZE;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+
+public class FetchSizePolicyTest {
+
+  @Test
+  @DisplayName("Fetch sizes double as rows are read, up to a limit")
+  public void adaptiveFetchSize() {
+    final FetchSizePolicy fetchSizePolicy =
+        new FetchSizePolicy(SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions());
+
+    assertThat(fetchSizePolicy.initialFetchSize("TABLES"), is(20));
+    assertThat(fetchSizePolicy.nextFetchSize("TABLES", 20, 0, 0), is(20));
+    assertThat(fetchSizePolicy.nextFetchSize("TABLES", 20, 20, 2_000), is(40));
+    assertThat(
+        fetchSizePolicy.nextFetchSize("TABLES", MAX_FETCH_SIZE, 50_000, 50_000),
+        is(MAX_FETCH_SIZE));
+
+    // Large rows limit the number of rows in each fetch, but fetch sizes never shrink
+    final long rowBytes = MAX_FETCH_BYTES / 100;
+    assertThat(fetchSizePolicy.nextFetchSize("TABLES", 80, 80, 80 * rowBytes), is(100));
+    assertThat(fetchSizePolicy.nextFetchSize("TABLES", 160, 160, 160 * rowBytes), is(160));
+  }
+
+  @Test
+  @DisplayName("Fixed fetch sizes override adaptive fetch sizes")
+  public void fixedFetchSize() {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder()
+            .withFetchSize(50)
+            .withFetchSize(InformationSchemaKey.EXT_TABLES, 500)
+            .toOptions();
+    final FetchSizePolicy fetchSizePolicy = new FetchSizePolicy(schemaRetrievalOptions);
+
+    assertThat(fetchSizePolicy.initialFetchSize("TABLES"), is(50));
+    assertThat(fetchSizePolicy.initialFetchSize("EXT_TABLES"), is(500));
+    assertThat(fetchSizePolicy.nextFetchSize("EXT_TABLES", 500, 500, 5_000), is(500));
+
+    fetchSizePolicy.record("EXT_TABLES", 2_000, 20_000, 4, 500);
+    assertThat(fetchSizePolicy.initialFetchSize("EXT_TABLES"), is(500));
+  }
+
+  @Test
+  @DisplayName("Later executions of a query start from the number of rows returned before")
+  public void initialFetchSizeFromStatistics() {
+    final FetchSizePolicy fetchSizePolicy =
+        new FetchSizePolicy(SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions());
+
+    fetchSizePolicy.record("TABLE_COLUMNS", 0, 0, 1, 20);
+    assertThat(fetchSizePolicy.initialFetchSize("TABLE_COLUMNS"), is(20));
+
+    fetchSizePolicy.record("TABLE_COLUMNS", 300, 30_000, 4, 160);
+    assertThat(fetchSizePolicy.initialFetchSize("TABLE_COLUMNS"), is(301));
+    assertThat(fetchSizePolicy.initialFetchSize("TABLES"), is(20));
+
+    fetchSizePolicy.logStatistics();
+    assertThat(
+        fetchSizePolicy.toString(),
+        containsString("2 executions, 300 rows, 30000 bytes, 5 round trips, fetch size up to 160"));
+  }
+}
@@ -0,0 +1,248 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_OBJECT_CHANGES;
+import static schemacrawler.schemacrawler.InformationSchemaKey.SEQUENCES;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+
+public class IncrementalSchemaCrawlerTest {
+
+  private static final String OBJECT_CHANGES_SQL =
+      "SELECT C.TABLE_CATALOG AS OBJECT_CATALOG, C.TABLE_SCHEMA AS OBJECT_SCHEMA, "
+          + "C.TABLE_NAME AS OBJECT_NAME, 'TABLE' AS OBJECT_TYPE, "
+          + "GROUP_CONCAT(C.COLUMN_NAME || ' ' || C.DATA_TYPE ORDER BY C.ORDINAL_POSITION) "
+          + "|| ':' || COALESCE(T.REMARKS, '') AS CHANGE_MARKER "
+          + "FROM INFORMATION_SCHEMA.COLUMNS C "
+          + "INNER JOIN INFORMATION_SCHEMA.SYSTEM_TABLES T "
+          + "ON C.TABLE_CATALOG = T.TABLE_CAT AND C.TABLE_SCHEMA = T.TABLE_SCHEM "
+          + "AND C.TABLE_NAME = T.TABLE_NAME "
+          + "GROUP BY C.TABLE_CATALOG, C.TABLE_SCHEMA, C.TABLE_NAME, T.REMARKS "
+          + "UNION ALL "
+          + "SELECT SEQUENCE_CATALOG, SEQUENCE_SCHEMA, SEQUENCE_NAME, 'SEQUENCE', "
+          + "CAST(INCREMENT AS VARCHAR(20)) "
+          + "FROM INFORMATION_SCHEMA.SEQUENCES";
+
+  private Connection connection;
+  private SchemaCrawlerOptions options;
+
+  @AfterEach
+  public void dropDatabase() throws Exception {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    connection.close();
+  }
+
+  @BeforeEach
+  public void createDatabase() throws Exception {
+    connection = DriverManager.getConnection("jdbc:hsqldb:mem:incremental", "sa", "");
+    execute(
+        "CREATE SCHEMA SHOP",
+        "CREATE TABLE SHOP.CUSTOMERS (ID INTEGER PRIMARY KEY, NAME VARCHAR(100))",
+        "CREATE TABLE SHOP.ORDERS (ID INTEGER PRIMARY KEY, CUSTOMER_ID INTEGER, "
+            + "CONSTRAINT FK_ORDERS_CUSTOMERS FOREIGN KEY (CUSTOMER_ID) "
+            + "REFERENCES SHOP.CUSTOMERS (ID))",
+        "CREATE TABLE SHOP.NOTES (ID INTEGER PRIMARY KEY, NOTE VARCHAR(100))",
+        "CREATE SEQUENCE SHOP.ORDER_NUMBERS START WITH 1 INCREMENT BY 1");
+
+    options =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.SHOP"))
+                    .includeAllSequences()
+                    .toOptions())
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+                    .toOptions());
+  }
+
+  @Test
+  public void incrementalCrawl() throws Exception {
+    final IncrementalSchemaCrawler schemaCrawler =
+        new IncrementalSchemaCrawler(connection, schemaRetrievalOptions(true), options);
+
+    final Catalog previousCatalog = snapshot(schemaCrawler.crawl(null));
+    assertThat(previousCatalog.getTables(), hasSize(3));
+    assertThat(
+        previousCatalog.getAttribute(IncrementalSchemaCrawler.CHANGE_MARKERS),
+        is(instanceOf(Map.class)));
+
+    execute(
+        "ALTER TABLE SHOP.CUSTOMERS ADD COLUMN EMAIL VARCHAR(100)",
+        "CREATE TABLE SHOP.PRODUCTS (ID INTEGER PRIMARY KEY, NAME VARCHAR(100))",
+        "DROP TABLE SHOP.NOTES",
+        "COMMENT ON TABLE SHOP.ORDERS IS 'Orders placed by customers'");
+
+    final Catalog catalog = schemaCrawler.crawl(previousCatalog);
+
+    final Schema schema = schema(catalog);
+    final Catalog fullCatalog =
+        new SchemaCrawler(connection, schemaRetrievalOptions(true), options).crawl();
+    assertThat(tableNames(catalog), is(tableNames(fullCatalog)));
+    assertThat(tableNames(catalog), hasSize(3));
+    assertThat(catalog.lookupTable(schema, "NOTES").isPresent(), is(false));
+    assertThat(catalog.getSequences(), hasSize(1));
+
+    final Table customers = catalog.lookupTable(schema, "CUSTOMERS").get();
+    final Table orders = catalog.lookupTable(schema, "ORDERS").get();
+    assertThat(customers.getColumns(), hasSize(3));
+    assertThat(customers.lookupColumn("EMAIL").isPresent(), is(true));
+    assertThat(orders.getRemarks(), is("Orders placed by customers"));
+    assertThat(
+        orders.getRemarks(),
+        is(fullCatalog.lookupTable(schema, "ORDERS").get().getRemarks()));
+
+    // Foreign keys from unchanged tables refer to tables that were
+    // crawled again
+    assertThat(orders.getImportedForeignKeys(), hasSize(1));
+    final ForeignKey foreignKey = orders.getImportedForeignKeys().iterator().next();
+    assertThat(foreignKey.getName(), is("FK_ORDERS_CUSTOMERS"));
+    final ColumnReference columnReference = foreignKey.getColumnReferences().get(0);
+    assertThat(columnReference.getPrimaryKeyColumn().getParent(), is(sameInstance(customers)));
+    assertThat(columnReference.getForeignKeyColumn().getParent(), is(sameInstance(orders)));
+    assertThat(customers.getExportedForeignKeys(), hasSize(1));
+    final Column customerId = orders.lookupColumn("CUSTOMER_ID").get();
+    assertThat(customerId.getReferencedColumn().getParent(), is(sameInstance(customers)));
+
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        assertThat(
+            catalog.lookupColumnDataType(
+                    column.getColumnDataType().getSchema(), column.getColumnDataType().getName())
+                .get(),
+            is(sameInstance(column.getColumnDataType())));
+      }
+    }
+
+    // Change markers are updated, so the next crawl does not find changes
+    final Catalog nextCatalog = schemaCrawler.crawl(snapshot(catalog));
+    assertThat(tableNames(nextCatalog), is(tableNames(fullCatalog)));
+    assertThat(
+        nextCatalog.lookupTable(schema, "CUSTOMERS").get().getExportedForeignKeys(), hasSize(1));
+  }
+
+  @Test
+  public void incrementalCrawlWithoutChangeMarkers() throws Exception {
+    final IncrementalSchemaCrawler schemaCrawler =
+        new IncrementalSchemaCrawler(connection, schemaRetrievalOptions(false), options);
+
+    final Catalog previousCatalog = schemaCrawler.crawl(null);
+    assertThat(previousCatalog.getAttribute(IncrementalSchemaCrawler.CHANGE_MARKERS), nullValue());
+
+    execute("DROP TABLE SHOP.NOTES");
+
+    final Catalog catalog = schemaCrawler.crawl(previousCatalog);
+    assertThat(catalog, notNullValue());
+    assertThat(tableNames(catalog), hasSize(2));
+    assertThat(catalog.lookupTable(schema(catalog), "NOTES").isPresent(), is(false));
+  }
+
+  private void execute(final String... sqls) throws Exception {
+    try (final Statement statement = connection.createStatement()) {
+      for (final String sql : sqls) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  private Schema schema(final Catalog catalog) {
+    return catalog.lookupSchema("PUBLIC.SHOP").get();
+  }
+
+  private SchemaRetrievalOptions schemaRetrievalOptions(final boolean withChangeMarkers) {
+    final InformationSchemaViewsBuilder informationSchemaViewsBuilder =
+        InformationSchemaViewsBuilder.builder()
+            .withSql(SEQUENCES, "SELECT * FROM INFORMATION_SCHEMA.SEQUENCES");
+    if (withChangeMarkers) {
+      informationSchemaViewsBuilder.withSql(EXT_OBJECT_CHANGES, OBJECT_CHANGES_SQL);
+    }
+    return SchemaRetrievalOptionsBuilder.builder()
+        .withInformationSchemaViews(informationSchemaViewsBuilder.toOptions())
+        .toOptions();
+  }
+
+  private Catalog snapshot(final Catalog catalog) throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+      objectOut.writeObject(catalog);
+    }
+    try (final ObjectInputStream objectIn =
+        new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      return (Catalog) objectIn.readObject();
+    }
+  }
+
+  private List<String> tableNames(final Catalog catalog) {
+    final List<String> tableNames = new ArrayList<>();
+    for (final Table table : catalog.getTables()) {
+      tableNames.add(table.getName());
+    }
+    return tableNames;
+  }
+}
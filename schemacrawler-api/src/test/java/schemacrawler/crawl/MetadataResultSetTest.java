@@ -30,6 +30,8 @@ package schemacrawler.crawl;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
@@ -45,6 +47,7 @@ import java.sql.Statement;
 import java.time.DayOfWeek;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import org.junit.jupiter.api.DisplayName;
@@ -64,6 +67,37 @@ import us.fatehi.utility.DatabaseUtility;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class MetadataResultSetTest {
 
+  @Test
+  @DisplayName("Retrieve unread columns as attributes for each row")
+  public void attributes(final Connection connection) throws Exception {
+
+    final String sql =
+        "SELECT * FROM (VALUES(1, 'A', 'X'), (2, 'B', 'Y')) AS T(COLUMN1, COLUMN2, COLUMN3)";
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(DatabaseUtility.executeSql(statement, sql))) {
+
+      assertThat(results.next(), is(true));
+      // Column names are matched regardless of case
+      assertThat(results.getInt("column1", 0), is(1));
+      assertThat(results.getString("COLUMN3"), is("X"));
+      assertThat(results.getString("NO_COLUMN"), is(nullValue()));
+      final Map<String, Object> firstRowAttributes = results.getAttributes();
+      assertThat(firstRowAttributes.keySet(), contains("COLUMN2"));
+      assertThat(firstRowAttributes.get("COLUMN2"), is("A"));
+
+      // Read columns are tracked for each row
+      assertThat(results.next(), is(true));
+      assertThat(results.getString("COLUMN2"), is("B"));
+      final Map<String, Object> secondRowAttributes = results.getAttributes();
+      assertThat(secondRowAttributes.keySet(), containsInAnyOrder("COLUMN1", "COLUMN3"));
+      assertThat(secondRowAttributes.get("COLUMN1"), is(2));
+      assertThat(secondRowAttributes.get("COLUMN3"), is("Y"));
+
+      assertThat(results.next(), is(false));
+    }
+  }
+
   @Test
   @DisplayName("Retrieve bad values from results")
   public void badValues(final Connection connection) throws Exception {
@@ -28,10 +28,22 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.Test;
 
+import schemacrawler.schema.NamedObject;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
 import schemacrawler.schema.TableType;
@@ -40,6 +52,80 @@ public class NamedObjectTest {
 
   public static final TableType TABLE = new TableType("TABLE");
 
+  @Test
+  public void columnSortOrderChanged() {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema("CATALOG", "PUBLIC");
+    final MutableTable table = new MutableTable(schema, "CUSTOMER");
+    final NamedObjectList<MutableColumn> columns = new NamedObjectList<>();
+    for (final String columnName : new String[] {"ID", "FIRSTNAME", "LASTNAME"}) {
+      columns.add(new MutableColumn(table, columnName));
+    }
+    assertThat(names(columns), contains("FIRSTNAME", "ID", "LASTNAME"));
+
+    // Ordinal positions are set after columns are added
+    int ordinalPosition = 1;
+    for (final String columnName : new String[] {"ID", "FIRSTNAME", "LASTNAME"}) {
+      columns.lookup(table, columnName).get().setOrdinalPosition(ordinalPosition++);
+    }
+    assertThat(names(columns), contains("ID", "FIRSTNAME", "LASTNAME"));
+  }
+
+  @Test
+  public void serializedForm() throws Exception {
+    // Same serialized form as earlier versions, so that saved offline catalogs can be read
+    final ObjectStreamClass serializedClass = ObjectStreamClass.lookup(NamedObjectList.class);
+    assertThat(serializedClass.getSerialVersionUID(), is(3257847666804142128L));
+    assertThat(serializedClass.getFields().length, is(1));
+    assertThat(serializedClass.getField("objects").getType(), is(Map.class));
+
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema("CATALOG", "PUBLIC");
+    final NamedObjectList<Table> tables = new NamedObjectList<>();
+    for (final String tableName : new String[] {"INVOICE", "CUSTOMER", "ITEM"}) {
+      final MutableTable table = new MutableTable(schema, tableName);
+      table.setTableType(TABLE);
+      tables.add(table);
+    }
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(tables);
+    }
+    final NamedObjectList<Table> readTables;
+    try (final ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      @SuppressWarnings("unchecked")
+      final NamedObjectList<Table> readObject = (NamedObjectList<Table>) in.readObject();
+      readTables = readObject;
+    }
+
+    assertThat(readTables.size(), is(3));
+    assertThat(
+        readTables.lookup(Arrays.asList("CATALOG", "PUBLIC", "ITEM")).get().getName(), is("ITEM"));
+    assertThat(names(readTables), contains("CUSTOMER", "INVOICE", "ITEM"));
+  }
+
+  @Test
+  public void sortOrderChanged() {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema("CATALOG", "PUBLIC");
+    final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
+    for (final String tableName : new String[] {"INVOICE", "CUSTOMER", "ITEM"}) {
+      final MutableTable table = new MutableTable(schema, tableName);
+      table.setTableType(TABLE);
+      tables.add(table);
+    }
+    assertThat(names(tables), contains("CUSTOMER", "INVOICE", "ITEM"));
+
+    // Sort indexes are set after tables are added
+    int sortIndex = 3;
+    for (final MutableTable table : tables) {
+      table.setSortIndex(sortIndex--);
+    }
+    assertThat(names(tables), contains("ITEM", "INVOICE", "CUSTOMER"));
+  }
+
   @Test
   public void tableNames() {
     final String[] schemaNames = new String[] {"DBO", "PUBLIC"};
@@ -61,4 +147,8 @@ public class NamedObjectTest {
     }
     assertThat(tables.size(), is(schemaNames.length * tableNames.length));
   }
+
+  private List<String> names(final NamedObjectList<? extends NamedObject> namedObjects) {
+    return namedObjects.values().stream().map(NamedObject::getName).collect(Collectors.toList());
+  }
 }
@@ -0,0 +1,268 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.crawl.ForeignKeyRetrieverTest.verifyRetrieveForeignKeys;
+import static schemacrawler.crawl.IndexRetrieverTest.verifyRetrieveIndexes;
+import static schemacrawler.crawl.PrimaryKeyRetrieverTest.verifyRetrievePrimaryKeys;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.IncludeAll;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InfoLevel;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class PartitionedMetadataRetrievalTest {
+
+  private static Supplier<Connection> connectionSupplier(
+      final DatabaseConnectionInfo databaseConnectionInfo, final List<Connection> connections) {
+    return () -> {
+      try {
+        final Connection connection =
+            DriverManager.getConnection(databaseConnectionInfo.getConnectionUrl(), "sa", "");
+        synchronized (connections) {
+          connections.add(connection);
+        }
+        return connection;
+      } catch (final SQLException e) {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    };
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions(
+      final boolean retrieveTableColumns, final int maxThreads) {
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+                .toOptions())
+        .withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .withSchemaInfoLevel(
+                    SchemaInfoLevelBuilder.builder()
+                        .withInfoLevel(InfoLevel.standard)
+                        .setRetrieveTableColumns(retrieveTableColumns)
+                        .setRetrieveForeignKeys(retrieveTableColumns)
+                        .toOptions())
+                .withMaxThreads(maxThreads)
+                .toOptions());
+  }
+
+  @Test
+  @DisplayName("Merge partitions in the same order, whichever partition is fetched first")
+  public void mergeOrder(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+    final MutableCatalog catalog =
+        (MutableCatalog)
+            getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions(false, 1));
+    final List<MutableTable> tables = new ArrayList<>(catalog.getAllTables().values());
+
+    final List<String> mergeOrder = mergeOrder(connection, databaseConnectionInfo, tables, 0);
+    assertThat(mergeOrder, hasSize(tables.size()));
+    // The first connection that is handed out is slow, so that its partition is fetched last
+    assertThat(mergeOrder(connection, databaseConnectionInfo, tables, 500), is(mergeOrder));
+  }
+
+  @Test
+  @DisplayName("Retrieve table metadata in schema partitions, on separate connections")
+  public void partitionedRetrieval(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+    final MutableCatalog catalog =
+        (MutableCatalog)
+            getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions(false, 1));
+    final Collection<Table> tables = catalog.getTables();
+    assertThat(tables, hasSize(13));
+    for (final Table table : tables) {
+      assertThat(table.getColumns(), is(empty()));
+    }
+
+    // Use a number of threads that does not evenly divide the tables
+    final List<Connection> connections = new ArrayList<>();
+    final SchemaCrawlerOptions options = schemaCrawlerOptions(false, 3);
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(
+            connection,
+            connectionSupplier(databaseConnectionInfo, connections),
+            schemaRetrievalOptions);
+
+    final TableColumnRetriever tableColumnRetriever =
+        new TableColumnRetriever(retrieverConnection, catalog, options);
+    assertThat(tableColumnRetriever.isPartitionedMetadataRetrieval(), is(true));
+    tableColumnRetriever.retrieveTableColumns(catalog.getAllTables(), new IncludeAll());
+    new ForeignKeyRetriever(retrieverConnection, catalog, options)
+        .retrieveForeignKeys(catalog.getAllTables());
+    new PrimaryKeyRetriever(retrieverConnection, catalog, options)
+        .retrievePrimaryKeys(catalog.getAllTables());
+    new IndexRetriever(retrieverConnection, catalog, options)
+        .retrieveIndexes(catalog.getAllTables());
+
+    // 3 workers for each of columns, foreign keys, primary keys and indexes
+    assertThat(connections, hasSize(12));
+    for (final Connection workerConnection : connections) {
+      assertThat(workerConnection.isClosed(), is(true));
+    }
+
+    verifyRetrieveForeignKeys(catalog);
+    verifyRetrievePrimaryKeys(catalog);
+    verifyRetrieveIndexes(catalog);
+
+    // IMPORTANT: Partitioned retrieval should return the same columns as sequential retrieval
+    final Catalog sequentialCatalog =
+        getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions(true, 1));
+    for (final Table sequentialTable : sequentialCatalog.getTables()) {
+      final Optional<MutableTable> optionalTable =
+          catalog.lookupTable(sequentialTable.getSchema(), sequentialTable.getName());
+      assertThat(optionalTable.isPresent(), is(true));
+      final Table table = optionalTable.get();
+      assertThat(table.getColumns(), is(sequentialTable.getColumns()));
+      for (final Column sequentialColumn : sequentialTable.getColumns()) {
+        final Column column = table.lookupColumn(sequentialColumn.getName()).get();
+        assertThat(column.getOrdinalPosition(), is(sequentialColumn.getOrdinalPosition()));
+        assertThat(column.getColumnDataType(), is(sequentialColumn.getColumnDataType()));
+        assertThat(column.getSize(), is(sequentialColumn.getSize()));
+        assertThat(column.getDecimalDigits(), is(sequentialColumn.getDecimalDigits()));
+        assertThat(column.isNullable(), is(sequentialColumn.isNullable()));
+        assertThat(column.isAutoIncremented(), is(sequentialColumn.isAutoIncremented()));
+        assertThat(column.getDefaultValue(), is(sequentialColumn.getDefaultValue()));
+        assertThat(column.getRemarks(), is(sequentialColumn.getRemarks()));
+        assertThat(column.getAttributes(), is(sequentialColumn.getAttributes()));
+      }
+    }
+  }
+
+  private List<String> mergeOrder(
+      final Connection connection,
+      final DatabaseConnectionInfo databaseConnectionInfo,
+      final List<MutableTable> tables,
+      final long firstConnectionDelayMillis)
+      throws Exception {
+    final Supplier<Connection> connectionSupplier =
+        connectionSupplier(databaseConnectionInfo, new ArrayList<>());
+    final AtomicInteger connectionCount = new AtomicInteger();
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(
+            connection,
+            () -> {
+              final Connection workerConnection = connectionSupplier.get();
+              if (connectionCount.getAndIncrement() == 0 && firstConnectionDelayMillis > 0) {
+                try {
+                  Thread.sleep(firstConnectionDelayMillis);
+                } catch (final InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+              return workerConnection;
+            },
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions());
+
+    final List<String> mergeOrder = new ArrayList<>();
+    new PartitionedMetadataRetrieval(retrieverConnection, 3, "columns")
+        .retrieve(
+            tables,
+            (table, results) -> mergeOrder.add(table.getFullName()),
+            (metaData, table) ->
+                metaData.getColumns(
+                    table.getSchema().getCatalogName(),
+                    table.getSchema().getName(),
+                    table.getName(),
+                    null));
+    return mergeOrder;
+  }
+
+  @Test
+  @DisplayName("Read staged results after the result set is closed")
+  public void stagedResults(final Connection connection) throws Exception {
+    final StagedResults stagedResults;
+    int rowCount = 0;
+    try (final ResultSet resultSet =
+        connection.getMetaData().getColumns("PUBLIC", "BOOKS", "AUTHORS", null)) {
+      stagedResults = StagedResults.stage(resultSet);
+    }
+
+    try (final MetadataResultSet results = new MetadataResultSet(stagedResults)) {
+      while (results.next()) {
+        rowCount = rowCount + 1;
+        assertThat(results.getString("TABLE_NAME"), is("AUTHORS"));
+        assertThat(results.getInt("ORDINAL_POSITION", 0), is(rowCount));
+        assertThat(results.getString("no_such_column"), is(nullValue()));
+      }
+    }
+    assertThat(rowCount, is(9));
+
+    // Every source of rows that is created starts from the first row
+    final MetadataRowSource rows = stagedResults.rows();
+    assertThat(rows.next(), is(true));
+    assertThat(rows.getString(4), is("ID"));
+    assertThat(rows.getInt(17), is(1));
+    rows.close();
+    assertThrows(SQLException.class, () -> rows.getString(4));
+  }
+}
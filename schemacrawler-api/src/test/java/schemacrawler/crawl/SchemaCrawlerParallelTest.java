@@ -0,0 +1,177 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class SchemaCrawlerParallelTest {
+
+  private static final class TrackingConnectionSupplier implements Supplier<Connection> {
+
+    private final String connectionUrl;
+    private final List<Connection> connections = new ArrayList<>();
+
+    TrackingConnectionSupplier(final String connectionUrl) {
+      this.connectionUrl = connectionUrl;
+    }
+
+    @Override
+    public synchronized Connection get() {
+      try {
+        final Connection connection = DriverManager.getConnection(connectionUrl, "sa", "");
+        connections.add(connection);
+        return connection;
+      } catch (final SQLException e) {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    }
+
+    synchronized boolean allClosed() throws SQLException {
+      for (final Connection connection : connections) {
+        if (!connection.isClosed()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    synchronized int connectionCount() {
+      return connections.size();
+    }
+  }
+
+  @Test
+  public void parallelCrawl(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final SchemaCrawlerOptions sequentialSchemaCrawlerOptions =
+        schemaCrawlerOptionsWithMaximumSchemaInfoLevel.withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+                .includeAllRoutines()
+                .includeAllSequences()
+                .includeAllSynonyms()
+                .toOptions());
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        sequentialSchemaCrawlerOptions.withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .fromOptions(sequentialSchemaCrawlerOptions.getLoadOptions())
+                .withMaxThreads(4)
+                .toOptions());
+
+    final TrackingConnectionSupplier connectionSupplier =
+        new TrackingConnectionSupplier(databaseConnectionInfo.getConnectionUrl());
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(
+            connectionSupplier,
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+            schemaCrawlerOptions);
+    final Catalog catalog = schemaCrawler.crawl();
+
+    // Every phase runs on its own connection, and table metadata is retrieved on additional
+    // connections - all of which are closed once they are no longer needed
+    assertThat(connectionSupplier.connectionCount(), greaterThan(8));
+    assertThat(connectionSupplier.allClosed(), is(true));
+
+    // IMPORTANT: The parallel crawl should return the same information as the sequential crawl
+    final Catalog sequentialCatalog = getCatalog(connection, sequentialSchemaCrawlerOptions);
+    assertThat(catalog.getTables().size(), greaterThan(0));
+    assertThat(catalog.getRoutines().size(), greaterThan(0));
+    assertThat(catalog.getTables().size(), is(sequentialCatalog.getTables().size()));
+    assertThat(catalog.getRoutines().size(), is(sequentialCatalog.getRoutines().size()));
+    assertThat(catalog.getSequences().size(), is(sequentialCatalog.getSequences().size()));
+    assertThat(catalog.getSynonyms().size(), is(sequentialCatalog.getSynonyms().size()));
+    assertThat(
+        catalog.getColumnDataTypes().size(), is(sequentialCatalog.getColumnDataTypes().size()));
+    for (final Table table : sequentialCatalog.getTables()) {
+      final Table parallelTable = catalog.lookupTable(table.getSchema(), table.getName()).get();
+      assertThat(parallelTable.getColumns(), is(table.getColumns()));
+      assertThat(parallelTable.getForeignKeys(), is(table.getForeignKeys()));
+      assertThat(parallelTable.getIndexes(), is(table.getIndexes()));
+      assertThat(parallelTable.getWeakAssociations(), is(table.getWeakAssociations()));
+    }
+  }
+
+  @Test
+  public void parallelCrawlFailure(final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        schemaCrawlerOptionsWithMaximumSchemaInfoLevel
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule("NO_SUCH_SCHEMA"))
+                    .toOptions())
+            .withLoadOptions(LoadOptionsBuilder.builder().withMaxThreads(4).toOptions());
+
+    final TrackingConnectionSupplier connectionSupplier =
+        new TrackingConnectionSupplier(databaseConnectionInfo.getConnectionUrl());
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(
+            connectionSupplier,
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+            schemaCrawlerOptions);
+
+    final SchemaCrawlerException exception =
+        assertThrows(
+            SchemaCrawlerException.class, () -> schemaCrawler.crawl());
+    assertThat(exception.getMessage(), is("No matching schemas found"));
+    assertThat(connectionSupplier.allClosed(), is(true));
+  }
+}
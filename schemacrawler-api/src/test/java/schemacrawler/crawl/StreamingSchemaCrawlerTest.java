@@ -0,0 +1,197 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Collections.synchronizedList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class StreamingSchemaCrawlerTest {
+
+  private static final class CollectingHandler implements CatalogBatchHandler {
+
+    private Catalog catalog;
+    private final List<Schema> batchSchemas = new ArrayList<>();
+    private final Set<String> tables = new TreeSet<>();
+    private final Set<String> routines = new TreeSet<>();
+    private boolean ended;
+
+    @Override
+    public void begin(final Catalog catalog) {
+      this.catalog = catalog;
+    }
+
+    @Override
+    public void end() {
+      ended = true;
+    }
+
+    @Override
+    public void handle(final Catalog batch) {
+      assertThat(batch.getSchemas().size(), is(1));
+      final Schema schema = batch.getSchemas().iterator().next();
+      batchSchemas.add(schema);
+      // Shared parts of the catalog are crawled once
+      assertThat(batch.getDatabaseInfo(), is(sameInstance(catalog.getDatabaseInfo())));
+      assertThat(batch.getJdbcDriverInfo(), is(sameInstance(catalog.getJdbcDriverInfo())));
+      assertThat(
+          new ArrayList<>(batch.getSystemColumnDataTypes()),
+          is(new ArrayList<>(catalog.getSystemColumnDataTypes())));
+      for (final Table table : batch.getTables()) {
+        assertThat(table.getSchema(), is(schema));
+        tables.add(table.getFullName());
+      }
+      for (final Routine routine : batch.getRoutines()) {
+        routines.add(routine.getFullName() + " " + routine.getSpecificName());
+      }
+    }
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions(final int maxThreads) {
+    return schemaCrawlerOptionsWithMaximumSchemaInfoLevel
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+                .includeAllRoutines()
+                .toOptions())
+        .withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .fromOptions(schemaCrawlerOptionsWithMaximumSchemaInfoLevel.getLoadOptions())
+                .withMaxThreads(maxThreads)
+                .toOptions());
+  }
+
+  @Test
+  public void streamingCrawl(final Connection connection) throws Exception {
+
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions(1);
+
+    final CollectingHandler handler = new CollectingHandler();
+    final StreamingSchemaCrawler streamingSchemaCrawler =
+        new StreamingSchemaCrawler(
+            connection,
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+            schemaCrawlerOptions);
+    streamingSchemaCrawler.crawl(handler);
+
+    assertStreamingCrawl(connection, schemaCrawlerOptions, handler);
+  }
+
+  @Test
+  public void streamingParallelCrawl(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions(3);
+
+    final List<Connection> connections = synchronizedList(new ArrayList<>());
+    final CollectingHandler handler = new CollectingHandler();
+    final StreamingSchemaCrawler streamingSchemaCrawler =
+        new StreamingSchemaCrawler(
+            () -> {
+              try {
+                final Connection crawlConnection =
+                    DriverManager.getConnection(
+                        databaseConnectionInfo.getConnectionUrl(), "sa", "");
+                connections.add(crawlConnection);
+                return crawlConnection;
+              } catch (final SQLException e) {
+                throw new SchemaCrawlerRuntimeException("Could not connect", e);
+              }
+            },
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+            schemaCrawlerOptions);
+    streamingSchemaCrawler.crawl(handler);
+
+    assertStreamingCrawl(connection, schemaCrawlerOptions(1), handler);
+    // Each schema is crawled in phases, each on its own connection
+    assertThat(connections.size(), is(greaterThan(handler.batchSchemas.size() + 1)));
+    for (final Connection crawlConnection : connections) {
+      assertThat(crawlConnection.isClosed(), is(true));
+    }
+  }
+
+  private void assertStreamingCrawl(
+      final Connection connection,
+      final SchemaCrawlerOptions schemaCrawlerOptions,
+      final CollectingHandler handler)
+      throws Exception {
+    assertThat(handler.ended, is(true));
+    assertThat(handler.catalog.getTables(), is(empty()));
+    assertThat(handler.catalog.getRoutines(), is(empty()));
+    assertThat(handler.catalog.getColumnDataTypes(), is(not(empty())));
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    assertThat(handler.batchSchemas, is(new ArrayList<>(catalog.getSchemas())));
+
+    final Set<String> tables = new TreeSet<>();
+    for (final Table table : catalog.getTables()) {
+      tables.add(table.getFullName());
+    }
+    assertThat(handler.tables, is(tables));
+
+    final Set<String> routines = new TreeSet<>();
+    for (final Routine routine : catalog.getRoutines()) {
+      routines.add(routine.getFullName() + " " + routine.getSpecificName());
+    }
+    assertThat(handler.routines, is(routines));
+  }
+}
@@ -38,6 +38,7 @@ import static schemacrawler.schemacrawler.InformationSchemaKey.VIEW_TABLE_USAGE;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -52,6 +53,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.plugin.EnumDataTypeInfo;
 import schemacrawler.plugin.EnumDataTypeInfo.EnumDataTypeTypes;
+import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnDataType;
 import schemacrawler.schema.Index;
@@ -77,6 +79,53 @@ public class TableExtRetrieverTest {
 
   private MutableCatalog catalog;
 
+  @Test
+  @DisplayName("Retrieve enum data types in bulk before column lookups")
+  public void bulkEnumDataTypes(final Connection connection) throws Exception {
+
+    final List<Catalog> loadedCatalogs = new ArrayList<>();
+    final List<String> lookedUpColumns = new ArrayList<>();
+    final EnumDataTypeHelper enumDataTypeHelper =
+        new EnumDataTypeHelper() {
+
+          @Override
+          public EnumDataTypeInfo getEnumDataTypeInfo(
+              final Column column,
+              final ColumnDataType columnDataType,
+              final Connection connection) {
+            assertThat(loadedCatalogs, hasSize(1));
+            lookedUpColumns.add(column.getFullName());
+            return EnumDataTypeInfo.EMPTY_ENUM_DATA_TYPE_INFO;
+          }
+
+          @Override
+          public void loadEnumDataTypes(final Catalog catalog, final Connection connection) {
+            assertThat(lookedUpColumns, is(empty()));
+            loadedCatalogs.add(catalog);
+          }
+        };
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder()
+            .withEnumDataTypeHelper(enumDataTypeHelper)
+            .toOptions();
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(connection, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final TableExtRetriever tableExtRetriever =
+        new TableExtRetriever(retrieverConnection, catalog, options);
+    tableExtRetriever.retrieveAdditionalColumnMetadata();
+
+    assertThat(loadedCatalogs, hasSize(1));
+    assertThat(loadedCatalogs.get(0) == catalog, is(true));
+    int columnCount = 0;
+    for (final Table table : catalog.getTables()) {
+      columnCount = columnCount + table.getColumns().size();
+    }
+    assertThat(lookedUpColumns, hasSize(columnCount));
+  }
+
   @Test
   @DisplayName("Retrieve enum data types")
   public void enumDataTypes(final Connection connection) throws Exception {
@@ -0,0 +1,93 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.filter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class TableRelationshipIndexTest {
+
+  private static Set<Table> relatedTables(
+      final TableRelationshipType tableRelationshipType, final int depth, final Table table) {
+    final Set<Table> includedTables = new HashSet<>();
+    includedTables.add(table);
+    for (int i = 0; i < depth; i++) {
+      for (final Table includedTable : new HashSet<>(includedTables)) {
+        for (final Table relatedTable : includedTable.getRelatedTables(tableRelationshipType)) {
+          if (!(relatedTable instanceof PartialDatabaseObject)) {
+            includedTables.add(relatedTable);
+          }
+        }
+      }
+    }
+    return includedTables;
+  }
+
+  @Test
+  public void includeRelatedTables(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Collection<Table> tables = catalog.getTables();
+    final TableRelationshipIndex tableRelationshipIndex = new TableRelationshipIndex();
+
+    for (final TableRelationshipType tableRelationshipType : TableRelationshipType.values()) {
+      for (int depth = 0; depth < 4; depth++) {
+        for (final Table table : tables) {
+          final Set<Table> seedTables = new HashSet<>();
+          seedTables.add(table);
+          final Set<Table> expectedTables =
+              tableRelationshipType == TableRelationshipType.none
+                  ? seedTables
+                  : relatedTables(tableRelationshipType, depth, table);
+          assertThat(
+              String.format("%s tables of %s to depth %d", tableRelationshipType, table, depth),
+              new HashSet<>(
+                  tableRelationshipIndex.includeRelatedTables(
+                      tableRelationshipType, depth, seedTables)),
+              is(expectedTables));
+        }
+      }
+    }
+  }
+}
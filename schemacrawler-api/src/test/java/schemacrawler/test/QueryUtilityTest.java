@@ -29,15 +29,21 @@ http://www.gnu.org/licenses/
 package schemacrawler.test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
 import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -47,6 +53,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.QueryUtility;
 import schemacrawler.test.utility.TestContext;
@@ -58,6 +67,27 @@ import schemacrawler.test.utility.TestWriter;
 @ExtendWith(TestContextParameterResolver.class)
 public class QueryUtilityTest {
 
+  @Test
+  public void bindParameters() {
+    final Query query =
+        new Query(
+            "Columns for table",
+            "SELECT * FROM ${table} WHERE TABLE_NAME = ?{tablename} AND TABLE_TYPE = ?{tabletype}");
+
+    assertThat(query.hasBindParameters(), is(true));
+    assertThat(query.getBindParameters(), contains("tablename", "tabletype"));
+    assertThat(
+        query.getPreparedQuery(),
+        is("SELECT * FROM ${table} WHERE TABLE_NAME = ? AND TABLE_TYPE = ?"));
+    assertThat(query.isQueryOver(), is(true));
+
+    final Query plainQuery = new Query("Plain", "SELECT * FROM INFORMATION_SCHEMA.TABLES");
+    assertThat(plainQuery.hasBindParameters(), is(false));
+    assertThat(plainQuery.getBindParameters().isEmpty(), is(true));
+    assertThat(plainQuery.getPreparedQuery(), is(plainQuery.getQuery()));
+    assertThat(plainQuery.isQueryOver(), is(false));
+  }
+
   @Test
   public void executeAgainstSchema(final TestContext testContext, final Connection cxn)
       throws Exception {
@@ -104,6 +134,74 @@ public class QueryUtilityTest {
     executeAgainstSchemaTest(testContext, cxn, query, schemaInclusionRule);
   }
 
+  @Test
+  public void executeAgainstSchemaWithBindParameters(
+      final TestContext testContext, final Connection cxn) throws Exception {
+    final Query query =
+        new Query(
+            "Tables for schema",
+            "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_SCHEMA, ?{schemas}) ORDER BY TABLE_NAME");
+    final InclusionRule schemaInclusionRule = new RegularExpressionInclusionRule("BOOKS");
+
+    executeAgainstSchemaTest(testContext, cxn, query, schemaInclusionRule);
+  }
+
+  @Test
+  public void executeAgainstSchemaWithBindParametersKeepsLimits(final Connection cxn)
+      throws Exception {
+    final Query query =
+        new Query(
+            "Tables for schema",
+            "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_SCHEMA, ?{schemas}) ORDER BY TABLE_NAME");
+    final InclusionRule schemaInclusionRule = new RegularExpressionInclusionRule("BOOKS");
+
+    final Statement preparedStatement;
+    int rows = 0;
+    try (final Statement statement = cxn.createStatement()) {
+      statement.setMaxRows(2);
+      statement.setQueryTimeout(7);
+      try (final ResultSet resultSet =
+          QueryUtility.executeAgainstSchema(query, statement, schemaInclusionRule)) {
+        // The prepared statement gets the same limits as the provided statement
+        preparedStatement = resultSet.getStatement();
+        assertThat(preparedStatement, is(not(sameInstance(statement))));
+        assertThat(preparedStatement.getMaxRows(), is(2));
+        assertThat(preparedStatement.getQueryTimeout(), is(7));
+        while (resultSet.next()) {
+          rows++;
+        }
+      }
+    }
+
+    assertThat(rows, is(2));
+    // Closing the results closes the prepared statement
+    assertThat(preparedStatement.isClosed(), is(true));
+  }
+
+  @Test
+  public void executeForLongWithBindParameters(final Connection cxn) throws Exception {
+    final Catalog catalog = getCatalog(cxn, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Table table =
+        catalog.lookupTable(catalog.lookupSchema("PUBLIC.BOOKS").get(), "AUTHORS").get();
+    final Query query =
+        new Query(
+            "Count columns",
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = ?{tablename} AND TABLE_SCHEMA = ?{schemaname}");
+
+    // Bind parameters without a value are null
+    assertThat(QueryUtility.executeForLong(query, cxn, table, Identifiers.STANDARD), is(0L));
+
+    System.setProperty("schemaname", "BOOKS");
+    try {
+      assertThat(
+          QueryUtility.executeForLong(query, cxn, table, Identifiers.STANDARD),
+          is((long) table.getColumns().size()));
+    } finally {
+      System.clearProperty("schemaname");
+    }
+  }
+
   @Test
   public void executeForScalar(final TestContext testContext, final Connection cxn)
       throws Exception {
@@ -131,6 +229,29 @@ public class QueryUtilityTest {
     assertThat(scalar, nullValue());
   }
 
+  @Test
+  public void prepareAgainstTable(final Connection cxn) throws Exception {
+    final Catalog catalog = getCatalog(cxn, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Table table =
+        catalog.lookupTable(catalog.lookupSchema("PUBLIC.BOOKS").get(), "AUTHORS").get();
+    final Query query =
+        new Query(
+            "Columns for table",
+            "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = ?{tablename} AND TABLE_SCHEMA = 'BOOKS'");
+
+    int rows = 0;
+    try (final PreparedStatement statement =
+            QueryUtility.prepareAgainstTable(query, cxn, table, false, Identifiers.STANDARD);
+        final ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        rows++;
+      }
+    }
+
+    assertThat(rows, is(table.getColumns().size()));
+  }
+
   private void executeAgainstSchemaTest(
       final TestContext testContext,
       final Connection cxn,
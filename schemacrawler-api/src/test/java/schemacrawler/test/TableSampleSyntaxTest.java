@@ -0,0 +1,102 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.schemacrawler.TableSampleSyntax;
+
+public class TableSampleSyntaxTest {
+
+  @Test
+  public void isSample() {
+    assertThat(TableSampleSyntax.isSample(0), is(false));
+    assertThat(TableSampleSyntax.isSample(-1), is(false));
+    assertThat(TableSampleSyntax.isSample(100), is(false));
+    assertThat(TableSampleSyntax.isSample(Double.NaN), is(false));
+    assertThat(TableSampleSyntax.isSample(0.0001), is(true));
+    assertThat(TableSampleSyntax.isSample(99.5), is(true));
+  }
+
+  @Test
+  public void limitClause() {
+    assertThat(TableSampleSyntax.unknown.getLimitClause(10), is(""));
+    assertThat(TableSampleSyntax.sqlserver.getLimitClause(10), is(""));
+    assertThat(TableSampleSyntax.limit.getLimitClause(10), is(" LIMIT 10"));
+    assertThat(TableSampleSyntax.postgresql.getLimitClause(10), is(" LIMIT 10"));
+    assertThat(TableSampleSyntax.fetch_first.getLimitClause(10), is(" FETCH FIRST 10 ROWS ONLY"));
+    assertThat(TableSampleSyntax.oracle.getLimitClause(10), is(" FETCH FIRST 10 ROWS ONLY"));
+    assertThat(TableSampleSyntax.db2.getLimitClause(10), is(" FETCH FIRST 10 ROWS ONLY"));
+
+    // No limit
+    assertThat(TableSampleSyntax.limit.getLimitClause(0), is(""));
+    assertThat(TableSampleSyntax.limit.getLimitClause(-1), is(""));
+  }
+
+  @Test
+  public void sampleClause() {
+    assertThat(TableSampleSyntax.unknown.getSampleClause(10), is(""));
+    assertThat(TableSampleSyntax.limit.getSampleClause(10), is(""));
+    assertThat(TableSampleSyntax.fetch_first.getSampleClause(10), is(""));
+    assertThat(TableSampleSyntax.postgresql.getSampleClause(10), is(" TABLESAMPLE SYSTEM (10)"));
+    assertThat(TableSampleSyntax.db2.getSampleClause(10), is(" TABLESAMPLE SYSTEM (10)"));
+    assertThat(TableSampleSyntax.sqlserver.getSampleClause(10), is(" TABLESAMPLE (10 PERCENT)"));
+    assertThat(TableSampleSyntax.oracle.getSampleClause(10), is(" SAMPLE (10)"));
+
+    // Small percentages are not in exponent notation
+    assertThat(TableSampleSyntax.oracle.getSampleClause(0.0001), is(" SAMPLE (0.0001)"));
+    assertThat(TableSampleSyntax.oracle.getSampleClause(2.5), is(" SAMPLE (2.5)"));
+
+    // Not a sample
+    assertThat(TableSampleSyntax.oracle.getSampleClause(0), is(""));
+    assertThat(TableSampleSyntax.oracle.getSampleClause(100), is(""));
+  }
+
+  @Test
+  public void schemaRetrievalOptions() {
+    assertThat(
+        SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions().getTableSampleSyntax(),
+        is(TableSampleSyntax.unknown));
+
+    final SchemaRetrievalOptionsBuilder builder =
+        SchemaRetrievalOptionsBuilder.builder().withTableSampleSyntax(TableSampleSyntax.oracle);
+    assertThat(builder.toOptions().getTableSampleSyntax(), is(TableSampleSyntax.oracle));
+    assertThat(
+        SchemaRetrievalOptionsBuilder.builder(builder.toOptions())
+            .toOptions()
+            .getTableSampleSyntax(),
+        is(TableSampleSyntax.oracle));
+
+    builder.withTableSampleSyntax(null);
+    assertThat(builder.toOptions().getTableSampleSyntax(), is(TableSampleSyntax.unknown));
+  }
+}
@@ -38,7 +38,10 @@ import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -49,6 +52,7 @@ import schemacrawler.analysis.associations.ProposedWeakAssociation;
 import schemacrawler.analysis.associations.WeakAssociationsAnalyzer;
 import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.LimitOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
@@ -82,6 +86,20 @@ public class WeakAssociationsAnalyzerTest {
         DatabaseTestUtility.getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
   }
 
+  @Test
+  public void weakAssociationsAreRepeatable() throws Exception {
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    final List<ProposedWeakAssociation> proposedWeakAssociations =
+        new ArrayList<>(new WeakAssociationsAnalyzer(tables).analyzeTables());
+
+    Collections.reverse(tables);
+    for (int i = 0; i < 3; i++) {
+      assertThat(
+          new ArrayList<>(new WeakAssociationsAnalyzer(tables).analyzeTables()),
+          is(proposedWeakAssociations));
+    }
+  }
+
   @Test
   public void weakAssociations(final TestContext testContext, final Connection connection)
       throws Exception {
@@ -0,0 +1,88 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.analysis.associations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.crawl.SyntheticCatalog;
+import schemacrawler.schema.Table;
+
+/**
+ * Measures weak association analysis across all tables of a synthetic catalog, and separately, the
+ * cost of building the column and table match key indexes that the analysis uses.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class WeakAssociationsAnalyzerBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int tableCount;
+
+  private Collection<Table> tables;
+  private List<Table> sortedTables;
+
+  @Benchmark
+  public Collection<ProposedWeakAssociation> analyzeTables() {
+    return new WeakAssociationsAnalyzer(tables).analyzeTables();
+  }
+
+  @Benchmark
+  public ColumnMatchKeysMap indexColumnMatchKeys() {
+    return new ColumnMatchKeysMap(sortedTables);
+  }
+
+  @Benchmark
+  public TableMatchKeys indexTableMatchKeys() {
+    return new TableMatchKeys(sortedTables);
+  }
+
+  @Setup
+  public void setup() {
+    tables = SyntheticCatalog.newCatalog(tableCount).getTables();
+    sortedTables = new ArrayList<>(tables);
+    Collections.sort(sortedTables);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.util.Collection;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the SchemaCrawler benchmarks with defaults suitable for gating upgrades: throughput and
+ * sampled time (for percentiles) modes, the GC profiler for allocation rates, and JSON results in
+ * <code>jmh-result.json</code>. Any standard JMH command-line option overrides these defaults.
+ */
+public final class BenchmarkRunner {
+
+  private static final String DEFAULT_INCLUDE = "schemacrawler\\..*Benchmark";
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  public static void main(final String[] args) throws RunnerException {
+    final CommandLineOptions commandLineOptions;
+    try {
+      commandLineOptions = new CommandLineOptions(args);
+    } catch (final CommandLineOptionException e) {
+      System.err.println("Error parsing command line:");
+      System.err.println(" " + e.getMessage());
+      System.exit(1);
+      return;
+    }
+
+    if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()) {
+      // Defer to the standard JMH runner for informational options
+      try {
+        org.openjdk.jmh.Main.main(args);
+      } catch (final Exception e) {
+        throw new RunnerException(e);
+      }
+      return;
+    }
+
+    final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (commandLineOptions.getIncludes().isEmpty()) {
+      options.include(DEFAULT_INCLUDE);
+    }
+    final Collection<Mode> modes = commandLineOptions.getBenchModes();
+    if (modes.isEmpty()) {
+      options.mode(Mode.Throughput).mode(Mode.SampleTime);
+    }
+    if (commandLineOptions.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+
+    new Runner(options.build()).run();
+  }
+
+  private BenchmarkRunner() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,90 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.io.OutputStream;
+import java.io.Writer;
+
+/** Output sinks that discard what is written to them, but count it. */
+public final class DiscardingOutput {
+
+  /** Output stream that counts and discards bytes. */
+  public static final class DiscardingOutputStream extends OutputStream {
+
+    private long count;
+
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      count += len;
+    }
+
+    @Override
+    public void write(final int b) {
+      count++;
+    }
+  }
+
+  /** Writer that counts and discards characters. */
+  public static final class DiscardingWriter extends Writer {
+
+    private long count;
+
+    @Override
+    public void close() {
+      // No-op
+    }
+
+    @Override
+    public void flush() {
+      // No-op
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+      count += len;
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+      count += len;
+    }
+  }
+
+  private DiscardingOutput() {
+    // Prevent instantiation
+  }
+}
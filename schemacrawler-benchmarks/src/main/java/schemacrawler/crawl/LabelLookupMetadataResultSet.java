@@ -0,0 +1,134 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.Utility.isIntegral;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import schemacrawler.schema.ResultsColumn;
+import schemacrawler.schema.ResultsColumns;
+
+/**
+ * Reads metadata result sets the way that {@link MetadataResultSet} did before column names were
+ * resolved to ordinals: every read looks up the column by name, and reads the value by label, and
+ * read columns are tracked in a new set for every row. This is a baseline for benchmarks.
+ */
+final class LabelLookupMetadataResultSet implements AutoCloseable {
+
+  private final ResultsColumns resultsColumns;
+  private final ResultSet results;
+  private Set<ResultsColumn> readColumns;
+
+  LabelLookupMetadataResultSet(final ResultSet resultSet) throws SQLException {
+    results = requireNonNull(resultSet, "Cannot use null results");
+    resultsColumns = new ResultsCrawler(results).crawl();
+    readColumns = new HashSet<>();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    results.close();
+  }
+
+  Map<String, Object> getAttributes() throws SQLException {
+    final Map<String, Object> attributes = new HashMap<>();
+    for (final ResultsColumn resultsColumn : resultsColumns) {
+      if (!readColumns.contains(resultsColumn)) {
+        final String key = resultsColumn.getLabel().toUpperCase();
+        Object value = results.getObject(resultsColumn.getOrdinalPosition());
+        if (results.wasNull()) {
+          value = null;
+        }
+        attributes.put(key, value);
+      }
+    }
+    return attributes;
+  }
+
+  boolean getBoolean(final String columnName) throws SQLException {
+    if (useColumn(columnName)) {
+      final Object booleanValue = results.getObject(columnName);
+      if (results.wasNull() || booleanValue == null) {
+        return false;
+      }
+      final String stringBooleanValue = String.valueOf(booleanValue).trim();
+      if (isIntegral(stringBooleanValue)) {
+        return !stringBooleanValue.equals("0");
+      } else {
+        return stringBooleanValue.equalsIgnoreCase("yes")
+            || stringBooleanValue.equalsIgnoreCase("true");
+      }
+    }
+    return false;
+  }
+
+  int getInt(final String columnName, final int defaultValue) throws SQLException {
+    int value = defaultValue;
+    if (useColumn(columnName)) {
+      value = results.getInt(columnName);
+      if (results.wasNull()) {
+        value = defaultValue;
+      }
+    }
+    return value;
+  }
+
+  String getString(final String columnName) throws SQLException {
+    String value = null;
+    if (useColumn(columnName)) {
+      value = results.getString(columnName);
+      if (results.wasNull()) {
+        value = null;
+      }
+      if (value != null) {
+        value = value.trim();
+      }
+    }
+    return value;
+  }
+
+  boolean next() throws SQLException {
+    readColumns = new HashSet<>();
+    return results.next();
+  }
+
+  private boolean useColumn(final String columnName) {
+    final Optional<ResultsColumn> optionalResultsColumn = resultsColumns.lookupColumn(columnName);
+    optionalResultsColumn.ifPresent(readColumns::add);
+    return optionalResultsColumn.isPresent();
+  }
+}
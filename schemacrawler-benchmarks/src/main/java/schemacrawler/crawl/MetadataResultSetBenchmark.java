@@ -0,0 +1,132 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import schemacrawler.testdb.TestSchemaCreator;
+
+/**
+ * Measures decoding of the table columns metadata result set for the test database, created in an
+ * in-memory HSQLDB database, reading the same columns as the table column retriever. Results are
+ * decoded with {@link MetadataResultSet}, and with a baseline reader that looks up every column by
+ * name and reads values by label.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataResultSetBenchmark {
+
+  private static final String CONNECTION_URL = "jdbc:hsqldb:mem:schemacrawler_results_benchmark";
+
+  private Connection connection;
+  private DatabaseMetaData databaseMetaData;
+
+  @Benchmark
+  public void labelLookupTableColumns(final Blackhole blackhole) throws SQLException {
+    try (final LabelLookupMetadataResultSet results =
+        new LabelLookupMetadataResultSet(databaseMetaData.getColumns(null, null, "%", "%"))) {
+      while (results.next()) {
+        blackhole.consume(results.getString("COLUMN_DEF"));
+        blackhole.consume(results.getString("TABLE_CAT"));
+        blackhole.consume(results.getString("TABLE_SCHEM"));
+        blackhole.consume(results.getString("TABLE_NAME"));
+        blackhole.consume(results.getString("COLUMN_NAME"));
+        blackhole.consume(results.getInt("ORDINAL_POSITION", 0));
+        blackhole.consume(results.getInt("DATA_TYPE", 0));
+        blackhole.consume(results.getString("TYPE_NAME"));
+        blackhole.consume(results.getInt("COLUMN_SIZE", 0));
+        blackhole.consume(results.getInt("DECIMAL_DIGITS", 0));
+        blackhole.consume(results.getInt("NULLABLE", DatabaseMetaData.columnNullableUnknown));
+        blackhole.consume(results.getBoolean("IS_AUTOINCREMENT"));
+        blackhole.consume(results.getBoolean("IS_GENERATEDCOLUMN"));
+        blackhole.consume(results.getString("REMARKS"));
+        blackhole.consume(results.getAttributes());
+      }
+    }
+  }
+
+  @Benchmark
+  public void tableColumns(final Blackhole blackhole) throws SQLException {
+    try (final MetadataResultSet results =
+        new MetadataResultSet(databaseMetaData.getColumns(null, null, "%", "%"))) {
+      while (results.next()) {
+        blackhole.consume(results.getString("COLUMN_DEF"));
+        blackhole.consume(results.getString("TABLE_CAT"));
+        blackhole.consume(results.getString("TABLE_SCHEM"));
+        blackhole.consume(results.getString("TABLE_NAME"));
+        blackhole.consume(results.getString("COLUMN_NAME"));
+        blackhole.consume(results.getInt("ORDINAL_POSITION", 0));
+        blackhole.consume(results.getInt("DATA_TYPE", 0));
+        blackhole.consume(results.getString("TYPE_NAME"));
+        blackhole.consume(results.getInt("COLUMN_SIZE", 0));
+        blackhole.consume(results.getInt("DECIMAL_DIGITS", 0));
+        blackhole.consume(results.getInt("NULLABLE", DatabaseMetaData.columnNullableUnknown));
+        blackhole.consume(results.getBoolean("IS_AUTOINCREMENT"));
+        blackhole.consume(results.getBoolean("IS_GENERATEDCOLUMN"));
+        blackhole.consume(results.getString("REMARKS"));
+        blackhole.consume(results.getAttributes());
+      }
+    }
+  }
+
+  @Setup
+  public void setup() throws Exception {
+    connection = DriverManager.getConnection(CONNECTION_URL, "sa", "");
+    connection.setAutoCommit(true);
+    new TestSchemaCreator(connection, "/hsqldb.scripts.txt").run();
+    databaseMetaData = connection.getMetaData();
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    connection.close();
+  }
+}
@@ -0,0 +1,135 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaReference;
+
+/**
+ * Measures named object lookup and iteration on large catalogs, with a
+ * total of 100,000 columns spread across tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedObjectListBenchmark {
+
+  private static final int TOTAL_COLUMNS = 100_000;
+
+  @Param({"10", "100", "1000"})
+  private int columnsPerTable;
+
+  private MutableCatalog catalog;
+  private Schema schema;
+  private List<String> tableNames;
+  private List<String> columnNames;
+  private int lookupIndex;
+
+  @Setup
+  public void setup() {
+    catalog = new MutableCatalog("benchmark");
+    schema = catalog.addSchema(new SchemaReference("CATALOG", "SCHEMA"));
+
+    final int tableCount = TOTAL_COLUMNS / columnsPerTable;
+    tableNames = new ArrayList<>(tableCount);
+    columnNames = new ArrayList<>(columnsPerTable);
+    for (int c = 0; c < columnsPerTable; c++) {
+      columnNames.add(String.format("COLUMN_%05d", c));
+    }
+
+    for (int t = 0; t < tableCount; t++) {
+      final String tableName = String.format("TABLE_%06d", t);
+      tableNames.add(tableName);
+      final MutableTable table = new MutableTable(schema, tableName);
+      for (int c = 0; c < columnsPerTable; c++) {
+        final MutableColumn column = new MutableColumn(table, columnNames.get(c));
+        column.setOrdinalPosition(c + 1);
+        table.addColumn(column);
+      }
+      catalog.addTable(table);
+    }
+  }
+
+  @Benchmark
+  public Optional<? extends Column> lookupColumn() {
+    final int index = next();
+    final String tableName = tableNames.get(index % tableNames.size());
+    final String columnName = columnNames.get(index % columnNames.size());
+    return catalog
+        .lookupTable(schema, tableName)
+        .flatMap(table -> table.lookupColumn(columnName));
+  }
+
+  @Benchmark
+  public Optional<MutableTable> lookupTable() {
+    return catalog.lookupTable(schema, tableNames.get(next() % tableNames.size()));
+  }
+
+  @Benchmark
+  public void iterateColumns(final Blackhole blackhole) {
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        blackhole.consume(column);
+      }
+    }
+  }
+
+  @Benchmark
+  public void forEachColumn(final Blackhole blackhole) {
+    catalog.getAllTables().forEach(table -> table.getColumns().forEach(blackhole::consume));
+  }
+
+  private int next() {
+    lookupIndex = (lookupIndex + 7919) & Integer.MAX_VALUE;
+    return lookupIndex;
+  }
+}
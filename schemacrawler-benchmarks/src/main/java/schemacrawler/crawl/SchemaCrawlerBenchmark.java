@@ -0,0 +1,137 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.InfoLevel;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.testdb.TestSchemaCreator;
+
+/**
+ * Measures an end-to-end crawl of the test database, created in an in-memory HSQLDB database, at
+ * each info level, and with and without a parallel crawl.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaCrawlerBenchmark {
+
+  private static final String CONNECTION_URL = "jdbc:hsqldb:mem:schemacrawler_benchmark";
+
+  @Param({"minimum", "standard", "maximum"})
+  private String infoLevel;
+
+  @Param({"1", "4"})
+  private int maxThreads;
+
+  private Connection connection;
+  private SchemaCrawlerOptions options;
+  private SchemaRetrievalOptions schemaRetrievalOptions;
+
+  @Benchmark
+  public Catalog crawl() throws SchemaCrawlerException {
+    final SchemaCrawler schemaCrawler;
+    if (maxThreads > 1) {
+      schemaCrawler = new SchemaCrawler(newConnectionSupplier(), schemaRetrievalOptions, options);
+    } else {
+      schemaCrawler = new SchemaCrawler(connection, schemaRetrievalOptions, options);
+    }
+    return schemaCrawler.crawl();
+  }
+
+  @Setup
+  public void setup() throws Exception {
+    connection = DriverManager.getConnection(CONNECTION_URL, "sa", "");
+    connection.setAutoCommit(true);
+    new TestSchemaCreator(connection, "/hsqldb.scripts.txt").run();
+
+    schemaRetrievalOptions = SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+    options =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(
+                        new RegularExpressionExclusionRule(".*\\.(INFORMATION_SCHEMA|SYSTEM_LOBS)"))
+                    .includeAllRoutines()
+                    .includeAllSequences()
+                    .includeAllSynonyms()
+                    .toOptions())
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withInfoLevel(InfoLevel.valueOf(infoLevel))
+                    .withMaxThreads(maxThreads)
+                    .toOptions());
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    connection.close();
+  }
+
+  private Supplier<Connection> newConnectionSupplier() {
+    return () -> {
+      try {
+        return DriverManager.getConnection(CONNECTION_URL, "sa", "");
+      } catch (final SQLException e) {
+        throw new SchemaCrawlerRuntimeException("Could not connect to benchmark database", e);
+      }
+    };
+  }
+}
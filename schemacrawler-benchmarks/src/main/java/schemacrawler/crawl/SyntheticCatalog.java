@@ -0,0 +1,214 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Generates synthetic catalogs of a given size, with a realistic spread of columns, indexes and
+ * foreign keys per table. Generated catalogs are deterministic for a given seed.
+ *
+ * <p>Every table has a surrogate primary key, and between 0 and 3 foreign keys to tables created
+ * before it, so that the table graph is acyclic. Some tables also have columns that look like
+ * foreign keys but have no constraint, so that weak associations can be found.
+ */
+public final class SyntheticCatalog {
+
+  private static final int TABLES_PER_SCHEMA = 1_000;
+  private static final int MIN_COLUMNS = 4;
+  private static final int MAX_COLUMNS = 24;
+  private static final int MAX_FOREIGN_KEYS = 3;
+
+  public static Catalog newCatalog(final int tableCount) {
+    return newCatalog(tableCount, 42L);
+  }
+
+  public static Catalog newCatalog(final int tableCount, final long seed) {
+    if (tableCount < 1) {
+      throw new IllegalArgumentException("Table count must be positive");
+    }
+    return new SyntheticCatalog(seed).generate(tableCount);
+  }
+
+  private final Random random;
+  private final MutableCatalog catalog;
+  private final List<MutableColumnDataType> dataTypes;
+
+  private SyntheticCatalog(final long seed) {
+    random = new Random(seed);
+    catalog = new MutableCatalog("synthetic");
+    dataTypes = new ArrayList<>();
+  }
+
+  private void addDataType(final String name, final int javaSqlType) {
+    final JavaSqlTypes javaSqlTypes = new JavaSqlTypes();
+    final MutableColumnDataType dataType = new MutableColumnDataType(new SchemaReference(), name);
+    dataType.setJavaSqlType(javaSqlTypes.valueOf(javaSqlType));
+    catalog.addColumnDataType(dataType);
+    dataTypes.add(dataType);
+  }
+
+  private MutableColumn addColumn(
+      final MutableTable table, final String name, final MutableColumnDataType dataType) {
+    final MutableColumn column = new MutableColumn(table, name);
+    column.setOrdinalPosition(table.getColumns().size() + 1);
+    column.setColumnDataType(dataType);
+    column.setSize(dataType.getJavaSqlType().getVendorTypeNumber() == Types.VARCHAR ? 255 : 10);
+    column.setNullable(true);
+    table.addColumn(column);
+    return column;
+  }
+
+  private void addForeignKey(
+      final MutableTable table, final MutableColumn fkColumn, final MutableTable referencedTable) {
+    final MutableColumn pkColumn = referencedTable.lookupColumn("ID").get();
+
+    final String foreignKeyName = String.format("FK_%s_%s", table.getName(), fkColumn.getName());
+    final MutableForeignKey foreignKey = new MutableForeignKey(foreignKeyName);
+    foreignKey.setSpecificName(foreignKeyName);
+    foreignKey.addColumnReference(1, pkColumn, fkColumn);
+    foreignKey.setUpdateRule(ForeignKeyUpdateRule.noAction);
+    foreignKey.setDeleteRule(ForeignKeyUpdateRule.cascade);
+
+    fkColumn.setReferencedColumn(pkColumn);
+    table.addForeignKey(foreignKey);
+    referencedTable.addForeignKey(foreignKey);
+
+    addIndex(table, "IDX_" + foreignKeyName, fkColumn, false);
+  }
+
+  private void addIndex(
+      final MutableTable table,
+      final String indexName,
+      final MutableColumn column,
+      final boolean unique) {
+    final MutableIndex index = new MutableIndex(table, indexName);
+    final MutableIndexColumn indexColumn = new MutableIndexColumn(index, column);
+    indexColumn.setKeyOrdinalPosition(1);
+    indexColumn.setSortSequence(IndexColumnSortSequence.ascending);
+    index.addColumn(indexColumn);
+    index.setUnique(unique);
+    index.setIndexType(IndexType.other);
+    table.addIndex(index);
+
+    column.markAsPartOfIndex();
+    if (unique) {
+      column.markAsPartOfUniqueIndex();
+    }
+  }
+
+  private void addPrimaryKey(final MutableTable table, final MutableColumn column) {
+    final MutablePrimaryKey primaryKey = new MutablePrimaryKey(table, "PK_" + table.getName());
+    final MutableTableConstraintColumn pkColumn =
+        new MutableTableConstraintColumn(primaryKey, column);
+    pkColumn.setKeyOrdinalPosition(1);
+    primaryKey.addColumn(pkColumn);
+    table.setPrimaryKey(primaryKey);
+
+    column.setNullable(false);
+    column.markAsPartOfPrimaryKey();
+    addIndex(table, "PK_" + table.getName(), column, true);
+  }
+
+  private Catalog generate(final int tableCount) {
+    final MutableDatabaseInfo databaseInfo = catalog.getDatabaseInfo();
+    databaseInfo.setProductName("Synthetic");
+    databaseInfo.setProductVersion("1.0");
+    catalog.setCrawlInfo();
+
+    addDataType("INTEGER", Types.INTEGER);
+    addDataType("BIGINT", Types.BIGINT);
+    addDataType("VARCHAR", Types.VARCHAR);
+    addDataType("DECIMAL", Types.DECIMAL);
+    addDataType("TIMESTAMP", Types.TIMESTAMP);
+    final MutableColumnDataType keyDataType = dataTypes.get(1);
+
+    final List<MutableTable> tables = new ArrayList<>(tableCount);
+    Schema schema = null;
+    for (int t = 0; t < tableCount; t++) {
+      if (t % TABLES_PER_SCHEMA == 0) {
+        schema =
+            catalog.addSchema("SYNTHETIC", String.format("SCHEMA_%03d", t / TABLES_PER_SCHEMA));
+      }
+
+      final MutableTable table = new MutableTable(schema, String.format("T%06d", t));
+      table.setTableType(new TableType("TABLE"));
+
+      addPrimaryKey(table, addColumn(table, "ID", keyDataType));
+
+      // Foreign keys to earlier tables, with an index on each referencing column
+      final int foreignKeyCount = t == 0 ? 0 : random.nextInt(MAX_FOREIGN_KEYS + 1);
+      for (int f = 0; f < foreignKeyCount; f++) {
+        final MutableTable referencedTable = tables.get(random.nextInt(t));
+        final String columnName = referencedTable.getName() + "_ID";
+        if (!table.lookupColumn(columnName).isPresent()) {
+          addForeignKey(table, addColumn(table, columnName, keyDataType), referencedTable);
+        }
+      }
+
+      // Columns that follow the naming convention but have no constraint
+      if (t > 0 && random.nextInt(4) == 0) {
+        final String columnName = tables.get(random.nextInt(t)).getName() + "_ID";
+        if (!table.lookupColumn(columnName).isPresent()) {
+          addColumn(table, columnName, keyDataType);
+        }
+      }
+
+      final int columnCount = MIN_COLUMNS + random.nextInt(MAX_COLUMNS - MIN_COLUMNS + 1);
+      for (int c = table.getColumns().size(); c < columnCount; c++) {
+        final MutableColumnDataType dataType = dataTypes.get(random.nextInt(dataTypes.size()));
+        addColumn(table, String.format("COL_%02d", c), dataType);
+      }
+
+      if (random.nextInt(5) == 0) {
+        final MutableColumn column = addColumn(table, "CODE", dataTypes.get(2));
+        addIndex(table, "UQ_" + table.getName() + "_CODE", column, true);
+      }
+
+      catalog.addTable(table);
+      tables.add(table);
+    }
+
+    new TablesGraph(catalog.getAllTables()).setTablesSortIndexes();
+
+    return catalog;
+  }
+}
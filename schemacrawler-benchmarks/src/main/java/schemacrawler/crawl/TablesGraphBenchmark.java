@@ -0,0 +1,85 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.schema.Table;
+import us.fatehi.utility.graph.TarjanStronglyConnectedComponentFinder;
+
+/**
+ * Measures building the foreign key graph of a synthetic catalog, and separately, sorting tables
+ * and finding cycles in a graph that has already been built.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class TablesGraphBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  private int tableCount;
+
+  private NamedObjectList<MutableTable> tables;
+  private TablesGraph tablesGraph;
+
+  @Benchmark
+  public TablesGraph buildGraph() {
+    return new TablesGraph(tables);
+  }
+
+  @Benchmark
+  public Collection<List<Table>> detectCycles() {
+    return new TarjanStronglyConnectedComponentFinder<>(tablesGraph).detectCycles();
+  }
+
+  @Setup
+  public void setup() {
+    tables = ((MutableCatalog) SyntheticCatalog.newCatalog(tableCount)).getAllTables();
+    tablesGraph = new TablesGraph(tables);
+  }
+
+  @Benchmark
+  public TablesGraph sortTables() {
+    tablesGraph.setTablesSortIndexes();
+    return tablesGraph;
+  }
+}
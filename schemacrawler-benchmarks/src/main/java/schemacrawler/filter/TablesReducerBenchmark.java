@@ -0,0 +1,101 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.filter;
+
+import static schemacrawler.filter.ReducerFactory.getTableReducer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.crawl.SyntheticCatalog;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Reducible;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.FilterOptionsBuilder;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+
+/**
+ * Measures table reduction, keeping about a tenth of the tables, and their parent and child tables
+ * to a given depth. Reduction modifies the catalog, so a fresh catalog is generated before every invocation.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class TablesReducerBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int tableCount;
+
+  @Param({"1", "3"})
+  private int relatedTableDepth;
+
+  private SchemaCrawlerOptions options;
+  private Catalog catalog;
+
+  @Benchmark
+  public Catalog reduceTables() {
+    ((Reducible) catalog).reduce(Table.class, getTableReducer(options));
+    return catalog;
+  }
+
+  @Setup(Level.Invocation)
+  public void setupCatalog() {
+    catalog = SyntheticCatalog.newCatalog(tableCount);
+  }
+
+  @Setup(Level.Trial)
+  public void setupOptions() {
+    options =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeTables(new RegularExpressionInclusionRule(".*\\.T\\d{5}0"))
+                    .toOptions())
+            .withFilterOptions(
+                FilterOptionsBuilder.builder()
+                    .parentTableFilterDepth(relatedTableDepth)
+                    .childTableFilterDepth(relatedTableDepth)
+                    .toOptions());
+  }
+}
@@ -0,0 +1,177 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialize;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
+import static com.fasterxml.jackson.databind.SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS;
+import static com.fasterxml.jackson.databind.SerializationFeature.USE_EQUALITY_FOR_OBJECT_ID;
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_ENUMS_USING_TO_STRING;
+import static java.util.Objects.requireNonNull;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Serializes a catalog to JSON with Jackson data-binding and object identities, the way that
+ * catalogs were serialized before the hand-written generator. This is a baseline for benchmarks.
+ */
+final class DataBindingJsonCatalogSerializer {
+
+  private static class IgnoreExceptionBeanPropertyFilter extends SimpleBeanPropertyFilter {
+
+    private static final List<String> PARTIAL_PROPERTIES =
+        Arrays.asList(
+            "name", "short-name", "full-name", "attributes", "parent-partial", "remarks", "schema");
+
+    @Override
+    public void serializeAsField(
+        final Object pojo,
+        final JsonGenerator jgen,
+        final SerializerProvider provider,
+        final PropertyWriter writer)
+        throws Exception {
+      if (include(writer)) {
+        try {
+          if (pojo instanceof PartialDatabaseObject
+              && !PARTIAL_PROPERTIES.contains(writer.getName())) {
+            return;
+          }
+          writer.serializeAsField(pojo, jgen, provider);
+        } catch (final Exception e) {
+          return;
+        }
+      } else if (!jgen.canOmitFields()) {
+        writer.serializeAsOmittedField(pojo, jgen, provider);
+      }
+    }
+
+    @Override
+    protected boolean include(BeanPropertyWriter writer) {
+      return true;
+    }
+
+    @Override
+    protected boolean include(PropertyWriter writer) {
+      return true;
+    }
+  }
+
+  private final JsonSerializedCatalog serializedCatalog;
+
+  DataBindingJsonCatalogSerializer(final Catalog catalog) {
+    serializedCatalog = new JsonSerializedCatalog(catalog);
+  }
+
+  public Catalog getCatalog() {
+    return serializedCatalog.getCatalog();
+  }
+
+  public Set<Column> getAllTableColumns() {
+    return serializedCatalog.getAllTableColumns();
+  }
+
+  void save(final OutputStream out) throws SchemaCrawlerException {
+    requireNonNull(out, "No output stream provided");
+    try {
+      newConfiguredObjectMapper().writeValue(out, this);
+    } catch (final Exception e) {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+  }
+
+  private static ObjectMapper newConfiguredObjectMapper() {
+    @JsonIgnoreProperties({
+      "parent",
+      "referenced-column",
+      "exported-foreign-keys",
+      "imported-foreign-keys"
+    })
+    @JsonPropertyOrder(
+        value = {
+          "@uuid",
+          "name",
+          "short-name",
+          "full-name",
+          "crawl-info",
+          "schema-crawler-info",
+          "jvm-system-info",
+          "operating-system-info",
+          "database-info",
+          "jdbc-driver-info",
+          "schemas",
+          "system-column-data-types",
+          "column-data-types",
+          "all-table-columns"
+        },
+        alphabetic = true)
+    @JsonIdentityInfo(generator = ObjectIdGenerators.UUIDGenerator.class, property = "@uuid")
+    @JsonNaming(PropertyNamingStrategy.KebabCaseStrategy.class)
+    @JsonFilter("ignore-getter-errors-filter")
+    class JacksonAnnotationMixIn {}
+
+    final FilterProvider filters =
+        new SimpleFilterProvider()
+            .addFilter(
+                "ignore-getter-errors-filter",
+                (PropertyFilter) new IgnoreExceptionBeanPropertyFilter());
+
+    final ObjectMapper mapper = new ObjectMapper();
+    mapper.enable(
+        ORDER_MAP_ENTRIES_BY_KEYS,
+        INDENT_OUTPUT,
+        USE_EQUALITY_FOR_OBJECT_ID,
+        WRITE_ENUMS_USING_TO_STRING);
+    mapper.addMixIn(Object.class, JacksonAnnotationMixIn.class);
+    mapper.setFilterProvider(filters);
+    return mapper;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialize;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.benchmarks.DiscardingOutput.DiscardingOutputStream;
+import schemacrawler.crawl.SyntheticCatalog;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Compares JSON serialization of a synthetic catalog with the hand-written generator, against
+ * Jackson data-binding with object identities.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Xss64m"})
+public class JacksonSerializedCatalogBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int tableCount;
+
+  private Catalog catalog;
+
+  @Benchmark
+  public long serializeWithDataBinding() throws SchemaCrawlerException {
+    final DiscardingOutputStream out = new DiscardingOutputStream();
+    new DataBindingJsonCatalogSerializer(catalog).save(out);
+    return out.getCount();
+  }
+
+  @Benchmark
+  public long serializeWithGenerator() throws SchemaCrawlerException {
+    final DiscardingOutputStream out = new DiscardingOutputStream();
+    new JsonSerializedCatalog(catalog).save(out);
+    return out.getCount();
+  }
+
+  @Setup
+  public void setup() {
+    catalog = SyntheticCatalog.newCatalog(tableCount);
+  }
+}
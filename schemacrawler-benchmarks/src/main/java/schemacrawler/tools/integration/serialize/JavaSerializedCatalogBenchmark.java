@@ -0,0 +1,87 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.integration.serialize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.benchmarks.DiscardingOutput.DiscardingOutputStream;
+import schemacrawler.crawl.SyntheticCatalog;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Measures Java serialization and deserialization of a synthetic catalog. Serialization of large
+ * catalogs recurses deeply through table relationships, so forks run with a large thread stack.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Xss64m"})
+public class JavaSerializedCatalogBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int tableCount;
+
+  private Catalog catalog;
+  private byte[] serializedCatalog;
+
+  @Benchmark
+  public Catalog deserialize() throws SchemaCrawlerException {
+    return new JavaSerializedCatalog(new ByteArrayInputStream(serializedCatalog)).getCatalog();
+  }
+
+  @Benchmark
+  public long serialize() throws SchemaCrawlerException {
+    final DiscardingOutputStream out = new DiscardingOutputStream();
+    new JavaSerializedCatalog(catalog).save(out);
+    return out.getCount();
+  }
+
+  @Setup
+  public void setup() throws SchemaCrawlerException {
+    catalog = SyntheticCatalog.newCatalog(tableCount);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JavaSerializedCatalog(catalog).save(out);
+    serializedCatalog = out.toByteArray();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.lint;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.crawl.SyntheticCatalog;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.options.Config;
+
+/**
+ * Measures linting a synthetic catalog with all linters that do not need a database connection,
+ * in a single pass over the tables, with each linter making its own pass, and with linters running
+ * in parallel. Lints are attached to catalog objects, so a fresh catalog is generated before every
+ * invocation.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class LintBenchmark {
+
+  @Param({"1000", "10000", "40000"})
+  private int tableCount;
+
+  private LinterConfigs linterConfigs;
+  private Catalog catalog;
+  private Linters linters;
+
+  @Benchmark
+  public LintCollector lintInParallel() throws SchemaCrawlerException {
+    linters.lintInParallel(catalog, null, null);
+    return linters.getCollector();
+  }
+
+  @Benchmark
+  public LintCollector lintInSinglePass() throws SchemaCrawlerException {
+    linters.lintInSinglePass(catalog, null);
+    return linters.getCollector();
+  }
+
+  @Benchmark
+  public LintCollector lintLinterByLinter() throws SchemaCrawlerException {
+    linters.lint(catalog, null);
+    return linters.getCollector();
+  }
+
+  @Setup(Level.Invocation)
+  public void setupCatalog() throws SchemaCrawlerException {
+    catalog = SyntheticCatalog.newCatalog(tableCount);
+    linters = new Linters(linterConfigs, true);
+  }
+
+  @Setup(Level.Trial)
+  public void setupLinterConfigs() {
+    linterConfigs = new LinterConfigs(new Config());
+    for (final String linterId :
+        new String[] {
+          "schemacrawler.tools.linter.LinterTableEmpty",
+          "schemacrawler.tools.linter.LinterTableWithQuotedNames"
+        }) {
+      final LinterConfig linterConfig = new LinterConfig(linterId);
+      linterConfig.setRunLinter(false);
+      linterConfigs.add(linterConfig);
+    }
+  }
+}
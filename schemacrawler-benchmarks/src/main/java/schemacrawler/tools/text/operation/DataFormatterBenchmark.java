@@ -0,0 +1,150 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import java.io.DataOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.benchmarks.DiscardingOutput.DiscardingOutputStream;
+import schemacrawler.benchmarks.DiscardingOutput.DiscardingWriter;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.TableSampleSyntax;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+
+/**
+ * Measures formatting of table data for the dump operation, in the text output formats and in the
+ * binary columnar format. Rows are read from an in-memory database, and output is counted and
+ * discarded.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class DataFormatterBenchmark {
+
+  private static final String SQL = "SELECT * FROM BENCHMARK_DATA ORDER BY ID";
+
+  @Param({"100000"})
+  private int rowCount;
+
+  @Param({"text", "html", "columnar"})
+  private String outputFormat;
+
+  private Connection connection;
+  private OperationOptions operationOptions;
+
+  @Benchmark
+  public long formatData() throws Exception {
+    try (final Statement statement = connection.createStatement();
+        final ResultSet results = statement.executeQuery(SQL)) {
+      if (DataOutputFormat.isSupportedFormat(outputFormat)) {
+        final DiscardingOutputStream out = new DiscardingOutputStream();
+        try (final ColumnarDataEncoder encoder = new ColumnarDataEncoder(false)) {
+          encoder.encode("BENCHMARK_DATA", results, new DataOutputStream(out));
+        }
+        return out.getCount();
+      } else {
+        final DiscardingWriter writer = new DiscardingWriter();
+        final DataTextFormatter formatter =
+            new DataTextFormatter(
+                OperationType.dump,
+                new TableSampler(operationOptions, TableSampleSyntax.unknown),
+                operationOptions,
+                OutputOptionsBuilder.builder()
+                    .withOutputFormatValue(outputFormat)
+                    .withOutputWriter(writer)
+                    .toOptions(),
+                "\"");
+        formatter.handleData(new Query("BENCHMARK_DATA", SQL), results);
+        formatter.end();
+        return writer.getCount();
+      }
+    }
+  }
+
+  @Setup
+  public void setup() throws Exception {
+    connection = DriverManager.getConnection("jdbc:hsqldb:mem:benchmark_data", "sa", "");
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE TABLE BENCHMARK_DATA (ID BIGINT PRIMARY KEY, CATEGORY VARCHAR(20), "
+              + "NAME VARCHAR(50), AMOUNT DOUBLE, QUANTITY INTEGER, ACTIVE BOOLEAN, "
+              + "CREATED DATE, NOTES VARCHAR(200))");
+    }
+    try (final PreparedStatement insert =
+        connection.prepareStatement(
+            "INSERT INTO BENCHMARK_DATA VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+      for (int i = 0; i < rowCount; i++) {
+        insert.setLong(1, i);
+        insert.setString(2, "CATEGORY_" + i % 25);
+        insert.setString(3, "Name " + i);
+        insert.setDouble(4, i * 1.25D);
+        insert.setInt(5, i % 1000);
+        insert.setBoolean(6, i % 3 == 0);
+        insert.setDate(7, new java.sql.Date(1_500_000_000_000L + i % 365 * 86_400_000L));
+        if (i % 10 == 0) {
+          insert.setString(8, null);
+        } else {
+          insert.setString(8, "Notes for row " + i % 500);
+        }
+        insert.addBatch();
+        if (i % 10_000 == 0) {
+          insert.executeBatch();
+        }
+      }
+      insert.executeBatch();
+    }
+
+    operationOptions = OperationOptionsBuilder.builder().withCommand("dump").toOptions();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    connection.close();
+  }
+}
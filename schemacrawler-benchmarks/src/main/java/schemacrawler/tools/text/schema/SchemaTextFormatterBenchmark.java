@@ -0,0 +1,94 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.schema;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.benchmarks.DiscardingOutput.DiscardingWriter;
+import schemacrawler.crawl.SyntheticCatalog;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+
+/**
+ * Measures schema text formatting of a synthetic catalog, in each of the text output formats.
+ * Output is counted and discarded, so that only formatting is measured.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class SchemaTextFormatterBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int tableCount;
+
+  @Param({"text", "html"})
+  private String outputFormat;
+
+  @Param({"schema"})
+  private String command;
+
+  private Catalog catalog;
+
+  @Benchmark
+  public long formatSchema() throws Exception {
+    final DiscardingWriter writer = new DiscardingWriter();
+
+    final SchemaTextRenderer renderer = new SchemaTextRenderer(command);
+    renderer.setCatalog(catalog);
+    renderer.setIdentifiers(Identifiers.STANDARD);
+    renderer.setCommandOptions(SchemaTextOptionsBuilder.newSchemaTextOptions());
+    renderer.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormatValue(outputFormat)
+            .withOutputWriter(writer)
+            .toOptions());
+    renderer.initialize();
+    renderer.execute();
+
+    return writer.getCount();
+  }
+
+  @Setup
+  public void setup() {
+    catalog = SyntheticCatalog.newCatalog(tableCount);
+  }
+}
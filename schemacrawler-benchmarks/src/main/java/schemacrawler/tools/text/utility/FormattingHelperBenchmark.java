@@ -0,0 +1,164 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.utility;
+
+import static us.fatehi.utility.html.TagBuilder.tableCell;
+import static us.fatehi.utility.html.TagBuilder.tableRow;
+
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.benchmarks.DiscardingOutput.DiscardingWriter;
+import schemacrawler.tools.options.TextOutputFormat;
+import us.fatehi.utility.html.Alignment;
+import us.fatehi.utility.html.Tag;
+import us.fatehi.utility.html.TagOutputFormat;
+
+/**
+ * Measures the throughput of formatting rows of text and HTML output, in megabytes per second.
+ * Rows are written either by the formatting helpers, or by building and rendering a tree of tags
+ * for each row, which is how the formatting helpers used to write them. Output is counted and
+ * discarded, so that only formatting is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class FormattingHelperBenchmark {
+
+  /** Counts megabytes of output, which JMH reports as a rate. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Output {
+
+    public double megabytes;
+
+    private DiscardingWriter writer;
+    private PrintWriter out;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      writer = new DiscardingWriter();
+      out = new PrintWriter(writer);
+      megabytes = 0;
+    }
+
+    void count() {
+      megabytes = writer.getCount() / 1_000_000D;
+    }
+  }
+
+  private static final int ROW_COUNT = 1000;
+
+  @Param({"text", "html"})
+  private String outputFormat;
+
+  @Param({"tags", "helper"})
+  private String path;
+
+  private String[] names;
+  private String[] values;
+
+  @Benchmark
+  public void formatRows(final Output output) {
+    final PrintWriter out = output.out;
+    final TextOutputFormat textOutputFormat = TextOutputFormat.fromFormat(outputFormat);
+    if ("tags".equals(path)) {
+      final TagOutputFormat tagOutputFormat = TagOutputFormat.valueOf(outputFormat);
+      for (int i = 0; i < ROW_COUNT; i++) {
+        final Tag detailRow = tableRow().make();
+        detailRow.addInnerTag(tableCell().withStyleClass("spacer").make());
+        detailRow.addInnerTag(
+            tableCell().withEscapedText(names[i]).withWidth(32).withStyleClass("minwidth").make());
+        detailRow.addInnerTag(
+            tableCell()
+                .withEscapedText(values[i])
+                .withWidth(28)
+                .withAlignment(Alignment.inherit)
+                .withStyleClass("minwidth")
+                .make());
+        out.println(detailRow.render(tagOutputFormat));
+
+        final Tag nameValueRow = tableRow().make();
+        nameValueRow.addInnerTag(
+            tableCell()
+                .withEscapedText(names[i])
+                .withWidth(40)
+                .withStyleClass("property_name")
+                .make());
+        nameValueRow.addInnerTag(
+            tableCell()
+                .withEscapedText(values[i])
+                .withWidth(30)
+                .withAlignment(Alignment.inherit)
+                .withStyleClass("property_value")
+                .make());
+        out.println(nameValueRow.render(tagOutputFormat));
+      }
+    } else {
+      final TextFormattingHelper formattingHelper;
+      if (textOutputFormat == TextOutputFormat.html) {
+        formattingHelper = new HtmlFormattingHelper(out, textOutputFormat);
+      } else {
+        formattingHelper = new PlainTextFormattingHelper(out, textOutputFormat);
+      }
+      for (int i = 0; i < ROW_COUNT; i++) {
+        formattingHelper.writeDetailRow("", names[i], values[i]);
+        formattingHelper.writeNameValueRow(names[i], values[i], Alignment.inherit);
+      }
+    }
+    out.flush();
+    output.count();
+  }
+
+  @Setup
+  public void setup() {
+    names = new String[ROW_COUNT];
+    values = new String[ROW_COUNT];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      names[i] = "COLUMN_" + i;
+      values[i] = i % 10 == 0 ? "VARCHAR(<" + i + ">)" : "INTEGER";
+    }
+  }
+}
@@ -66,7 +66,11 @@ public final class SchemaCrawlerCommandLine {
       addPluginCommands(commandLine);
       commandLine.parseArgs(args);
 
-      executeCommandLine(commandLine);
+      try {
+        executeCommandLine(commandLine);
+      } finally {
+        state.disconnect();
+      }
     } catch (final Throwable throwable) {
       logSafeArguments(args);
       logFullStackTrace(Level.SEVERE, throwable);
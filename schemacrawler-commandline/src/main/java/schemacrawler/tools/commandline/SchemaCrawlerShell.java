@@ -130,6 +130,7 @@ public final class SchemaCrawlerShell {
         } catch (final UserInterruptException e) {
           // Ignore
         } catch (final EndOfFileException e) {
+          state.disconnect();
           return;
         } catch (final Exception e) {
           System.err.println("ERROR: " + e.getMessage());
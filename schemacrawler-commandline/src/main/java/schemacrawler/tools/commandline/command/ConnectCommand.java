@@ -32,6 +32,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.logging.Level;
 
 import picocli.CommandLine.ArgGroup;
@@ -76,6 +77,10 @@ public class ConnectCommand extends BaseStateHolder implements Runnable {
   private static final SchemaCrawlerLogger LOGGER =
       SchemaCrawlerLogger.getLogger(ConnectCommand.class.getName());
 
+  private static final String CONNECTION_POOL_SIZE = "schemacrawler.connection.pool.size";
+  private static final String CONNECTION_POOL_IDLE_TIMEOUT =
+      "schemacrawler.connection.pool.idle_timeout";
+
   @ArgGroup(exclusive = true)
   private DatabaseConnectionGroupOptions databaseConnectionGroupOptions;
 
@@ -143,6 +148,16 @@ public class ConnectCommand extends BaseStateHolder implements Runnable {
         databaseConnector.newDatabaseConnectionSource(connectionOptions);
     databaseConnectionSource.setUserCredentials(userCredentials);
 
+    // Reuse connections for loading and executing commands, and for a
+    // parallel crawl, rather than reconnecting each time
+    final Config config = state.getConfig();
+    final int connectionPoolSize = config.getIntegerValue(CONNECTION_POOL_SIZE, 10);
+    if (connectionPoolSize > 0) {
+      final int idleTimeoutSeconds = config.getIntegerValue(CONNECTION_POOL_IDLE_TIMEOUT, 600);
+      databaseConnectionSource.enableConnectionPool(
+          connectionPoolSize, Duration.ofSeconds(Math.max(1, idleTimeoutSeconds)));
+    }
+
     state.setDataSource(databaseConnectionSource);
   }
 
@@ -85,7 +85,9 @@ public class ExecuteCommand extends BaseStateHolder implements Runnable {
   @Override
   public void run() {
 
-    if (!state.isLoaded()) {
+    final boolean isStreamingCrawl =
+        state.getSchemaCrawlerOptions().getLoadOptions().isStreamingCrawl();
+    if (!state.isLoaded() && !isStreamingCrawl) {
       throw new ExecutionException(spec.commandLine(), "No database metadata is loaded");
     }
     if (!state.isConnected()) {
@@ -139,6 +141,7 @@ public class ExecuteCommand extends BaseStateHolder implements Runnable {
       executable.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
       executable.setConnection(connection);
+      executable.setDataSource(state.getDataSource());
       executable.setCatalog(catalog);
 
       executable.execute();
@@ -29,7 +29,10 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.commandline.command;
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.commandline.utility.CrawlMetricsReportUtility.writeCrawlMetricsReport;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.util.logging.Level;
 
@@ -42,6 +45,7 @@ import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.InfoLevel;
 import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.RowCountsMode;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.tools.catalogloader.CatalogLoader;
@@ -74,6 +78,15 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
       })
   private InfoLevel infolevel;
 
+  @Option(
+      names = {"--crawl-metrics"},
+      paramLabel = "<file>",
+      description = {
+        "Writes a JSON report of the time taken by each crawl task and metadata query to a file",
+        "Optional, defaults to no report\n"
+      })
+  private Path crawlMetricsFile;
+
   @Option(
       names = {"--load-row-counts"},
       description = {
@@ -83,12 +96,56 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
       })
   private boolean isLoadRowCounts;
 
+  @Option(
+      names = {"--row-counts-mode"},
+      paramLabel = "<mode>",
+      description = {
+        "<mode> is one of ${COMPLETION-CANDIDATES}",
+        "Exact row counts count every row in each table, "
+            + "while estimates are read from optimizer statistics in a single query",
+        "Optional, defaults to exact\n"
+      })
+  private RowCountsMode rowCountsMode;
+
+  @Option(
+      names = {"--row-counts-timeout"},
+      paramLabel = "<seconds>",
+      description = {
+        "Number of seconds after which a query to count rows is cancelled",
+        "Optional, defaults to no timeout\n"
+      })
+  private int rowCountsTimeoutSeconds;
+
+  @Option(
+      names = {"--row-counts-batch-size"},
+      paramLabel = "<count>",
+      description = {
+        "Number of tables that are counted in a single query",
+        "Optional, defaults to 1\n"
+      })
+  private int rowCountsBatchSize;
+
+  @Option(
+      names = {"--streaming"},
+      description = {
+        "Crawls and outputs one schema at a time, for commands that support it, "
+            + "instead of loading metadata for the whole database into memory",
+        "Foreign keys to tables in other schemas only show the columns in the key, "
+            + "and weak associations between schemas are not found",
+        "Optional, defaults to false\n"
+      })
+  private boolean isStreamingCrawl;
+
   @Spec private Model.CommandSpec spec;
 
   public LoadCommand(final ShellState state) {
     super(state);
   }
 
+  public Path getCrawlMetricsFile() {
+    return crawlMetricsFile;
+  }
+
   public InfoLevel getInfoLevel() {
     return infolevel;
   }
@@ -97,6 +154,22 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
     return isLoadRowCounts;
   }
 
+  public int getRowCountsBatchSize() {
+    return rowCountsBatchSize;
+  }
+
+  public RowCountsMode getRowCountsMode() {
+    return rowCountsMode;
+  }
+
+  public int getRowCountsTimeoutSeconds() {
+    return rowCountsTimeoutSeconds;
+  }
+
+  public boolean isStreamingCrawl() {
+    return isStreamingCrawl;
+  }
+
   @Override
   public void run() {
     if (!state.isConnected()) {
@@ -113,12 +186,39 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
     }
 
     loadOptionsBuilder.loadRowCounts(isLoadRowCounts);
+    loadOptionsBuilder.withRowCountsMode(rowCountsMode);
+    loadOptionsBuilder.withRowCountsTimeoutSeconds(rowCountsTimeoutSeconds);
+    loadOptionsBuilder.withRowCountsBatchSize(rowCountsBatchSize);
+    loadOptionsBuilder.streamingCrawl(isStreamingCrawl);
 
     state.withLoadOptions(loadOptionsBuilder.toOptions());
 
+    if (isStreamingCrawl) {
+      // Metadata is crawled when the command is executed
+      state.setCatalog(null);
+      LOGGER.log(Level.INFO, "Not loading catalog, since a streaming crawl was requested");
+      if (crawlMetricsFile != null) {
+        LOGGER.log(
+            Level.WARNING, "Not writing crawl metrics, since a streaming crawl was requested");
+      }
+      return;
+    }
+
     final Catalog catalog = loadCatalog();
     state.setCatalog(catalog);
     LOGGER.log(Level.INFO, "Loaded catalog");
+
+    if (crawlMetricsFile != null) {
+      try {
+        writeCrawlMetricsReport(catalog.getCrawlInfo(), crawlMetricsFile);
+        LOGGER.log(Level.INFO, new StringFormat("Wrote crawl metrics to <%s>", crawlMetricsFile));
+      } catch (final IOException e) {
+        throw new ExecutionException(
+            spec.commandLine(),
+            String.format("Cannot write crawl metrics to <%s>", crawlMetricsFile),
+            e);
+      }
+    }
   }
 
   private Catalog loadCatalog() {
@@ -135,6 +235,7 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
       LOGGER.log(Level.CONFIG, new StringFormat("Catalog loader: %s", getClass().getName()));
 
       catalogLoader.setConnection(connection);
+      catalogLoader.setDataSource(state.getDataSource());
       catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
       catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
 
@@ -70,6 +70,17 @@ public class ShellState {
     if (dataSource == null) {
       return;
     }
+    if (dataSource instanceof AutoCloseable) {
+      // Close all pooled connections
+      try {
+        ((AutoCloseable) dataSource).close();
+        LOGGER.log(Level.INFO, "Closed data-source");
+      } catch (final Exception e) {
+        LOGGER.log(Level.WARNING, "Cannot close data-source", e);
+      }
+      dataSource = null;
+      return;
+    }
     try (final Connection connection = dataSource.get(); ) {
       LOGGER.log(Level.INFO, new StringFormat("Closing connection <%s>", connection));
       dataSource = null;
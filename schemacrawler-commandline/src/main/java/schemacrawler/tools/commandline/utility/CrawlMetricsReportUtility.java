@@ -0,0 +1,172 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.commandline.utility;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlQueryTiming;
+import schemacrawler.schema.CrawlTaskTiming;
+import us.fatehi.utility.UtilityMarker;
+
+/**
+ * Writes a JSON report of the time taken by each task in each phase of a crawl, and by each
+ * metadata query, so that slow information schema queries can be found.
+ */
+@UtilityMarker
+public final class CrawlMetricsReportUtility {
+
+  /**
+   * Writes a crawl metrics report as JSON.
+   *
+   * @param crawlInfo Crawl information, with timings
+   * @param reportFile File to write the report to
+   * @throws IOException On an exception writing the report
+   */
+  public static void writeCrawlMetricsReport(final CrawlInfo crawlInfo, final Path reportFile)
+      throws IOException {
+    requireNonNull(crawlInfo, "No crawl information provided");
+    requireNonNull(reportFile, "No report file provided");
+
+    try (final Writer writer = Files.newBufferedWriter(reportFile, UTF_8)) {
+      writeCrawlMetricsReport(crawlInfo, writer);
+    }
+  }
+
+  /**
+   * Writes a crawl metrics report as JSON.
+   *
+   * @param crawlInfo Crawl information, with timings
+   * @param writer Writer for the report, which is not closed
+   * @throws IOException On an exception writing the report
+   */
+  public static void writeCrawlMetricsReport(final CrawlInfo crawlInfo, final Writer writer)
+      throws IOException {
+    requireNonNull(crawlInfo, "No crawl information provided");
+    requireNonNull(writer, "No writer provided");
+
+    final String newline = System.lineSeparator();
+    writer.write("{" + newline);
+    writer.write(String.format("  \"run-id\": %s,%n", quote(crawlInfo.getRunId())));
+    writer.write(
+        String.format("  \"crawl-timestamp\": %s,%n", quote(crawlInfo.getCrawlTimestamp())));
+
+    writer.write("  \"tasks\": [");
+    for (final Iterator<CrawlTaskTiming> iterator = crawlInfo.getCrawlTaskTimings().iterator();
+        iterator.hasNext(); ) {
+      final CrawlTaskTiming taskTiming = iterator.next();
+      writer.write(newline);
+      writer.write(
+          String.format(
+              "    {\"phase\": %s, \"task\": %s, \"duration-ms\": %s}",
+              quote(taskTiming.getPhase()),
+              quote(taskTiming.getTask()),
+              millis(taskTiming.getDuration())));
+      if (iterator.hasNext()) {
+        writer.write(",");
+      }
+    }
+    writer.write(newline + "  ]," + newline);
+
+    writer.write("  \"queries\": [");
+    for (final Iterator<CrawlQueryTiming> iterator = crawlInfo.getCrawlQueryTimings().iterator();
+        iterator.hasNext(); ) {
+      final CrawlQueryTiming queryTiming = iterator.next();
+      writer.write(newline);
+      writer.write(
+          String.format(
+              "    {\"query-name\": %s, \"sql-hash\": %s, \"executions\": %d, \"rows\": %d, "
+                  + "\"fetch-time-ms\": %s, \"decode-time-ms\": %s}",
+              quote(queryTiming.getQueryName()),
+              quote(queryTiming.getSqlHash()),
+              queryTiming.getExecutions(),
+              queryTiming.getRowCount(),
+              millis(queryTiming.getFetchTime()),
+              millis(queryTiming.getDecodeTime())));
+      if (iterator.hasNext()) {
+        writer.write(",");
+      }
+    }
+    writer.write(newline + "  ]" + newline);
+    writer.write("}" + newline);
+    writer.flush();
+  }
+
+  private static String millis(final Duration duration) {
+    return String.format(Locale.ENGLISH, "%.3f", duration.toNanos() / 1_000_000d);
+  }
+
+  private static String quote(final String text) {
+    if (text == null) {
+      return "null";
+    }
+    final StringBuilder buffer = new StringBuilder(text.length() + 2);
+    buffer.append('"');
+    for (final char ch : text.toCharArray()) {
+      switch (ch) {
+        case '"':
+          buffer.append("\\\"");
+          break;
+        case '\\':
+          buffer.append("\\\\");
+          break;
+        case '\n':
+          buffer.append("\\n");
+          break;
+        case '\r':
+          buffer.append("\\r");
+          break;
+        case '\t':
+          buffer.append("\\t");
+          break;
+        default:
+          if (ch < 0x20) {
+            buffer.append(String.format("\\u%04x", (int) ch));
+          } else {
+            buffer.append(ch);
+          }
+      }
+    }
+    buffer.append('"');
+    return buffer.toString();
+  }
+
+  private CrawlMetricsReportUtility() {
+    // Prevent instantiation
+  }
+}
@@ -102,6 +102,17 @@ public final class SchemaRetrievalOptionsConfig {
       builder.with(metadataRetrievalStrategy, configValue);
     }
 
+    final String fetchSizeConfigKey = "schemacrawler.schema.retrieval.fetchsize";
+    if (configProperties.containsKey(fetchSizeConfigKey)) {
+      builder.withFetchSize(configProperties.getIntegerValue(fetchSizeConfigKey, 0));
+    }
+    for (final InformationSchemaKey informationSchemaKey : InformationSchemaKey.values()) {
+      final String configKey = fetchSizeConfigKey + "." + informationSchemaKey;
+      if (configProperties.containsKey(configKey)) {
+        builder.withFetchSize(informationSchemaKey, configProperties.getIntegerValue(configKey, 0));
+      }
+    }
+
     return builder;
   }
 }
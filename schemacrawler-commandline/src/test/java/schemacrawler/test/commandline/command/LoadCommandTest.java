@@ -1,19 +1,70 @@
 package schemacrawler.test.commandline.command;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
 import static schemacrawler.tools.commandline.utility.CommandLineUtility.newCommandLine;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import picocli.CommandLine;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.schemacrawler.InfoLevel;
+import schemacrawler.schemacrawler.RowCountsMode;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
 import schemacrawler.tools.commandline.command.LoadCommand;
 import schemacrawler.tools.commandline.state.ShellState;
 
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
 public class LoadCommandTest {
 
+  @Test
+  public void crawlMetrics() {
+    final String[] args = {"--info-level", "minimum", "--crawl-metrics", "crawl-metrics.json"};
+
+    final ShellState state = new ShellState();
+    final LoadCommand optionsParser = new LoadCommand(state);
+    final CommandLine commandLine = newCommandLine(optionsParser, null);
+    commandLine.parseArgs(args);
+
+    assertThat(optionsParser.getCrawlMetricsFile(), is(Paths.get("crawl-metrics.json")));
+  }
+
+  @Test
+  public void loadWithCrawlMetrics(final Connection connection) throws Exception {
+    final Path crawlMetricsFile = Files.createTempFile("schemacrawler", ".json");
+    final String[] args = {
+      "--info-level", "standard", "--crawl-metrics", crawlMetricsFile.toString()
+    };
+
+    final ShellState state = new ShellState();
+    state.setSchemaCrawlerOptions(schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    state.setSchemaRetrievalOptions(SchemaRetrievalOptionsBuilder.builder().toOptions());
+    state.setDataSource(() -> connection);
+
+    final LoadCommand optionsParser = new LoadCommand(state);
+    final CommandLine commandLine = newCommandLine(optionsParser, null);
+    commandLine.execute(args);
+
+    assertThat(state.getCatalog(), is(not(nullValue())));
+    final String crawlMetrics = new String(Files.readAllBytes(crawlMetricsFile), UTF_8);
+    assertThat(
+        crawlMetrics,
+        containsString("{\"phase\": \"crawlTables\", \"task\": \"retrieveTables\""));
+    assertThat(crawlMetrics, containsString("\"queries\": ["));
+  }
+
   @Test
   public void infoLevelBadValue() {
     final String[] args = {"--info-level", "someinfolvl"};
@@ -91,6 +142,33 @@ public class LoadCommandTest {
     assertThat(optionsParser.isLoadRowCounts(), is(true));
   }
 
+  @Test
+  public void loadRowCountsWithRowCountsOptions() {
+    final String[] args = {
+      "--info-level",
+      "detailed",
+      "--load-row-counts",
+      "--row-counts-mode",
+      "estimate",
+      "--row-counts-timeout",
+      "30",
+      "--row-counts-batch-size",
+      "10",
+      "additional",
+      "-extra"
+    };
+
+    final ShellState state = new ShellState();
+    final LoadCommand optionsParser = new LoadCommand(state);
+    final CommandLine commandLine = newCommandLine(optionsParser, null);
+    commandLine.parseArgs(args);
+
+    assertThat(optionsParser.isLoadRowCounts(), is(true));
+    assertThat(optionsParser.getRowCountsMode(), is(RowCountsMode.estimate));
+    assertThat(optionsParser.getRowCountsTimeoutSeconds(), is(30));
+    assertThat(optionsParser.getRowCountsBatchSize(), is(10));
+  }
+
   @Test
   public void noArgs() {
     final String[] args = new String[0];
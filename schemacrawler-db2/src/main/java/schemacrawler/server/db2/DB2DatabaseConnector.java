@@ -32,6 +32,7 @@ import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_diction
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
 import java.io.IOException;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnectionUrlBuilder;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
@@ -48,7 +49,8 @@ public final class DB2DatabaseConnector
             connection) -> informationSchemaViewsBuilder
                 .fromResourceFolder("/db2.information_schema"),
         (schemaRetrievalOptionsBuilder, connection) -> schemaRetrievalOptionsBuilder.with(tableColumnsRetrievalStrategy,
-            data_dictionary_all),
+            data_dictionary_all)
+            .withTableSampleSyntax(TableSampleSyntax.db2),
         (limitOptionsBuilder) -> {}, 
         () -> DatabaseConnectionUrlBuilder.builder(
             "jdbc:db2://${host}:${port}/${database}:retrieveMessagesFromServerOnGetMessage=true;")
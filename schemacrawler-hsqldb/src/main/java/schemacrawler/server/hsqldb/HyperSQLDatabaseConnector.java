@@ -30,6 +30,7 @@ package schemacrawler.server.hsqldb;
 
 import java.io.IOException;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnectionUrlBuilder;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
@@ -45,7 +46,8 @@ public final class HyperSQLDatabaseConnector
         (informationSchemaViewsBuilder,
             connection) -> informationSchemaViewsBuilder
                 .fromResourceFolder("/hsqldb.information_schema"),
-        (schemaRetrievalOptionsBuilder, connection) -> {}, 
+        (schemaRetrievalOptionsBuilder, connection) -> schemaRetrievalOptionsBuilder
+            .withTableSampleSyntax(TableSampleSyntax.fetch_first),
         (limitOptionsBuilder) -> {},
         () -> DatabaseConnectionUrlBuilder.builder(
             "jdbc:hsqldb:hsql://${host}:${port}/${database};readonly=true;hsqldb.lock_file=false")
@@ -32,6 +32,7 @@ import static java.util.Objects.requireNonNull;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -44,6 +45,8 @@ import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import us.fatehi.utility.string.StringFormat;
@@ -64,6 +67,7 @@ public abstract class BaseLinter extends Linter {
   private InclusionRule tableInclusionRule;
   private InclusionRule columnInclusionRule;
   private TableTypesFilter tableTypesFilter;
+  private LintTraversal traversal;
 
   protected BaseLinter() {
     setTableTypesFilter(null);
@@ -96,6 +100,13 @@ public abstract class BaseLinter extends Linter {
       return Collections.emptyList();
     }
 
+    if (traversal != null) {
+      final List<Column> includedColumns = traversal.getColumns(table, columnInclusionRule);
+      if (includedColumns != null) {
+        return new ArrayList<>(includedColumns);
+      }
+    }
+
     final List<Column> columns = new ArrayList<>(table.getColumns());
     for (final Iterator<Column> iterator = columns.iterator(); iterator.hasNext(); ) {
       final Column column = iterator.next();
@@ -110,6 +121,34 @@ public abstract class BaseLinter extends Linter {
     return catalog.getCrawlInfo();
   }
 
+  protected final Collection<ForeignKey> getImportedForeignKeys(final Table table) {
+    if (table == null) {
+      return Collections.emptyList();
+    }
+
+    if (traversal != null) {
+      final Collection<ForeignKey> importedForeignKeys = traversal.getImportedForeignKeys(table);
+      if (importedForeignKeys != null) {
+        return new ArrayList<>(importedForeignKeys);
+      }
+    }
+    return table.getImportedForeignKeys();
+  }
+
+  protected final Collection<Index> getIndexes(final Table table) {
+    if (table == null) {
+      return Collections.emptyList();
+    }
+
+    if (traversal != null) {
+      final Collection<Index> indexes = traversal.getIndexes(table);
+      if (indexes != null) {
+        return new ArrayList<>(indexes);
+      }
+    }
+    return table.getIndexes();
+  }
+
   protected final TableTypesFilter getTableTypesFilter() {
     return tableTypesFilter;
   }
@@ -119,7 +158,13 @@ public abstract class BaseLinter extends Linter {
   }
 
   protected final boolean includeTable(final Table table) {
-    return table != null && tableInclusionRule.test(table.getFullName());
+    if (table == null) {
+      return false;
+    }
+    if (traversal != null) {
+      return traversal.includeTable(table, tableInclusionRule);
+    }
+    return tableInclusionRule.test(table.getFullName());
   }
 
   protected abstract void lint(Table table, Connection connection) throws SchemaCrawlerException;
@@ -146,20 +191,58 @@ public abstract class BaseLinter extends Linter {
   @Override
   final void lint(final Catalog catalog, final Connection connection)
       throws SchemaCrawlerException {
-    this.catalog = requireNonNull(catalog, "No catalog provided");
-
-    start(connection);
+    startLint(catalog, connection, null);
     for (final Table table : catalog.getTables()) {
-      if (tableInclusionRule.test(table.getFullName()) && tableTypesFilter.test(table)) {
-        lint(table, connection);
-      } else {
-        LOGGER.log(
-            Level.FINE,
-            new StringFormat("Excluding table <%s> for lint <%s>", table, getLinterId()));
-      }
+      lintTable(table, connection);
     }
+    endLint(connection);
+  }
+
+  /**
+   * Finishes linting the catalog.
+   *
+   * @param connection Database connection
+   * @throws SchemaCrawlerException On an exception
+   */
+  final void endLint(final Connection connection) throws SchemaCrawlerException {
     end(connection);
-    this.catalog = null;
+    catalog = null;
+    traversal = null;
+  }
+
+  /**
+   * Lints a single table of the catalog, if it is included.
+   *
+   * @param table Table to lint
+   * @param connection Database connection
+   * @throws SchemaCrawlerException On an exception
+   */
+  final void lintTable(final Table table, final Connection connection)
+      throws SchemaCrawlerException {
+    if (includeTable(table) && tableTypesFilter.test(table)) {
+      lint(table, connection);
+    } else {
+      LOGGER.log(
+          Level.FINE,
+          new StringFormat("Excluding table <%s> for lint <%s>", table, getLinterId()));
+    }
+  }
+
+  /**
+   * Starts linting the catalog. A traversal is given when the tables of the catalog are visited
+   * once for all linters, and is used to share work with the other linters.
+   *
+   * @param catalog Catalog to lint
+   * @param connection Database connection
+   * @param traversal Traversal shared by all linters, or null
+   * @throws SchemaCrawlerException On an exception
+   */
+  final void startLint(
+      final Catalog catalog, final Connection connection, final LintTraversal traversal)
+      throws SchemaCrawlerException {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    this.traversal = traversal;
+    start(connection);
   }
 
   private final void setColumnInclusionRule(final InclusionRule columnInclusionRule) {
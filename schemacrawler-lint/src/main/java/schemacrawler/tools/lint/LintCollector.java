@@ -37,35 +37,72 @@ import java.util.List;
 import schemacrawler.schema.AttributedObject;
 import schemacrawler.schema.NamedObject;
 
+/**
+ * Collects lints, and attaches them to the linted objects. Lints can be added from more than one
+ * thread. A staging collector holds lints for a single linter without attaching them, so that
+ * linters running at the same time do not change shared objects. Staged lints are then added to
+ * the main collector in a fixed order.
+ */
 public final class LintCollector {
 
   private static final String LINT_KEY = "schemacrawler.lint";
 
+  private static void attachLint(final AttributedObject lintedObject, final Lint<?> lint) {
+    final Collection<Lint<?>> columnLints = lintedObject.getAttribute(LINT_KEY, new ArrayList<>());
+    columnLints.add(lint);
+    lintedObject.setAttribute(LINT_KEY, columnLints);
+  }
+
   private final List<Lint<? extends Serializable>> lints;
+  private final List<AttributedObject> stagedObjects;
+  private final boolean isStaging;
 
   public LintCollector() {
+    this(false);
+  }
+
+  LintCollector(final boolean isStaging) {
+    this.isStaging = isStaging;
     lints = new ArrayList<>();
+    stagedObjects = new ArrayList<>();
   }
 
-  public <N extends NamedObject & AttributedObject> void addLint(
+  public synchronized <N extends NamedObject & AttributedObject> void addLint(
       final N namedObject, final Lint<?> lint) {
     if (namedObject != null
         && lint != null
         && namedObject.getFullName().equals(lint.getObjectName())) {
       lints.add(lint);
-
-      final Collection<Lint<?>> columnLints = namedObject.getAttribute(LINT_KEY, new ArrayList<>());
-      columnLints.add(lint);
-      namedObject.setAttribute(LINT_KEY, columnLints);
+      if (isStaging) {
+        stagedObjects.add(namedObject);
+      } else {
+        attachLint(namedObject, lint);
+      }
     }
   }
 
-  public Collection<Lint<? extends Serializable>> getLints() {
+  public synchronized Collection<Lint<? extends Serializable>> getLints() {
     lints.sort(naturalOrder());
     return new ArrayList<>(lints);
   }
 
-  public int size() {
+  public synchronized int size() {
     return lints.size();
   }
+
+  /**
+   * Adds lints from a staging collector, and attaches them to the linted objects, in the order in
+   * which they were found.
+   *
+   * @param stagingCollector Staging collector
+   */
+  synchronized void addStagedLints(final LintCollector stagingCollector) {
+    synchronized (stagingCollector) {
+      for (int i = 0; i < stagingCollector.lints.size(); i++) {
+        final Lint<? extends Serializable> lint = stagingCollector.lints.get(i);
+        lints.add(lint);
+        attachLint(stagingCollector.stagedObjects.get(i), lint);
+      }
+    }
+  }
 }
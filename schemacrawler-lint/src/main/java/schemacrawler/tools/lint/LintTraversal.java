@@ -0,0 +1,182 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.lint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import schemacrawler.inclusionrule.IncludeAll;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Table;
+
+/**
+ * State for a single pass over the tables of a catalog, shared by all linters. Full names, the
+ * results of inclusion rules, the lists of included columns, and the foreign keys and indexes are
+ * worked out once for the table that is being visited, and reused by every linter. Other tables are
+ * not cached, so memory use does not grow with the size of the catalog.
+ */
+final class LintTraversal {
+
+  private final Map<InclusionRule, Boolean> tableInclusions;
+  private final Map<InclusionRule, List<Column>> includedColumns;
+  private Table table;
+  private String tableFullName;
+  private List<Column> columns;
+  private String[] columnFullNames;
+  private Collection<ForeignKey> importedForeignKeys;
+  private Collection<Index> indexes;
+
+  LintTraversal() {
+    tableInclusions = new HashMap<>();
+    includedColumns = new HashMap<>();
+  }
+
+  /**
+   * Gets the columns of a table that are included by an inclusion rule.
+   *
+   * @param table Table
+   * @param columnInclusionRule Column inclusion rule
+   * @return Included columns, which must not be modified, or null if the table is not the one that
+   *     is being visited
+   */
+  List<Column> getColumns(final Table table, final InclusionRule columnInclusionRule) {
+    if (table != this.table) {
+      return null;
+    }
+    List<Column> columns = includedColumns.get(columnInclusionRule);
+    if (columns == null) {
+      columns = includeColumns(columnInclusionRule);
+      includedColumns.put(columnInclusionRule, columns);
+    }
+    return columns;
+  }
+
+  /**
+   * Gets the foreign keys of a table that refer to other tables.
+   *
+   * @param table Table
+   * @return Imported foreign keys, which must not be modified, or null if the table is not the one
+   *     that is being visited
+   */
+  Collection<ForeignKey> getImportedForeignKeys(final Table table) {
+    if (table != this.table) {
+      return null;
+    }
+    if (importedForeignKeys == null) {
+      importedForeignKeys = table.getImportedForeignKeys();
+    }
+    return importedForeignKeys;
+  }
+
+  /**
+   * Gets the indexes of a table.
+   *
+   * @param table Table
+   * @return Indexes, which must not be modified, or null if the table is not the one that is being
+   *     visited
+   */
+  Collection<Index> getIndexes(final Table table) {
+    if (table != this.table) {
+      return null;
+    }
+    if (indexes == null) {
+      indexes = table.getIndexes();
+    }
+    return indexes;
+  }
+
+  /**
+   * Checks whether a table is included by an inclusion rule.
+   *
+   * @param table Table
+   * @param tableInclusionRule Table inclusion rule
+   * @return Whether the table is included
+   */
+  boolean includeTable(final Table table, final InclusionRule tableInclusionRule) {
+    if (tableInclusionRule instanceof IncludeAll) {
+      return true;
+    }
+    if (table != this.table) {
+      return tableInclusionRule.test(table.getFullName());
+    }
+    Boolean include = tableInclusions.get(tableInclusionRule);
+    if (include == null) {
+      if (tableFullName == null) {
+        tableFullName = table.getFullName();
+      }
+      include = tableInclusionRule.test(tableFullName);
+      tableInclusions.put(tableInclusionRule, include);
+    }
+    return include;
+  }
+
+  /**
+   * Starts a visit to a table, and forgets everything about the previous table.
+   *
+   * @param table Table to visit
+   */
+  void visit(final Table table) {
+    this.table = table;
+    tableFullName = null;
+    columns = null;
+    columnFullNames = null;
+    importedForeignKeys = null;
+    indexes = null;
+    tableInclusions.clear();
+    includedColumns.clear();
+  }
+
+  private List<Column> includeColumns(final InclusionRule columnInclusionRule) {
+    if (columns == null) {
+      columns = new ArrayList<>(table.getColumns());
+    }
+    if (columnInclusionRule instanceof IncludeAll) {
+      return columns;
+    }
+
+    if (columnFullNames == null) {
+      columnFullNames = new String[columns.size()];
+      for (int i = 0; i < columnFullNames.length; i++) {
+        columnFullNames[i] = columns.get(i).getFullName();
+      }
+    }
+    final List<Column> includedColumns = new ArrayList<>(columns.size());
+    for (int i = 0; i < columnFullNames.length; i++) {
+      if (columnInclusionRule.test(columnFullNames[i])) {
+        includedColumns.add(columns.get(i));
+      }
+    }
+    return includedColumns;
+  }
+}
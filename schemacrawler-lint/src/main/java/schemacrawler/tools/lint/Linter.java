@@ -171,6 +171,17 @@ public abstract class Linter {
     }
   }
 
+  /**
+   * Whether this linter runs queries on the database connection. When linters run in parallel,
+   * each linter that uses the connection is given a connection of its own. Needs to be overridden
+   * by linters that use the connection.
+   *
+   * @return Whether this linter uses the database connection
+   */
+  protected boolean usesConnection() {
+    return false;
+  }
+
   void configure(final LinterConfig linterConfig) {
     if (linterConfig != null) {
       setSeverity(linterConfig.getSeverity());
@@ -28,18 +28,28 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.lint;
 
 import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.ExecutorUtility.awaitTermination;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
+import us.fatehi.utility.DaemonThreadFactory;
 import us.fatehi.utility.string.StringFormat;
 
 public final class Linters implements Iterable<Linter> {
@@ -47,6 +57,12 @@ public final class Linters implements Iterable<Linter> {
   private static final SchemaCrawlerLogger LOGGER =
       SchemaCrawlerLogger.getLogger(Linters.class.getName());
 
+  /**
+   * Maximum number of linters that run at the same time when linting in parallel, which is also the
+   * maximum number of connections that are used at the same time.
+   */
+  public static final int MAX_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
   private final List<Linter> linters;
   private final LintCollector collector;
   private final LinterRegistry registry;
@@ -171,8 +187,121 @@ public final class Linters implements Iterable<Linter> {
   public void lint(final Catalog catalog, final Connection connection)
       throws SchemaCrawlerException {
     for (final Linter linter : linters) {
+      lint(linter, catalog, connection);
+    }
+  }
+
+  /**
+   * Lints the catalog, with linters running at the same time on a pool of up to {@link
+   * #MAX_THREADS} threads. Linters that use the database connection each get a connection of their
+   * own from the data source, since a connection cannot be shared between threads. Without a data
+   * source, these linters run one after another on the calling thread, with the given connection.
+   * Each linter collects lints separately, and lints are added to the collector in linter order
+   * once all linters are done, so the results are the same as when linters run one after another.
+   *
+   * @param catalog Catalog to lint
+   * @param connection Database connection
+   * @param dataSource Source of database connections, or null if there is none
+   * @throws SchemaCrawlerException On an exception from a linter
+   */
+  public void lintInParallel(
+      final Catalog catalog, final Connection connection, final Supplier<Connection> dataSource)
+      throws SchemaCrawlerException {
+    requireNonNull(catalog, "No catalog provided");
+
+    final List<LintCollector> stagingCollectors = new ArrayList<>(linters.size());
+    final List<Callable<Void>> lintTasks = new ArrayList<>(linters.size());
+    final List<Linter> connectedLinters = new ArrayList<>();
+    for (final Linter linter : linters) {
+      final LintCollector stagingCollector = new LintCollector(true);
+      stagingCollectors.add(stagingCollector);
+      linter.setLintCollector(stagingCollector);
+
+      if (!linter.usesConnection()) {
+        lintTasks.add(() -> lint(linter, catalog, connection));
+      } else if (dataSource != null) {
+        lintTasks.add(() -> lint(linter, catalog, dataSource));
+      } else {
+        connectedLinters.add(linter);
+      }
+    }
+
+    final int threadCount = Math.max(1, Math.min(MAX_THREADS, lintTasks.size()));
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(threadCount, new DaemonThreadFactory("schemacrawler-lint"));
+    boolean isCompleted = false;
+    try {
+      final List<Future<Void>> lintResults = new ArrayList<>(lintTasks.size());
+      for (final Callable<Void> lintTask : lintTasks) {
+        lintResults.add(executor.submit(lintTask));
+      }
+
+      for (final Linter linter : connectedLinters) {
+        lint(linter, catalog, connection);
+      }
+      for (final Future<Void> lintResult : lintResults) {
+        waitFor(lintResult);
+      }
+      isCompleted = true;
+    } finally {
+      if (isCompleted) {
+        executor.shutdown();
+      } else {
+        // Do not start linters that are still waiting for a thread
+        executor.shutdownNow();
+      }
+      // Let running linters finish before their collectors are reset, even if one of them failed
+      awaitTermination(executor);
+      for (final Linter linter : linters) {
+        linter.setLintCollector(collector);
+      }
+    }
+
+    for (final LintCollector stagingCollector : stagingCollectors) {
+      collector.addStagedLints(stagingCollector);
+    }
+  }
+
+  /**
+   * Lints the catalog in a single pass over the tables. Each table is given to every linter in
+   * turn, and the linters share the work of finding full names, checking inclusion rules and
+   * listing the included columns of the table. The same lints are found as when linters run one
+   * after another, but lints are attached to tables in the order in which they are found, which is
+   * table by table rather than linter by linter.
+   *
+   * @param catalog Catalog to lint
+   * @param connection Database connection
+   * @throws SchemaCrawlerException On an exception from a linter
+   */
+  public void lintInSinglePass(final Catalog catalog, final Connection connection)
+      throws SchemaCrawlerException {
+    requireNonNull(catalog, "No catalog provided");
+
+    final List<BaseLinter> tableLinters = new ArrayList<>(linters.size());
+    for (final Linter linter : linters) {
+      if (linter instanceof BaseLinter) {
+        tableLinters.add((BaseLinter) linter);
+      } else {
+        lint(linter, catalog, connection);
+      }
+    }
+    if (tableLinters.isEmpty()) {
+      return;
+    }
+
+    final LintTraversal traversal = new LintTraversal();
+    for (final BaseLinter linter : tableLinters) {
       LOGGER.log(Level.FINE, new StringFormat("Linting with <%s>", linter.getLinterInstanceId()));
-      linter.lint(catalog, connection);
+      linter.startLint(catalog, connection, traversal);
+    }
+    for (final Table table : catalog.getTables()) {
+      traversal.visit(table);
+      for (final BaseLinter linter : tableLinters) {
+        linter.lintTable(table, connection);
+      }
+    }
+    for (final BaseLinter linter : tableLinters) {
+      linter.endLint(connection);
     }
   }
 
@@ -190,6 +319,24 @@ public final class Linters implements Iterable<Linter> {
     return linters.toString();
   }
 
+  private Void lint(final Linter linter, final Catalog catalog, final Connection connection)
+      throws SchemaCrawlerException {
+    LOGGER.log(Level.FINE, new StringFormat("Linting with <%s>", linter.getLinterInstanceId()));
+    linter.lint(catalog, connection);
+    return null;
+  }
+
+  private Void lint(
+      final Linter linter, final Catalog catalog, final Supplier<Connection> dataSource)
+      throws SchemaCrawlerException {
+    try (final Connection connection = dataSource.get()) {
+      return lint(linter, catalog, connection);
+    } catch (final SQLException e) {
+      throw new SchemaCrawlerException(
+          String.format("Could not close connection for linter <%s>", linter.getLinterId()), e);
+    }
+  }
+
   private Linter newLinter(final String linterId) {
     final Linter linter = registry.newLinter(linterId);
     if (linter != null) {
@@ -199,4 +346,22 @@ public final class Linters implements Iterable<Linter> {
     }
     return linter;
   }
+
+  private void waitFor(final Future<Void> lintResult) throws SchemaCrawlerException {
+    try {
+      lintResult.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while linting", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SchemaCrawlerException) {
+        throw (SchemaCrawlerException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SchemaCrawlerException("Could not lint catalog", cause);
+    }
+  }
 }
@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -20,6 +21,9 @@ import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlQueryTiming;
+import schemacrawler.schema.CrawlTaskTiming;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.lint.Lint;
 import schemacrawler.tools.lint.LintReport;
@@ -50,6 +54,15 @@ abstract class BaseLintReportJacksonBuilder implements LintReportBuilder {
         public abstract Object getValueAsString();
       }
 
+      // Crawl timings vary from run to run, and are not part of the lint report
+      abstract class CrawlInfoMixIn {
+        @JsonIgnore
+        public abstract List<CrawlQueryTiming> getCrawlQueryTimings();
+
+        @JsonIgnore
+        public abstract List<CrawlTaskTiming> getCrawlTaskTimings();
+      }
+
       final JavaTimeModule timeModule = new JavaTimeModule();
       timeModule.addSerializer(
           LocalDateTime.class,
@@ -63,6 +76,7 @@ abstract class BaseLintReportJacksonBuilder implements LintReportBuilder {
           WRITE_ENUMS_USING_TO_STRING);
       mapper.addMixIn(Object.class, JacksonAnnotationMixIn.class);
       mapper.addMixIn(Lint.class, JacksonAnnotationMixIn.class);
+      mapper.addMixIn(CrawlInfo.class, CrawlInfoMixIn.class);
       mapper.registerModule(timeModule);
 
       // Write JSON to stream
@@ -65,7 +65,13 @@ public class LintCommand extends BaseSchemaCrawlerCommand<LintOptions> {
     final LinterConfigs linterConfigs = readLinterConfigs(commandOptions);
     LOGGER.log(Level.FINEST, new ObjectToStringFormat(linterConfigs));
     final Linters linters = new Linters(linterConfigs, commandOptions.isRunAllLinters());
-    linters.lint(catalog, connection);
+    if (commandOptions.isRunInParallel()) {
+      linters.lintInParallel(catalog, connection, dataSource);
+    } else if (commandOptions.isRunInSinglePass()) {
+      linters.lintInSinglePass(catalog, connection);
+    } else {
+      linters.lint(catalog, connection);
+    }
 
     // Produce the lint report
     final LintReport lintReport =
@@ -80,6 +86,18 @@ public class LintCommand extends BaseSchemaCrawlerCommand<LintOptions> {
     dispatch(linters);
   }
 
+  /**
+   * Linters that use the database connection each get a connection of their own, when linters run
+   * in parallel, up to the number of linters that can run at the same time.
+   */
+  @Override
+  public int getMaxConnections() {
+    if (commandOptions.isRunInParallel()) {
+      return Linters.MAX_THREADS;
+    }
+    return 0;
+  }
+
   @Override
   public boolean usesConnection() {
     return false;
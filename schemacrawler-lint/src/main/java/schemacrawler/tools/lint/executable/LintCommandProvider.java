@@ -74,7 +74,22 @@ public class LintCommandProvider extends BaseCommandProvider {
             "Whether to run all linters, including running the ones "
                 + "that are not explicitly configured with their default settings%n"
                 + "Optional, defaults to true%n"
-                + "Corresponds to the configuration file setting: schemacrawler.lint.runalllinters");
+                + "Corresponds to the configuration file setting: schemacrawler.lint.runalllinters")
+        .addOption(
+            "run-in-parallel",
+            boolean.class,
+            "Whether to run linters at the same time, on more than one thread%n"
+                + "Optional, defaults to false%n"
+                + "Corresponds to the configuration file setting: "
+                + "schemacrawler.lint.run-in-parallel")
+        .addOption(
+            "run-in-single-pass",
+            boolean.class,
+            "Whether to run linters in a single pass over the tables, "
+                + "rather than one linter after another%n"
+                + "Optional, defaults to false%n"
+                + "Corresponds to the configuration file setting: "
+                + "schemacrawler.lint.run-in-single-pass");
     return pluginCommand;
   }
 
@@ -38,6 +38,8 @@ public class LintOptions extends BaseTextOptions {
   private final String linterConfigs;
   private final LintDispatch lintDispatch;
   private final boolean runAllLinters;
+  private final boolean runInParallel;
+  private final boolean runInSinglePass;
   private final Config config;
 
   public LintOptions(final LintOptionsBuilder builder) {
@@ -45,6 +47,8 @@ public class LintOptions extends BaseTextOptions {
     linterConfigs = builder.linterConfigs;
     lintDispatch = requireNonNull(builder.lintDispatch, "No dispatch provided");
     runAllLinters = builder.runAllLinters;
+    runInParallel = builder.runInParallel;
+    runInSinglePass = builder.runInSinglePass;
     requireNonNull(builder.config, "No properties provided");
     this.config = new Config(builder.config);
   }
@@ -84,4 +88,23 @@ public class LintOptions extends BaseTextOptions {
   public boolean isRunAllLinters() {
     return runAllLinters;
   }
+
+  /**
+   * Whether to run linters at the same time, on more than one thread.
+   *
+   * @return Whether to run linters in parallel.
+   */
+  public boolean isRunInParallel() {
+    return runInParallel;
+  }
+
+  /**
+   * Whether to run linters in a single pass over the tables, rather than one linter after another.
+   * Lints are attached to tables in a different order.
+   *
+   * @return Whether to run linters in a single pass.
+   */
+  public boolean isRunInSinglePass() {
+    return runInSinglePass;
+  }
 }
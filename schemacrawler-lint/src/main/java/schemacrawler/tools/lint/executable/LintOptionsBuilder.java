@@ -39,10 +39,15 @@ public final class LintOptionsBuilder
   private static final String CLI_LINTER_CONFIGS = "linter-configs";
   private static final String CLI_LINT_DISPATCH = "lint-dispatch";
   private static final String CLI_RUN_ALL_LINTERS = "run-all-linters";
+  private static final String CLI_RUN_IN_PARALLEL = "run-in-parallel";
+  private static final String CLI_RUN_IN_SINGLE_PASS = "run-in-single-pass";
   private static final String SCHEMACRAWLER_LINT_PREFIX = "schemacrawler.lint.";
   private static final String LINTER_CONFIGS = SCHEMACRAWLER_LINT_PREFIX + CLI_LINTER_CONFIGS;
   private static final String LINT_DISPATCH = SCHEMACRAWLER_LINT_PREFIX + CLI_LINT_DISPATCH;
   private static final String RUN_ALL_LINTERS = SCHEMACRAWLER_LINT_PREFIX + CLI_RUN_ALL_LINTERS;
+  private static final String RUN_IN_PARALLEL = SCHEMACRAWLER_LINT_PREFIX + CLI_RUN_IN_PARALLEL;
+  private static final String RUN_IN_SINGLE_PASS =
+      SCHEMACRAWLER_LINT_PREFIX + CLI_RUN_IN_SINGLE_PASS;
 
   public static LintOptionsBuilder builder() {
     return new LintOptionsBuilder();
@@ -55,12 +60,16 @@ public final class LintOptionsBuilder
   LintDispatch lintDispatch;
   String linterConfigs;
   boolean runAllLinters;
+  boolean runInParallel;
+  boolean runInSinglePass;
   Config config;
 
   private LintOptionsBuilder() {
     linterConfigs = "";
     lintDispatch = LintDispatch.none;
     runAllLinters = true;
+    runInParallel = false;
+    runInSinglePass = false;
     config = new Config();
   }
 
@@ -101,6 +110,26 @@ public final class LintOptionsBuilder
     }
     runAllLinters = config.getBooleanValue(runAllLintersKey, true);
 
+    final String runInParallelKey;
+    if (config.containsKey(CLI_RUN_IN_PARALLEL)) {
+      // Honor command-line option first
+      runInParallelKey = CLI_RUN_IN_PARALLEL;
+    } else {
+      // Otherwise, take option from SchemaCrawler configuration file
+      runInParallelKey = RUN_IN_PARALLEL;
+    }
+    runInParallel = config.getBooleanValue(runInParallelKey, false);
+
+    final String runInSinglePassKey;
+    if (config.containsKey(CLI_RUN_IN_SINGLE_PASS)) {
+      // Honor command-line option first
+      runInSinglePassKey = CLI_RUN_IN_SINGLE_PASS;
+    } else {
+      // Otherwise, take option from SchemaCrawler configuration file
+      runInSinglePassKey = RUN_IN_SINGLE_PASS;
+    }
+    runInSinglePass = config.getBooleanValue(runInSinglePassKey, false);
+
     // Save config
     this.config.merge(config);
 
@@ -117,6 +146,8 @@ public final class LintOptionsBuilder
     linterConfigs = options.getLinterConfigs();
     lintDispatch = options.getLintDispatch();
     runAllLinters = options.isRunAllLinters();
+    runInParallel = options.isRunInParallel();
+    runInSinglePass = options.isRunInSinglePass();
 
     return this;
   }
@@ -128,12 +159,28 @@ public final class LintOptionsBuilder
     return this;
   }
 
+  /** With value for running linters in parallel. */
+  public LintOptionsBuilder runInParallel(final boolean runInParallel) {
+    this.runInParallel = runInParallel;
+
+    return this;
+  }
+
+  /** With value for running linters in a single pass over the tables. */
+  public LintOptionsBuilder runInSinglePass(final boolean runInSinglePass) {
+    this.runInSinglePass = runInSinglePass;
+
+    return this;
+  }
+
   @Override
   public Config toConfig() {
     final Config config = super.toConfig();
     config.put(LINTER_CONFIGS, linterConfigs);
     config.put(LINT_DISPATCH, lintDispatch);
     config.put(RUN_ALL_LINTERS, runAllLinters);
+    config.put(RUN_IN_PARALLEL, runInParallel);
+    config.put(RUN_IN_SINGLE_PASS, runInSinglePass);
     // Lint report output format is not written to the config
     return config;
   }
@@ -93,4 +93,9 @@ public class LinterCatalogSql extends BaseLinter {
       throw new SchemaCrawlerException("Could not execute SQL for catalog lints", e);
     }
   }
+
+  @Override
+  protected boolean usesConnection() {
+    return true;
+  }
 }
@@ -65,7 +65,7 @@ public class LinterForeignKeyMismatch extends BaseLinter {
   private List<ForeignKey> findMismatchedForeignKeys(final Table table) {
     final List<ForeignKey> mismatchedForeignKeys = new ArrayList<>();
     if (table != null && !(table instanceof View)) {
-      for (final ForeignKey foreignKey : table.getImportedForeignKeys()) {
+      for (final ForeignKey foreignKey : getImportedForeignKeys(table)) {
         for (final ForeignKeyColumnReference columnReference : foreignKey) {
           final Column pkColumn = columnReference.getPrimaryKeyColumn();
           final Column fkColumn = columnReference.getForeignKeyColumn();
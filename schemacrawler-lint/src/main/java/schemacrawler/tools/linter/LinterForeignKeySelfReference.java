@@ -65,7 +65,7 @@ public class LinterForeignKeySelfReference extends BaseLinter {
   private List<ForeignKey> findSelfReferencingForeignKeys(final Table table) {
     final List<ForeignKey> selfReferencingForeignKeys = new ArrayList<>();
     if (table != null && !(table instanceof View)) {
-      for (final ForeignKey foreignKey : table.getImportedForeignKeys()) {
+      for (final ForeignKey foreignKey : getImportedForeignKeys(table)) {
         for (final ForeignKeyColumnReference columnReference : foreignKey) {
           final Column pkColumn = columnReference.getPrimaryKeyColumn();
           final Column fkColumn = columnReference.getForeignKeyColumn();
@@ -68,7 +68,7 @@ public class LinterForeignKeyWithNoIndexes extends BaseLinter {
     final List<ForeignKey> foreignKeysWithoutIndexes = new ArrayList<>();
     if (!(table instanceof View)) {
       final Collection<List<String>> allIndexCoumns = allIndexCoumnNames(table);
-      for (final ForeignKey foreignKey : table.getImportedForeignKeys()) {
+      for (final ForeignKey foreignKey : getImportedForeignKeys(table)) {
         final List<String> foreignKeyColumns = foreignKeyColumnNames(foreignKey);
         boolean hasIndex = false;
         for (final List<String> indexColumns : allIndexCoumns) {
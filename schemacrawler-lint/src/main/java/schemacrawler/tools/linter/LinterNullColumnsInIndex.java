@@ -52,7 +52,7 @@ public class LinterNullColumnsInIndex extends BaseLinter {
     requireNonNull(table, "No table provided");
 
     final List<Index> nullableColumnsInUniqueIndex =
-        findNullableColumnsInUniqueIndex(table.getIndexes());
+        findNullableColumnsInUniqueIndex(getIndexes(table));
     for (final Index index : nullableColumnsInUniqueIndex) {
       addTableLint(table, getSummary(), index);
     }
@@ -74,4 +74,9 @@ public class LinterTableEmpty extends BaseLinter {
       LOGGER.log(Level.WARNING, new StringFormat("Could not get count for table, ", table), e);
     }
   }
+
+  @Override
+  protected boolean usesConnection() {
+    return true;
+  }
 }
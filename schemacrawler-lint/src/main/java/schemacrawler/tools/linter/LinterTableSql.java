@@ -96,4 +96,9 @@ public class LinterTableSql extends BaseLinter {
           e);
     }
   }
+
+  @Override
+  protected boolean usesConnection() {
+    return true;
+  }
 }
@@ -42,22 +42,24 @@ import schemacrawler.tools.lint.BaseLinter;
 
 public class LinterTableWithQuotedNames extends BaseLinter {
 
+  private Identifiers identifiers;
+
   @Override
   public String getSummary() {
     return "spaces in name, or reserved word";
   }
 
   @Override
-  protected void lint(final Table table, final Connection connection)
-      throws SchemaCrawlerException {
-    requireNonNull(table, "No table provided");
+  protected void end(final Connection connection) throws SchemaCrawlerException {
+    identifiers = null;
 
-    Identifiers identifiers;
-    try {
-      identifiers = Identifiers.identifiers().withConnection(connection).build();
-    } catch (final SQLException e) {
-      throw new SchemaCrawlerException(e.getMessage(), e);
-    }
+    super.end(connection);
+  }
+
+  @Override
+  protected void lint(final Table table, final Connection connection) {
+    requireNonNull(table, "No table provided");
+    requireNonNull(identifiers, "Not initialized");
 
     final String tableName = table.getName();
     if (identifiers.isToBeQuoted(tableName)) {
@@ -71,6 +73,24 @@ public class LinterTableWithQuotedNames extends BaseLinter {
     }
   }
 
+  @Override
+  protected void start(final Connection connection) throws SchemaCrawlerException {
+    super.start(connection);
+
+    // Identifier rules come from database metadata, so look them up once
+    // for all tables
+    try {
+      identifiers = Identifiers.identifiers().withConnection(connection).build();
+    } catch (final SQLException e) {
+      throw new SchemaCrawlerException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  protected boolean usesConnection() {
+    return true;
+  }
+
   private List<String> findColumnsWithQuotedNames(
       final List<Column> columns, final Identifiers identifiers) {
     final List<String> columnsWithQuotedNames = new ArrayList<>();
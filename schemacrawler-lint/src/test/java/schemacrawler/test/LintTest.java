@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.test;
 
+import static java.util.Comparator.naturalOrder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -38,9 +39,19 @@ import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
 import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
 
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,9 +60,11 @@ import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
 import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.LimitOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
 import schemacrawler.test.utility.TestWriter;
 import schemacrawler.tools.lint.Lint;
@@ -115,6 +128,164 @@ public class LintTest {
         hasSameContentAs(classpathResource(LINTS_OUTPUT + "schemacrawler.lints.summary.txt")));
   }
 
+  @Test
+  public void lintsInParallel(final Connection connection) throws Exception {
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder()
+            .tableTypes("TABLE", "VIEW", "GLOBAL TEMPORARY")
+            .includeSchemas(new RegularExpressionInclusionRule(".*FOR_LINT"));
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(limitOptionsBuilder.toOptions());
+
+    final LinterConfigs linterConfigs = new LinterConfigs(new Config());
+    final LinterConfig linterConfig =
+        new LinterConfig("schemacrawler.tools.linter.LinterTableWithBadlyNamedColumns");
+    linterConfig.setThreshold(0);
+    linterConfig.put("bad-column-names", ".*\\.COUNTRY");
+    linterConfigs.add(linterConfig);
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    final Linters linters = new Linters(linterConfigs, true);
+    linters.lintInParallel(catalog, connection, null);
+    final LintCollector lintCollector = linters.getCollector();
+    assertThat(lintCollector.size(), is(51));
+
+    final TestWriter testout1 = new TestWriter();
+    try (final TestWriter out = testout1) {
+      for (final Lint<?> lint : lintCollector.getLints()) {
+        out.println(lint);
+      }
+    }
+    assertThat(
+        outputOf(testout1),
+        hasSameContentAs(classpathResource(LINTS_OUTPUT + "schemacrawler.lints.txt")));
+
+    final TestWriter testout2 = new TestWriter();
+    try (final TestWriter out = testout2) {
+      out.println(linters.getLintSummary());
+    }
+    assertThat(
+        outputOf(testout2),
+        hasSameContentAs(classpathResource(LINTS_OUTPUT + "schemacrawler.lints.summary.txt")));
+
+    // Lints are attached to tables in the same order as when linters run one after another
+    final Catalog sequentialCatalog = getCatalog(connection, schemaCrawlerOptions);
+    new Linters(linterConfigs, true).lint(sequentialCatalog, connection);
+    for (final Table table : sequentialCatalog.getTables()) {
+      final Table parallelTable = catalog.lookupTable(table.getSchema(), table.getName()).get();
+      assertThat(
+          String.valueOf(parallelTable.<Object>getAttribute("schemacrawler.lint")),
+          is(String.valueOf(table.<Object>getAttribute("schemacrawler.lint"))));
+    }
+  }
+
+  @Test
+  public void lintsInParallelWithDataSource(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder()
+            .tableTypes("TABLE", "VIEW", "GLOBAL TEMPORARY")
+            .includeSchemas(new RegularExpressionInclusionRule(".*FOR_LINT"));
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(limitOptionsBuilder.toOptions());
+
+    final LinterConfigs linterConfigs = new LinterConfigs(new Config());
+    final LinterConfig linterConfig =
+        new LinterConfig("schemacrawler.tools.linter.LinterTableWithBadlyNamedColumns");
+    linterConfig.setThreshold(0);
+    linterConfig.put("bad-column-names", ".*\\.COUNTRY");
+    linterConfigs.add(linterConfig);
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    final Linters linters = new Linters(linterConfigs, true);
+
+    // Linters that use the connection need to get their own connection from the data source,
+    // and not use the shared connection from another thread
+    final Set<Thread> sharedConnectionThreads = ConcurrentHashMap.newKeySet();
+    final Connection sharedConnection =
+        (Connection)
+            Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                  sharedConnectionThreads.add(Thread.currentThread());
+                  try {
+                    return method.invoke(connection, args);
+                  } catch (final InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+                });
+    final Supplier<Connection> dataSource =
+        () -> {
+          try {
+            return DriverManager.getConnection(
+                databaseConnectionInfo.getConnectionUrl(), "sa", "");
+          } catch (final SQLException e) {
+            throw new RuntimeException(e);
+          }
+        };
+
+    linters.lintInParallel(catalog, sharedConnection, dataSource);
+    assertThat(linters.getCollector().size(), is(51));
+    for (final Thread thread : sharedConnectionThreads) {
+      assertThat(thread, is(Thread.currentThread()));
+    }
+  }
+
+  @Test
+  public void lintsInSinglePass(final Connection connection) throws Exception {
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder()
+            .tableTypes("TABLE", "VIEW", "GLOBAL TEMPORARY")
+            .includeSchemas(new RegularExpressionInclusionRule(".*FOR_LINT"));
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(limitOptionsBuilder.toOptions());
+
+    final LinterConfigs linterConfigs = new LinterConfigs(new Config());
+    final LinterConfig linterConfig =
+        new LinterConfig("schemacrawler.tools.linter.LinterTableWithBadlyNamedColumns");
+    linterConfig.setThreshold(0);
+    linterConfig.put("bad-column-names", ".*\\.COUNTRY");
+    linterConfigs.add(linterConfig);
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    final Linters linters = new Linters(linterConfigs, true);
+    linters.lintInSinglePass(catalog, connection);
+    final LintCollector lintCollector = linters.getCollector();
+    assertThat(lintCollector.size(), is(51));
+
+    final TestWriter testout1 = new TestWriter();
+    try (final TestWriter out = testout1) {
+      for (final Lint<?> lint : lintCollector.getLints()) {
+        out.println(lint);
+      }
+    }
+    assertThat(
+        outputOf(testout1),
+        hasSameContentAs(classpathResource(LINTS_OUTPUT + "schemacrawler.lints.txt")));
+
+    final TestWriter testout2 = new TestWriter();
+    try (final TestWriter out = testout2) {
+      out.println(linters.getLintSummary());
+    }
+    assertThat(
+        outputOf(testout2),
+        hasSameContentAs(classpathResource(LINTS_OUTPUT + "schemacrawler.lints.summary.txt")));
+
+    // The same lints are attached to tables as when linters run one after another, but in the
+    // order in which they are found
+    final Catalog sequentialCatalog = getCatalog(connection, schemaCrawlerOptions);
+    new Linters(linterConfigs, true).lint(sequentialCatalog, connection);
+    for (final Table table : sequentialCatalog.getTables()) {
+      final Table singlePassTable = catalog.lookupTable(table.getSchema(), table.getName()).get();
+      assertThat(sortedLints(singlePassTable), is(sortedLints(table)));
+    }
+  }
+
   @Test
   public void lintsWithExcludedColumns(final Connection connection) throws Exception {
     final LimitOptionsBuilder limitOptionsBuilder =
@@ -219,4 +390,11 @@ public class LintTest {
         lintCollector.size(),
         is(0));
   }
+
+  private List<Lint<? extends Serializable>> sortedLints(final Table table) {
+    final List<Lint<? extends Serializable>> lints =
+        new ArrayList<>(table.getAttribute("schemacrawler.lint", new ArrayList<>()));
+    lints.sort(naturalOrder());
+    return lints;
+  }
 }
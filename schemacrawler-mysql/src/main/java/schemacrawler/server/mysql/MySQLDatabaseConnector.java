@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.util.regex.Pattern;
 import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
 
@@ -48,7 +49,8 @@ public final class MySQLDatabaseConnector
                 .fromResourceFolder("/mysql.information_schema"),
         (schemaRetrievalOptionsBuilder,
             connection) -> schemaRetrievalOptionsBuilder
-                .withEnumDataTypeHelper(new MySQLEnumDataTypeHelper()),
+                .withEnumDataTypeHelper(new MySQLEnumDataTypeHelper())
+                .withTableSampleSyntax(TableSampleSyntax.limit),
         (limitOptionsBuilder) -> limitOptionsBuilder
             .includeSchemas(new RegularExpressionExclusionRule("sys|mysql")),
         new MySQLUrlBuilder());
@@ -9,9 +9,11 @@ import static schemacrawler.filter.ReducerFactory.getTableReducer;
 import java.io.FileInputStream;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.crawl.CatalogSnapshotReader;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Reducible;
 import schemacrawler.schema.Routine;
@@ -24,6 +26,8 @@ import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.catalogloader.CatalogLoader;
+import schemacrawler.tools.integration.serialize.BinarySerializedCatalog;
+import schemacrawler.tools.integration.serialize.CatalogSerializer;
 import schemacrawler.tools.integration.serialize.JavaSerializedCatalog;
 import schemacrawler.tools.offline.jdbc.OfflineConnection;
 
@@ -33,11 +37,23 @@ public final class OfflineCatalogLoader implements CatalogLoader {
       SchemaCrawlerLogger.getLogger(OfflineCatalogLoader.class.getName());
 
   private static void checkConnection(final Connection connection) {
-    if (connection == null || !(connection instanceof OfflineConnection)) {
+    if (connection == null || !isOfflineConnection(connection)) {
       LOGGER.log(Level.SEVERE, "Offline database connection not provided for the offline snapshot");
     }
   }
 
+  private static boolean isOfflineConnection(final Connection connection) {
+    if (connection instanceof OfflineConnection) {
+      return true;
+    }
+    // Offline connections may be wrapped, for example by a connection pool
+    try {
+      return connection.isWrapperFor(OfflineConnection.class);
+    } catch (final SQLException e) {
+      return false;
+    }
+  }
+
   private final String databaseSystemIdentifier;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private Connection connection;
@@ -99,9 +115,16 @@ public final class OfflineCatalogLoader implements CatalogLoader {
     }
 
     final Path offlineDatabasePath = dbConnection.getOfflineDatabasePath();
-    final FileInputStream inputFileStream = new FileInputStream(offlineDatabasePath.toFile());
 
-    final JavaSerializedCatalog deserializedCatalog = new JavaSerializedCatalog(inputFileStream);
+    final CatalogSerializer deserializedCatalog;
+    if (CatalogSnapshotReader.isCatalogSnapshot(offlineDatabasePath)) {
+      // Binary snapshots are loaded in part, using the limit options
+      deserializedCatalog =
+          new BinarySerializedCatalog(offlineDatabasePath, getSchemaCrawlerOptions());
+    } else {
+      final FileInputStream inputFileStream = new FileInputStream(offlineDatabasePath.toFile());
+      deserializedCatalog = new JavaSerializedCatalog(inputFileStream);
+    }
 
     final Catalog catalog = deserializedCatalog.getCatalog();
     reduceCatalog(catalog);
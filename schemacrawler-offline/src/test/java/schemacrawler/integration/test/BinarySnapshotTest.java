@@ -0,0 +1,177 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.size;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+import static schemacrawler.test.utility.FileHasContent.classpathResource;
+import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
+import static schemacrawler.test.utility.FileHasContent.outputOf;
+import static schemacrawler.test.utility.TestUtility.flattenCommandlineArgs;
+import static schemacrawler.tools.offline.jdbc.OfflineConnectionUtility.newOfflineConnection;
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.Main;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.integration.serialize.BinarySerializedCatalog;
+import schemacrawler.tools.integration.serialize.JavaSerializedCatalog;
+import schemacrawler.tools.offline.OfflineDatabaseConnector;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.schema.SchemaTextOptionsBuilder;
+import us.fatehi.utility.IOUtility;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class BinarySnapshotTest {
+
+  private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
+
+  private Path serializedCatalogFile;
+  private Path snapshotFile;
+
+  @Test
+  public void binarySnapshotCommandLineWithFilters() throws Exception {
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("-server", "offline");
+      argsMap.put("-database", snapshotFile.toString());
+
+      argsMap.put("-no-info", "true");
+      argsMap.put("-info-level", "maximum");
+      argsMap.put("-command", "details");
+      argsMap.put("-output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("-routines", "");
+      argsMap.put("-tables", ".*SALES");
+      argsMap.put("-output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
+  }
+
+  @Test
+  public void binarySnapshotCommandLineWithSchemaFilters() throws Exception {
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("-server", "offline");
+      argsMap.put("-database", snapshotFile.toString());
+
+      argsMap.put("-no-info", "true");
+      argsMap.put("-info-level", "maximum");
+      argsMap.put("-routines", ".*");
+      argsMap.put("-command", "list");
+      argsMap.put("-output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("-schemas", "PUBLIC.BOOKS");
+      argsMap.put("-output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(
+            classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithSchemaFilters.txt")));
+  }
+
+  @Test
+  public void binarySnapshotMatchesJavaSerialization() throws Exception {
+    final Path javaSerializationOutput = executeDetails(serializedCatalogFile);
+    final Path snapshotOutput = executeDetails(snapshotFile);
+
+    assertThat(
+        new String(readAllBytes(snapshotOutput), UTF_8),
+        is(new String(readAllBytes(javaSerializationOutput), UTF_8)));
+  }
+
+  @BeforeEach
+  public void serializeCatalog(final Connection connection)
+      throws SchemaCrawlerException, IOException {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions());
+
+    serializedCatalogFile = IOUtility.createTempFilePath("schemacrawler", "ser");
+    new JavaSerializedCatalog(catalog)
+        .save(new FileOutputStream(serializedCatalogFile.toFile()));
+
+    snapshotFile = IOUtility.createTempFilePath("schemacrawler", "scsnap");
+    new BinarySerializedCatalog(catalog).save(new FileOutputStream(snapshotFile.toFile()));
+    assertThat("Database was not serialized", size(snapshotFile), greaterThan(0L));
+  }
+
+  private Path executeDetails(final Path offlineDatabasePath) throws Exception {
+    final SchemaTextOptionsBuilder schemaTextOptionsBuilder = SchemaTextOptionsBuilder.builder();
+    schemaTextOptionsBuilder.noInfo(false);
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("details");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions());
+    executable.setAdditionalConfiguration(schemaTextOptionsBuilder.toConfig());
+    executable.setSchemaRetrievalOptions(
+        SchemaRetrievalOptionsBuilder.builder()
+            .withDatabaseServerType(OfflineDatabaseConnector.DB_SERVER_TYPE)
+            .toOptions());
+
+    return executableExecution(newOfflineConnection(offlineDatabasePath), executable);
+  }
+
+  private SchemaCrawlerOptions schemaCrawlerOptions() {
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder().includeAllRoutines();
+    final LoadOptionsBuilder loadOptionsBuilder =
+        LoadOptionsBuilder.builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum());
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(limitOptionsBuilder.toOptions())
+        .withLoadOptions(loadOptionsBuilder.toOptions());
+  }
+}
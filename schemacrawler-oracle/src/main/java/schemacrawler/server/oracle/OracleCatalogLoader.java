@@ -32,6 +32,7 @@ import static us.fatehi.utility.DatabaseUtility.executeScriptFromResource;
 
 import java.sql.Connection;
 
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.tools.catalogloader.SchemaCrawlerCatalogLoader;
 
@@ -50,4 +51,14 @@ public final class OracleCatalogLoader extends SchemaCrawlerCatalogLoader {
 
     return super.loadCatalog();
   }
+
+  @Override
+  public StreamingSchemaCrawler newStreamingSchemaCrawler() throws Exception {
+    final Connection connection = getConnection();
+    requireNonNull(connection, "No connection provided");
+
+    executeScriptFromResource(connection, "/schemacrawler-oracle.before.sql");
+
+    return super.newStreamingSchemaCrawler();
+  }
 }
@@ -42,6 +42,7 @@ import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.ty
 import java.io.IOException;
 import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
 
@@ -69,7 +70,8 @@ public final class OracleDatabaseConnector
                 .with(proceduresRetrievalStrategy, data_dictionary_all)
                 .with(procedureParametersRetrievalStrategy, data_dictionary_all)
                 .with(functionsRetrievalStrategy, data_dictionary_all)
-                .with(functionParametersRetrievalStrategy, data_dictionary_all),
+                .with(functionParametersRetrievalStrategy, data_dictionary_all)
+                .withTableSampleSyntax(TableSampleSyntax.oracle),
         (limitOptionsBuilder) -> limitOptionsBuilder
             .includeSchemas(new RegularExpressionExclusionRule(
                 "ANONYMOUS|APEX_PUBLIC_USER|APPQOSSYS|BI|CTXSYS|DBSNMP|DIP|EXFSYS|FLOWS_30000|FLOWS_FILES|GSMADMIN_INTERNAL|HR|IX|LBACSYS|MDDATA|MDSYS|MGMT_VIEW|OE|OLAPSYS|ORACLE_OCM|ORDPLUGINS|ORDSYS|OUTLN|OWBSYS|PM|RDSADMIN|SCOTT|SH|SI_INFORMTN_SCHEMA|SPATIAL_CSW_ADMIN_USR|SPATIAL_WFS_ADMIN_USR|SYS|SYSMAN|\\\"SYSTEM\\\"|TSMSYS|WKPROXY|WKSYS|WK_TEST|WMSYS|XDB|APEX_[0-9]{6}|FLOWS_[0-9]{5,6}|XS\\$NULL")),
@@ -0,0 +1,32 @@
+SELECT /*+ PARALLEL(AUTO) */
+  NULL AS OBJECT_CATALOG,
+  OBJECTS.OWNER AS OBJECT_SCHEMA,
+  OBJECTS.OBJECT_NAME,
+  CASE
+    WHEN OBJECTS.OBJECT_TYPE IN ('TABLE', 'VIEW', 'MATERIALIZED VIEW') THEN 'TABLE'
+    WHEN OBJECTS.OBJECT_TYPE IN ('FUNCTION', 'PROCEDURE') THEN 'ROUTINE'
+    ELSE 'SEQUENCE'
+  END AS OBJECT_TYPE,
+  OBJECTS.OBJECT_ID || ':' ||
+    TO_CHAR(OBJECTS.LAST_DDL_TIME, 'YYYY-MM-DD HH24:MI:SS')
+    AS CHANGE_MARKER
+FROM
+  ${catalogscope}_OBJECTS OBJECTS
+WHERE
+  OBJECTS.OWNER NOT IN
+    ('ANONYMOUS', 'APEX_PUBLIC_USER', 'APPQOSSYS', 'BI', 'CTXSYS', 'DBSNMP', 'DIP',
+    'EXFSYS', 'FLOWS_30000', 'FLOWS_FILES', 'GSMADMIN_INTERNAL', 'IX', 'LBACSYS',
+    'MDDATA', 'MDSYS', 'MGMT_VIEW', 'OE', 'OLAPSYS', 'ORACLE_OCM',
+    'ORDPLUGINS', 'ORDSYS', 'OUTLN', 'OWBSYS', 'PM', 'SCOTT', 'SH',
+    'SI_INFORMTN_SCHEMA', 'SPATIAL_CSW_ADMIN_USR', 'SPATIAL_WFS_ADMIN_USR',
+    'SYS', 'SYSMAN', 'SYSTEM', 'TSMSYS', 'WKPROXY', 'WKSYS', 'WK_TEST',
+    'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')
+  AND NOT REGEXP_LIKE(OBJECTS.OWNER, '^APEX_[0-9]{6}$')
+  AND NOT REGEXP_LIKE(OBJECTS.OWNER, '^FLOWS_[0-9]{5,6}$')
+  AND REGEXP_LIKE(OBJECTS.OWNER, ?{schemas})
+  AND OBJECTS.OBJECT_NAME NOT LIKE 'BIN$%'
+  AND OBJECTS.OBJECT_TYPE IN
+    ('TABLE', 'VIEW', 'MATERIALIZED VIEW', 'FUNCTION', 'PROCEDURE', 'SEQUENCE')
+ORDER BY
+  OBJECT_SCHEMA,
+  OBJECT_NAME
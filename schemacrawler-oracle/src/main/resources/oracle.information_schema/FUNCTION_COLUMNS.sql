@@ -88,7 +88,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')
   AND NOT REGEXP_LIKE(COLUMNS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(COLUMNS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(COLUMNS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(COLUMNS.OWNER, ?{schemas})
   AND COLUMNS.OBJECT_NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(COLUMNS.OBJECT_NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
   AND FUNCTIONS.OBJECT_TYPE = 'FUNCTION'
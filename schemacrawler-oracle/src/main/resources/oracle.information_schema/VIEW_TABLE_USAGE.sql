@@ -19,6 +19,6 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')
   AND NOT REGEXP_LIKE(VIEWS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(VIEWS.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(VIEWS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(VIEWS.OWNER, ?{schemas})
   AND VIEWS.NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(VIEWS.NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
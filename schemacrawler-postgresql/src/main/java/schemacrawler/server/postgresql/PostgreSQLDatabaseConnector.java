@@ -31,6 +31,7 @@ package schemacrawler.server.postgresql;
 import java.io.IOException;
 import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnectionUrlBuilder;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
@@ -48,7 +49,8 @@ public final class PostgreSQLDatabaseConnector
                 .fromResourceFolder("/postgresql.information_schema"),
         (schemaRetrievalOptionsBuilder,
             connection) -> schemaRetrievalOptionsBuilder
-                .withEnumDataTypeHelper(new PostgreSQLEnumDataTypeHelper()),
+                .withEnumDataTypeHelper(new PostgreSQLEnumDataTypeHelper())
+                .withTableSampleSyntax(TableSampleSyntax.postgresql),
         (limitOptionsBuilder) -> limitOptionsBuilder
         .includeSchemas(new RegularExpressionExclusionRule("pg_catalog|information_schema")),
                 () -> DatabaseConnectionUrlBuilder.builder(
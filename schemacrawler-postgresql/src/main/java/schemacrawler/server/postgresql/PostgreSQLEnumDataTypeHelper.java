@@ -29,52 +29,89 @@ package schemacrawler.server.postgresql;
 
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.DatabaseUtility.checkConnection;
-import static us.fatehi.utility.DatabaseUtility.executeSql;
 import static us.fatehi.utility.DatabaseUtility.readResultsVector;
+import static us.fatehi.utility.Utility.isBlank;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
 import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.plugin.EnumDataTypeInfo;
 import schemacrawler.plugin.EnumDataTypeInfo.EnumDataTypeTypes;
+import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnDataType;
 import us.fatehi.utility.string.StringFormat;
 
+/**
+ * Obtains enumerated values for PostgreSQL enum data types. All enum labels are retrieved with a
+ * single query, and looked up in memory for each column. If the bulk query fails, enum labels are
+ * retrieved for each data type as it is encountered.
+ */
 public class PostgreSQLEnumDataTypeHelper implements EnumDataTypeHelper {
+
   private static final SchemaCrawlerLogger LOGGER =
       SchemaCrawlerLogger.getLogger(PostgreSQLEnumDataTypeHelper.class.getName());
 
-  private static List<String> getEnumValues(
-      final ColumnDataType columnDataType, final Connection connection) {
-    requireNonNull(columnDataType, "No column provided");
-    final String sql =
-        String.format(
-            "SELECT e.enumlabel FROM pg_enum e JOIN pg_type t ON e.enumtypid = t.oid WHERE t.typname = '%s'",
-            columnDataType.getName());
-    try (final Statement statement = connection.createStatement(); ) {
-      final ResultSet resultSet = executeSql(statement, sql);
-      final List<String> enumValues = readResultsVector(resultSet);
+  private static final String ENUM_VALUES_SQL =
+      "SELECT t.typname, e.enumlabel FROM pg_enum e JOIN pg_type t ON e.enumtypid = t.oid "
+          + "ORDER BY t.typname, e.enumsortorder";
+
+  private static final String DATA_TYPE_ENUM_VALUES_SQL =
+      "SELECT e.enumlabel FROM pg_enum e JOIN pg_type t ON e.enumtypid = t.oid "
+          + "WHERE t.typname = ? ORDER BY e.enumsortorder";
+
+  private static Map<String, List<String>> retrieveAllEnumValues(final Connection connection) {
+    try (final Statement statement = connection.createStatement();
+        final ResultSet resultSet = statement.executeQuery(ENUM_VALUES_SQL)) {
+      final Map<String, List<String>> enumValues = new HashMap<>();
+      while (resultSet.next()) {
+        final String typeName = resultSet.getString(1);
+        final String enumLabel = resultSet.getString(2);
+        if (!isBlank(enumLabel)) {
+          enumValues.computeIfAbsent(typeName, key -> new ArrayList<>()).add(enumLabel.trim());
+        }
+      }
+      LOGGER.log(
+          Level.FINE,
+          new StringFormat("Retrieved enumerated values for <%d> data types", enumValues.size()));
       return enumValues;
     } catch (final SQLException e) {
-      LOGGER.log(Level.WARNING, new StringFormat("Error executing SQL <%s>", sql), e);
+      LOGGER.log(Level.WARNING, new StringFormat("Error executing SQL <%s>", ENUM_VALUES_SQL), e);
+      return null;
+    }
+  }
+
+  private static List<String> retrieveEnumValues(
+      final ColumnDataType columnDataType, final Connection connection) {
+    try (final PreparedStatement statement =
+        connection.prepareStatement(DATA_TYPE_ENUM_VALUES_SQL)) {
+      statement.setString(1, columnDataType.getName());
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        return readResultsVector(resultSet);
+      }
+    } catch (final SQLException e) {
+      LOGGER.log(
+          Level.WARNING, new StringFormat("Error executing SQL <%s>", DATA_TYPE_ENUM_VALUES_SQL), e);
     }
     return new ArrayList<>();
   }
 
-  private final Set<ColumnDataType> visitedDataTypes;
+  private Map<String, List<String>> enumValuesByDataType;
+  private boolean isBulkRetrievalAttempted;
+  private final Map<ColumnDataType, List<String>> visitedDataTypes;
 
   public PostgreSQLEnumDataTypeHelper() {
-    this.visitedDataTypes = new HashSet<>();
+    visitedDataTypes = new HashMap<>();
   }
 
   @Override
@@ -83,23 +120,14 @@ public class PostgreSQLEnumDataTypeHelper implements EnumDataTypeHelper {
 
     requireNonNull(columnDataType, "No column data type provided");
 
-    if (visitedDataTypes.contains(columnDataType)) {
-      final EnumDataTypeTypes enumType;
-      if (columnDataType.isEnumerated()) {
-        enumType = EnumDataTypeTypes.enumerated_data_type;
-      } else {
-        enumType = EnumDataTypeTypes.not_enumerated;
-      }
-      return new EnumDataTypeInfo(enumType, columnDataType.getEnumValues());
-    }
-
-    try {
-      checkConnection(connection);
-    } catch (final SQLException e) {
-      LOGGER.log(Level.WARNING, "Could not obtain enumerated column values", e);
+    final List<String> enumValues;
+    if (loadEnumValues(connection)) {
+      enumValues = enumValuesByDataType.getOrDefault(columnDataType.getName(), new ArrayList<>());
+    } else {
+      enumValues =
+          visitedDataTypes.computeIfAbsent(
+              columnDataType, dataType -> retrieveEnumValues(dataType, connection));
     }
-    final List<String> enumValues = getEnumValues(columnDataType, connection);
-    visitedDataTypes.add(columnDataType);
 
     final EnumDataTypeTypes enumType;
     if (enumValues.isEmpty()) {
@@ -109,4 +137,27 @@ public class PostgreSQLEnumDataTypeHelper implements EnumDataTypeHelper {
     }
     return new EnumDataTypeInfo(enumType, enumValues);
   }
+
+  @Override
+  public void loadEnumDataTypes(final Catalog catalog, final Connection connection) {
+    loadEnumValues(connection);
+  }
+
+  /**
+   * Retrieves all enumerated values in one query, the first time this is called.
+   *
+   * @return Whether enumerated values are available in memory
+   */
+  private boolean loadEnumValues(final Connection connection) {
+    if (!isBulkRetrievalAttempted) {
+      isBulkRetrievalAttempted = true;
+      try {
+        checkConnection(connection);
+        enumValuesByDataType = retrieveAllEnumValues(connection);
+      } catch (final SQLException e) {
+        LOGGER.log(Level.WARNING, "Could not obtain enumerated column values", e);
+      }
+    }
+    return enumValuesByDataType != null;
+  }
 }
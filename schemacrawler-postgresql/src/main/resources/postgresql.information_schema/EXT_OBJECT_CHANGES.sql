@@ -0,0 +1,71 @@
+SELECT
+  NULL AS OBJECT_CATALOG,
+  NAMESPACES.NSPNAME AS OBJECT_SCHEMA,
+  CLASSES.RELNAME AS OBJECT_NAME,
+  CASE CLASSES.RELKIND
+    WHEN 'S' THEN 'SEQUENCE'
+    ELSE 'TABLE'
+  END AS OBJECT_TYPE,
+  CLASSES.OID::TEXT || ':' || CLASSES.XMIN::TEXT
+    || ':' || COALESCE(
+      (SELECT STRING_AGG(ATTRIBUTES.XMIN::TEXT, ',' ORDER BY ATTRIBUTES.ATTNUM)
+       FROM PG_CATALOG.PG_ATTRIBUTE ATTRIBUTES
+       WHERE ATTRIBUTES.ATTRELID = CLASSES.OID), '')
+    || ':' || COALESCE(
+      (SELECT STRING_AGG(INDEXES.INDEXRELID::TEXT || '/' || INDEXES.XMIN::TEXT, ','
+         ORDER BY INDEXES.INDEXRELID)
+       FROM PG_CATALOG.PG_INDEX INDEXES
+       WHERE INDEXES.INDRELID = CLASSES.OID), '')
+    || ':' || COALESCE(
+      (SELECT STRING_AGG(CONSTRAINTS.OID::TEXT || '/' || CONSTRAINTS.XMIN::TEXT, ','
+         ORDER BY CONSTRAINTS.OID)
+       FROM PG_CATALOG.PG_CONSTRAINT CONSTRAINTS
+       WHERE CONSTRAINTS.CONRELID = CLASSES.OID
+         OR CONSTRAINTS.CONFRELID = CLASSES.OID), '')
+    || ':' || COALESCE(
+      (SELECT STRING_AGG(TRIGGERS.OID::TEXT || '/' || TRIGGERS.XMIN::TEXT, ','
+         ORDER BY TRIGGERS.OID)
+       FROM PG_CATALOG.PG_TRIGGER TRIGGERS
+       WHERE TRIGGERS.TGRELID = CLASSES.OID), '')
+    || ':' || COALESCE(
+      (SELECT STRING_AGG(DESCRIPTIONS.OBJSUBID::TEXT || '/' || DESCRIPTIONS.XMIN::TEXT, ','
+         ORDER BY DESCRIPTIONS.OBJSUBID)
+       FROM PG_CATALOG.PG_DESCRIPTION DESCRIPTIONS
+       WHERE DESCRIPTIONS.OBJOID = CLASSES.OID
+         AND DESCRIPTIONS.CLASSOID = 'pg_catalog.pg_class'::REGCLASS), '')
+    AS CHANGE_MARKER
+FROM
+  PG_CATALOG.PG_CLASS CLASSES
+  INNER JOIN PG_CATALOG.PG_NAMESPACE NAMESPACES
+    ON CLASSES.RELNAMESPACE = NAMESPACES.OID
+WHERE
+  CLASSES.RELKIND IN ('r', 'v', 'm', 'f', 'p', 'S')
+  AND NAMESPACES.NSPNAME NOT IN ('pg_catalog', 'information_schema')
+  AND NAMESPACES.NSPNAME NOT LIKE 'pg_toast%'
+UNION ALL
+SELECT
+  NULL AS OBJECT_CATALOG,
+  NAMESPACES.NSPNAME AS OBJECT_SCHEMA,
+  PROCEDURES.PRONAME AS OBJECT_NAME,
+  'ROUTINE' AS OBJECT_TYPE,
+  STRING_AGG(PROCEDURES.OID::TEXT || '/' || PROCEDURES.XMIN::TEXT
+    || '/' || COALESCE(
+      (SELECT DESCRIPTIONS.XMIN::TEXT
+       FROM PG_CATALOG.PG_DESCRIPTION DESCRIPTIONS
+       WHERE DESCRIPTIONS.OBJOID = PROCEDURES.OID
+         AND DESCRIPTIONS.CLASSOID = 'pg_catalog.pg_proc'::REGCLASS
+         AND DESCRIPTIONS.OBJSUBID = 0), ''), ','
+    ORDER BY PROCEDURES.OID)
+    AS CHANGE_MARKER
+FROM
+  PG_CATALOG.PG_PROC PROCEDURES
+  INNER JOIN PG_CATALOG.PG_NAMESPACE NAMESPACES
+    ON PROCEDURES.PRONAMESPACE = NAMESPACES.OID
+WHERE
+  NAMESPACES.NSPNAME NOT IN ('pg_catalog', 'information_schema')
+GROUP BY
+  NAMESPACES.NSPNAME,
+  PROCEDURES.PRONAME
+ORDER BY
+  OBJECT_SCHEMA,
+  OBJECT_NAME
@@ -0,0 +1,16 @@
+SELECT
+  NULL AS TABLE_CATALOG,
+  NAMESPACES.NSPNAME AS TABLE_SCHEMA,
+  CLASSES.RELNAME AS TABLE_NAME,
+  CASE
+    WHEN CLASSES.RELTUPLES < 0 THEN NULL
+    ELSE CAST(CLASSES.RELTUPLES AS BIGINT)
+  END AS ROW_COUNT
+FROM
+  PG_CATALOG.PG_CLASS CLASSES
+  INNER JOIN PG_CATALOG.PG_NAMESPACE NAMESPACES
+    ON CLASSES.RELNAMESPACE = NAMESPACES.OID
+WHERE
+  CLASSES.RELKIND IN ('r', 'm', 'f', 'p')
+  AND NAMESPACES.NSPNAME NOT IN ('pg_catalog', 'information_schema')
+  AND NAMESPACES.NSPNAME NOT LIKE 'pg_toast%'
@@ -35,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.sql.Connection;
 
 import org.junit.jupiter.api.Test;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.databaseconnector.DatabaseConnectorRegistry;
 
@@ -55,7 +56,7 @@ public class BundledDistributionTest
                  .getSchemaRetrievalOptionsBuilder(connection)
                  .toOptions()
                  .getInformationSchemaViews()
-                 .size(), is(11));
+                 .size(), is(13));
   }
 
   @Test
@@ -67,4 +68,20 @@ public class BundledDistributionTest
     assertTrue(registry.hasDatabaseSystemIdentifier("postgresql"));
   }
 
+  @Test
+  public void testTableSampleSyntax_postgresql()
+    throws Exception
+  {
+
+    final Connection connection = null;
+    final DatabaseConnectorRegistry registry =
+      DatabaseConnectorRegistry.getDatabaseConnectorRegistry();
+    final DatabaseConnector databaseSystemIdentifier =
+      registry.lookupDatabaseConnector("postgresql");
+    assertThat(databaseSystemIdentifier
+                 .getSchemaRetrievalOptionsBuilder(connection)
+                 .toOptions()
+                 .getTableSampleSyntax(), is(TableSampleSyntax.postgresql));
+  }
+
 }
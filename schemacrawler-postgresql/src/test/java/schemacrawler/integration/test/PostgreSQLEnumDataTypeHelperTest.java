@@ -0,0 +1,123 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.integration.test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.plugin.EnumDataTypeInfo;
+import schemacrawler.plugin.EnumDataTypeInfo.EnumDataTypeTypes;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.server.postgresql.PostgreSQLEnumDataTypeHelper;
+
+public class PostgreSQLEnumDataTypeHelperTest {
+
+  private static ColumnDataType columnDataType(final String name) {
+    final ColumnDataType columnDataType = mock(ColumnDataType.class);
+    when(columnDataType.getName()).thenReturn(name);
+    return columnDataType;
+  }
+
+  @Test
+  public void bulkEnumValues() throws SQLException {
+    final ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenReturn(true, true, true, false);
+    when(resultSet.getString(1)).thenReturn("mood", "mood", "mood");
+    when(resultSet.getString(2)).thenReturn("sad", "ok", "happy");
+    final Statement statement = mock(Statement.class);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+
+    final PostgreSQLEnumDataTypeHelper enumDataTypeHelper = new PostgreSQLEnumDataTypeHelper();
+    enumDataTypeHelper.loadEnumDataTypes(mock(Catalog.class), connection);
+
+    final ColumnDataType moodDataType = columnDataType("mood");
+    for (int i = 0; i < 3; i++) {
+      final EnumDataTypeInfo enumDataTypeInfo =
+          enumDataTypeHelper.getEnumDataTypeInfo(null, moodDataType, connection);
+      assertThat(enumDataTypeInfo.getType(), is(EnumDataTypeTypes.enumerated_data_type));
+      assertThat(enumDataTypeInfo.getEnumValues(), is(asList("sad", "ok", "happy")));
+    }
+
+    final EnumDataTypeInfo textDataTypeInfo =
+        enumDataTypeHelper.getEnumDataTypeInfo(null, columnDataType("text"), connection);
+    assertThat(textDataTypeInfo.getType(), is(EnumDataTypeTypes.not_enumerated));
+    assertThat(textDataTypeInfo.getEnumValues(), is(empty()));
+
+    // All enum values are retrieved with a single query
+    verify(connection, times(1)).createStatement();
+    verify(connection, never()).prepareStatement(anyString());
+  }
+
+  @Test
+  public void enumValuesForEachDataTypeWhenBulkRetrievalFails() throws SQLException {
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenThrow(new SQLException("No bulk retrieval"));
+    final ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getString(1)).thenReturn("yes", "no");
+    final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+    final PostgreSQLEnumDataTypeHelper enumDataTypeHelper = new PostgreSQLEnumDataTypeHelper();
+    enumDataTypeHelper.loadEnumDataTypes(mock(Catalog.class), connection);
+
+    final ColumnDataType yesOrNoDataType = columnDataType("yes_or_no");
+    for (int i = 0; i < 2; i++) {
+      final EnumDataTypeInfo enumDataTypeInfo =
+          enumDataTypeHelper.getEnumDataTypeInfo(null, yesOrNoDataType, connection);
+      assertThat(enumDataTypeInfo.getType(), is(EnumDataTypeTypes.enumerated_data_type));
+      assertThat(enumDataTypeInfo.getEnumValues(), is(asList("yes", "no")));
+    }
+
+    // Bulk retrieval is attempted only once, and each data type is queried only once
+    verify(connection, times(1)).createStatement();
+    verify(connection, times(1)).prepareStatement(anyString());
+    verify(preparedStatement, times(1)).setString(1, "yes_or_no");
+  }
+}
@@ -27,99 +27,40 @@ http://www.gnu.org/licenses/
 */
 package schemacrawler.tools.integration.serialize;
 
-import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
-import static com.fasterxml.jackson.databind.SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS;
-import static com.fasterxml.jackson.databind.SerializationFeature.USE_EQUALITY_FOR_OBJECT_ID;
-import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_ENUMS_USING_TO_STRING;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.TreeSet;
 
-import com.fasterxml.jackson.annotation.JsonFilter;
-import com.fasterxml.jackson.annotation.JsonIdentityInfo;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategy;
-import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
-import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.PropertyFilter;
-import com.fasterxml.jackson.databind.ser.PropertyWriter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
-import schemacrawler.schema.PartialDatabaseObject;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 
-/** Decorates a database to allow for serialization to and from plain Java serialization. */
+/**
+ * Decorates a database to allow for serialization with Jackson. The catalog is written directly
+ * with a Jackson generator, without data-binding, so that the output can be streamed.
+ */
 public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer {
 
-  private static class IgnoreExceptionBeanPropertyFilter extends SimpleBeanPropertyFilter {
-
-    private static final List<String> PARTIAL_PROPERTIES =
-        Arrays.asList(
-            "name", "short-name", "full-name", "attributes", "parent-partial", "remarks", "schema");
-
-    @Override
-    public void serializeAsField(
-        final Object pojo,
-        final JsonGenerator jgen,
-        final SerializerProvider provider,
-        final PropertyWriter writer)
-        throws Exception {
-      if (include(writer)) {
-        try {
-          if (pojo instanceof PartialDatabaseObject
-              && !PARTIAL_PROPERTIES.contains(writer.getName())) {
-            return;
-          }
-          if (writer instanceof BeanPropertyWriter) {
-            final Object value = ((BeanPropertyWriter) writer).get(pojo);
-          }
-          writer.serializeAsField(pojo, jgen, provider);
-        } catch (final Exception e) {
-          return;
-        }
-      } else if (!jgen.canOmitFields()) {
-        writer.serializeAsOmittedField(pojo, jgen, provider);
-      }
-    }
-
-    @Override
-    protected boolean include(BeanPropertyWriter writer) {
-      return true;
-    }
-
-    @Override
-    protected boolean include(PropertyWriter writer) {
-      return true;
-    }
-  }
-
   private final Catalog catalog;
-  private final SortedSet<Column> allTableColumns;
 
   public BaseJacksonSerializedCatalog(final Catalog catalog) {
     this.catalog = requireNonNull(catalog, "No catalog provided");
-    allTableColumns = new TreeSet<>();
-    loadAllTableColumns();
   }
 
   public Set<Column> getAllTableColumns() {
-    return new TreeSet<>(allTableColumns);
+    final Set<Column> allTableColumns = new TreeSet<>();
+    for (final Table table : catalog.getTables()) {
+      allTableColumns.addAll(table.getColumns());
+    }
+    return allTableColumns;
   }
 
   @Override
@@ -132,9 +73,8 @@ public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer
   public void save(final OutputStream out) throws SchemaCrawlerException {
     requireNonNull(out, "No output stream provided");
     try {
-      final ObjectMapper mapper = newConfiguredObjectMapper();
-      mapper.writeValue(out, this);
-    } catch (final Exception e) {
+      save(newJsonFactory().createGenerator(out));
+    } catch (final IOException e) {
       throw new SchemaCrawlerException("Could not serialize catalog", e);
     }
   }
@@ -144,67 +84,18 @@ public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer
   public void save(final Writer out) throws SchemaCrawlerException {
     requireNonNull(out, "No writer provided");
     try {
-      final ObjectMapper mapper = newConfiguredObjectMapper();
-      mapper.writeValue(out, this);
-    } catch (final Exception e) {
+      save(newJsonFactory().createGenerator(out));
+    } catch (final IOException e) {
       throw new SchemaCrawlerException("Could not serialize catalog", e);
     }
   }
 
-  protected abstract ObjectMapper newObjectMapper();
+  protected abstract JsonFactory newJsonFactory();
 
-  private void loadAllTableColumns() {
-    for (final Table table : catalog.getTables()) {
-      for (final Column column : table.getColumns()) {
-        allTableColumns.add(column);
-      }
+  private void save(final JsonGenerator generator) throws SchemaCrawlerException, IOException {
+    try (final JsonGenerator out = generator) {
+      out.useDefaultPrettyPrinter();
+      new JacksonCatalogWriter(out).write(catalog);
     }
   }
-
-  private ObjectMapper newConfiguredObjectMapper() {
-    @JsonIgnoreProperties({
-      "parent",
-      "referenced-column",
-      "exported-foreign-keys",
-      "imported-foreign-keys"
-    })
-    @JsonPropertyOrder(
-        value = {
-          "@uuid",
-          "name",
-          "short-name",
-          "full-name",
-          "crawl-info",
-          "schema-crawler-info",
-          "jvm-system-info",
-          "operating-system-info",
-          "database-info",
-          "jdbc-driver-info",
-          "schemas",
-          "system-column-data-types",
-          "column-data-types",
-          "all-table-columns"
-        },
-        alphabetic = true)
-    @JsonIdentityInfo(generator = ObjectIdGenerators.UUIDGenerator.class, property = "@uuid")
-    @JsonNaming(PropertyNamingStrategy.KebabCaseStrategy.class)
-    @JsonFilter("ignore-getter-errors-filter")
-    class JacksonAnnotationMixIn {}
-
-    final FilterProvider filters =
-        new SimpleFilterProvider()
-            .addFilter(
-                "ignore-getter-errors-filter",
-                (PropertyFilter) new IgnoreExceptionBeanPropertyFilter());
-
-    final ObjectMapper mapper = newObjectMapper();
-    mapper.enable(
-        ORDER_MAP_ENTRIES_BY_KEYS,
-        INDENT_OUTPUT,
-        USE_EQUALITY_FOR_OBJECT_ID,
-        WRITE_ENUMS_USING_TO_STRING);
-    mapper.addMixIn(Object.class, JacksonAnnotationMixIn.class);
-    mapper.setFilterProvider(filters);
-    return mapper;
-  }
 }
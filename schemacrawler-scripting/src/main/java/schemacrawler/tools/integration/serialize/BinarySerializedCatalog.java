@@ -0,0 +1,78 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialize;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+
+import schemacrawler.crawl.CatalogSnapshotReader;
+import schemacrawler.crawl.CatalogSnapshotWriter;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+
+/**
+ * Decorates a database to allow for serialization to and from a binary catalog snapshot. Unlike
+ * Java serialization, a snapshot can be loaded in part, since only the tables and routines that
+ * are included by the limit options are read from the file.
+ */
+public final class BinarySerializedCatalog implements CatalogSerializer {
+
+  private final Catalog catalog;
+
+  public BinarySerializedCatalog(final Catalog catalog) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  public BinarySerializedCatalog(
+      final Path snapshotFile, final SchemaCrawlerOptions schemaCrawlerOptions)
+      throws SchemaCrawlerException {
+    this(new CatalogSnapshotReader(snapshotFile).read(schemaCrawlerOptions));
+  }
+
+  @Override
+  public Catalog getCatalog() {
+    return catalog;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final OutputStream out) throws SchemaCrawlerException {
+    requireNonNull(out, "No output stream provided");
+    new CatalogSnapshotWriter(catalog).write(out);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final Writer out) {
+    throw new UnsupportedOperationException("Cannot serialize binary format using character data");
+  }
+}
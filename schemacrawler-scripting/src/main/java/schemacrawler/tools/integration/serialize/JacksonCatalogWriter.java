@@ -0,0 +1,1006 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialize;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.IOUtility.createTempFilePath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.crawl.CatalogBatchHandler;
+import schemacrawler.crawl.WeakAssociation;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DatabaseUser;
+import schemacrawler.schema.DependantObject;
+import schemacrawler.schema.DescribedObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.JavaSqlType;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableType;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Writes a catalog with a Jackson generator, walking the catalog model directly. The output has the
+ * same shape as Jackson data-binding with object identities: an object is written in full, with an
+ * "@uuid" property, the first time that it is found, and as the value of its "@uuid" after that.
+ *
+ * <p>The writer can also handle a streaming crawl, one schema at a time. Tables are written as each
+ * schema is handled. Routines, sequences and synonyms are also written as each schema is handled,
+ * to temporary files, since they come after all the tables in the output, and are copied to the
+ * output at the end. There is no list of all table columns in the output of a streaming crawl,
+ * since columns are written with their tables.
+ */
+final class JacksonCatalogWriter implements CatalogBatchHandler, Closeable {
+
+  /**
+   * An array that is written to a temporary file, one batch at a time, so that it is not held in
+   * memory until it can be copied to the output.
+   */
+  private static final class SpooledArray implements Closeable {
+
+    private static final JsonFactory SPOOL_FACTORY = new JsonFactory();
+
+    private final Path spoolFile;
+    private final JsonGenerator out;
+
+    SpooledArray() throws IOException {
+      spoolFile = createTempFilePath("sc_catalog_spool", "json");
+      out = SPOOL_FACTORY.createGenerator(spoolFile.toFile(), JsonEncoding.UTF8);
+      out.writeStartArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+      Files.deleteIfExists(spoolFile);
+    }
+
+    /**
+     * Copies the array to the output, token by token. Numbers are copied as they were written, so
+     * that they do not lose precision.
+     */
+    void copyTo(final JsonGenerator generator, final String fieldName) throws IOException {
+      out.writeEndArray();
+      out.close();
+
+      generator.writeFieldName(fieldName);
+      try (final JsonParser parser = SPOOL_FACTORY.createParser(spoolFile.toFile())) {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+          if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            generator.writeNumber(parser.getText());
+          } else {
+            generator.copyCurrentEvent(parser);
+          }
+        }
+      }
+    }
+  }
+
+  private static String enumString(final Object enumValue) {
+    if (enumValue == null) {
+      return null;
+    } else {
+      return enumValue.toString();
+    }
+  }
+
+  /**
+   * Objects that are shared across a catalog are identified by equality, so that they are written
+   * only once even if they come from different catalogs in a streaming crawl.
+   */
+  private static boolean isCatalogObject(final Object object) {
+    return object instanceof Schema
+        || object instanceof ColumnDataType
+        || object instanceof JavaSqlType
+        || object instanceof TableType;
+  }
+
+  private final JsonGenerator generator;
+  private final Map<Object, String> catalogIds;
+  private final Map<Object, String> objectIds;
+  private final long idPrefix;
+  private long idCount;
+  private SpooledArray routines;
+  private SpooledArray sequences;
+  private SpooledArray synonyms;
+
+  JacksonCatalogWriter(final JsonGenerator generator) {
+    this.generator = requireNonNull(generator, "No generator provided");
+    catalogIds = new HashMap<>();
+    objectIds = new IdentityHashMap<>();
+    // Identifiers only need to be unique within a document, so they are
+    // numbered, instead of being randomly generated for every object
+    idPrefix = UUID.randomUUID().getMostSignificantBits();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void begin(final Catalog catalog) throws SchemaCrawlerException {
+    try {
+      generator.writeStartObject();
+      generator.writeStringField("@uuid", newId());
+      generator.writeFieldName("catalog");
+      writeCatalogHeader(generator, catalog);
+      generator.writeFieldName("tables");
+      generator.writeStartArray();
+
+      routines = new SpooledArray();
+      sequences = new SpooledArray();
+      synonyms = new SpooledArray();
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+  }
+
+  /** Deletes any temporary files from a streaming crawl. */
+  @Override
+  public void close() throws IOException {
+    for (final SpooledArray spooledArray : new SpooledArray[] {routines, sequences, synonyms}) {
+      if (spooledArray != null) {
+        spooledArray.close();
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void end() throws SchemaCrawlerException {
+    try {
+      generator.writeEndArray();
+      routines.copyTo(generator, "routines");
+      sequences.copyTo(generator, "sequences");
+      synonyms.copyTo(generator, "synonyms");
+      generator.writeEndObject();
+      generator.writeEndObject();
+      generator.flush();
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void handle(final Catalog batch) throws SchemaCrawlerException {
+    try {
+      for (final Table table : batch.getTables()) {
+        writeTable(generator, table);
+      }
+      for (final Routine routine : batch.getRoutines()) {
+        writeRoutine(routines.out, routine);
+      }
+      for (final Sequence sequence : batch.getSequences()) {
+        writeSequence(sequences.out, sequence);
+      }
+      for (final Synonym synonym : batch.getSynonyms()) {
+        writeSynonym(synonyms.out, synonym);
+      }
+      generator.flush();
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+    // Objects in a batch are not referenced from later batches
+    objectIds.clear();
+  }
+
+  /**
+   * Writes a catalog that has been fully loaded. Table columns are written first, in a list of all
+   * table columns, and tables refer to them.
+   *
+   * @param catalog Catalog to write
+   * @throws SchemaCrawlerException On an exception
+   */
+  void write(final Catalog catalog) throws SchemaCrawlerException {
+    requireNonNull(catalog, "No catalog provided");
+    try {
+      generator.writeStartObject();
+      generator.writeStringField("@uuid", newId());
+
+      final List<Column> allTableColumns = new ArrayList<>();
+      for (final Table table : catalog.getTables()) {
+        allTableColumns.addAll(table.getColumns());
+      }
+      Collections.sort(allTableColumns);
+      generator.writeFieldName("all-table-columns");
+      generator.writeStartArray();
+      for (final Column column : allTableColumns) {
+        writeColumn(generator, column);
+      }
+      generator.writeEndArray();
+
+      generator.writeFieldName("catalog");
+      writeCatalogHeader(generator, catalog);
+      generator.writeFieldName("routines");
+      generator.writeStartArray();
+      for (final Routine routine : catalog.getRoutines()) {
+        writeRoutine(generator, routine);
+      }
+      generator.writeEndArray();
+      generator.writeFieldName("sequences");
+      generator.writeStartArray();
+      for (final Sequence sequence : catalog.getSequences()) {
+        writeSequence(generator, sequence);
+      }
+      generator.writeEndArray();
+      generator.writeFieldName("synonyms");
+      generator.writeStartArray();
+      for (final Synonym synonym : catalog.getSynonyms()) {
+        writeSynonym(generator, synonym);
+      }
+      generator.writeEndArray();
+      generator.writeFieldName("tables");
+      generator.writeStartArray();
+      for (final Table table : catalog.getTables()) {
+        writeTable(generator, table);
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+
+      generator.writeEndObject();
+      generator.flush();
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+  }
+
+  private String newId() {
+    idCount++;
+    return new UUID(idPrefix, idCount).toString();
+  }
+
+  /**
+   * Starts writing an object, or writes a reference to it if it has already been written.
+   *
+   * @return True if the object needs to be written in full
+   */
+  private boolean startObject(final JsonGenerator out, final Object object) throws IOException {
+    if (object == null) {
+      out.writeNull();
+      return false;
+    }
+
+    // Catalog objects that are first found in a temporary file are only identified within the
+    // batch, since the temporary file is copied to the output after the tables of later batches
+    final Map<Object, String> ids;
+    if (isCatalogObject(object) && (out == generator || catalogIds.containsKey(object))) {
+      ids = catalogIds;
+    } else {
+      ids = objectIds;
+    }
+    final String id = ids.get(object);
+    if (id != null) {
+      out.writeString(id);
+      return false;
+    }
+
+    final String newId = newId();
+    ids.put(object, newId);
+    out.writeStartObject();
+    out.writeStringField("@uuid", newId);
+    return true;
+  }
+
+  private void startValueObject(final JsonGenerator out) throws IOException {
+    out.writeStartObject();
+    out.writeStringField("@uuid", newId());
+  }
+
+  private void writeAttributes(final JsonGenerator out, final AttributedObject attributedObject)
+      throws IOException {
+    out.writeFieldName("attributes");
+    writeValue(out, new TreeMap<>(attributedObject.getAttributes()));
+  }
+
+  private void writeCatalogHeader(final JsonGenerator out, final Catalog catalog)
+      throws IOException {
+    out.writeStartObject();
+    out.writeStringField("@uuid", newId());
+    writeNames(out, catalog);
+
+    writeCrawlInfo(out, catalog.getCrawlInfo());
+
+    final DatabaseInfo databaseInfo = catalog.getDatabaseInfo();
+    out.writeFieldName("database-info");
+    startValueObject(out);
+    writeProductVersionFields(out, databaseInfo);
+    out.writeFieldName("properties");
+    out.writeStartArray();
+    for (final DatabaseProperty property : databaseInfo.getProperties()) {
+      writeProperty(out, property);
+    }
+    out.writeEndArray();
+    out.writeFieldName("server-info");
+    out.writeStartArray();
+    for (final Property property : databaseInfo.getServerInfo()) {
+      writeProperty(out, property);
+    }
+    out.writeEndArray();
+    out.writeStringField("user-name", databaseInfo.getUserName());
+    out.writeEndObject();
+
+    final JdbcDriverInfo jdbcDriverInfo = catalog.getJdbcDriverInfo();
+    out.writeFieldName("jdbc-driver-info");
+    startValueObject(out);
+    out.writeStringField("connection-url", jdbcDriverInfo.getConnectionUrl());
+    out.writeStringField("driver-class-name", jdbcDriverInfo.getDriverClassName());
+    out.writeFieldName("driver-properties");
+    out.writeStartArray();
+    for (final JdbcDriverProperty property : jdbcDriverInfo.getDriverProperties()) {
+      startValueObject(out);
+      out.writeStringField("name", property.getName());
+      out.writeFieldName("choices");
+      writeValue(out, property.getChoices());
+      out.writeStringField("description", property.getDescription());
+      out.writeBooleanField("required", property.isRequired());
+      out.writeStringField("value", property.getValue());
+      out.writeEndObject();
+    }
+    out.writeEndArray();
+    out.writeBooleanField("jdbc-compliant", jdbcDriverInfo.isJdbcCompliant());
+    writeProductVersionFields(out, jdbcDriverInfo);
+    out.writeEndObject();
+
+    out.writeFieldName("schemas");
+    out.writeStartArray();
+    for (final Schema schema : catalog.getSchemas()) {
+      writeSchema(out, schema);
+    }
+    out.writeEndArray();
+    out.writeFieldName("system-column-data-types");
+    writeColumnDataTypes(out, catalog.getSystemColumnDataTypes());
+    out.writeFieldName("column-data-types");
+    writeColumnDataTypes(out, catalog.getColumnDataTypes());
+
+    writeAttributes(out, catalog);
+    out.writeFieldName("database-users");
+    out.writeStartArray();
+    for (final DatabaseUser databaseUser : catalog.getDatabaseUsers()) {
+      startValueObject(out);
+      writeNames(out, databaseUser);
+      writeAttributes(out, databaseUser);
+      out.writeEndObject();
+    }
+    out.writeEndArray();
+    out.writeStringField("remarks", catalog.getRemarks());
+  }
+
+  private void writeColumn(final JsonGenerator out, final Column column) throws IOException {
+    if (!startObject(out, column)) {
+      return;
+    }
+
+    writeDependantObjectNames(out, column);
+    writeAttributes(out, column);
+    if (column instanceof PartialDatabaseObject) {
+      writePartialObjectFields(out, column);
+      return;
+    }
+
+    out.writeBooleanField("auto-incremented", column.isAutoIncremented());
+    out.writeFieldName("column-data-type");
+    writeColumnDataType(out, column.getColumnDataType());
+    out.writeNumberField("decimal-digits", column.getDecimalDigits());
+    out.writeStringField("default-value", column.getDefaultValue());
+    out.writeBooleanField("generated", column.isGenerated());
+    out.writeBooleanField("hidden", column.isHidden());
+    out.writeBooleanField("nullable", column.isNullable());
+    out.writeNumberField("ordinal-position", column.getOrdinalPosition());
+    out.writeBooleanField("parent-partial", column.isParentPartial());
+    out.writeBooleanField("part-of-foreign-key", column.isPartOfForeignKey());
+    out.writeBooleanField("part-of-index", column.isPartOfIndex());
+    out.writeBooleanField("part-of-primary-key", column.isPartOfPrimaryKey());
+    out.writeBooleanField("part-of-unique-index", column.isPartOfUniqueIndex());
+    out.writeFieldName("privileges");
+    writePrivileges(out, column.getPrivileges());
+    out.writeStringField("remarks", column.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, column.getSchema());
+    out.writeNumberField("size", column.getSize());
+    out.writeFieldName("type");
+    writeColumnDataType(out, column.getType());
+    out.writeStringField("width", column.getWidth());
+    out.writeEndObject();
+  }
+
+  private void writeColumnDataType(final JsonGenerator out, final ColumnDataType columnDataType)
+      throws IOException {
+    if (!startObject(out, columnDataType)) {
+      return;
+    }
+
+    writeNames(out, columnDataType);
+    writeAttributes(out, columnDataType);
+    out.writeBooleanField("auto-incrementable", columnDataType.isAutoIncrementable());
+    out.writeFieldName("base-type");
+    writeColumnDataType(out, columnDataType.getBaseType());
+    out.writeBooleanField("case-sensitive", columnDataType.isCaseSensitive());
+    out.writeStringField("create-parameters", columnDataType.getCreateParameters());
+    out.writeStringField(
+        "database-specific-type-name", columnDataType.getDatabaseSpecificTypeName());
+    out.writeFieldName("enum-values");
+    writeValue(out, columnDataType.getEnumValues());
+    out.writeBooleanField("enumerated", columnDataType.isEnumerated());
+    out.writeBooleanField("fixed-precision-scale", columnDataType.isFixedPrecisionScale());
+
+    final JavaSqlType javaSqlType = columnDataType.getJavaSqlType();
+    out.writeFieldName("java-sql-type");
+    if (startObject(out, javaSqlType)) {
+      out.writeStringField("name", javaSqlType.getName());
+      out.writeStringField("default-mapped-class", javaSqlType.getDefaultMappedClass().getName());
+      out.writeStringField("java-sql-type-group", enumString(javaSqlType.getJavaSqlTypeGroup()));
+      out.writeStringField("vendor", javaSqlType.getVendor());
+      out.writeFieldName("vendor-type-number");
+      writeValue(out, javaSqlType.getVendorTypeNumber());
+      out.writeEndObject();
+    }
+
+    out.writeStringField("literal-prefix", columnDataType.getLiteralPrefix());
+    out.writeStringField("literal-suffix", columnDataType.getLiteralSuffix());
+    out.writeStringField("local-type-name", columnDataType.getLocalTypeName());
+    out.writeNumberField("maximum-scale", columnDataType.getMaximumScale());
+    out.writeNumberField("minimum-scale", columnDataType.getMinimumScale());
+    out.writeBooleanField("nullable", columnDataType.isNullable());
+    out.writeNumberField("num-precision-radix", columnDataType.getNumPrecisionRadix());
+    out.writeNumberField("precision", columnDataType.getPrecision());
+    out.writeStringField("remarks", columnDataType.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, columnDataType.getSchema());
+    out.writeStringField("searchable", enumString(columnDataType.getSearchable()));
+    out.writeStringField("type-mapped-class", columnDataType.getTypeMappedClass().getName());
+    out.writeBooleanField("unsigned", columnDataType.isUnsigned());
+    out.writeBooleanField("user-defined", columnDataType.isUserDefined());
+    out.writeEndObject();
+  }
+
+  private void writeColumnDataTypes(
+      final JsonGenerator out, final Collection<ColumnDataType> columnDataTypes)
+      throws IOException {
+    out.writeStartArray();
+    for (final ColumnDataType columnDataType : columnDataTypes) {
+      writeColumnDataType(out, columnDataType);
+    }
+    out.writeEndArray();
+  }
+
+  private void writeColumnReferences(
+      final JsonGenerator out, final List<? extends ColumnReference> columnReferences)
+      throws IOException {
+    out.writeFieldName("column-references");
+    out.writeStartArray();
+    for (final ColumnReference columnReference : columnReferences) {
+      startValueObject(out);
+      out.writeFieldName("foreign-key-column");
+      writeColumn(out, columnReference.getForeignKeyColumn());
+      if (columnReference instanceof ForeignKeyColumnReference) {
+        out.writeNumberField(
+            "key-sequence", ((ForeignKeyColumnReference) columnReference).getKeySequence());
+      }
+      out.writeFieldName("primary-key-column");
+      writeColumn(out, columnReference.getPrimaryKeyColumn());
+      out.writeEndObject();
+    }
+    out.writeEndArray();
+  }
+
+  /**
+   * Index and constraint columns are written as references to the table columns, since they are
+   * equal to them.
+   */
+  private void writeConstraintColumns(
+      final JsonGenerator out, final Table table, final List<? extends Column> columns)
+      throws IOException {
+    out.writeFieldName("columns");
+    out.writeStartArray();
+    for (final Column column : columns) {
+      final Optional<Column> tableColumn = table.lookupColumn(column.getName());
+      writeColumn(out, tableColumn.isPresent() ? tableColumn.get() : column);
+    }
+    out.writeEndArray();
+  }
+
+  private void writeCrawlInfo(final JsonGenerator out, final CrawlInfo crawlInfo)
+      throws IOException {
+    out.writeFieldName("crawl-info");
+    startValueObject(out);
+    out.writeStringField("crawl-timestamp", crawlInfo.getCrawlTimestamp());
+    out.writeFieldName("crawl-timestamp-instant");
+    startValueObject(out);
+    out.writeNumberField("epoch-second", crawlInfo.getCrawlTimestampInstant().getEpochSecond());
+    out.writeNumberField("nano", crawlInfo.getCrawlTimestampInstant().getNano());
+    out.writeEndObject();
+    writeProductVersion(out, "database-version", crawlInfo.getDatabaseVersion());
+    writeProductVersion(out, "jdbc-driver-version", crawlInfo.getJdbcDriverVersion());
+    writeProductVersion(out, "jvm-version", crawlInfo.getJvmVersion());
+    writeProductVersion(out, "operating-system-version", crawlInfo.getOperatingSystemVersion());
+    out.writeStringField("run-id", crawlInfo.getRunId());
+    writeProductVersion(out, "schema-crawler-version", crawlInfo.getSchemaCrawlerVersion());
+    out.writeEndObject();
+  }
+
+  private void writeDependantObjectNames(
+      final JsonGenerator out, final DependantObject<?> dependantObject) throws IOException {
+    out.writeStringField("name", dependantObject.getName());
+    out.writeStringField("short-name", dependantObject.getShortName());
+    out.writeStringField("full-name", dependantObject.getFullName());
+  }
+
+  private void writeForeignKey(final JsonGenerator out, final ForeignKey foreignKey)
+      throws IOException {
+    if (!startObject(out, foreignKey)) {
+      return;
+    }
+
+    writeNames(out, foreignKey);
+    writeAttributes(out, foreignKey);
+    writeColumnReferences(out, foreignKey.getColumnReferences());
+    out.writeStringField("constraint-type", enumString(foreignKey.getConstraintType()));
+    out.writeStringField("deferrability", enumString(foreignKey.getDeferrability()));
+    out.writeBooleanField("deferrable", foreignKey.isDeferrable());
+    out.writeStringField("definition", foreignKey.getDefinition());
+    out.writeStringField("delete-rule", enumString(foreignKey.getDeleteRule()));
+    out.writeBooleanField("initially-deferred", foreignKey.isInitiallyDeferred());
+    out.writeStringField("remarks", foreignKey.getRemarks());
+    out.writeStringField("specific-name", foreignKey.getSpecificName());
+    out.writeStringField("update-rule", enumString(foreignKey.getUpdateRule()));
+    out.writeEndObject();
+  }
+
+  private void writeIndex(final JsonGenerator out, final Table table, final Index index)
+      throws IOException {
+    if (!startObject(out, index)) {
+      return;
+    }
+
+    writeDependantObjectNames(out, index);
+    writeAttributes(out, index);
+    out.writeNumberField("cardinality", index.getCardinality());
+    writeConstraintColumns(out, table, index.getColumns());
+    out.writeStringField("definition", index.getDefinition());
+    out.writeStringField("index-type", enumString(index.getIndexType()));
+    out.writeNumberField("pages", index.getPages());
+    out.writeBooleanField("parent-partial", index.isParentPartial());
+    out.writeStringField("remarks", index.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, index.getSchema());
+    out.writeStringField("type", enumString(index.getType()));
+    out.writeBooleanField("unique", index.isUnique());
+    out.writeEndObject();
+  }
+
+  private void writeNames(final JsonGenerator out, final NamedObject namedObject)
+      throws IOException {
+    out.writeStringField("name", namedObject.getName());
+    out.writeStringField("full-name", namedObject.getFullName());
+  }
+
+  private void writePartialObjectFields(
+      final JsonGenerator out, final DependantObject<?> dependantObject) throws IOException {
+    out.writeBooleanField("parent-partial", dependantObject.isParentPartial());
+    if (dependantObject instanceof DescribedObject) {
+      out.writeStringField("remarks", ((DescribedObject) dependantObject).getRemarks());
+    }
+    out.writeFieldName("schema");
+    writeSchema(out, dependantObject.getSchema());
+    out.writeEndObject();
+  }
+
+  private <D extends DatabaseObject> void writePrivileges(
+      final JsonGenerator out, final Collection<Privilege<D>> privileges) throws IOException {
+    out.writeStartArray();
+    for (final Privilege<D> privilege : privileges) {
+      if (!startObject(out, privilege)) {
+        continue;
+      }
+      writeDependantObjectNames(out, privilege);
+      writeAttributes(out, privilege);
+      out.writeFieldName("grants");
+      out.writeStartArray();
+      for (final Grant<D> grant : privilege.getGrants()) {
+        startValueObject(out);
+        out.writeBooleanField("grantable", grant.isGrantable());
+        out.writeStringField("grantee", grant.getGrantee());
+        out.writeStringField("grantor", grant.getGrantor());
+        out.writeEndObject();
+      }
+      out.writeEndArray();
+      out.writeBooleanField("parent-partial", privilege.isParentPartial());
+      out.writeStringField("remarks", privilege.getRemarks());
+      out.writeFieldName("schema");
+      writeSchema(out, privilege.getSchema());
+      out.writeEndObject();
+    }
+    out.writeEndArray();
+  }
+
+  private void writeProductVersion(
+      final JsonGenerator out, final String fieldName, final ProductVersion productVersion)
+      throws IOException {
+    out.writeFieldName(fieldName);
+    if (productVersion == null) {
+      out.writeNull();
+      return;
+    }
+    startValueObject(out);
+    writeProductVersionFields(out, productVersion);
+    out.writeEndObject();
+  }
+
+  private void writeProductVersionFields(
+      final JsonGenerator out, final ProductVersion productVersion) throws IOException {
+    out.writeStringField("product-name", productVersion.getProductName());
+    out.writeStringField("product-version", productVersion.getProductVersion());
+  }
+
+  private void writeProperty(final JsonGenerator out, final Property property) throws IOException {
+    startValueObject(out);
+    out.writeStringField("name", property.getName());
+    out.writeStringField("description", property.getDescription());
+    out.writeFieldName("value");
+    writeValue(out, property.getValue());
+    out.writeEndObject();
+  }
+
+  private void writeRoutine(final JsonGenerator out, final Routine routine) throws IOException {
+    if (!startObject(out, routine)) {
+      return;
+    }
+
+    writeNames(out, routine);
+    writeAttributes(out, routine);
+    out.writeStringField("definition", routine.getDefinition());
+    out.writeFieldName("parameters");
+    out.writeStartArray();
+    for (final RoutineParameter<?> parameter : routine.getParameters()) {
+      if (!startObject(out, parameter)) {
+        continue;
+      }
+      writeDependantObjectNames(out, parameter);
+      writeAttributes(out, parameter);
+      out.writeFieldName("column-data-type");
+      writeColumnDataType(out, parameter.getColumnDataType());
+      out.writeNumberField("decimal-digits", parameter.getDecimalDigits());
+      out.writeBooleanField("nullable", parameter.isNullable());
+      out.writeNumberField("ordinal-position", parameter.getOrdinalPosition());
+      out.writeStringField("parameter-mode", enumString(parameter.getParameterMode()));
+      out.writeBooleanField("parent-partial", parameter.isParentPartial());
+      out.writeNumberField("precision", parameter.getPrecision());
+      out.writeStringField("remarks", parameter.getRemarks());
+      out.writeFieldName("schema");
+      writeSchema(out, parameter.getSchema());
+      out.writeNumberField("size", parameter.getSize());
+      out.writeFieldName("type");
+      writeColumnDataType(out, parameter.getType());
+      out.writeStringField("width", parameter.getWidth());
+      out.writeEndObject();
+    }
+    out.writeEndArray();
+    out.writeStringField("remarks", routine.getRemarks());
+    out.writeStringField("return-type", enumString(routine.getReturnType()));
+    out.writeStringField("routine-body-type", enumString(routine.getRoutineBodyType()));
+    out.writeStringField("routine-type", enumString(routine.getRoutineType()));
+    out.writeFieldName("schema");
+    writeSchema(out, routine.getSchema());
+    out.writeStringField("specific-name", routine.getSpecificName());
+    out.writeStringField("type", enumString(routine.getType()));
+    out.writeEndObject();
+  }
+
+  private void writeSchema(final JsonGenerator out, final Schema schema) throws IOException {
+    if (!startObject(out, schema)) {
+      return;
+    }
+
+    writeNames(out, schema);
+    writeAttributes(out, schema);
+    out.writeStringField("catalog-name", schema.getCatalogName());
+    out.writeStringField("remarks", schema.getRemarks());
+    out.writeEndObject();
+  }
+
+  private void writeSequence(final JsonGenerator out, final Sequence sequence)
+      throws IOException {
+    if (!startObject(out, sequence)) {
+      return;
+    }
+
+    writeNames(out, sequence);
+    writeAttributes(out, sequence);
+    out.writeBooleanField("cycle", sequence.isCycle());
+    out.writeNumberField("increment", sequence.getIncrement());
+    out.writeFieldName("maximum-value");
+    writeValue(out, sequence.getMaximumValue());
+    out.writeFieldName("minimum-value");
+    writeValue(out, sequence.getMinimumValue());
+    out.writeStringField("remarks", sequence.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, sequence.getSchema());
+    out.writeFieldName("start-value");
+    writeValue(out, sequence.getStartValue());
+    out.writeEndObject();
+  }
+
+  private void writeSynonym(final JsonGenerator out, final Synonym synonym) throws IOException {
+    if (!startObject(out, synonym)) {
+      return;
+    }
+
+    writeNames(out, synonym);
+    writeAttributes(out, synonym);
+    out.writeFieldName("referenced-object");
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    if (referencedObject instanceof Table) {
+      writeTable(out, (Table) referencedObject);
+    } else if (referencedObject instanceof Routine) {
+      writeRoutine(out, (Routine) referencedObject);
+    } else if (startObject(out, referencedObject)) {
+      writeNames(out, referencedObject);
+      out.writeFieldName("schema");
+      writeSchema(out, referencedObject.getSchema());
+      out.writeEndObject();
+    }
+    out.writeStringField("remarks", synonym.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, synonym.getSchema());
+    out.writeEndObject();
+  }
+
+  private void writeTable(final JsonGenerator out, final Table table) throws IOException {
+    if (!startObject(out, table)) {
+      return;
+    }
+
+    writeNames(out, table);
+    writeAttributes(out, table);
+    if (table instanceof PartialDatabaseObject) {
+      out.writeStringField("remarks", table.getRemarks());
+      out.writeFieldName("schema");
+      writeSchema(out, table.getSchema());
+      out.writeEndObject();
+      return;
+    }
+
+    final boolean isView = table instanceof View;
+    if (isView) {
+      out.writeStringField("check-option", enumString(((View) table).getCheckOption()));
+    }
+    out.writeFieldName("columns");
+    out.writeStartArray();
+    for (final Column column : table.getColumns()) {
+      writeColumn(out, column);
+    }
+    out.writeEndArray();
+    out.writeStringField("definition", table.getDefinition());
+    out.writeFieldName("foreign-keys");
+    out.writeStartArray();
+    for (final ForeignKey foreignKey : table.getForeignKeys()) {
+      writeForeignKey(out, foreignKey);
+    }
+    out.writeEndArray();
+    out.writeFieldName("hidden-columns");
+    out.writeStartArray();
+    for (final Column column : table.getHiddenColumns()) {
+      writeColumn(out, column);
+    }
+    out.writeEndArray();
+    out.writeFieldName("indexes");
+    out.writeStartArray();
+    for (final Index index : table.getIndexes()) {
+      writeIndex(out, table, index);
+    }
+    out.writeEndArray();
+    out.writeFieldName("primary-key");
+    writeTableConstraint(out, table, table.getPrimaryKey());
+    out.writeFieldName("privileges");
+    writePrivileges(out, table.getPrivileges());
+    out.writeStringField("remarks", table.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, table.getSchema());
+    out.writeFieldName("table-constraints");
+    out.writeStartArray();
+    for (final TableConstraint tableConstraint : table.getTableConstraints()) {
+      writeTableConstraint(out, table, tableConstraint);
+    }
+    out.writeEndArray();
+    out.writeFieldName("table-type");
+    writeTableType(out, table.getTableType());
+    if (isView) {
+      out.writeFieldName("table-usage");
+      out.writeStartArray();
+      for (final Table usedTable : ((View) table).getTableUsage()) {
+        writeTable(out, usedTable);
+      }
+      out.writeEndArray();
+    }
+    out.writeFieldName("triggers");
+    out.writeStartArray();
+    for (final Trigger trigger : table.getTriggers()) {
+      writeTrigger(out, trigger);
+    }
+    out.writeEndArray();
+    out.writeFieldName("type");
+    writeTableType(out, table.getType());
+    if (isView) {
+      out.writeBooleanField("updatable", ((View) table).isUpdatable());
+    }
+    out.writeFieldName("weak-associations");
+    out.writeStartArray();
+    for (final WeakAssociation weakAssociation : table.getWeakAssociations()) {
+      if (startObject(out, weakAssociation)) {
+        writeNames(out, weakAssociation);
+        writeColumnReferences(out, weakAssociation.getColumnReferences());
+        out.writeEndObject();
+      }
+    }
+    out.writeEndArray();
+    out.writeEndObject();
+  }
+
+  private void writeTableConstraint(
+      final JsonGenerator out, final Table table, final TableConstraint tableConstraint)
+      throws IOException {
+    if (!startObject(out, tableConstraint)) {
+      return;
+    }
+
+    writeDependantObjectNames(out, tableConstraint);
+    writeAttributes(out, tableConstraint);
+    writeConstraintColumns(out, table, tableConstraint.getColumns());
+    out.writeStringField("constraint-type", enumString(tableConstraint.getConstraintType()));
+    out.writeBooleanField("deferrable", tableConstraint.isDeferrable());
+    out.writeStringField("definition", tableConstraint.getDefinition());
+    out.writeBooleanField("initially-deferred", tableConstraint.isInitiallyDeferred());
+    out.writeBooleanField("parent-partial", tableConstraint.isParentPartial());
+    out.writeStringField("remarks", tableConstraint.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, tableConstraint.getSchema());
+    out.writeStringField("type", enumString(tableConstraint.getType()));
+    out.writeEndObject();
+  }
+
+  private void writeTableType(final JsonGenerator out, final TableType tableType)
+      throws IOException {
+    if (startObject(out, tableType)) {
+      out.writeStringField("table-type", tableType.getTableType());
+      out.writeBooleanField("view", tableType.isView());
+      out.writeEndObject();
+    }
+  }
+
+  private void writeTrigger(final JsonGenerator out, final Trigger trigger) throws IOException {
+    if (!startObject(out, trigger)) {
+      return;
+    }
+
+    writeDependantObjectNames(out, trigger);
+    writeAttributes(out, trigger);
+    out.writeStringField("action-condition", trigger.getActionCondition());
+    out.writeNumberField("action-order", trigger.getActionOrder());
+    out.writeStringField("action-orientation", enumString(trigger.getActionOrientation()));
+    out.writeStringField("action-statement", trigger.getActionStatement());
+    out.writeStringField("condition-timing", enumString(trigger.getConditionTiming()));
+    out.writeStringField(
+        "event-manipulation-type", enumString(trigger.getEventManipulationType()));
+    out.writeBooleanField("parent-partial", trigger.isParentPartial());
+    out.writeStringField("remarks", trigger.getRemarks());
+    out.writeFieldName("schema");
+    writeSchema(out, trigger.getSchema());
+    out.writeEndObject();
+  }
+
+  /** Writes attribute and property values, which are usually strings, numbers or booleans. */
+  private void writeValue(final JsonGenerator out, final Object value) throws IOException {
+    if (value == null) {
+      out.writeNull();
+    } else if (value instanceof String) {
+      out.writeString((String) value);
+    } else if (value instanceof Boolean) {
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte) {
+      out.writeNumber(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      out.writeNumber(((Number) value).doubleValue());
+    } else if (value instanceof BigInteger) {
+      out.writeNumber((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      out.writeNumber((BigDecimal) value);
+    } else if (value instanceof Map) {
+      out.writeStartObject();
+      for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        out.writeFieldName(String.valueOf(entry.getKey()));
+        writeValue(out, entry.getValue());
+      }
+      out.writeEndObject();
+    } else if (value instanceof Collection) {
+      out.writeStartArray();
+      for (final Object element : (Collection<?>) value) {
+        writeValue(out, element);
+      }
+      out.writeEndArray();
+    } else if (value.getClass().isArray()) {
+      out.writeStartArray();
+      final int length = Array.getLength(value);
+      for (int i = 0; i < length; i++) {
+        writeValue(out, Array.get(value, i));
+      }
+      out.writeEndArray();
+    } else {
+      out.writeString(value.toString());
+    }
+  }
+}
@@ -27,7 +27,7 @@ http://www.gnu.org/licenses/
 */
 package schemacrawler.tools.integration.serialize;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
 
 import schemacrawler.schema.Catalog;
 
@@ -39,7 +39,7 @@ public final class JsonSerializedCatalog extends BaseJacksonSerializedCatalog {
   }
 
   @Override
-  protected ObjectMapper newObjectMapper() {
-    return new ObjectMapper();
+  protected JsonFactory newJsonFactory() {
+    return new JsonFactory();
   }
 }
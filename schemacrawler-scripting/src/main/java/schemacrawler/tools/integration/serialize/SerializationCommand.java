@@ -30,9 +30,16 @@ package schemacrawler.tools.integration.serialize;
 
 import static java.nio.file.Files.newOutputStream;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
@@ -60,26 +67,33 @@ public final class SerializationCommand extends BaseSchemaCrawlerCommand<Seriali
   /** {@inheritDoc} */
   @Override
   public void execute() throws Exception {
-    checkCatalog();
-
     final SerializationFormat serializationFormat =
         SerializationFormat.fromFormat(outputOptions.getOutputFormatValue());
 
+    if (streamingSchemaCrawler != null) {
+      try (final JsonGenerator generator = newJsonGenerator(serializationFormat);
+          final JacksonCatalogWriter catalogWriter = new JacksonCatalogWriter(generator)) {
+        generator.useDefaultPrettyPrinter();
+        streamingSchemaCrawler.crawl(catalogWriter);
+      }
+      return;
+    }
+
+    checkCatalog();
+
     final String serializerClassName = serializationFormat.getSerializerClassName();
     final Class<CatalogSerializer> serializableCatalogClass =
         (Class<CatalogSerializer>) Class.forName(serializerClassName);
     final CatalogSerializer serializableCatalog =
         serializableCatalogClass.getDeclaredConstructor(Catalog.class).newInstance(catalog);
 
-    if (serializationFormat.isBinaryFormat()) {
-      // Force a file to be created for binary formats such as Java serialization
-      final Path outputFile = outputOptions.getOutputFile(serializationFormat.getFileExtension());
-
-      outputOptions =
-          OutputOptionsBuilder.builder(outputOptions).withOutputFile(outputFile).toOptions();
-
-      try (final OutputStream out = newOutputStream(outputFile)) {
-        serializableCatalog.save(out);
+    if (serializationFormat.isBinaryFormat() || isCompressedOutput(serializationFormat)) {
+      try (final OutputStream out = newOutputFileStream(serializationFormat)) {
+        if (serializationFormat.isBinaryFormat()) {
+          serializableCatalog.save(out);
+        } else {
+          serializableCatalog.save(new OutputStreamWriter(out, outputOptions.getOutputCharset()));
+        }
       }
     } else {
       final Writer out = outputOptions.openNewOutputWriter();
@@ -88,8 +102,59 @@ public final class SerializationCommand extends BaseSchemaCrawlerCommand<Seriali
     }
   }
 
+  /** JSON and YAML can be written from a streaming crawl, one schema at a time. */
+  @Override
+  public boolean supportsStreamingCrawl() {
+    final SerializationFormat serializationFormat =
+        SerializationFormat.fromFormat(outputOptions.getOutputFormatValue());
+    return !serializationFormat.isBinaryFormat();
+  }
+
   @Override
   public boolean usesConnection() {
     return false;
   }
+
+  /** Output is compressed with gzip if the output file name ends with ".gz". */
+  private boolean isCompressedOutput(final SerializationFormat serializationFormat) {
+    final Path outputFile = outputOptions.getOutputFile(serializationFormat.getFileExtension());
+    return outputFile.getFileName().toString().endsWith(".gz");
+  }
+
+  private JsonGenerator newJsonGenerator(final SerializationFormat serializationFormat)
+      throws IOException {
+    final JsonFactory factory;
+    if (serializationFormat == SerializationFormat.yaml) {
+      factory = new YAMLFactory();
+    } else {
+      factory = new JsonFactory();
+    }
+
+    if (isCompressedOutput(serializationFormat)) {
+      return factory.createGenerator(
+          new OutputStreamWriter(
+              newOutputFileStream(serializationFormat), outputOptions.getOutputCharset()));
+    } else {
+      return factory.createGenerator(outputOptions.openNewOutputWriter());
+    }
+  }
+
+  /**
+   * Forces a file to be created for binary formats such as Java serialization, and for compressed
+   * output.
+   */
+  private OutputStream newOutputFileStream(final SerializationFormat serializationFormat)
+      throws IOException {
+    final Path outputFile = outputOptions.getOutputFile(serializationFormat.getFileExtension());
+
+    outputOptions =
+        OutputOptionsBuilder.builder(outputOptions).withOutputFile(outputFile).toOptions();
+
+    final OutputStream out = newOutputStream(outputFile);
+    if (outputFile.getFileName().toString().endsWith(".gz")) {
+      return new GZIPOutputStream(out);
+    } else {
+      return out;
+    }
+  }
 }
@@ -43,6 +43,11 @@ public enum SerializationFormat implements OutputFormat {
       "schemacrawler.tools.integration.serialize.JavaSerializedCatalog",
       true,
       "ser"),
+  snapshot(
+      "SchemaCrawler binary catalog snapshot, which can be loaded in part",
+      "schemacrawler.tools.integration.serialize.BinarySerializedCatalog",
+      true,
+      "scsnap"),
   json(
       "JavaScript Object Notation (JSON) serialization format",
       "schemacrawler.tools.integration.serialize.JsonSerializedCatalog",
@@ -27,7 +27,7 @@ http://www.gnu.org/licenses/
 */
 package schemacrawler.tools.integration.serialize;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import schemacrawler.schema.Catalog;
@@ -40,7 +40,7 @@ public final class YamlSerializedCatalog extends BaseJacksonSerializedCatalog {
   }
 
   @Override
-  protected ObjectMapper newObjectMapper() {
-    return new ObjectMapper(new YAMLFactory());
+  protected JsonFactory newJsonFactory() {
+    return new YAMLFactory();
   }
 }
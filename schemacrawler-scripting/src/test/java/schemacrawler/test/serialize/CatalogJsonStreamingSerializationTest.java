@@ -0,0 +1,227 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test.serialize;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.DatabaseTestUtility;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.integration.serialize.JsonSerializedCatalog;
+import schemacrawler.tools.integration.serialize.SerializationFormat;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import us.fatehi.utility.IOUtility;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CatalogJsonStreamingSerializationTest {
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions(final boolean streamingCrawl) {
+    final LoadOptionsBuilder loadOptionsBuilder =
+        LoadOptionsBuilder.builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum());
+    if (streamingCrawl) {
+      loadOptionsBuilder.streamingCrawl();
+    }
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+                .includeAllRoutines()
+                .includeAllSequences()
+                .includeAllSynonyms()
+                .toOptions())
+        .withLoadOptions(loadOptionsBuilder.toOptions());
+  }
+
+  /** Checks that every object is written in full only once, before anything refers to it. */
+  private static void assertWrittenBeforeReferenced(
+      final JsonNode node, final Set<String> ids, final Set<String> writtenIds) {
+    if (node.isContainerNode()) {
+      if (node.has("@uuid")) {
+        assertThat(writtenIds.add(node.get("@uuid").asText()), is(true));
+      }
+      for (final JsonNode child : node) {
+        assertWrittenBeforeReferenced(child, ids, writtenIds);
+      }
+    } else if (node.isTextual() && ids.contains(node.asText())) {
+      assertThat(writtenIds, hasItem(node.asText()));
+    }
+  }
+
+  private static void assertWrittenBeforeReferenced(final JsonNode rootNode) {
+    final Set<String> ids = new HashSet<>(rootNode.findValuesAsText("@uuid"));
+    assertWrittenBeforeReferenced(rootNode, ids, new HashSet<>());
+  }
+
+  private static Set<String> fieldNames(final JsonNode node) {
+    final Set<String> fieldNames = new HashSet<>();
+    node.fieldNames().forEachRemaining(fieldNames::add);
+    return fieldNames;
+  }
+
+  @Test
+  public void columnReferences(final Connection connection) throws Exception {
+    final Catalog catalog =
+        getCatalog(connection, DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JsonSerializedCatalog(catalog).save(out);
+    final JsonNode rootNode = new ObjectMapper().readTree(out.toByteArray());
+    assertWrittenBeforeReferenced(rootNode);
+
+    final Set<String> columnIds = new HashSet<>();
+    rootNode
+        .get("all-table-columns")
+        .elements()
+        .forEachRemaining(columnNode -> columnIds.add(columnNode.get("@uuid").asText()));
+    assertThat(columnIds.size(), is(new JsonSerializedCatalog(catalog).getAllTableColumns().size()));
+
+    // Tables refer to columns that have already been written
+    final JsonNode tablesNode = rootNode.get("catalog").get("tables");
+    assertThat(tablesNode.size(), is(catalog.getTables().size()));
+    for (final JsonNode tableNode : tablesNode) {
+      for (final JsonNode columnNode : tableNode.get("columns")) {
+        assertThat(columnNode.isTextual(), is(true));
+        assertThat(columnIds, hasItem(columnNode.asText()));
+      }
+    }
+  }
+
+  @Test
+  public void compressedSerialization(final Connection connection) throws Exception {
+    final Path outputFile = IOUtility.createTempFilePath("sc_serialized_catalog", "json.gz");
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("serialize");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions(false));
+    executable.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormatValue(SerializationFormat.json.getFormat())
+            .withOutputFile(outputFile)
+            .toOptions());
+    executable.setConnection(connection);
+    executable.execute();
+
+    try (final InputStream in = new GZIPInputStream(Files.newInputStream(outputFile))) {
+      final JsonNode rootNode = new ObjectMapper().readTree(in);
+      assertThat(rootNode.get("catalog").get("tables").size(), greaterThan(0));
+    }
+  }
+
+  @Test
+  public void streamingSerialization(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions(false));
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("serialize");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions(true));
+    final Path outputFile = executableExecution(connection, executable, SerializationFormat.json);
+
+    final JsonNode rootNode = new ObjectMapper().readTree(outputFile.toFile());
+    assertWrittenBeforeReferenced(rootNode);
+
+    // The document has the same fields as one for a loaded catalog, except that there is no list
+    // of all table columns from a streaming crawl
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JsonSerializedCatalog(catalog).save(out);
+    final JsonNode loadedRootNode = new ObjectMapper().readTree(out.toByteArray());
+    final Set<String> loadedFieldNames = fieldNames(loadedRootNode);
+    assertThat(loadedFieldNames.remove("all-table-columns"), is(true));
+    assertThat(fieldNames(rootNode), is(loadedFieldNames));
+    assertThat(fieldNames(rootNode.get("catalog")), is(fieldNames(loadedRootNode.get("catalog"))));
+
+    final JsonNode catalogNode = rootNode.get("catalog");
+    assertThat(catalogNode.get("schemas").size(), is(catalog.getSchemas().size()));
+    assertThat(catalogNode.get("routines").size(), is(catalog.getRoutines().size()));
+    assertThat(catalogNode.get("sequences").size(), is(catalog.getSequences().size()));
+    assertThat(catalogNode.get("synonyms").size(), is(catalog.getSynonyms().size()));
+
+    // Columns are written with their tables, or with foreign keys in the same schema
+    final JsonNode tablesNode = catalogNode.get("tables");
+    assertThat(tablesNode.size(), is(catalog.getTables().size()));
+    final Set<String> ids = new HashSet<>();
+    for (final JsonNode idNode : tablesNode.findValues("@uuid")) {
+      ids.add(idNode.asText());
+    }
+    for (final JsonNode tableNode : tablesNode) {
+      for (final JsonNode columnNode : tableNode.get("columns")) {
+        if (columnNode.isTextual()) {
+          assertThat(ids, hasItem(columnNode.asText()));
+        } else {
+          assertThat(columnNode.get("full-name"), is(notNullValue()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void streamingYamlSerialization(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions(false));
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("serialize");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions(true));
+    final Path outputFile = executableExecution(connection, executable, SerializationFormat.yaml);
+
+    // Routines, sequences and synonyms are copied from temporary files to the YAML output
+    final JsonNode rootNode = new ObjectMapper(new YAMLFactory()).readTree(outputFile.toFile());
+    assertWrittenBeforeReferenced(rootNode);
+    final JsonNode catalogNode = rootNode.get("catalog");
+    assertThat(catalogNode.get("tables").size(), is(catalog.getTables().size()));
+    assertThat(catalog.getRoutines().size(), greaterThan(0));
+    assertThat(catalogNode.get("routines").size(), is(catalog.getRoutines().size()));
+    assertThat(catalogNode.get("sequences").size(), is(catalog.getSequences().size()));
+    assertThat(catalogNode.get("synonyms").size(), is(catalog.getSynonyms().size()));
+  }
+}
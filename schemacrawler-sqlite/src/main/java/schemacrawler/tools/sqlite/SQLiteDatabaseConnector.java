@@ -30,6 +30,7 @@ package schemacrawler.tools.sqlite;
 
 import java.io.IOException;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnectionUrlBuilder;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
@@ -45,7 +46,8 @@ public final class SQLiteDatabaseConnector
           url -> url != null && url.startsWith("jdbc:sqlite:"),
           (informationSchemaViewsBuilder, connection) -> informationSchemaViewsBuilder.fromResourceFolder(
             "/sqlite.information_schema"),
-          (schemaRetrievalOptionsBuilder, connection) -> schemaRetrievalOptionsBuilder.withIdentifierQuoteString("\""),
+          (schemaRetrievalOptionsBuilder, connection) -> schemaRetrievalOptionsBuilder.withIdentifierQuoteString("\"")
+            .withTableSampleSyntax(TableSampleSyntax.limit),
           (limitOptionsBuilder) -> {},
           () -> DatabaseConnectionUrlBuilder.builder(
               "jdbc:sqlite:${database}"));
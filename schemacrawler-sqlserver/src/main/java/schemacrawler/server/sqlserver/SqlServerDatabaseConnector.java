@@ -31,6 +31,7 @@ package schemacrawler.server.sqlserver;
 import java.io.IOException;
 import schemacrawler.inclusionrule.RegularExpressionRule;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnectionUrlBuilder;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
@@ -46,8 +47,8 @@ public final class SqlServerDatabaseConnector
         (informationSchemaViewsBuilder,
             connection) -> informationSchemaViewsBuilder
                 .fromResourceFolder("/sqlserver.information_schema"),
-        (schemaRetrievalOptionsBuilder, connection) -> {
-        },
+        (schemaRetrievalOptionsBuilder, connection) -> schemaRetrievalOptionsBuilder
+            .withTableSampleSyntax(TableSampleSyntax.sqlserver),
         (limitOptionsBuilder) -> limitOptionsBuilder
             .includeSchemas(new RegularExpressionRule(".*\\.dbo",
                 "model\\..*|master\\..*|msdb\\..*|tempdb\\..*|rdsadmin\\..*")),
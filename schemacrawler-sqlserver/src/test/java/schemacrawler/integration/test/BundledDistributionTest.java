@@ -34,6 +34,7 @@ import static org.hamcrest.Matchers.is;
 import java.sql.Connection;
 
 import org.junit.jupiter.api.Test;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.databaseconnector.DatabaseConnectorRegistry;
 
@@ -54,7 +55,7 @@ public class BundledDistributionTest
                  .getSchemaRetrievalOptionsBuilder(connection)
                  .toOptions()
                  .getInformationSchemaViews()
-                 .size(), is(11));
+                 .size(), is(12));
   }
 
   @Test
@@ -66,4 +67,20 @@ public class BundledDistributionTest
     assertThat(registry.hasDatabaseSystemIdentifier("sqlserver"), is(true));
   }
 
+  @Test
+  public void testTableSampleSyntax_sqlserver()
+    throws Exception
+  {
+
+    final Connection connection = null;
+    final DatabaseConnectorRegistry registry =
+      DatabaseConnectorRegistry.getDatabaseConnectorRegistry();
+    final DatabaseConnector databaseSystemIdentifier =
+      registry.lookupDatabaseConnector("sqlserver");
+    assertThat(databaseSystemIdentifier
+                 .getSchemaRetrievalOptionsBuilder(connection)
+                 .toOptions()
+                 .getTableSampleSyntax(), is(TableSampleSyntax.sqlserver));
+  }
+
 }
@@ -89,17 +89,7 @@ public abstract class BaseFormatter<O extends BaseTextOptions> implements Traver
       throw new SchemaCrawlerException("Cannot open output writer", e);
     }
 
-    final TextOutputFormat outputFormat =
-        TextOutputFormat.fromFormat(outputOptions.getOutputFormatValue());
-    switch (outputFormat) {
-      case html:
-        formattingHelper = new HtmlFormattingHelper(out, outputFormat);
-        break;
-      case text:
-      default:
-        formattingHelper = new PlainTextFormattingHelper(out, outputFormat);
-        break;
-    }
+    formattingHelper = newFormattingHelper(out);
   }
 
   @Override
@@ -130,6 +120,25 @@ public abstract class BaseFormatter<O extends BaseTextOptions> implements Traver
             || column.isPartOfIndex());
   }
 
+  /**
+   * Creates a formatting helper for the output format, which writes to the given writer. This
+   * allows parts of the output to be formatted separately, and appended to the main output later.
+   *
+   * @param writer Writer for formatted output
+   * @return Formatting helper for the output format
+   */
+  protected final TextFormattingHelper newFormattingHelper(final PrintWriter writer) {
+    final TextOutputFormat outputFormat =
+        TextOutputFormat.fromFormat(outputOptions.getOutputFormatValue());
+    switch (outputFormat) {
+      case html:
+        return new HtmlFormattingHelper(writer, outputFormat);
+      case text:
+      default:
+        return new PlainTextFormattingHelper(writer, outputFormat);
+    }
+  }
+
   protected String nodeId(final DatabaseObject dbObject) {
     if (dbObject == null) {
       return "";
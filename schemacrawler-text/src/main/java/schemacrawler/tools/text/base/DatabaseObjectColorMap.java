@@ -59,7 +59,14 @@ public class DatabaseObjectColorMap {
     colorMap = new RegularExpressionColorMap(properties);
   }
 
-  public Color getColor(final DatabaseObject dbObject) {
+  /**
+   * Gets the color for a database object, from the schema it belongs to. Colors generated for a
+   * schema are remembered, so formatters that share the map on different threads are synchronized.
+   *
+   * @param dbObject Database object
+   * @return Color for the database object
+   */
+  public synchronized Color getColor(final DatabaseObject dbObject) {
     requireNonNull(dbObject, "No database object provided");
 
     final String schemaName = dbObject.getSchema().getFullName();
@@ -0,0 +1,371 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.BATCH;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.BATCH_SIZE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.DICTIONARY;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.END_OF_TABLE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.PLAIN;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.TABLE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_BOOLEAN;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_BYTES;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_DOUBLE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_LONG;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.isLargeObject;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.vectorType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes rows from results into the binary columnar format described in {@link
+ * ColumnarDataFormat}. Values are read from the results by column ordinal into column vectors,
+ * which are reused for each batch of rows, and each batch is compressed before it is written.
+ */
+final class ColumnarDataEncoder implements AutoCloseable {
+
+  /** Values for a column, for a single batch of rows. */
+  private static final class ColumnVector {
+
+    private final int ordinalPosition;
+    private final byte vectorType;
+    private final boolean isSkipped;
+    private final boolean[] nulls;
+    private final long[] longs;
+    private final double[] doubles;
+    private final Object[] objects;
+
+    ColumnVector(final int ordinalPosition, final byte vectorType, final boolean isSkipped) {
+      this.ordinalPosition = ordinalPosition;
+      this.vectorType = vectorType;
+      this.isSkipped = isSkipped;
+      nulls = new boolean[BATCH_SIZE];
+      if (vectorType == VECTOR_BOOLEAN || vectorType == VECTOR_LONG) {
+        longs = new long[BATCH_SIZE];
+      } else {
+        longs = null;
+      }
+      if (vectorType == VECTOR_DOUBLE) {
+        doubles = new double[BATCH_SIZE];
+      } else {
+        doubles = null;
+      }
+      if (longs == null && doubles == null) {
+        objects = new Object[BATCH_SIZE];
+      } else {
+        objects = null;
+      }
+    }
+
+    void read(final ResultSet rows, final int row) throws SQLException {
+      if (isSkipped) {
+        nulls[row] = true;
+        return;
+      }
+      switch (vectorType) {
+        case VECTOR_BOOLEAN:
+          longs[row] = rows.getBoolean(ordinalPosition) ? 1 : 0;
+          break;
+        case VECTOR_LONG:
+          longs[row] = rows.getLong(ordinalPosition);
+          break;
+        case VECTOR_DOUBLE:
+          doubles[row] = rows.getDouble(ordinalPosition);
+          break;
+        case VECTOR_BYTES:
+          objects[row] = rows.getBytes(ordinalPosition);
+          break;
+        default:
+          objects[row] = rows.getString(ordinalPosition);
+          break;
+      }
+      nulls[row] = rows.wasNull() || objects != null && objects[row] == null;
+    }
+
+    /** Releases values from the last batch, so that they can be garbage collected. */
+    void clear(final int rowCount) {
+      if (objects != null) {
+        Arrays.fill(objects, 0, rowCount, null);
+      }
+    }
+  }
+
+  /** Byte buffer that exposes its contents without copying. */
+  private static final class BlockBuffer extends ByteArrayOutputStream {
+
+    BlockBuffer() {
+      super(64 * 1024);
+    }
+
+    byte[] buffer() {
+      return buf;
+    }
+  }
+
+  private final boolean showLobs;
+  private final Deflater deflater;
+  private final BlockBuffer blockBuffer;
+  private final DataOutputStream block;
+  private final Map<String, Integer> dictionary;
+  private final List<String> dictionaryValues;
+  private final int[] codes;
+  private byte[] compressed;
+  private byte[] stringBytes;
+
+  ColumnarDataEncoder(final boolean showLobs) {
+    this.showLobs = showLobs;
+    deflater = new Deflater(Deflater.BEST_SPEED);
+    blockBuffer = new BlockBuffer();
+    block = new DataOutputStream(blockBuffer);
+    dictionary = new HashMap<>();
+    dictionaryValues = new ArrayList<>();
+    codes = new int[BATCH_SIZE];
+    compressed = new byte[64 * 1024];
+    stringBytes = new byte[1024];
+  }
+
+  @Override
+  public void close() {
+    deflater.end();
+  }
+
+  /**
+   * Writes rows from the results as a table, in batches of rows.
+   *
+   * @param title Title of the table
+   * @param rows Results to write
+   * @param out Output to write to
+   */
+  void encode(final String title, final ResultSet rows, final DataOutputStream out)
+      throws SQLException, IOException {
+    final ResultSetMetaData metaData = rows.getMetaData();
+    final int columnCount = metaData.getColumnCount();
+
+    out.writeByte(TABLE);
+    writeString(out, title);
+    out.writeInt(columnCount);
+    final ColumnVector[] vectors = new ColumnVector[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      final int ordinalPosition = i + 1;
+      final int javaSqlType = metaData.getColumnType(ordinalPosition);
+      final byte vectorType = vectorType(javaSqlType);
+      writeString(out, metaData.getColumnLabel(ordinalPosition));
+      writeString(out, String.valueOf(metaData.getColumnTypeName(ordinalPosition)));
+      out.writeInt(javaSqlType);
+      out.writeByte(vectorType);
+      vectors[i] =
+          new ColumnVector(ordinalPosition, vectorType, !showLobs && isLargeObject(javaSqlType));
+    }
+
+    int rowCount = 0;
+    while (rows.next()) {
+      for (final ColumnVector vector : vectors) {
+        vector.read(rows, rowCount);
+      }
+      rowCount++;
+      if (rowCount == BATCH_SIZE) {
+        writeBatch(out, vectors, rowCount);
+        rowCount = 0;
+      }
+    }
+    if (rowCount > 0) {
+      writeBatch(out, vectors, rowCount);
+    }
+
+    out.writeByte(END_OF_TABLE);
+  }
+
+  private void writeBatch(
+      final DataOutputStream out, final ColumnVector[] vectors, final int rowCount)
+      throws IOException {
+    blockBuffer.reset();
+    for (final ColumnVector vector : vectors) {
+      writeVector(vector, rowCount);
+      vector.clear(rowCount);
+    }
+    block.flush();
+
+    deflater.reset();
+    deflater.setInput(blockBuffer.buffer(), 0, blockBuffer.size());
+    deflater.finish();
+    int compressedLength = 0;
+    while (!deflater.finished()) {
+      if (compressedLength == compressed.length) {
+        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+      }
+      compressedLength =
+          compressedLength
+              + deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+    }
+
+    out.writeByte(BATCH);
+    out.writeInt(rowCount);
+    out.writeInt(blockBuffer.size());
+    out.writeInt(compressedLength);
+    out.write(compressed, 0, compressedLength);
+  }
+
+  /**
+   * Writes a string as UTF-8 bytes, encoded into a buffer that is reused, so that bytes are not
+   * allocated for every value. Unpaired surrogates are replaced, as they are by {@link
+   * String#getBytes(java.nio.charset.Charset)}.
+   */
+  private void writeString(final DataOutputStream out, final String value) throws IOException {
+    final int valueLength = value.length();
+    if (stringBytes.length < valueLength * 3) {
+      stringBytes = new byte[Math.max(valueLength * 3, stringBytes.length * 2)];
+    }
+
+    int length = 0;
+    for (int i = 0; i < valueLength; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        stringBytes[length++] = (byte) c;
+      } else if (c < 0x800) {
+        stringBytes[length++] = (byte) (0xC0 | c >> 6);
+        stringBytes[length++] = (byte) (0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < valueLength
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        stringBytes[length++] = (byte) (0xF0 | codePoint >> 18);
+        stringBytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        stringBytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        stringBytes[length++] = (byte) (0x80 | codePoint & 0x3F);
+      } else if (Character.isSurrogate(c)) {
+        stringBytes[length++] = (byte) '?';
+      } else {
+        stringBytes[length++] = (byte) (0xE0 | c >> 12);
+        stringBytes[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+        stringBytes[length++] = (byte) (0x80 | c & 0x3F);
+      }
+    }
+
+    out.writeInt(length);
+    out.write(stringBytes, 0, length);
+  }
+
+  private void writeStrings(final ColumnVector vector, final int rowCount) throws IOException {
+    // Use a dictionary only if values repeat often enough to make it worthwhile
+    dictionary.clear();
+    dictionaryValues.clear();
+    int valueCount = 0;
+    for (int row = 0; row < rowCount; row++) {
+      if (vector.nulls[row]) {
+        continue;
+      }
+      final String value = (String) vector.objects[row];
+      Integer code = dictionary.get(value);
+      if (code == null) {
+        code = dictionaryValues.size();
+        dictionary.put(value, code);
+        dictionaryValues.add(value);
+      }
+      codes[valueCount] = code;
+      valueCount++;
+    }
+
+    if (dictionaryValues.size() * 2 <= valueCount) {
+      block.writeByte(DICTIONARY);
+      block.writeInt(dictionaryValues.size());
+      for (final String value : dictionaryValues) {
+        writeString(block, value);
+      }
+      for (int i = 0; i < valueCount; i++) {
+        block.writeInt(codes[i]);
+      }
+    } else {
+      block.writeByte(PLAIN);
+      for (int row = 0; row < rowCount; row++) {
+        if (!vector.nulls[row]) {
+          writeString(block, (String) vector.objects[row]);
+        }
+      }
+    }
+  }
+
+  private void writeVector(final ColumnVector vector, final int rowCount) throws IOException {
+    // Bitmap of null values
+    for (int start = 0; start < rowCount; start = start + 8) {
+      int nullBits = 0;
+      for (int bit = 0; bit < 8 && start + bit < rowCount; bit++) {
+        if (vector.nulls[start + bit]) {
+          nullBits = nullBits | 1 << bit;
+        }
+      }
+      block.writeByte(nullBits);
+    }
+
+    switch (vector.vectorType) {
+      case VECTOR_BOOLEAN:
+        for (int row = 0; row < rowCount; row++) {
+          if (!vector.nulls[row]) {
+            block.writeByte((int) vector.longs[row]);
+          }
+        }
+        break;
+      case VECTOR_LONG:
+        for (int row = 0; row < rowCount; row++) {
+          if (!vector.nulls[row]) {
+            block.writeLong(vector.longs[row]);
+          }
+        }
+        break;
+      case VECTOR_DOUBLE:
+        for (int row = 0; row < rowCount; row++) {
+          if (!vector.nulls[row]) {
+            block.writeDouble(vector.doubles[row]);
+          }
+        }
+        break;
+      case VECTOR_BYTES:
+        for (int row = 0; row < rowCount; row++) {
+          if (!vector.nulls[row]) {
+            final byte[] bytes = (byte[]) vector.objects[row];
+            block.writeInt(bytes.length);
+            block.write(bytes);
+          }
+        }
+        break;
+      default:
+        writeStrings(vector, rowCount);
+        break;
+    }
+  }
+}
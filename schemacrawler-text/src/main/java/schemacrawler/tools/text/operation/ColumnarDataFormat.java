@@ -0,0 +1,155 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static java.sql.Types.BIGINT;
+import static java.sql.Types.BINARY;
+import static java.sql.Types.BIT;
+import static java.sql.Types.BLOB;
+import static java.sql.Types.BOOLEAN;
+import static java.sql.Types.CLOB;
+import static java.sql.Types.DOUBLE;
+import static java.sql.Types.FLOAT;
+import static java.sql.Types.INTEGER;
+import static java.sql.Types.LONGNVARCHAR;
+import static java.sql.Types.LONGVARBINARY;
+import static java.sql.Types.LONGVARCHAR;
+import static java.sql.Types.NCLOB;
+import static java.sql.Types.REAL;
+import static java.sql.Types.SMALLINT;
+import static java.sql.Types.TINYINT;
+import static java.sql.Types.VARBINARY;
+
+/**
+ * Layout of a binary columnar data file. All numbers are big-endian. Strings are written as a byte
+ * length followed by UTF-8 bytes.
+ *
+ * <pre>
+ * file    := MAGIC VERSION table* END_OF_FILE
+ * table   := TABLE title:str columnCount:int column* batch* END_OF_TABLE
+ * column  := name:str typeName:str javaSqlType:int vectorType:byte
+ * batch   := BATCH rowCount:int length:int compressedLength:int deflated:byte[compressedLength]
+ * </pre>
+ *
+ * <p>Rows are written in batches of up to {@link #BATCH_SIZE} rows. A batch holds one vector for
+ * each column, and is compressed with deflate. A vector starts with a bitmap of null values, one
+ * bit for each row, followed by values for the rows that are not null.
+ *
+ * <pre>
+ * vector  := nulls:byte[(rowCount + 7) / 8] values
+ * boolean := byte[valueCount]
+ * long    := long[valueCount]
+ * double  := double[valueCount]
+ * string  := PLAIN str[valueCount]
+ *          | DICTIONARY dictionarySize:int str[dictionarySize] code:int[valueCount]
+ * bytes   := (length:int byte[length])[valueCount]
+ * </pre>
+ *
+ * <p>String vectors are dictionary encoded when values repeat, so that each distinct value is
+ * written only once in a batch. Each table is self-contained, so tables can be written separately
+ * and joined together in any order.
+ */
+final class ColumnarDataFormat {
+
+  static final int MAGIC = 0x53434443; // "SCDC"
+  static final int VERSION = 1;
+
+  static final int BATCH_SIZE = 4096;
+
+  // Markers
+  static final byte TABLE = 1;
+  static final byte BATCH = 2;
+  static final byte END_OF_TABLE = 3;
+  static final byte END_OF_FILE = 4;
+
+  // Column vector types
+  static final byte VECTOR_BOOLEAN = 1;
+  static final byte VECTOR_LONG = 2;
+  static final byte VECTOR_DOUBLE = 3;
+  static final byte VECTOR_STRING = 4;
+  static final byte VECTOR_BYTES = 5;
+
+  // String vector encodings
+  static final byte PLAIN = 1;
+  static final byte DICTIONARY = 2;
+
+  /**
+   * Whether a column holds large objects, which are only written if LOBs are shown.
+   *
+   * @param javaSqlType Java SQL type of the column
+   * @return Whether the column holds large objects
+   */
+  static boolean isLargeObject(final int javaSqlType) {
+    switch (javaSqlType) {
+      case BLOB:
+      case LONGVARBINARY:
+      case CLOB:
+      case NCLOB:
+      case LONGNVARCHAR:
+      case LONGVARCHAR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Type of vector used to write values for a column. Exact numeric types, such as decimals, and
+   * date and time types are written as strings, so that they do not lose precision.
+   *
+   * @param javaSqlType Java SQL type of the column
+   * @return Column vector type
+   */
+  static byte vectorType(final int javaSqlType) {
+    switch (javaSqlType) {
+      case BIT:
+      case BOOLEAN:
+        return VECTOR_BOOLEAN;
+      case TINYINT:
+      case SMALLINT:
+      case INTEGER:
+      case BIGINT:
+        return VECTOR_LONG;
+      case REAL:
+      case FLOAT:
+      case DOUBLE:
+        return VECTOR_DOUBLE;
+      case BINARY:
+      case VARBINARY:
+      case LONGVARBINARY:
+      case BLOB:
+        return VECTOR_BYTES;
+      default:
+        return VECTOR_STRING;
+    }
+  }
+
+  private ColumnarDataFormat() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,228 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static java.nio.file.Files.newOutputStream;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.END_OF_FILE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.MAGIC;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VERSION;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.options.OutputOptions;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Binary columnar formatting of data, which can be read back with a {@link ColumnarDataReader}.
+ * Data is always written to a file, since the output is not text.
+ */
+final class ColumnarDataFormatter implements TableDataFormatter<byte[]> {
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(ColumnarDataFormatter.class.getName());
+
+  private final OperationOptions options;
+  private final OutputOptions outputOptions;
+  private final Identifiers identifiers;
+  private DataOutputStream out;
+  private ColumnarDataEncoder encoder;
+
+  /**
+   * Binary columnar formatting of data.
+   *
+   * @param options Options for formatting of data
+   * @param outputOptions Options for output
+   * @param identifierQuoteString Quote character for identifier
+   */
+  ColumnarDataFormatter(
+      final OperationOptions options,
+      final OutputOptions outputOptions,
+      final String identifierQuoteString) {
+    this.options = requireNonNull(options, "Options not provided");
+    this.outputOptions = requireNonNull(outputOptions, "Output options not provided");
+    identifiers =
+        Identifiers.identifiers()
+            .withIdentifierQuoteString(identifierQuoteString)
+            .withIdentifierQuotingStrategy(options.getIdentifierQuotingStrategy())
+            .build();
+  }
+
+  @Override
+  public void begin() throws SchemaCrawlerException {
+    final Path outputFile =
+        outputOptions.getOutputFile(DataOutputFormat.columnar.getFileExtension());
+    LOGGER.log(Level.INFO, new StringFormat("Writing columnar data to <%s>", outputFile));
+    try {
+      out = new DataOutputStream(new BufferedOutputStream(newOutputStream(outputFile)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Cannot open output file", e);
+    }
+    encoder = new ColumnarDataEncoder(options.isShowLobs());
+  }
+
+  @Override
+  public void end() throws SchemaCrawlerException {
+    encoder.close();
+    try (final DataOutputStream fileOut = out) {
+      fileOut.writeByte(END_OF_FILE);
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not write data", e);
+    }
+  }
+
+  @Override
+  public byte[] formatData(final Table table, final ResultSet rows)
+      throws SchemaCrawlerException {
+    if (rows == null) {
+      return null;
+    }
+
+    final ByteArrayOutputStream segment = new ByteArrayOutputStream();
+    try (final ColumnarDataEncoder segmentEncoder =
+            new ColumnarDataEncoder(options.isShowLobs());
+        final DataOutputStream segmentOut = new DataOutputStream(segment)) {
+      segmentEncoder.encode(getTableName(table), rows, segmentOut);
+    } catch (final SQLException e) {
+      throw new SchemaCrawlerException(e.getMessage(), e);
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not write data", e);
+    }
+    return segment.toByteArray();
+  }
+
+  @Override
+  public void handle(final CrawlInfo crawlInfo) {
+    // Not written
+  }
+
+  @Override
+  public void handle(final DatabaseInfo databaseInfo) {
+    // Not written
+  }
+
+  @Override
+  public void handle(final JdbcDriverInfo jdbcDriverInfo) {
+    // Not written
+  }
+
+  @Override
+  public void handleData(final Query query, final ResultSet rows) throws SchemaCrawlerException {
+    final String title;
+    if (query != null) {
+      title = query.getName();
+    } else {
+      title = "";
+    }
+
+    handleData(title, rows);
+  }
+
+  @Override
+  public void handleData(final Table table, final ResultSet rows) throws SchemaCrawlerException {
+    handleData(getTableName(table), rows);
+  }
+
+  @Override
+  public void handleDataSegment(final byte[] segment) throws SchemaCrawlerException {
+    if (segment == null) {
+      return;
+    }
+
+    try {
+      out.write(segment);
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not write data", e);
+    }
+  }
+
+  @Override
+  public void handleHeaderEnd() {
+    // Not written
+  }
+
+  @Override
+  public void handleHeaderStart() {
+    // Not written
+  }
+
+  @Override
+  public void handleInfoEnd() {
+    // Not written
+  }
+
+  @Override
+  public void handleInfoStart() {
+    // Not written
+  }
+
+  private String getTableName(final Table table) {
+    final String tableName;
+    if (table != null) {
+      if (options.isShowUnqualifiedNames()) {
+        tableName = identifiers.quoteName(table);
+      } else {
+        tableName = identifiers.quoteFullName(table);
+      }
+    } else {
+      tableName = "";
+    }
+    return tableName;
+  }
+
+  private void handleData(final String title, final ResultSet rows) throws SchemaCrawlerException {
+    if (rows == null) {
+      return;
+    }
+
+    try {
+      encoder.encode(title, rows, out);
+    } catch (final SQLException e) {
+      throw new SchemaCrawlerException(e.getMessage(), e);
+    } catch (final IOException e) {
+      throw new SchemaCrawlerException("Could not write data", e);
+    }
+  }
+}
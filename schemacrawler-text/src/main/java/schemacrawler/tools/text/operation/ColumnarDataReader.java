@@ -0,0 +1,394 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.BATCH;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.DICTIONARY;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.END_OF_FILE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.END_OF_TABLE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.MAGIC;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.TABLE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_BOOLEAN;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_BYTES;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_DOUBLE;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VECTOR_LONG;
+import static schemacrawler.tools.text.operation.ColumnarDataFormat.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads data written in the binary columnar data format, one table at a time, and one row at a
+ * time within a table. Rows are decoded a batch at a time.
+ *
+ * <p>Values are returned as a {@link Boolean}, {@link Long}, {@link Double}, {@link String}, or a
+ * byte array, depending on the type of the column. Exact numeric types, and date and time types are
+ * returned as strings. Large objects are null, unless they were written with LOBs shown.
+ */
+public final class ColumnarDataReader implements AutoCloseable {
+
+  private final DataInputStream in;
+  private final Inflater inflater;
+  private byte[] compressed;
+  private byte[] decoded;
+  private boolean isInTable;
+  private String title;
+  private List<String> columnNames;
+  private int[] columnTypes;
+  private byte[] vectorTypes;
+  private boolean[][] nulls;
+  private long[][] longs;
+  private double[][] doubles;
+  private Object[][] objects;
+  private int batchRowCount;
+  private int row;
+
+  /**
+   * Reads binary columnar data from a stream.
+   *
+   * @param input Input stream, which is closed when the reader is closed
+   * @throws IOException If the stream does not have columnar data
+   */
+  public ColumnarDataReader(final InputStream input) throws IOException {
+    requireNonNull(input, "No input stream provided");
+    in = new DataInputStream(new BufferedInputStream(input));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not columnar data");
+    }
+    final int version = in.readInt();
+    if (version > VERSION) {
+      throw new IOException(String.format("Unsupported columnar data version <%d>", version));
+    }
+    inflater = new Inflater();
+    compressed = new byte[0];
+    decoded = new byte[0];
+    columnNames = Collections.emptyList();
+    columnTypes = new int[0];
+  }
+
+  @Override
+  public void close() throws IOException {
+    inflater.end();
+    in.close();
+  }
+
+  public int getColumnCount() {
+    return columnNames.size();
+  }
+
+  /**
+   * Names of columns in the current table.
+   *
+   * @return Column names
+   */
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  /**
+   * Java SQL type of a column in the current table, from {@link java.sql.Types}.
+   *
+   * @param column Column index, starting from 0
+   * @return Java SQL type
+   */
+  public int getColumnType(final int column) {
+    return columnTypes[column];
+  }
+
+  /**
+   * Value of a column in the current row.
+   *
+   * @param column Column index, starting from 0
+   * @return Value, or null
+   */
+  public Object getObject(final int column) {
+    if (nulls[column][row]) {
+      return null;
+    }
+    switch (vectorTypes[column]) {
+      case VECTOR_BOOLEAN:
+        return longs[column][row] != 0;
+      case VECTOR_LONG:
+        return longs[column][row];
+      case VECTOR_DOUBLE:
+        return doubles[column][row];
+      default:
+        return objects[column][row];
+    }
+  }
+
+  /**
+   * Title of the current table, which is usually the table name.
+   *
+   * @return Title
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Moves to the next row in the current table.
+   *
+   * @return False if there are no more rows in the table
+   * @throws IOException On an exception
+   */
+  public boolean next() throws IOException {
+    if (row + 1 < batchRowCount) {
+      row++;
+      return true;
+    }
+    if (!isInTable) {
+      return false;
+    }
+
+    final byte marker = in.readByte();
+    switch (marker) {
+      case BATCH:
+        readBatch();
+        return true;
+      case END_OF_TABLE:
+        isInTable = false;
+        batchRowCount = 0;
+        return false;
+      default:
+        throw new IOException(String.format("Bad columnar data, with marker <%d>", marker));
+    }
+  }
+
+  /**
+   * Moves to the next table, skipping any rows that have not been read in the current table.
+   *
+   * @return False if there are no more tables
+   * @throws IOException On an exception
+   */
+  public boolean nextTable() throws IOException {
+    // Skip remaining batches without decoding them
+    while (isInTable) {
+      final byte marker = in.readByte();
+      if (marker == BATCH) {
+        in.readInt();
+        in.readInt();
+        skipFully(in.readInt());
+      } else if (marker == END_OF_TABLE) {
+        isInTable = false;
+      } else {
+        throw new IOException(String.format("Bad columnar data, with marker <%d>", marker));
+      }
+    }
+    batchRowCount = 0;
+
+    final byte marker = in.readByte();
+    switch (marker) {
+      case TABLE:
+        readTableHeader();
+        return true;
+      case END_OF_FILE:
+        return false;
+      default:
+        throw new IOException(String.format("Bad columnar data, with marker <%d>", marker));
+    }
+  }
+
+  private void readBatch() throws IOException {
+    final int rowCount = in.readInt();
+    final int length = in.readInt();
+    final int compressedLength = in.readInt();
+    if (compressed.length < compressedLength) {
+      compressed = new byte[compressedLength];
+    }
+    if (decoded.length < length) {
+      decoded = new byte[length];
+    }
+    in.readFully(compressed, 0, compressedLength);
+
+    inflater.reset();
+    inflater.setInput(compressed, 0, compressedLength);
+    try {
+      int decodedLength = 0;
+      while (decodedLength < length) {
+        final int inflated = inflater.inflate(decoded, decodedLength, length - decodedLength);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IOException("Bad columnar data, with truncated batch");
+        }
+        decodedLength = decodedLength + inflated;
+      }
+    } catch (final DataFormatException e) {
+      throw new IOException("Bad columnar data", e);
+    }
+
+    final DataInputStream batch =
+        new DataInputStream(new ByteArrayInputStream(decoded, 0, length));
+    for (int column = 0; column < vectorTypes.length; column++) {
+      readVector(batch, column, rowCount);
+    }
+    batchRowCount = rowCount;
+    row = 0;
+  }
+
+  private String readString(final DataInputStream input) throws IOException {
+    final byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private void readStrings(final DataInputStream batch, final int column, final int rowCount)
+      throws IOException {
+    final boolean[] columnNulls = nulls[column];
+    final Object[] values = objects[column];
+    final byte encoding = batch.readByte();
+    if (encoding == DICTIONARY) {
+      final String[] dictionary = new String[batch.readInt()];
+      for (int i = 0; i < dictionary.length; i++) {
+        dictionary[i] = readString(batch);
+      }
+      for (int i = 0; i < rowCount; i++) {
+        if (!columnNulls[i]) {
+          values[i] = dictionary[batch.readInt()];
+        }
+      }
+    } else {
+      for (int i = 0; i < rowCount; i++) {
+        if (!columnNulls[i]) {
+          values[i] = readString(batch);
+        }
+      }
+    }
+  }
+  private void readTableHeader() throws IOException {
+    title = readString(in);
+    final int columnCount = in.readInt();
+    final List<String> names = new ArrayList<>(columnCount);
+    columnTypes = new int[columnCount];
+    vectorTypes = new byte[columnCount];
+    for (int column = 0; column < columnCount; column++) {
+      names.add(readString(in));
+      // Column type name
+      readString(in);
+      columnTypes[column] = in.readInt();
+      vectorTypes[column] = in.readByte();
+    }
+    columnNames = Collections.unmodifiableList(names);
+
+    nulls = new boolean[columnCount][];
+    longs = new long[columnCount][];
+    doubles = new double[columnCount][];
+    objects = new Object[columnCount][];
+    isInTable = true;
+    batchRowCount = 0;
+    row = 0;
+  }
+
+  private void readVector(final DataInputStream batch, final int column, final int rowCount)
+      throws IOException {
+    if (nulls[column] == null || nulls[column].length < rowCount) {
+      nulls[column] = new boolean[rowCount];
+    }
+    final boolean[] columnNulls = nulls[column];
+    for (int start = 0; start < rowCount; start = start + 8) {
+      final int nullBits = batch.readUnsignedByte();
+      for (int bit = 0; bit < 8 && start + bit < rowCount; bit++) {
+        columnNulls[start + bit] = (nullBits & 1 << bit) != 0;
+      }
+    }
+
+    final byte vectorType = vectorTypes[column];
+    if (vectorType == VECTOR_BOOLEAN || vectorType == VECTOR_LONG) {
+      if (longs[column] == null || longs[column].length < rowCount) {
+        longs[column] = new long[rowCount];
+      }
+    } else if (vectorType == VECTOR_DOUBLE) {
+      if (doubles[column] == null || doubles[column].length < rowCount) {
+        doubles[column] = new double[rowCount];
+      }
+    } else {
+      if (objects[column] == null || objects[column].length < rowCount) {
+        objects[column] = new Object[rowCount];
+      } else {
+        Arrays.fill(objects[column], null);
+      }
+    }
+
+    switch (vectorType) {
+      case VECTOR_BOOLEAN:
+        for (int i = 0; i < rowCount; i++) {
+          if (!columnNulls[i]) {
+            longs[column][i] = batch.readByte();
+          }
+        }
+        break;
+      case VECTOR_LONG:
+        for (int i = 0; i < rowCount; i++) {
+          if (!columnNulls[i]) {
+            longs[column][i] = batch.readLong();
+          }
+        }
+        break;
+      case VECTOR_DOUBLE:
+        for (int i = 0; i < rowCount; i++) {
+          if (!columnNulls[i]) {
+            doubles[column][i] = batch.readDouble();
+          }
+        }
+        break;
+      case VECTOR_BYTES:
+        for (int i = 0; i < rowCount; i++) {
+          if (!columnNulls[i]) {
+            final byte[] bytes = new byte[batch.readInt()];
+            batch.readFully(bytes);
+            objects[column][i] = bytes;
+          }
+        }
+        break;
+      default:
+        readStrings(batch, column, rowCount);
+        break;
+    }
+  }
+
+  private void skipFully(final int length) throws IOException {
+    int skipped = 0;
+    while (skipped < length) {
+      final int skippedBytes = in.skipBytes(length - skipped);
+      if (skippedBytes <= 0) {
+        throw new IOException("Bad columnar data, with truncated batch");
+      }
+      skipped = skipped + skippedBytes;
+    }
+  }
+}
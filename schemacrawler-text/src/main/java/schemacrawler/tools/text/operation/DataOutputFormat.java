@@ -0,0 +1,114 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.tools.options.OutputFormat;
+import schemacrawler.tools.options.OutputFormatState;
+import us.fatehi.utility.string.StringFormat;
+
+/** Enumeration for binary data output format type, for operations. */
+public enum DataOutputFormat implements OutputFormat {
+  columnar("SchemaCrawler binary columnar data format", "scdata");
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(DataOutputFormat.class.getName());
+
+  /**
+   * Gets the value from the format.
+   *
+   * @param format Data output format.
+   * @return DataOutputFormat
+   */
+  public static DataOutputFormat fromFormat(final String format) {
+    final DataOutputFormat outputFormat = fromFormatOrNull(format);
+    if (outputFormat == null) {
+      LOGGER.log(Level.CONFIG, new StringFormat("Unknown format <%s>, using default", format));
+      return columnar;
+    } else {
+      return outputFormat;
+    }
+  }
+
+  /**
+   * Checks if the value of the format is supported.
+   *
+   * @return True if the format is a data output format
+   */
+  public static boolean isSupportedFormat(final String format) {
+    return fromFormatOrNull(format) != null;
+  }
+
+  private static DataOutputFormat fromFormatOrNull(final String format) {
+    if (isBlank(format)) {
+      return null;
+    }
+    for (final DataOutputFormat outputFormat : DataOutputFormat.values()) {
+      if (outputFormat.outputFormatState.isSupportedFormat(format)) {
+        return outputFormat;
+      }
+    }
+    return null;
+  }
+
+  private final OutputFormatState outputFormatState;
+
+  private DataOutputFormat(final String description, final String... additionalFormatSpecifiers) {
+    outputFormatState = new OutputFormatState(name(), description, additionalFormatSpecifiers);
+  }
+
+  @Override
+  public String getDescription() {
+    return outputFormatState.getDescription();
+  }
+
+  public String getFileExtension() {
+    final List<String> formats = outputFormatState.getFormats();
+    return formats.get(formats.size() - 1);
+  }
+
+  @Override
+  public String getFormat() {
+    return outputFormatState.getFormat();
+  }
+
+  @Override
+  public List<String> getFormats() {
+    return outputFormatState.getFormats();
+  }
+
+  @Override
+  public String toString() {
+    return outputFormatState.toString();
+  }
+}
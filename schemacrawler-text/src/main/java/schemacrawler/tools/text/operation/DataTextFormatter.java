@@ -31,6 +31,8 @@ package schemacrawler.tools.text.operation;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.analysis.counts.TableRowCountsUtility.getRowCountMessage;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
@@ -41,8 +43,8 @@ import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.text.base.BaseTabularFormatter;
+import schemacrawler.tools.text.utility.TextFormattingHelper;
 import schemacrawler.tools.text.utility.TextFormattingHelper.DocumentHeaderType;
-import schemacrawler.tools.traversal.DataTraversalHandler;
 import us.fatehi.utility.Color;
 import us.fatehi.utility.html.Alignment;
 
@@ -52,32 +54,32 @@ import us.fatehi.utility.html.Alignment;
  * @author Sualeh Fatehi
  */
 final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
-    implements DataTraversalHandler {
+    implements TableDataFormatter<String> {
 
-  private static String getMessage(final double aggregate) {
-    final Number number;
-    if (Math.abs(aggregate - (int) aggregate) < 1E-10D) {
-      number = Integer.valueOf((int) aggregate);
-    } else {
-      number = Double.valueOf(aggregate);
+  private static String getMessage(final long aggregate, final boolean isEstimate) {
+    final String message = getRowCountMessage(aggregate);
+    if (isEstimate && aggregate > 0) {
+      return "approximately " + message;
     }
-    final String message = getRowCountMessage(number);
     return message;
   }
 
   private final Operation operation;
+  private final TableSampler tableSampler;
   private int dataBlockCount;
 
   /**
    * Text formatting of data.
    *
    * @param operation Options for text formatting of data
+   * @param tableSampler Sampling of rows in tables, to estimate counts
    * @param options Options for text formatting of data
    * @param outputOptions Options for text formatting of data
    * @param identifierQuoteString Quote character for identifier
    */
   DataTextFormatter(
       final Operation operation,
+      final TableSampler tableSampler,
       final OperationOptions options,
       final OutputOptions outputOptions,
       final String identifierQuoteString)
@@ -89,6 +91,7 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
         outputOptions,
         identifierQuoteString);
     this.operation = requireNonNull(operation, "No operation provided");
+    this.tableSampler = requireNonNull(tableSampler, "No table sampler provided");
   }
 
   /** {@inheritDoc} */
@@ -101,6 +104,20 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
     super.end();
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public String formatData(final Table table, final ResultSet rows) throws SchemaCrawlerException {
+    if (rows == null) {
+      return null;
+    }
+
+    final StringWriter segment = new StringWriter();
+    try (final PrintWriter segmentWriter = new PrintWriter(segment)) {
+      writeData(newFormattingHelper(segmentWriter), table, getTableName(table), rows);
+    }
+    return segment.toString();
+  }
+
   /** {@inheritDoc} */
   @Override
   public void handleData(final Query query, final ResultSet rows) throws SchemaCrawlerException {
@@ -111,12 +128,32 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
       title = "";
     }
 
-    handleData(title, rows);
+    handleData(null, title, rows);
   }
 
   /** {@inheritDoc} */
   @Override
   public void handleData(final Table table, final ResultSet rows) throws SchemaCrawlerException {
+    handleData(table, getTableName(table), rows);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void handleDataSegment(final String segment) {
+    if (segment == null) {
+      return;
+    }
+
+    if (dataBlockCount == 0) {
+      printHeader();
+    }
+
+    formattingHelper.append(segment);
+
+    dataBlockCount++;
+  }
+
+  private String getTableName(final Table table) {
     final String tableName;
     if (table != null) {
       if (options.isShowUnqualifiedNames()) {
@@ -127,17 +164,22 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
     } else {
       tableName = "";
     }
-
-    handleData(tableName, rows);
+    return tableName;
   }
 
   /**
    * Handles an aggregate operation, such as a count, for a given table.
    *
+   * @param dataFormattingHelper Formatting helper to write to
+   * @param table Table, or null if the aggregate is not for a table
    * @param title Title
    * @param results Results
    */
-  private void handleAggregateOperationForTable(final String title, final ResultSet results)
+  private void handleAggregateOperationForTable(
+      final TextFormattingHelper dataFormattingHelper,
+      final Table table,
+      final String title,
+      final ResultSet results)
       throws SchemaCrawlerException {
     long aggregate = 0;
     try {
@@ -147,12 +189,15 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
     } catch (final SQLException e) {
       throw new SchemaCrawlerException("Could not obtain aggregate data", e);
     }
-    final String message = getMessage(aggregate);
+    final boolean isEstimate = tableSampler.isSampled(table);
+    final String message =
+        getMessage(tableSampler.estimateRowCount(table, aggregate), isEstimate);
     //
-    formattingHelper.writeNameValueRow(title, message, Alignment.right);
+    dataFormattingHelper.writeNameValueRow(title, message, Alignment.right);
   }
 
-  private void handleData(final String title, final ResultSet rows) throws SchemaCrawlerException {
+  private void handleData(final Table table, final String title, final ResultSet rows)
+      throws SchemaCrawlerException {
     if (rows == null) {
       return;
     }
@@ -161,34 +206,18 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
       printHeader();
     }
 
-    if (operation == OperationType.count) {
-      handleAggregateOperationForTable(title, rows);
-    } else {
-      formattingHelper.println();
-      formattingHelper.println();
-      formattingHelper.writeObjectStart();
-      formattingHelper.writeObjectNameRow("", title, "", Color.white);
-      try {
-        final MetadataResultSet dataRows = new MetadataResultSet(rows);
-        dataRows.setShowLobs(options.isShowLobs());
-
-        formattingHelper.writeRowHeader(dataRows.getColumnNames());
-
-        iterateRows(dataRows);
-      } catch (final SQLException e) {
-        throw new SchemaCrawlerException(e.getMessage(), e);
-      }
-      formattingHelper.writeObjectEnd();
-    }
+    writeData(formattingHelper, table, title, rows);
 
     dataBlockCount++;
   }
 
-  private void iterateRows(final MetadataResultSet dataRows) throws SQLException {
+  private void iterateRows(
+      final TextFormattingHelper dataFormattingHelper, final MetadataResultSet dataRows)
+      throws SQLException {
     while (dataRows.next()) {
       final List<Object> currentRow = dataRows.row();
       final Object[] columnData = currentRow.toArray(new Object[currentRow.size()]);
-      formattingHelper.writeRow(columnData);
+      dataFormattingHelper.writeRow(columnData);
     }
   }
 
@@ -200,4 +229,31 @@ final class DataTextFormatter extends BaseTabularFormatter<OperationOptions>
       formattingHelper.writeObjectNameRow("", operation.getTitle(), "", Color.white);
     }
   }
+
+  private void writeData(
+      final TextFormattingHelper dataFormattingHelper,
+      final Table table,
+      final String title,
+      final ResultSet rows)
+      throws SchemaCrawlerException {
+    if (operation == OperationType.count) {
+      handleAggregateOperationForTable(dataFormattingHelper, table, title, rows);
+    } else {
+      dataFormattingHelper.println();
+      dataFormattingHelper.println();
+      dataFormattingHelper.writeObjectStart();
+      dataFormattingHelper.writeObjectNameRow("", title, "", Color.white);
+      try {
+        final MetadataResultSet dataRows = new MetadataResultSet(rows);
+        dataRows.setShowLobs(options.isShowLobs());
+
+        dataFormattingHelper.writeRowHeader(dataRows.getColumnNames());
+
+        iterateRows(dataFormattingHelper, dataRows);
+      } catch (final SQLException e) {
+        throw new SchemaCrawlerException(e.getMessage(), e);
+      }
+      dataFormattingHelper.writeObjectEnd();
+    }
+  }
 }
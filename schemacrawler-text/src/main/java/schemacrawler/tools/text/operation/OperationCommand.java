@@ -29,14 +29,26 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.operation;
 
 import static schemacrawler.schemacrawler.QueryUtility.executeAgainstTable;
+import static schemacrawler.schemacrawler.QueryUtility.prepareAgainstTable;
 import static us.fatehi.utility.DatabaseUtility.createStatement;
+import static us.fatehi.utility.DatabaseUtility.executePreparedStatement;
 import static us.fatehi.utility.DatabaseUtility.executeSql;
+import static us.fatehi.utility.ExecutorUtility.awaitTermination;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
@@ -45,10 +57,12 @@ import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
 import schemacrawler.tools.options.TextOutputFormat;
-import schemacrawler.tools.traversal.DataTraversalHandler;
 import schemacrawler.utility.NamedObjectSort;
+import us.fatehi.utility.DaemonThreadFactory;
+import us.fatehi.utility.StatementCanceller;
 import us.fatehi.utility.string.StringFormat;
 
 /**
@@ -82,9 +96,18 @@ public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOp
       return;
     }
 
-    final DataTraversalHandler handler = getDataTraversalHandler();
+    final TableSampler tableSampler = new TableSampler(commandOptions, tableSampleSyntax);
+    final TableDataFormatter<?> handler = getDataTraversalHandler(tableSampler);
     final Query query = commandOptions.getQuery();
 
+    if (TableSampleSyntax.isSample(commandOptions.getSamplePercent())
+        && !tableSampleSyntax.supportsSampling()) {
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat(
+              "Reading all rows, since sampling is not supported for <%s>", tableSampleSyntax));
+    }
+
     handler.begin();
 
     handler.handleInfoStart();
@@ -102,41 +125,178 @@ public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOp
       final Identifiers identifiers =
           Identifiers.identifiers().withIdentifierQuoteString(identifierQuoteString).build();
 
-      try (final Statement statement = createStatement(connection)) {
-        for (final Table table : getSortedTables(catalog)) {
-          final boolean isAlphabeticalSortForTableColumns =
-              commandOptions.isAlphabeticalSortForTableColumns();
-          try (final ResultSet results =
-              executeAgainstTable(
-                  query, statement, table, isAlphabeticalSortForTableColumns, identifiers)) {
-            handler.handleData(table, results);
-          } catch (final SQLException e) {
-            LOGGER.log(Level.WARNING, new StringFormat("Bad operation for table <%s>", table), e);
-          }
+      final List<? extends Table> tables = getSortedTables(catalog);
+      final int threadCount;
+      if (dataSource == null) {
+        threadCount = 1;
+      } else {
+        threadCount = Math.min(commandOptions.getMaxThreads(), tables.size());
+      }
+
+      try (final StatementCanceller canceller =
+          new StatementCanceller(
+              "schemacrawler-operation-canceller", commandOptions.getTableTimeoutSeconds())) {
+        if (threadCount > 1) {
+          handleTablesConcurrently(
+              threadCount, canceller, tableSampler, handler, query, identifiers, tables);
+        } else {
+          handleTables(canceller, tableSampler, handler, query, identifiers, tables);
         }
       }
     } else {
       final String sql = query.getQuery();
-      try (final Statement statement = createStatement(connection);
-          final ResultSet results = executeSql(statement, sql)) {
-        handler.handleData(query, results);
+      try (final Statement statement = createStatement(connection)) {
+        tableSampler.limitRows(statement);
+        try (final ResultSet results = executeSql(statement, sql)) {
+          handler.handleData(query, results);
+        }
       }
     }
 
     handler.end();
   }
 
+  /** Each worker has its own connection, when tables are processed concurrently. */
+  @Override
+  public int getMaxConnections() {
+    final int maxThreads = commandOptions.getMaxThreads();
+    if (maxThreads > 1) {
+      return maxThreads;
+    }
+    return 0;
+  }
+
   @Override
   public boolean usesConnection() {
     return true;
   }
 
-  private DataTraversalHandler getDataTraversalHandler() throws SchemaCrawlerException {
+  /**
+   * Runs the operation against a single table, and formats the results into a segment of output.
+   * If the operation runs for longer than the timeout, it is cancelled. Queries with bind
+   * parameters run on a prepared statement of their own, which gets the same row limit, and is the
+   * statement that is cancelled. Tables that cannot be processed are logged and skipped.
+   *
+   * @return Formatted output for the table, or null if there is no output
+   */
+  private <S> S formatTable(
+      final Statement statement,
+      final StatementCanceller canceller,
+      final TableSampler tableSampler,
+      final TableDataFormatter<S> handler,
+      final Query query,
+      final Identifiers identifiers,
+      final Table table)
+      throws SchemaCrawlerException {
+    final Query tableQuery = tableSampler.getQuery(query, table);
+    final boolean isAlphabeticalSortForTableColumns =
+        commandOptions.isAlphabeticalSortForTableColumns();
+    try (final PreparedStatement preparedStatement =
+        tableQuery.hasBindParameters()
+            ? prepareAgainstTable(
+                tableQuery,
+                statement.getConnection(),
+                table,
+                isAlphabeticalSortForTableColumns,
+                identifiers)
+            : null) {
+      tableSampler.limitRows(preparedStatement);
+      final Future<?> cancellation =
+          canceller.cancelAfterTimeout(
+              preparedStatement != null ? preparedStatement : statement,
+              String.format("operation for table <%s>", table));
+      try (final ResultSet results =
+          preparedStatement != null
+              ? executePreparedStatement(preparedStatement, tableQuery.getQuery())
+              : executeAgainstTable(
+                  tableQuery, statement, table, isAlphabeticalSortForTableColumns, identifiers)) {
+        return handler.formatData(table, results);
+      } finally {
+        cancellation.cancel(false);
+      }
+    } catch (final SQLException e) {
+      LOGGER.log(Level.WARNING, new StringFormat("Bad operation for table <%s>", table), e);
+    } catch (final SchemaCrawlerException e) {
+      // Results may fail part way through, if the operation was cancelled
+      if (!(e.getCause() instanceof SQLException)) {
+        throw e;
+      }
+      LOGGER.log(Level.WARNING, new StringFormat("Bad operation for table <%s>", table), e);
+    }
+    return null;
+  }
+
+  /**
+   * Formats tables taken in order from the shared list, until there are none left. Workers wait
+   * before taking another table if too many tables are already formatted but not yet written, so
+   * that a slow table does not cause the output for every later table to be held in memory. The
+   * last worker to finish fails any tables that could not be processed, so that output is not
+   * blocked waiting for them.
+   */
+  private <S> void formatTables(
+      final StatementCanceller canceller,
+      final TableSampler tableSampler,
+      final TableDataFormatter<S> handler,
+      final Query query,
+      final Identifiers identifiers,
+      final List<? extends Table> tables,
+      final List<CompletableFuture<S>> segments,
+      final AtomicInteger nextTable,
+      final Semaphore tablesInFlight,
+      final AtomicInteger activeWorkers) {
+    try (final Connection workerConnection = dataSource.get();
+        final Statement statement = createStatement(workerConnection)) {
+      tableSampler.limitRows(statement);
+      while (true) {
+        tablesInFlight.acquire();
+        final int tableIndex = nextTable.getAndIncrement();
+        if (tableIndex >= tables.size()) {
+          tablesInFlight.release();
+          break;
+        }
+        final CompletableFuture<S> segment = segments.get(tableIndex);
+        try {
+          segment.complete(
+              formatTable(
+                  statement,
+                  canceller,
+                  tableSampler,
+                  handler,
+                  query,
+                  identifiers,
+                  tables.get(tableIndex)));
+        } catch (final SchemaCrawlerException | RuntimeException e) {
+          segment.completeExceptionally(e);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.log(Level.FINE, "Interrupted while running operation", e);
+    } catch (final SQLException | RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Could not run operation on a new connection", e);
+    } finally {
+      if (activeWorkers.decrementAndGet() == 0) {
+        for (final CompletableFuture<S> segment : segments) {
+          segment.completeExceptionally(
+              new SchemaCrawlerException("No connection available to run operation"));
+        }
+      }
+    }
+  }
+
+  private TableDataFormatter<?> getDataTraversalHandler(final TableSampler tableSampler)
+      throws SchemaCrawlerException {
     final Operation operation = commandOptions.getOperation();
     final String identifierQuoteString = identifiers.getIdentifierQuoteString();
 
-    final DataTraversalHandler formatter =
-        new DataTextFormatter(operation, commandOptions, outputOptions, identifierQuoteString);
+    final TableDataFormatter<?> formatter;
+    if (DataOutputFormat.isSupportedFormat(outputOptions.getOutputFormatValue())) {
+      formatter = new ColumnarDataFormatter(commandOptions, outputOptions, identifierQuoteString);
+    } else {
+      formatter =
+          new DataTextFormatter(
+              operation, tableSampler, commandOptions, outputOptions, identifierQuoteString);
+    }
     return formatter;
   }
 
@@ -146,9 +306,134 @@ public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOp
     return tables;
   }
 
+  /**
+   * Runs the operation against each table in turn, on the command connection. If there is a
+   * timeout, results are formatted for each table before they are written, so that an operation
+   * that is cancelled part way does not leave partial output. Each table is written as soon as it
+   * is formatted, so at most one table is held in memory.
+   */
+  private <S> void handleTables(
+      final StatementCanceller canceller,
+      final TableSampler tableSampler,
+      final TableDataFormatter<S> handler,
+      final Query query,
+      final Identifiers identifiers,
+      final List<? extends Table> tables)
+      throws SQLException, SchemaCrawlerException {
+    final boolean isAlphabeticalSortForTableColumns =
+        commandOptions.isAlphabeticalSortForTableColumns();
+    try (final Statement statement = createStatement(connection)) {
+      tableSampler.limitRows(statement);
+      for (final Table table : tables) {
+        if (canceller.hasTimeout()) {
+          handler.handleDataSegment(
+              formatTable(
+                  statement, canceller, tableSampler, handler, query, identifiers, table));
+          continue;
+        }
+        try (final ResultSet results =
+            executeAgainstTable(
+                tableSampler.getQuery(query, table),
+                statement,
+                table,
+                isAlphabeticalSortForTableColumns,
+                identifiers)) {
+          handler.handleData(table, results);
+        } catch (final SQLException e) {
+          LOGGER.log(Level.WARNING, new StringFormat("Bad operation for table <%s>", table), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the operation against tables concurrently. Each worker has its own connection, and formats
+   * the results for a table into a separate segment. Segments are written on the calling thread in
+   * table order, as soon as they are ready, so the output is the same as for a sequential run. At
+   * most twice as many tables as there are workers are formatted ahead of the output, to bound the
+   * memory held for segments that are waiting to be written.
+   */
+  private <S> void handleTablesConcurrently(
+      final int threadCount,
+      final StatementCanceller canceller,
+      final TableSampler tableSampler,
+      final TableDataFormatter<S> handler,
+      final Query query,
+      final Identifiers identifiers,
+      final List<? extends Table> tables)
+      throws SchemaCrawlerException {
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Running operation on %d tables using %d connections", tables.size(), threadCount));
+
+    final List<CompletableFuture<S>> segments = new ArrayList<>(tables.size());
+    for (int i = 0; i < tables.size(); i++) {
+      segments.add(new CompletableFuture<>());
+    }
+    final AtomicInteger nextTable = new AtomicInteger();
+    final Semaphore tablesInFlight = new Semaphore(threadCount * 2);
+    final AtomicInteger activeWorkers = new AtomicInteger(threadCount);
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threadCount, new DaemonThreadFactory("schemacrawler-operation"));
+    boolean isCompleted = false;
+    try {
+      for (int i = 0; i < threadCount; i++) {
+        executor.execute(
+            () ->
+                formatTables(
+                    canceller,
+                    tableSampler,
+                    handler,
+                    query,
+                    identifiers,
+                    tables,
+                    segments,
+                    nextTable,
+                    tablesInFlight,
+                    activeWorkers));
+      }
+      for (int i = 0; i < tables.size(); i++) {
+        final CompletableFuture<S> formattedTable = segments.get(i);
+        final S segment;
+        try {
+          segment = formattedTable.get();
+        } catch (final ExecutionException e) {
+          final Throwable cause = e.getCause();
+          if (cause instanceof SchemaCrawlerException) {
+            throw (SchemaCrawlerException) cause;
+          }
+          throw new SchemaCrawlerException(
+              String.format("Could not run operation for table <%s>", tables.get(i)), cause);
+        }
+        handler.handleDataSegment(segment);
+        // Release formatted output as soon as it is written, and let workers take another table
+        formattedTable.obtrudeValue(null);
+        tablesInFlight.release();
+      }
+      isCompleted = true;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while running operation", e);
+    } finally {
+      if (isCompleted) {
+        executor.shutdown();
+      } else {
+        // Stop workers that are waiting to take another table
+        executor.shutdownNow();
+      }
+      // Wait for workers to close their connections, whether or not the operation succeeded
+      awaitTermination(executor);
+    }
+  }
+
   private boolean isOutputFormatSupported() {
     final String outputFormatValue = outputOptions.getOutputFormatValue();
-    final boolean isOutputFormatSupported = TextOutputFormat.isSupportedFormat(outputFormatValue);
+    final boolean isOutputFormatSupported =
+        TextOutputFormat.isSupportedFormat(outputFormatValue)
+            || DataOutputFormat.isSupportedFormat(outputFormatValue);
     return isOutputFormatSupported;
   }
 }
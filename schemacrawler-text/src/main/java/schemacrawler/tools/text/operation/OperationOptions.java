@@ -42,12 +42,39 @@ public final class OperationOptions extends BaseTextOptions {
 
   private final Operation operation;
   private final boolean isShowLobs;
+  private final int maxRows;
+  private final int maxThreads;
+  private final double samplePercent;
+  private final int tableTimeoutSeconds;
 
   protected OperationOptions(final OperationOptionsBuilder builder) {
     super(builder);
 
     operation = requireNonNull(builder.operation, "No operation provided");
     isShowLobs = builder.isShowLobs;
+    maxRows = builder.maxRows;
+    maxThreads = builder.maxThreads;
+    samplePercent = builder.samplePercent;
+    tableTimeoutSeconds = builder.tableTimeoutSeconds;
+  }
+
+  /**
+   * Maximum number of rows that an operation reads from each table, or 0 if there is no limit.
+   *
+   * @return Maximum number of rows
+   */
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  /**
+   * Maximum number of tables that an operation runs against at the same time, each on its own
+   * database connection.
+   *
+   * @return Maximum number of threads
+   */
+  public int getMaxThreads() {
+    return maxThreads;
   }
 
   public Operation getOperation() {
@@ -58,6 +85,25 @@ public final class OperationOptions extends BaseTextOptions {
     return operation.getQuery();
   }
 
+  /**
+   * Approximate percentage of rows that an operation samples from each table, or 0 if all rows are
+   * read.
+   *
+   * @return Percentage of rows to sample
+   */
+  public double getSamplePercent() {
+    return samplePercent;
+  }
+
+  /**
+   * Time after which an operation on a single table is cancelled, or 0 if there is no limit.
+   *
+   * @return Table operation timeout, in seconds
+   */
+  public int getTableTimeoutSeconds() {
+    return tableTimeoutSeconds;
+  }
+
   /**
    * Whether to show LOBs.
    *
@@ -29,6 +29,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.operation;
 
 import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.options.Config;
 import schemacrawler.tools.text.base.BaseTextOptionsBuilder;
 
@@ -40,6 +41,11 @@ import schemacrawler.tools.text.base.BaseTextOptionsBuilder;
 public final class OperationOptionsBuilder
     extends BaseTextOptionsBuilder<OperationOptionsBuilder, OperationOptions> {
   private static final String SHOW_LOBS = SCHEMACRAWLER_FORMAT_PREFIX + "data.show_lobs";
+  private static final String MAX_ROWS = SCHEMACRAWLER_FORMAT_PREFIX + "data.max_rows";
+  private static final String MAX_THREADS = SCHEMACRAWLER_FORMAT_PREFIX + "data.max_threads";
+  private static final String SAMPLE_PERCENT = SCHEMACRAWLER_FORMAT_PREFIX + "data.sample_percent";
+  private static final String TABLE_TIMEOUT_SECONDS =
+      SCHEMACRAWLER_FORMAT_PREFIX + "data.table_timeout_seconds";
 
   public static OperationOptionsBuilder builder() {
     return new OperationOptionsBuilder();
@@ -48,9 +54,14 @@ public final class OperationOptionsBuilder
   private String command;
   protected Operation operation;
   protected boolean isShowLobs;
+  protected int maxRows;
+  protected int maxThreads;
+  protected double samplePercent;
+  protected int tableTimeoutSeconds;
 
   private OperationOptionsBuilder() {
     // Set default values, if any
+    maxThreads = 1;
   }
 
   @Override
@@ -61,6 +72,10 @@ public final class OperationOptionsBuilder
     super.fromConfig(config);
 
     isShowLobs = config.getBooleanValue(SHOW_LOBS, false);
+    withMaxRows(config.getIntegerValue(MAX_ROWS, 0));
+    withMaxThreads(config.getIntegerValue(MAX_THREADS, 1));
+    withSamplePercent(config.getDoubleValue(SAMPLE_PERCENT, 0));
+    withTableTimeoutSeconds(config.getIntegerValue(TABLE_TIMEOUT_SECONDS, 0));
     operation = getQueryFromCommand(config);
 
     return this;
@@ -74,6 +89,10 @@ public final class OperationOptionsBuilder
     super.fromOptions(options);
 
     isShowLobs = options.isShowLobs();
+    maxRows = options.getMaxRows();
+    maxThreads = options.getMaxThreads();
+    samplePercent = options.getSamplePercent();
+    tableTimeoutSeconds = options.getTableTimeoutSeconds();
 
     return this;
   }
@@ -97,6 +116,10 @@ public final class OperationOptionsBuilder
   public Config toConfig() {
     final Config config = super.toConfig();
     config.put(SHOW_LOBS, isShowLobs);
+    config.put(MAX_ROWS, maxRows);
+    config.put(MAX_THREADS, maxThreads);
+    config.put(SAMPLE_PERCENT, samplePercent);
+    config.put(TABLE_TIMEOUT_SECONDS, tableTimeoutSeconds);
     return config;
   }
 
@@ -111,6 +134,62 @@ public final class OperationOptionsBuilder
     return this;
   }
 
+  /**
+   * Sets the maximum number of rows that an operation reads from each table. The limit is part of
+   * the query for built-in operations, if the database has syntax for it, and is also set on the
+   * JDBC statement. Values less than 1 mean that there is no limit.
+   *
+   * @param maxRows Maximum number of rows
+   * @return Builder
+   */
+  public OperationOptionsBuilder withMaxRows(final int maxRows) {
+    this.maxRows = Math.max(0, maxRows);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of tables that an operation runs against at the same time, each on its
+   * own database connection. Values less than 1 are treated as 1, that is, tables are processed
+   * one after another on a single connection.
+   *
+   * @param maxThreads Maximum number of threads
+   * @return Builder
+   */
+  public OperationOptionsBuilder withMaxThreads(final int maxThreads) {
+    this.maxThreads = Math.max(1, maxThreads);
+    return this;
+  }
+
+  /**
+   * Sets the approximate percentage of rows that built-in operations sample from each table, for
+   * quick previews of data, and estimated counts of rows, without reading whole tables. Rows are
+   * only sampled if the database has syntax for it, and views are never sampled. Values that are
+   * not more than 0, and less than 100, mean that all rows are read.
+   *
+   * @param samplePercent Percentage of rows to sample
+   * @return Builder
+   */
+  public OperationOptionsBuilder withSamplePercent(final double samplePercent) {
+    if (TableSampleSyntax.isSample(samplePercent)) {
+      this.samplePercent = samplePercent;
+    } else {
+      this.samplePercent = 0;
+    }
+    return this;
+  }
+
+  /**
+   * Sets the time after which an operation on a single table is cancelled, so that the remaining
+   * tables are still processed. Values less than 1 mean that there is no limit.
+   *
+   * @param tableTimeoutSeconds Table operation timeout, in seconds
+   * @return Builder
+   */
+  public OperationOptionsBuilder withTableTimeoutSeconds(final int tableTimeoutSeconds) {
+    this.tableTimeoutSeconds = Math.max(0, tableTimeoutSeconds);
+    return this;
+  }
+
   private Operation getOperationFromCommand() {
     Operation operation = null;
     try {
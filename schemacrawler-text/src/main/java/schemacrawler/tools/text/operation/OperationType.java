@@ -28,18 +28,26 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.text.operation;
 
+import static us.fatehi.utility.TemplatingUtility.expandTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
 import schemacrawler.schemacrawler.Query;
 
 /** Database operations. */
 public enum OperationType implements Operation {
 
   /** Count operation */
-  count("Row Count", "Shows counts of rows in the tables", "SELECT COUNT(*) FROM ${table}"),
+  count(
+      "Row Count",
+      "Shows counts of rows in the tables",
+      "SELECT COUNT(*) FROM ${table}${tablesample}"),
   /** Dump operation */
   dump(
       "Dump",
       "Shows data from all rows in the tables",
-      "SELECT ${columns} FROM ${table} ORDER BY ${orderbycolumns}"),
+      "SELECT ${columns} FROM ${table}${tablesample} ORDER BY ${orderbycolumns}${limit}"),
   /**
    * Quick dump operation, where columns do not need to be retrieved (minimum infolevel), but the
    * order of rows may not be preserved from run to run.
@@ -49,7 +57,7 @@ public enum OperationType implements Operation {
       "Shows data from all rows in the tables, "
           + "but row order is not guaranteed - "
           + "this can be used with a minimum info-level for speed",
-      "SELECT * FROM ${table}"),
+      "SELECT * FROM ${table}${tablesample}${limit}"),
   ;
 
   private final String description;
@@ -74,7 +82,21 @@ public enum OperationType implements Operation {
    */
   @Override
   public Query getQuery() {
-    return new Query(name(), queryString);
+    return getQuery("", "");
+  }
+
+  /**
+   * Query that reads a sample of the rows in a table, and limits the number of rows returned.
+   *
+   * @param sampleClause Clause to sample rows, which follows the table reference
+   * @param limitClause Clause to limit rows, which ends the query
+   * @return Query
+   */
+  public Query getQuery(final String sampleClause, final String limitClause) {
+    final Map<String, String> clauses = new HashMap<>();
+    clauses.put("tablesample", sampleClause == null ? "" : sampleClause);
+    clauses.put("limit", limitClause == null ? "" : limitClause);
+    return new Query(name(), expandTemplate(queryString, clauses));
   }
 
   /**
@@ -0,0 +1,61 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import java.sql.ResultSet;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.traversal.DataTraversalHandler;
+
+/**
+ * Handles data for tables, either by writing it out directly, or by formatting data for each table
+ * into a separate segment, which is written out later. Segments for different tables can be
+ * formatted concurrently.
+ *
+ * @param <S> Type of formatted segment
+ */
+interface TableDataFormatter<S> extends DataTraversalHandler {
+
+  /**
+   * Formats data for a table into a separate segment, without writing it to the output.
+   *
+   * @param table Table
+   * @param rows Data for the table
+   * @return Formatted data, or null if there is no data
+   */
+  S formatData(Table table, ResultSet rows) throws SchemaCrawlerException;
+
+  /**
+   * Writes data for a table that was previously formatted with {@link #formatData(Table,
+   * ResultSet)}. Segments are written in the order that this method is called.
+   *
+   * @param segment Formatted data, or null if there is no data
+   */
+  void handleDataSegment(S segment) throws SchemaCrawlerException;
+}
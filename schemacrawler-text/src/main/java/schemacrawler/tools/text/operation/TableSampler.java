@@ -0,0 +1,122 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.TableSampleSyntax;
+
+/**
+ * Reads a sample of the rows in tables, and limits the number of rows read, with the SQL syntax
+ * that the database supports. Built-in operations sample rows in tables, but not in views, since
+ * databases generally cannot sample views. Rows returned by all queries are also limited by the
+ * JDBC driver, including for user defined queries, and for databases with no syntax to limit rows.
+ */
+final class TableSampler {
+
+  private final Operation operation;
+  private final TableSampleSyntax tableSampleSyntax;
+  private final int maxRows;
+  private final double samplePercent;
+
+  TableSampler(final OperationOptions options, final TableSampleSyntax tableSampleSyntax) {
+    requireNonNull(options, "No operation options provided");
+    operation = options.getOperation();
+    this.tableSampleSyntax = requireNonNull(tableSampleSyntax, "No table sample syntax provided");
+    maxRows = options.getMaxRows();
+    samplePercent = options.getSamplePercent();
+  }
+
+  /**
+   * Estimates the number of rows in the whole table, from the number of rows counted in a sample.
+   *
+   * @param table Table that was counted
+   * @param count Number of rows counted
+   * @return Estimated number of rows
+   */
+  long estimateRowCount(final Table table, final long count) {
+    if (!isSampled(table)) {
+      return count;
+    }
+    return Math.round(count * 100 / samplePercent);
+  }
+
+  /**
+   * Gets the query to run against a table. Queries for built-in operations sample and limit rows,
+   * and user defined queries are run as they are.
+   *
+   * @param query Query for the operation
+   * @param table Table to run the query against
+   * @return Query for the table
+   */
+  Query getQuery(final Query query, final Table table) {
+    if (!(operation instanceof OperationType)) {
+      return query;
+    }
+
+    final String sampleClause;
+    if (isSampled(table)) {
+      sampleClause = tableSampleSyntax.getSampleClause(samplePercent);
+    } else {
+      sampleClause = "";
+    }
+    final String limitClause = tableSampleSyntax.getLimitClause(maxRows);
+    return ((OperationType) operation).getQuery(sampleClause, limitClause);
+  }
+
+  /**
+   * Whether the rows of a table are sampled, so that counts are estimates.
+   *
+   * @param table Table to check
+   * @return Whether rows are sampled
+   */
+  boolean isSampled(final Table table) {
+    return operation instanceof OperationType
+        && tableSampleSyntax.supportsSampling()
+        && TableSampleSyntax.isSample(samplePercent)
+        && table != null
+        && !table.getTableType().isView();
+  }
+
+  /**
+   * Limits the rows returned by queries run with a statement.
+   *
+   * @param statement Statement to limit
+   * @throws SQLException On an exception setting the limit
+   */
+  void limitRows(final Statement statement) throws SQLException {
+    if (statement != null && maxRows > 0) {
+      statement.setMaxRows(maxRows);
+    }
+  }
+}
@@ -56,6 +56,14 @@ public abstract class BaseSchemaTextOptionsBuilder<
   private static final String SHOW_WEAK_ASSOCIATIONS =
       SCHEMACRAWLER_FORMAT_PREFIX + "show_weak_associations";
 
+  private static final String SHARD_BY = SCHEMACRAWLER_FORMAT_PREFIX + "shard_by";
+  private static final String SHARD_TABLE_COUNT =
+      SCHEMACRAWLER_FORMAT_PREFIX + "shard_table_count";
+  private static final String SHARD_MAX_THREADS =
+      SCHEMACRAWLER_FORMAT_PREFIX + "shard_max_threads";
+
+  private static final int DEFAULT_SHARD_TABLE_COUNT = 1000;
+
   private static final String SC_SORT_ALPHABETICALLY_TABLE_INDEXES =
       SCHEMACRAWLER_FORMAT_PREFIX + "sort_alphabetically.table_indexes";
   private static final String SC_SORT_ALPHABETICALLY_TABLE_FOREIGNKEYS =
@@ -74,8 +82,15 @@ public abstract class BaseSchemaTextOptionsBuilder<
   protected boolean isShowOrdinalNumbers;
   protected boolean isShowStandardColumnTypeNames;
   protected boolean isShowRowCounts;
+  protected SchemaTextShardType shardType;
+  protected int shardTableCount;
+  protected int shardMaxThreads;
 
-  public BaseSchemaTextOptionsBuilder() {}
+  public BaseSchemaTextOptionsBuilder() {
+    shardType = SchemaTextShardType.none;
+    shardTableCount = DEFAULT_SHARD_TABLE_COUNT;
+    shardMaxThreads = Runtime.getRuntime().availableProcessors();
+  }
 
   @Override
   public B fromConfig(final Config config) {
@@ -101,6 +116,10 @@ public abstract class BaseSchemaTextOptionsBuilder<
         config.getBooleanValue(SC_SORT_ALPHABETICALLY_TABLE_FOREIGNKEYS);
     isAlphabeticalSortForIndexes = config.getBooleanValue(SC_SORT_ALPHABETICALLY_TABLE_INDEXES);
 
+    shardBy(config.getEnumValue(SHARD_BY, SchemaTextShardType.none));
+    shardTableCount(config.getIntegerValue(SHARD_TABLE_COUNT, DEFAULT_SHARD_TABLE_COUNT));
+    shardMaxThreads(config.getIntegerValue(SHARD_MAX_THREADS, shardMaxThreads));
+
     // Override values from command line
     fromConfigCommandLineOverride(config);
 
@@ -130,6 +149,10 @@ public abstract class BaseSchemaTextOptionsBuilder<
     isAlphabeticalSortForForeignKeys = options.isAlphabeticalSortForForeignKeys();
     isAlphabeticalSortForIndexes = options.isAlphabeticalSortForIndexes();
 
+    shardType = options.getShardType();
+    shardTableCount = options.getShardTableCount();
+    shardMaxThreads = options.getShardMaxThreads();
+
     return (B) this;
   }
 
@@ -216,6 +239,44 @@ public abstract class BaseSchemaTextOptionsBuilder<
     return (B) this;
   }
 
+  /**
+   * Splits the report into separate files, with an index page that links to each of them. Tables
+   * in each file link to tables in other files.
+   *
+   * @param shardType How to split the report, or null to write a single file
+   * @return Builder
+   */
+  public final B shardBy(final SchemaTextShardType shardType) {
+    if (shardType == null) {
+      this.shardType = SchemaTextShardType.none;
+    } else {
+      this.shardType = shardType;
+    }
+    return (B) this;
+  }
+
+  /**
+   * Sets the maximum number of threads used to render the files of a sharded report.
+   *
+   * @param shardMaxThreads Maximum number of threads, which is at least 1
+   * @return Builder
+   */
+  public final B shardMaxThreads(final int shardMaxThreads) {
+    this.shardMaxThreads = Math.max(1, shardMaxThreads);
+    return (B) this;
+  }
+
+  /**
+   * Sets the number of tables in each file, when the report is split into chunks of tables.
+   *
+   * @param shardTableCount Number of tables in each file, which is at least 1
+   * @return Builder
+   */
+  public final B shardTableCount(final int shardTableCount) {
+    this.shardTableCount = Math.max(1, shardTableCount);
+    return (B) this;
+  }
+
   public final B showOrdinalNumbers() {
     return showOrdinalNumbers(true);
   }
@@ -281,6 +342,10 @@ public abstract class BaseSchemaTextOptionsBuilder<
     config.put(SC_SORT_ALPHABETICALLY_TABLE_FOREIGNKEYS, isAlphabeticalSortForForeignKeys);
     config.put(SC_SORT_ALPHABETICALLY_TABLE_INDEXES, isAlphabeticalSortForIndexes);
 
+    config.put(SHARD_BY, shardType);
+    config.put(SHARD_TABLE_COUNT, shardTableCount);
+    config.put(SHARD_MAX_THREADS, shardMaxThreads);
+
     return config;
   }
 
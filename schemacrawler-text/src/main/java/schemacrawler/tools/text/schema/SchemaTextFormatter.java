@@ -100,6 +100,8 @@ final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
 
   private final boolean isVerbose;
   private final boolean isBrief;
+  private SchemaTextShards shards;
+  private SchemaTextShard shard;
 
   /**
    * Text formatting of schema.
@@ -246,6 +248,11 @@ final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
 
   @Override
   public void handle(final Table table) {
+    if (isShardIndex()) {
+      // Tables are written to the shard files
+      return;
+    }
+
     final String tableName;
     if (options.isShowUnqualifiedNames()) {
       tableName = identifiers.quoteName(table);
@@ -346,6 +353,26 @@ final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
   @Override
   public void handleTablesStart() throws SchemaCrawlerException {
     formattingHelper.writeHeader(DocumentHeaderType.subTitle, "Tables");
+    if (isShardIndex()) {
+      printShards();
+    }
+  }
+
+  /**
+   * Formats one page of a report that is split into several files. Links to tables on other pages
+   * include the file name of the page.
+   *
+   * @param shards All the pages of the report
+   * @param shard Page that is being formatted, or null for the index page, which lists the other
+   *     pages instead of tables
+   */
+  void setShard(final SchemaTextShards shards, final SchemaTextShard shard) {
+    this.shards = shards;
+    this.shard = shard;
+  }
+
+  private boolean isShardIndex() {
+    return shards != null && shard == null;
   }
 
   private void printColumnDataType(final ColumnDataType columnDataType) {
@@ -438,22 +465,20 @@ final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
       final String relationship;
       if (isIncoming) {
         final String fkHyperlink =
-            formattingHelper.createAnchor(fkColumnName, "#" + nodeId(fkColumn.getParent()));
+            formattingHelper.createAnchor(fkColumnName, tableLink(fkColumn.getParent()));
         final String arrow =
             isForeignKey
                 ? formattingHelper.createLeftArrow()
                 : formattingHelper.createWeakLeftArrow();
-        relationship =
-            String.format("%s %s%s %s", pkColumnName, arrow, fkCardinality.toString(), fkHyperlink);
+        relationship = pkColumnName + " " + arrow + fkCardinality + " " + fkHyperlink;
       } else {
         final String pkHyperlink =
-            formattingHelper.createAnchor(pkColumnName, "#" + nodeId(pkColumn.getParent()));
+            formattingHelper.createAnchor(pkColumnName, tableLink(pkColumn.getParent()));
         final String arrow =
             isForeignKey
                 ? formattingHelper.createRightArrow()
                 : formattingHelper.createWeakRightArrow();
-        relationship =
-            String.format("%s %s%s %s", fkColumnName, fkCardinality.toString(), arrow, pkHyperlink);
+        relationship = fkColumnName + " " + fkCardinality + arrow + " " + pkHyperlink;
       }
       formattingHelper.writeDetailRow(keySequenceString, relationship, "", false, false, "");
     }
@@ -664,6 +689,21 @@ final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
     }
   }
 
+  private void printShards() {
+    formattingHelper.writeObjectStart();
+    for (final SchemaTextShard tableShard : shards.getShards()) {
+      final int tableCount = tableShard.getTables().size();
+      formattingHelper.writeDetailRow(
+          "",
+          formattingHelper.createAnchor(tableShard.getLabel(), tableShard.getFileName()),
+          String.format("[%d table%s]", tableCount, tableCount == 1 ? "" : "s"),
+          false,
+          false,
+          "");
+    }
+    formattingHelper.writeObjectEnd();
+  }
+
   private void printTableColumnAutoIncremented(final Column column) {
     if (column == null) {
       return;
@@ -941,4 +981,12 @@ final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
       }
     }
   }
+
+  private String tableLink(final Table table) {
+    if (shards == null) {
+      return "#" + nodeId(table);
+    } else {
+      return shards.getLink(table, nodeId(table), shard);
+    }
+  }
 }
@@ -47,6 +47,9 @@ public class SchemaTextOptions extends BaseTextOptions {
   private final boolean isShowOrdinalNumbers;
   private final boolean isShowStandardColumnTypeNames;
   private final boolean isShowRowCounts;
+  private final SchemaTextShardType shardType;
+  private final int shardTableCount;
+  private final int shardMaxThreads;
 
   protected SchemaTextOptions(
       final BaseSchemaTextOptionsBuilder<?, ? extends SchemaTextOptions> builder) {
@@ -65,6 +68,9 @@ public class SchemaTextOptions extends BaseTextOptions {
     isShowOrdinalNumbers = builder.isShowOrdinalNumbers;
     isShowStandardColumnTypeNames = builder.isShowStandardColumnTypeNames;
     isShowRowCounts = builder.isShowRowCounts;
+    shardType = builder.shardType;
+    shardTableCount = builder.shardTableCount;
+    shardMaxThreads = builder.shardMaxThreads;
   }
 
   @Override
@@ -88,7 +94,10 @@ public class SchemaTextOptions extends BaseTextOptions {
         && isShowWeakAssociations == that.isShowWeakAssociations
         && isShowOrdinalNumbers == that.isShowOrdinalNumbers
         && isShowStandardColumnTypeNames == that.isShowStandardColumnTypeNames
-        && isShowRowCounts == that.isShowRowCounts;
+        && isShowRowCounts == that.isShowRowCounts
+        && shardType == that.shardType
+        && shardTableCount == that.shardTableCount
+        && shardMaxThreads == that.shardMaxThreads;
   }
 
   @Override
@@ -106,7 +115,37 @@ public class SchemaTextOptions extends BaseTextOptions {
         isShowWeakAssociations,
         isShowOrdinalNumbers,
         isShowStandardColumnTypeNames,
-        isShowRowCounts);
+        isShowRowCounts,
+        shardType,
+        shardTableCount,
+        shardMaxThreads);
+  }
+
+  /**
+   * Maximum number of threads used to render the parts of a sharded report.
+   *
+   * @return Maximum number of threads
+   */
+  public int getShardMaxThreads() {
+    return shardMaxThreads;
+  }
+
+  /**
+   * Number of tables in each part of a report that is sharded into chunks of tables.
+   *
+   * @return Number of tables in each part
+   */
+  public int getShardTableCount() {
+    return shardTableCount;
+  }
+
+  /**
+   * How the report is split into separate files, if at all.
+   *
+   * @return How the report is sharded
+   */
+  public SchemaTextShardType getShardType() {
+    return shardType;
   }
 
   public boolean isAlphabeticalSortForForeignKeys() {
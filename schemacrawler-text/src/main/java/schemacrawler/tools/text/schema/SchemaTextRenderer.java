@@ -25,14 +25,27 @@ http://www.gnu.org/licenses/
 
 ========================================================================
 */
-
 package schemacrawler.tools.text.schema;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
+import schemacrawler.tools.options.OutputOptions;
+import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.tools.traversal.SchemaTraversalHandler;
 import schemacrawler.tools.traversal.SchemaTraverser;
 import schemacrawler.utility.NamedObjectSort;
+import us.fatehi.utility.DaemonThreadFactory;
+import us.fatehi.utility.string.StringFormat;
 
 /**
  * Basic SchemaCrawler executor.
@@ -41,6 +54,9 @@ import schemacrawler.utility.NamedObjectSort;
  */
 public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTextOptions> {
 
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(SchemaTextRenderer.class.getName());
+
   public SchemaTextRenderer(final String command) {
     super(command);
   }
@@ -52,19 +68,43 @@ public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTex
 
   @Override
   public void execute() throws Exception {
-    checkCatalog();
+    if (streamingSchemaCrawler == null) {
+      checkCatalog();
+    }
+
+    if (isSharded()) {
+      final List<? extends Table> tables = new ArrayList<>(catalog.getTables());
+      tables.sort(
+          NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForTables()));
+      final SchemaTextShards shards =
+          SchemaTextShards.shardTables(
+              tables,
+              commandOptions.getShardType(),
+              commandOptions.getShardTableCount(),
+              outputOptions.getOutputFile(null));
+      if (!shards.isEmpty()) {
+        executeShards(shards);
+        return;
+      }
+    }
 
     final SchemaTraversalHandler formatter = getSchemaTraversalHandler();
 
-    final SchemaTraverser traverser = new SchemaTraverser();
-    traverser.setCatalog(catalog);
-    traverser.setHandler(formatter);
-    traverser.setTablesComparator(
-        NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForTables()));
-    traverser.setRoutinesComparator(
-        NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForRoutines()));
+    final SchemaTraverser traverser = newSchemaTraverser(formatter);
+    if (streamingSchemaCrawler == null) {
+      traverser.traverse();
+    } else {
+      traverser.traverse(streamingSchemaCrawler);
+    }
+  }
 
-    traverser.traverse();
+  /**
+   * Text output can be produced from a streaming crawl, one schema at a time, unless it is split
+   * into separate files, which needs all the tables to be known up front.
+   */
+  @Override
+  public boolean supportsStreamingCrawl() {
+    return commandOptions == null || commandOptions.getShardType() == SchemaTextShardType.none;
   }
 
   @Override
@@ -72,6 +112,56 @@ public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTex
     return false;
   }
 
+  /**
+   * Renders each shard to its own file, using a pool of threads, since shards only read from the
+   * catalog. The index page is rendered to the output on the calling thread at the same time.
+   */
+  private void executeShards(final SchemaTextShards shards) throws Exception {
+    final List<SchemaTextShard> shardsList = shards.getShards();
+    final int threadCount = Math.min(commandOptions.getShardMaxThreads(), shardsList.size());
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Rendering %d shards using %d threads, with an index page",
+            shardsList.size(), threadCount));
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(threadCount, new DaemonThreadFactory("schemacrawler-shard"));
+    try {
+      final List<Future<Void>> renderedShards = new ArrayList<>();
+      for (final SchemaTextShard shard : shardsList) {
+        renderedShards.add(
+            executor.submit(
+                () -> {
+                  renderShard(shards, shard);
+                  return null;
+                }));
+      }
+
+      final SchemaTextFormatter indexFormatter = newSchemaTextFormatter(outputOptions);
+      indexFormatter.setShard(shards, null);
+      newSchemaTraverser(indexFormatter).traverse();
+
+      for (int i = 0; i < shardsList.size(); i++) {
+        try {
+          renderedShards.get(i).get();
+        } catch (final ExecutionException e) {
+          final Throwable cause = e.getCause();
+          if (cause instanceof SchemaCrawlerException) {
+            throw (SchemaCrawlerException) cause;
+          }
+          throw new SchemaCrawlerException(
+              String.format("Could not render shard <%s>", shardsList.get(i)), cause);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while rendering shards", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private SchemaTextDetailType getSchemaTextDetailType() {
     SchemaTextDetailType schemaTextDetailType;
     try {
@@ -99,4 +189,60 @@ public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTex
 
     return formatter;
   }
+
+  /**
+   * Checks whether output is split into separate files. Lists of schema objects are not split, and
+   * output needs to go to a file, so that the shard files can be written next to it.
+   */
+  private boolean isSharded() {
+    if (commandOptions.getShardType() == SchemaTextShardType.none || catalog == null) {
+      return false;
+    }
+    if (getSchemaTextDetailType() == SchemaTextDetailType.list) {
+      LOGGER.log(Level.INFO, "Not sharding output, since a list of schema objects is small");
+      return false;
+    }
+    if (!outputOptions.hasOutputFile()) {
+      LOGGER.log(Level.INFO, "Not sharding output, since output is not written to a file");
+      return false;
+    }
+    return true;
+  }
+
+  private SchemaTextFormatter newSchemaTextFormatter(final OutputOptions shardOutputOptions)
+      throws SchemaCrawlerException {
+    return new SchemaTextFormatter(
+        getSchemaTextDetailType(),
+        commandOptions,
+        shardOutputOptions,
+        identifiers.getIdentifierQuoteString());
+  }
+
+  private SchemaTraverser newSchemaTraverser(final SchemaTraversalHandler formatter) {
+    final SchemaTraverser traverser = new SchemaTraverser();
+    traverser.setHandler(formatter);
+    traverser.setTablesComparator(
+        NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForTables()));
+    traverser.setRoutinesComparator(
+        NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForRoutines()));
+    if (catalog != null) {
+      traverser.setCatalog(catalog);
+    }
+    return traverser;
+  }
+
+  private void renderShard(final SchemaTextShards shards, final SchemaTextShard shard)
+      throws SchemaCrawlerException {
+    LOGGER.log(
+        Level.FINE,
+        new StringFormat(
+            "Rendering %d tables to <%s>", shard.getTables().size(), shards.getShardFile(shard)));
+    final SchemaTextFormatter formatter =
+        newSchemaTextFormatter(
+            OutputOptionsBuilder.builder(outputOptions)
+                .withOutputFile(shards.getShardFile(shard))
+                .toOptions());
+    formatter.setShard(shards, shard);
+    newSchemaTraverser(formatter).traverseTables(shard.getTables());
+  }
 }
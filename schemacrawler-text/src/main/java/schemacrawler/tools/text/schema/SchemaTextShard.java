@@ -0,0 +1,90 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import schemacrawler.schema.Table;
+
+/**
+ * A part of a sharded report, which is written to its own file.
+ *
+ * @author Sualeh Fatehi
+ */
+final class SchemaTextShard {
+
+  private final String fileName;
+  private final String label;
+  private final List<Table> tables;
+
+  SchemaTextShard(final String fileName, final String label) {
+    this.fileName = requireNonNull(fileName, "No file name provided");
+    this.label = requireNonNull(label, "No label provided");
+    tables = new ArrayList<>();
+  }
+
+  /**
+   * Name of the file for the shard, which is in the same directory as the index page.
+   *
+   * @return File name
+   */
+  String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Label for the shard on the index page.
+   *
+   * @return Label
+   */
+  String getLabel() {
+    return label;
+  }
+
+  /**
+   * Tables in the shard, in the order that they are written.
+   *
+   * @return Tables
+   */
+  List<Table> getTables() {
+    return Collections.unmodifiableList(tables);
+  }
+
+  @Override
+  public String toString() {
+    return fileName;
+  }
+
+  void addTable(final Table table) {
+    tables.add(table);
+  }
+}
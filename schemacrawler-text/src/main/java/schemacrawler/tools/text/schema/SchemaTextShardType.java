@@ -0,0 +1,45 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.schema;
+
+/** Enumeration for how schema text output is split into separate files. */
+public enum SchemaTextShardType {
+  none("Writes a single file"),
+  schema("Writes a file for each schema, with an index page"),
+  tables("Writes a file for each chunk of tables, with an index page");
+
+  private final String description;
+
+  SchemaTextShardType(final String description) {
+    this.description = description;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+}
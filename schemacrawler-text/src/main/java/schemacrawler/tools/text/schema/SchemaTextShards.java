@@ -0,0 +1,181 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.schema;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+
+/**
+ * Splits the tables of a report into shards, each of which is written to its own file next to the
+ * index page. Tables keep the order that they are given in, so that a sharded report has tables in
+ * the same order as a single file.
+ *
+ * @author Sualeh Fatehi
+ */
+final class SchemaTextShards {
+
+  /**
+   * Splits tables into shards, either by schema, or into chunks with a fixed number of tables.
+   *
+   * @param tables Sorted tables
+   * @param shardType How to split tables
+   * @param shardTableCount Number of tables in each chunk
+   * @param indexFile File for the index page, which shard files are named after
+   * @return Shards
+   */
+  static SchemaTextShards shardTables(
+      final List<? extends Table> tables,
+      final SchemaTextShardType shardType,
+      final int shardTableCount,
+      final Path indexFile) {
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(shardType, "No shard type provided");
+    requireNonNull(indexFile, "No index file provided");
+
+    final String indexFileName = indexFile.getFileName().toString();
+    final int extensionIndex = indexFileName.lastIndexOf('.');
+    final String baseName;
+    final String extension;
+    if (extensionIndex > 0) {
+      baseName = indexFileName.substring(0, extensionIndex);
+      extension = indexFileName.substring(extensionIndex);
+    } else {
+      baseName = indexFileName;
+      extension = "";
+    }
+
+    final List<List<Table>> tableGroups = new ArrayList<>();
+    if (shardType == SchemaTextShardType.schema) {
+      final Map<Schema, List<Table>> schemaTables = new LinkedHashMap<>();
+      for (final Table table : tables) {
+        schemaTables.computeIfAbsent(table.getSchema(), schema -> new ArrayList<>()).add(table);
+      }
+      tableGroups.addAll(schemaTables.values());
+    } else {
+      final int tableCount = Math.max(1, shardTableCount);
+      for (int i = 0; i < tables.size(); i = i + tableCount) {
+        final int end = Math.min(i + tableCount, tables.size());
+        tableGroups.add(new ArrayList<>(tables.subList(i, end)));
+      }
+    }
+
+    final SchemaTextShards shards = new SchemaTextShards(indexFile);
+    for (final List<Table> tableGroup : tableGroups) {
+      final String fileName =
+          String.format("%s_%03d%s", baseName, shards.shards.size() + 1, extension);
+      final SchemaTextShard shard =
+          new SchemaTextShard(fileName, shardLabel(shardType, fileName, tableGroup));
+      for (final Table table : tableGroup) {
+        shard.addTable(table);
+        shards.tableShards.put(table, shard);
+      }
+      shards.shards.add(shard);
+    }
+    return shards;
+  }
+
+  private static String shardLabel(
+      final SchemaTextShardType shardType, final String fileName, final List<Table> tables) {
+    final Table firstTable = tables.get(0);
+    final String label;
+    if (shardType == SchemaTextShardType.schema) {
+      label = firstTable.getSchema().getFullName();
+    } else if (tables.size() == 1) {
+      label = firstTable.getFullName();
+    } else {
+      label = firstTable.getFullName() + " - " + tables.get(tables.size() - 1).getFullName();
+    }
+    if (isBlank(label)) {
+      return fileName;
+    } else {
+      return label;
+    }
+  }
+
+  private final Path indexFile;
+  private final List<SchemaTextShard> shards;
+  private final Map<Table, SchemaTextShard> tableShards;
+
+  private SchemaTextShards(final Path indexFile) {
+    this.indexFile = indexFile;
+    shards = new ArrayList<>();
+    tableShards = new HashMap<>();
+  }
+
+  /**
+   * Hyperlink to the anchor of a table, from a page of the report. Tables on the same page are
+   * linked by anchor alone, and tables on another page are linked by file name and anchor.
+   *
+   * @param table Table to link to
+   * @param anchor Anchor for the table
+   * @param fromShard Shard that the link is written in, or null for the index page
+   * @return Hyperlink
+   */
+  String getLink(final Table table, final String anchor, final SchemaTextShard fromShard) {
+    final SchemaTextShard shard = tableShards.get(table);
+    if (shard == null || shard == fromShard) {
+      return "#" + anchor;
+    } else {
+      return shard.getFileName() + "#" + anchor;
+    }
+  }
+
+  /**
+   * Shard files, in order.
+   *
+   * @return Shards
+   */
+  List<SchemaTextShard> getShards() {
+    return Collections.unmodifiableList(shards);
+  }
+
+  /**
+   * Path of the file for a shard, which is in the same directory as the index page.
+   *
+   * @param shard Shard
+   * @return Path of the shard file
+   */
+  Path getShardFile(final SchemaTextShard shard) {
+    return indexFile.resolveSibling(shard.getFileName());
+  }
+
+  boolean isEmpty() {
+    return shards.isEmpty();
+  }
+}
@@ -29,17 +29,12 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.utility;
 
 import static us.fatehi.utility.Utility.isBlank;
-import static us.fatehi.utility.html.TagBuilder.anchor;
-import static us.fatehi.utility.html.TagBuilder.tableCell;
-import static us.fatehi.utility.html.TagBuilder.tableHeaderCell;
-import static us.fatehi.utility.html.TagBuilder.tableRow;
 
 import java.io.PrintWriter;
 
 import schemacrawler.tools.options.TextOutputFormat;
 import schemacrawler.utility.BinaryData;
 import us.fatehi.utility.html.Alignment;
-import us.fatehi.utility.html.Tag;
 import us.fatehi.utility.html.TagOutputFormat;
 
 /**
@@ -62,11 +57,18 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
 
   protected final PrintWriter out;
 
-  private final TextOutputFormat outputFormat;
+  final RowRenderer row;
+  private final RowRenderer dataRow;
 
   public BaseTextFormattingHelper(final PrintWriter out, final TextOutputFormat outputFormat) {
     this.out = out;
-    this.outputFormat = outputFormat;
+    row = new RowRenderer(TagOutputFormat.valueOf(outputFormat.name()));
+    // Data rows are tab-separated in plain text
+    if (outputFormat == TextOutputFormat.text) {
+      dataRow = new RowRenderer(TagOutputFormat.tsv);
+    } else {
+      dataRow = row;
+    }
   }
 
   @Override
@@ -79,11 +81,7 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
 
   @Override
   public String createAnchor(final String text, final String link) {
-    return anchor()
-        .withEscapedText(text)
-        .withHyperlink(link)
-        .make()
-        .render(TagOutputFormat.valueOf(outputFormat.name()));
+    return row.anchor(text, link);
   }
 
   @Override
@@ -94,10 +92,10 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
   /** {@inheritDoc} */
   @Override
   public void writeDescriptionRow(final String description) {
-    final Tag row = tableRow().make();
-    row.addInnerTag(tableCell().withStyleClass("spacer").make());
-    row.addInnerTag(tableCell().withEscapedText(description).withColumnSpan(2).make());
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    row.startRow()
+        .cell("", "spacer")
+        .cell(description, true, 0, null, false, null, 2)
+        .writeRow(out);
   }
 
   /** {@inheritDoc} */
@@ -124,31 +122,15 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
       text3Sytle = "";
     }
 
-    final Tag row = tableRow().make();
+    row.startRow();
     if (isBlank(text1)) {
-      row.addInnerTag(tableCell().withStyleClass("spacer").make());
+      row.cell("", "spacer");
     } else {
-      row.addInnerTag(
-          tableCell().withEscapedText(text1).withWidth(2).withStyleClass("spacer").make());
+      row.cell(text1, true, 2, null, false, "spacer", 0);
     }
-
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(text2, escapeText)
-            .withWidth(text2Width)
-            .withEmphasis(emphasize)
-            .withStyleClass("minwidth")
-            .make());
-
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(text3)
-            .withWidth(text3Width)
-            .withAlignment(Alignment.inherit)
-            .withStyleClass("minwidth" + text3Sytle)
-            .make());
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    row.cell(text2, escapeText, text2Width, null, emphasize, "minwidth", 0)
+        .cell(text3, true, text3Width, Alignment.inherit, false, "minwidth" + text3Sytle, 0)
+        .writeRow(out);
   }
 
   /**
@@ -158,9 +140,7 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
    */
   @Override
   public void writeEmptyRow() {
-    final Tag tableRow = tableRow().make();
-    tableRow.addInnerTag(tableCell().withColumnSpan(3).make());
-    out.println(tableRow.render(TagOutputFormat.valueOf(outputFormat.name())));
+    row.startRow().cell("", false, 0, null, false, null, 3).writeRow(out);
   }
 
   /**
@@ -182,23 +162,10 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
       nameWidth = Math.max(name.length(), nameWidth - (description.length() - descriptionWidth));
     }
 
-    final Tag row = tableRow().make();
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(name)
-            .withWidth(nameWidth)
-            .withStyleClass("name")
-            .withColumnSpan(2)
-            .make());
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(description)
-            .withWidth(descriptionWidth)
-            .withAlignment(Alignment.right)
-            .withStyleClass("description right")
-            .make());
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    row.startRow()
+        .cell(name, true, nameWidth, null, false, "name", 2)
+        .cell(description, true, descriptionWidth, Alignment.right, false, "description right", 0)
+        .writeRow(out);
   }
 
   /**
@@ -216,22 +183,10 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
     final String valueStyle =
         "property_value" + (alignmentForValue == Alignment.inherit ? "" : " right");
 
-    final Tag row = tableRow().make();
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(name)
-            .withWidth(nameWidth)
-            .withStyleClass("property_name")
-            .make());
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(value)
-            .withWidth(valueWidth)
-            .withAlignment(alignmentForValue)
-            .withStyleClass(valueStyle)
-            .make());
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    row.startRow()
+        .cell(name, true, nameWidth, null, false, "property_name", 0)
+        .cell(value, true, valueWidth, alignmentForValue, false, valueStyle, 0)
+        .writeRow(out);
   }
 
   /**
@@ -241,26 +196,19 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
    */
   @Override
   public void writeRow(final Object... columnData) {
-    TextOutputFormat outputFormat = this.outputFormat;
-    if (outputFormat == TextOutputFormat.text) {
-      outputFormat = TextOutputFormat.tsv;
-    }
-    final Tag row = tableRow().make();
+    dataRow.startRow();
     for (final Object element : columnData) {
       if (element == null) {
-        row.addInnerTag(tableCell().withText("NULL").withStyleClass("data_null").make());
+        dataRow.cell("NULL", "data_null");
       } else if (element instanceof BinaryData) {
-        row.addInnerTag(
-            tableCell().withEscapedText(element.toString()).withStyleClass("data_binary").make());
+        dataRow.cell(element.toString(), true, 0, null, false, "data_binary", 0);
       } else if (element instanceof Number) {
-        row.addInnerTag(
-            tableCell().withEscapedText(element.toString()).withStyleClass("data_number").make());
+        dataRow.cell(element.toString(), true, 0, null, false, "data_number", 0);
       } else {
-        row.addInnerTag(tableCell().withEscapedText(element.toString()).make());
+        dataRow.cell(element.toString(), true, 0, null, false, null, 0);
       }
     }
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    dataRow.writeRow(out);
   }
 
   /**
@@ -270,24 +218,15 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
    */
   @Override
   public void writeRowHeader(final String... columnNames) {
-    TextOutputFormat outputFormat = this.outputFormat;
-    if (outputFormat == TextOutputFormat.text) {
-      outputFormat = TextOutputFormat.tsv;
-    }
-    final Tag row = tableRow().make();
+    dataRow.startRow();
     for (final String columnName : columnNames) {
-      final Tag headerCell = tableHeaderCell().withText(columnName).make();
-      row.addInnerTag(headerCell);
+      dataRow.headerCell(columnName);
     }
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    dataRow.writeRow(out);
   }
 
   @Override
   public void writeWideRow(final String definition, final String style) {
-    final Tag row = tableRow().make();
-    row.addInnerTag(
-        tableCell().withEscapedText(definition).withStyleClass(style).withColumnSpan(3).make());
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    row.startRow().cell(definition, true, 0, null, false, style, 3).writeRow(out);
   }
 }
@@ -30,15 +30,11 @@ package schemacrawler.tools.text.utility;
 
 import static us.fatehi.utility.IOUtility.readResourceFully;
 import static us.fatehi.utility.Utility.isBlank;
-import static us.fatehi.utility.html.TagBuilder.span;
 
 import java.io.PrintWriter;
 
 import schemacrawler.tools.options.TextOutputFormat;
 import us.fatehi.utility.Color;
-import us.fatehi.utility.html.Tag;
-import us.fatehi.utility.html.TagBuilder;
-import us.fatehi.utility.html.TagOutputFormat;
 
 /**
  * Methods to format entire rows of output as HTML.
@@ -103,10 +99,18 @@ public final class HtmlFormattingHelper extends BaseTextFormattingHelper {
   @Override
   public void writeHeader(final DocumentHeaderType type, final String header) {
     if (!isBlank(header) && type != null) {
-      out.println(
-          String.format(
-              "%s%n<%s>%s</%s>%n",
-              type.getPrefix(), type.getHeaderTag(), header, type.getHeaderTag()));
+      final String headerTag = type.getHeaderTag();
+      out.append(type.getPrefix())
+          .append(System.lineSeparator())
+          .append('<')
+          .append(headerTag)
+          .append('>')
+          .append(header)
+          .append("</")
+          .append(headerTag)
+          .append('>')
+          .append(System.lineSeparator())
+          .println();
     }
   }
 
@@ -122,29 +126,7 @@ public final class HtmlFormattingHelper extends BaseTextFormattingHelper {
   @Override
   public void writeObjectNameRow(
       final String id, final String name, final String description, final Color backgroundColor) {
-
-    final Tag caption =
-        TagBuilder.caption()
-            .withStyle(String.format("background-color: %s;", backgroundColor))
-            .make();
-
-    if (!isBlank(name)) {
-      final Tag span = span().withEscapedText(name).withStyleClass("caption_name").make();
-      if (!isBlank(id)) {
-        span.addAttribute("id", id);
-      }
-      caption.addInnerTag(span);
-    }
-    if (!isBlank(description)) {
-      final Tag span =
-          span().withEscapedText(description).withStyleClass("caption_description").make();
-      caption.addInnerTag(span);
-    }
-
-    final StringBuilder buffer = new StringBuilder(1024);
-    buffer.append(caption.render(TagOutputFormat.html)).append(System.lineSeparator());
-
-    out.println(buffer.toString());
+    row.writeCaption(out, backgroundColor, id, name, description);
   }
 
   /** {@inheritDoc} */
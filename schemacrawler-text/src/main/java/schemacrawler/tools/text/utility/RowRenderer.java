@@ -0,0 +1,295 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.utility;
+
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import us.fatehi.utility.Color;
+import us.fatehi.utility.html.Alignment;
+import us.fatehi.utility.html.TagOutputFormat;
+
+/**
+ * Renders rows of output directly into a buffer that is reused from row to row, and then writes
+ * the buffer to the output. Rows are rendered exactly as a tree of tags would render them, without
+ * creating the tags, or strings for each cell and row.
+ *
+ * @author Sualeh Fatehi
+ */
+final class RowRenderer {
+
+  private static final String NEWLINE = System.lineSeparator();
+  private static final char[] PADDING = new char[128];
+  private static final String[] HTML_ESCAPES = new String['>' + 1];
+
+  static {
+    Arrays.fill(PADDING, ' ');
+    HTML_ESCAPES['&'] = "&amp;";
+    HTML_ESCAPES['<'] = "&lt;";
+    HTML_ESCAPES['>'] = "&gt;";
+  }
+
+  private final TagOutputFormat outputFormat;
+  private final StringBuilder buffer;
+  private final StringBuilder anchorBuffer;
+  private char[] chars;
+  private boolean isFirstCell;
+
+  RowRenderer(final TagOutputFormat outputFormat) {
+    this.outputFormat = outputFormat;
+    buffer = new StringBuilder(1024);
+    anchorBuffer = new StringBuilder(128);
+    chars = new char[1024];
+  }
+
+  /**
+   * Renders an anchor, which is used inside the text of other cells.
+   *
+   * @param text Text of the anchor, which is escaped
+   * @param link Hyperlink, or blank if there is no hyperlink
+   * @return Rendered anchor
+   */
+  String anchor(final String text, final String link) {
+    anchorBuffer.setLength(0);
+    if (outputFormat == TagOutputFormat.html) {
+      anchorBuffer.append("<a");
+      if (!isBlank(link)) {
+        anchorBuffer.append(" href='").append(link).append('\'');
+      }
+      anchorBuffer.append('>');
+      appendEscaped(anchorBuffer, text);
+      anchorBuffer.append("</a>");
+    } else if (text != null) {
+      anchorBuffer.append(text);
+    }
+    return anchorBuffer.toString();
+  }
+
+  /**
+   * Adds a data cell to the current row.
+   *
+   * @param text Cell text, or null for an empty cell
+   * @param escapeText Whether to escape the text for HTML
+   * @param width Width of the cell for plain text, or 0 if the text is not padded
+   * @param alignment Alignment of text in the cell, or null
+   * @param emphasize Whether to emphasize text in HTML
+   * @param styleClass HTML style class, or null
+   * @param columnSpan Number of columns that an HTML cell spans, or 0
+   * @return This renderer
+   */
+  RowRenderer cell(
+      final String text,
+      final boolean escapeText,
+      final int width,
+      final Alignment alignment,
+      final boolean emphasize,
+      final String styleClass,
+      final int columnSpan) {
+    final String cellText = text == null ? "" : text;
+    switch (outputFormat) {
+      case text:
+        if (!isFirstCell) {
+          buffer.append("  ");
+        }
+        if (width > 0 && alignment == Alignment.right) {
+          pad(width - cellText.length());
+          buffer.append(cellText);
+        } else {
+          buffer.append(cellText);
+          pad(width - cellText.length());
+        }
+        break;
+      case tsv:
+        if (!isFirstCell) {
+          buffer.append('\t');
+        }
+        buffer.append(cellText);
+        break;
+      case html:
+      default:
+        buffer.append("\t\t<td");
+        if (columnSpan > 0) {
+          buffer.append(" colspan='").append(columnSpan).append('\'');
+        }
+        if (!isBlank(styleClass)) {
+          buffer.append(" class='").append(styleClass).append('\'');
+        } else if (alignment != null && alignment != Alignment.inherit) {
+          buffer.append(" align='").append(alignment).append('\'');
+        }
+        buffer.append('>');
+        if (emphasize) {
+          buffer.append("<b><i>");
+        }
+        if (escapeText) {
+          appendEscaped(buffer, cellText);
+        } else {
+          buffer.append(cellText);
+        }
+        if (emphasize) {
+          buffer.append("</i></b>");
+        }
+        buffer.append("</td>").append(NEWLINE);
+        break;
+    }
+    isFirstCell = false;
+    return this;
+  }
+
+  /**
+   * Adds a cell to the current row, with text that is neither escaped nor padded.
+   *
+   * @param text Cell text
+   * @param styleClass HTML style class, or null
+   * @return This renderer
+   */
+  RowRenderer cell(final String text, final String styleClass) {
+    return cell(text, false, 0, null, false, styleClass, 0);
+  }
+
+  /**
+   * Adds a header cell to the current row, with text that is not escaped.
+   *
+   * @param text Header text
+   * @return This renderer
+   */
+  RowRenderer headerCell(final String text) {
+    if (outputFormat == TagOutputFormat.html) {
+      buffer.append("\t\t<th>");
+      if (text != null) {
+        buffer.append(text);
+      }
+      buffer.append("</th>").append(NEWLINE);
+      isFirstCell = false;
+      return this;
+    }
+    return cell(text, null);
+  }
+
+  /**
+   * Writes an HTML table caption, with spans for the name and description, to the output, followed
+   * by a blank line.
+   *
+   * @param out Output
+   * @param backgroundColor Background color of the caption
+   * @param id Id of the name span, or blank if there is no id
+   * @param name Name, or blank if there is no name
+   * @param description Description, or blank if there is no description
+   */
+  void writeCaption(
+      final PrintWriter out,
+      final Color backgroundColor,
+      final String id,
+      final String name,
+      final String description) {
+    buffer.setLength(0);
+    buffer
+        .append("\t<caption style='background-color: ")
+        .append(backgroundColor)
+        .append(";'>")
+        .append(NEWLINE);
+    if (!isBlank(name)) {
+      buffer.append("\t\t<span");
+      if (!isBlank(id)) {
+        buffer.append(" id='").append(id).append('\'');
+      }
+      buffer.append(" class='caption_name'>");
+      appendEscaped(buffer, name);
+      buffer.append("</span>").append(NEWLINE);
+    }
+    if (!isBlank(description)) {
+      buffer.append("\t\t<span class='caption_description'>");
+      appendEscaped(buffer, description);
+      buffer.append("</span>").append(NEWLINE);
+    }
+    buffer.append("\t</caption>").append(NEWLINE);
+    write(out);
+  }
+
+  /**
+   * Starts a new row, discarding anything that was rendered before.
+   *
+   * @return This renderer
+   */
+  RowRenderer startRow() {
+    buffer.setLength(0);
+    isFirstCell = true;
+    if (outputFormat == TagOutputFormat.html) {
+      buffer.append("\t<tr>").append(NEWLINE);
+    }
+    return this;
+  }
+
+  /**
+   * Ends the current row, and writes it to the output, followed by a line separator.
+   *
+   * @param out Output
+   */
+  void writeRow(final PrintWriter out) {
+    if (outputFormat == TagOutputFormat.html) {
+      buffer.append("\t</tr>");
+    }
+    write(out);
+  }
+
+  private void write(final PrintWriter out) {
+    final int length = buffer.length();
+    if (chars.length < length) {
+      chars = new char[Math.max(length, chars.length * 2)];
+    }
+    buffer.getChars(0, length, chars, 0);
+    out.write(chars, 0, length);
+    out.println();
+  }
+
+  private void appendEscaped(final StringBuilder builder, final String text) {
+    if (text == null) {
+      return;
+    }
+    final int length = text.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      final char ch = text.charAt(i);
+      if (ch < HTML_ESCAPES.length && HTML_ESCAPES[ch] != null) {
+        builder.append(text, start, i).append(HTML_ESCAPES[ch]);
+        start = i + 1;
+      }
+    }
+    builder.append(text, start, length);
+  }
+
+  private void pad(final int count) {
+    int remaining = count;
+    while (remaining > 0) {
+      final int length = Math.min(remaining, PADDING.length);
+      buffer.append(PADDING, 0, length);
+      remaining = remaining - length;
+    }
+  }
+}
@@ -34,6 +34,8 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
+import schemacrawler.crawl.CatalogBatchHandler;
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.ColumnDataType;
 import schemacrawler.schema.NamedObject;
@@ -90,31 +92,128 @@ public class SchemaTraverser {
 
   public final void traverse() throws SchemaCrawlerException {
 
-    final Collection<ColumnDataType> columnDataTypes = catalog.getColumnDataTypes();
     final Collection<Table> tables = catalog.getTables();
-    final Collection<Routine> routines = catalog.getRoutines();
-    final Collection<Synonym> synonyms = catalog.getSynonyms();
-    final Collection<Sequence> sequences = catalog.getSequences();
 
-    handler.begin();
-
-    handler.handleHeaderStart();
-    handler.handle(catalog.getCrawlInfo());
-    handler.handleHeaderEnd();
+    handleHeader(catalog);
 
     if (!tables.isEmpty()) {
 
       handler.handleTablesStart();
 
-      final List<? extends Table> tablesList = new ArrayList<>(tables);
-      tablesList.sort(tablesComparator);
-      for (final Table table : tablesList) {
-        handler.handle(table);
-      }
+      handleTables(tables);
 
       handler.handleTablesEnd();
     }
 
+    handleTrailer(catalog, catalog.getRoutines(), catalog.getSequences(), catalog.getSynonyms());
+  }
+
+  /**
+   * Traverses a catalog that is crawled one schema at a time, so that tables are handled as soon as
+   * the schema they belong to has been crawled, and are not held on to after that. Tables are
+   * sorted within each schema. Routines, sequences and synonyms are held until all the schemas have
+   * been crawled, so that they can be handled after the tables.
+   *
+   * @param streamingSchemaCrawler Crawler for the database
+   * @throws SchemaCrawlerException On an exception
+   */
+  public final void traverse(final StreamingSchemaCrawler streamingSchemaCrawler)
+      throws SchemaCrawlerException {
+    requireNonNull(streamingSchemaCrawler, "No streaming crawler provided");
+
+    final List<Routine> routines = new ArrayList<>();
+    final List<Sequence> sequences = new ArrayList<>();
+    final List<Synonym> synonyms = new ArrayList<>();
+
+    streamingSchemaCrawler.crawl(
+        new CatalogBatchHandler() {
+
+          private boolean hasTables;
+
+          @Override
+          public void begin(final Catalog catalog) throws SchemaCrawlerException {
+            setCatalog(catalog);
+            handleHeader(catalog);
+          }
+
+          @Override
+          public void end() throws SchemaCrawlerException {
+            if (hasTables) {
+              handler.handleTablesEnd();
+            }
+            handleTrailer(catalog, routines, sequences, synonyms);
+          }
+
+          @Override
+          public void handle(final Catalog batch) throws SchemaCrawlerException {
+            final Collection<Table> tables = batch.getTables();
+            if (!tables.isEmpty()) {
+              if (!hasTables) {
+                handler.handleTablesStart();
+                hasTables = true;
+              }
+              handleTables(tables);
+            }
+
+            routines.addAll(batch.getRoutines());
+            sequences.addAll(batch.getSequences());
+            synonyms.addAll(batch.getSynonyms());
+          }
+        });
+  }
+
+  /**
+   * Traverses only some of the tables in the catalog, so that a report can be split into separate
+   * parts. Routines, sequences, synonyms, column data types, and database information are not
+   * traversed. The catalog is only read, so parts can be traversed at the same time by different
+   * traversers.
+   *
+   * @param tables Tables to traverse
+   * @throws SchemaCrawlerException On an exception
+   */
+  public final void traverseTables(final Collection<? extends Table> tables)
+      throws SchemaCrawlerException {
+    requireNonNull(tables, "No tables provided");
+
+    handleHeader(catalog);
+
+    if (!tables.isEmpty()) {
+      handler.handleTablesStart();
+
+      handleTables(tables);
+
+      handler.handleTablesEnd();
+    }
+
+    handler.end();
+  }
+
+  private void handleHeader(final Catalog catalog) throws SchemaCrawlerException {
+    handler.begin();
+
+    handler.handleHeaderStart();
+    handler.handle(catalog.getCrawlInfo());
+    handler.handleHeaderEnd();
+  }
+
+  private void handleTables(final Collection<? extends Table> tables)
+      throws SchemaCrawlerException {
+    final List<? extends Table> tablesList = new ArrayList<>(tables);
+    tablesList.sort(tablesComparator);
+    for (final Table table : tablesList) {
+      handler.handle(table);
+    }
+  }
+
+  private void handleTrailer(
+      final Catalog catalog,
+      final Collection<Routine> routines,
+      final Collection<Sequence> sequences,
+      final Collection<Synonym> synonyms)
+      throws SchemaCrawlerException {
+
+    final Collection<ColumnDataType> columnDataTypes = catalog.getColumnDataTypes();
+
     if (!routines.isEmpty()) {
       handler.handleRoutinesStart();
 
@@ -0,0 +1,242 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.Config;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.text.operation.ColumnarDataReader;
+import schemacrawler.tools.text.operation.DataOutputFormat;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+import schemacrawler.tools.text.operation.OperationType;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class ColumnarDataTest {
+
+  // Enough rows for several batches, with repeated and null values
+  private static final String QUERY =
+      "SELECT C.TABLE_SCHEMA, C.TABLE_NAME, C.COLUMN_NAME, C.ORDINAL_POSITION, "
+          + "C.NUMERIC_PRECISION, C.IS_NULLABLE, S.SCHEMA_NAME "
+          + "FROM INFORMATION_SCHEMA.COLUMNS C CROSS JOIN INFORMATION_SCHEMA.SCHEMATA S "
+          + "ORDER BY C.TABLE_SCHEMA, C.TABLE_NAME, C.ORDINAL_POSITION, S.SCHEMA_NAME";
+
+  private static Object normalize(final Object value) {
+    if (value instanceof Byte
+        || value instanceof Short
+        || value instanceof Integer
+        || value instanceof Long) {
+      return ((Number) value).longValue();
+    }
+    return value;
+  }
+
+  @Test
+  public void columnarDump(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final Path sequentialFile =
+        execute(OperationType.dump.name(), new Config(), connection, null, 1);
+
+    final List<String> titles = new ArrayList<>();
+    try (final ColumnarDataReader reader =
+            new ColumnarDataReader(Files.newInputStream(sequentialFile));
+        final Statement statement = connection.createStatement()) {
+      while (reader.nextTable()) {
+        titles.add(reader.getTitle());
+        int rowCount = 0;
+        while (reader.next()) {
+          rowCount++;
+        }
+        try (final ResultSet results =
+            statement.executeQuery("SELECT COUNT(*) FROM " + reader.getTitle())) {
+          results.next();
+          assertThat(reader.getTitle(), rowCount, is(results.getInt(1)));
+        }
+      }
+    }
+    assertThat(titles.size(), is(greaterThan(0)));
+
+    // Tables formatted concurrently are written in the same order
+    final Supplier<Connection> dataSource =
+        () -> {
+          try {
+            return DriverManager.getConnection(
+                databaseConnectionInfo.getConnectionUrl(), "sa", "");
+          } catch (final SQLException e) {
+            throw new SchemaCrawlerRuntimeException("Could not connect", e);
+          }
+        };
+    final Path parallelFile =
+        execute(OperationType.dump.name(), new Config(), connection, dataSource, 3);
+    assertThat(
+        Arrays.equals(Files.readAllBytes(parallelFile), Files.readAllBytes(sequentialFile)),
+        is(true));
+  }
+
+  @Test
+  public void columnarQuery(final Connection connection) throws Exception {
+    final Config config = new Config();
+    config.put("columnar_query", QUERY);
+    final Path file = execute("columnar_query", config, connection, null, 1);
+
+    try (final ColumnarDataReader reader = new ColumnarDataReader(Files.newInputStream(file));
+        final Statement statement = connection.createStatement();
+        final ResultSet results = statement.executeQuery(QUERY)) {
+      assertThat(reader.nextTable(), is(true));
+      assertThat(reader.getTitle(), is("columnar_query"));
+      assertThat(
+          reader.getColumnNames(),
+          is(
+              Arrays.asList(
+                  "TABLE_SCHEMA",
+                  "TABLE_NAME",
+                  "COLUMN_NAME",
+                  "ORDINAL_POSITION",
+                  "NUMERIC_PRECISION",
+                  "IS_NULLABLE",
+                  "SCHEMA_NAME")));
+
+      int rowCount = 0;
+      while (results.next()) {
+        assertThat(reader.next(), is(true));
+        for (int column = 0; column < reader.getColumnCount(); column++) {
+          assertThat(reader.getObject(column), is(normalize(results.getObject(column + 1))));
+        }
+        rowCount++;
+      }
+      assertThat(reader.next(), is(false));
+      assertThat(reader.nextTable(), is(false));
+      // More than one batch of rows
+      assertThat(rowCount, is(greaterThan(4096)));
+    }
+  }
+
+  @Test
+  public void notColumnarData() throws Exception {
+    final InputStream input = new ByteArrayInputStream("Not columnar data".getBytes());
+    assertThrows(IOException.class, () -> new ColumnarDataReader(input));
+  }
+
+  @Test
+  public void skipTables(final Connection connection) throws Exception {
+    final Path file = execute(OperationType.dump.name(), new Config(), connection, null, 1);
+
+    final List<String> titles = new ArrayList<>();
+    try (final ColumnarDataReader reader = new ColumnarDataReader(Files.newInputStream(file))) {
+      while (reader.nextTable()) {
+        titles.add(reader.getTitle());
+      }
+    }
+
+    final List<String> readTitles = new ArrayList<>();
+    try (final ColumnarDataReader reader = new ColumnarDataReader(Files.newInputStream(file))) {
+      while (reader.nextTable()) {
+        readTitles.add(reader.getTitle());
+        // Read only part of the table
+        reader.next();
+      }
+    }
+    assertThat(readTitles, is(titles));
+  }
+
+  @Test
+  public void unicodeStrings(final Connection connection) throws Exception {
+    final String greeting = "h\u00e9llo \u20ac \ud83d\ude00";
+    final Config config = new Config();
+    config.put("greeting", "SELECT '" + greeting + "' AS GREETING FROM (VALUES (0))");
+    final Path file = execute("greeting", config, connection, null, 1);
+
+    try (final ColumnarDataReader reader = new ColumnarDataReader(Files.newInputStream(file))) {
+      assertThat(reader.nextTable(), is(true));
+      assertThat(reader.next(), is(true));
+      assertThat(reader.getObject(0), is(greeting));
+      assertThat(reader.next(), is(false));
+    }
+  }
+
+  private Path execute(
+      final String command,
+      final Config config,
+      final Connection connection,
+      final Supplier<Connection> dataSource,
+      final int maxThreads)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+                    .toOptions());
+    config.merge(OperationOptionsBuilder.builder().withMaxThreads(maxThreads).toConfig());
+
+    final Path outputFile = Files.createTempFile("sc", ".scdata");
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setAdditionalConfiguration(config);
+    executable.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormat(DataOutputFormat.columnar)
+            .withOutputFile(outputFile)
+            .toOptions());
+    executable.setConnection(connection);
+    executable.setDataSource(dataSource);
+    executable.execute();
+
+    return outputFile;
+  }
+}
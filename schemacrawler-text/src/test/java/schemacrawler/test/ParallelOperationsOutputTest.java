@@ -0,0 +1,364 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.databaseconnector.DatabaseConnectionSource;
+import schemacrawler.tools.databaseconnector.UserCredentials;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.Config;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+import schemacrawler.tools.text.operation.OperationType;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class ParallelOperationsOutputTest {
+
+  private static final class TestUserCredentials implements UserCredentials {
+
+    @Override
+    public void clearPassword() {
+      // No action, so that the pool can open more than one connection
+    }
+
+    @Override
+    public String getPassword() {
+      return "";
+    }
+
+    @Override
+    public String getUser() {
+      return "sa";
+    }
+
+    @Override
+    public boolean hasPassword() {
+      return true;
+    }
+
+    @Override
+    public boolean hasUser() {
+      return true;
+    }
+  }
+
+  private static Supplier<Connection> connectionSupplier(
+      final DatabaseConnectionInfo databaseConnectionInfo, final List<Connection> connections) {
+    return () -> {
+      try {
+        final Connection connection =
+            DriverManager.getConnection(databaseConnectionInfo.getConnectionUrl(), "sa", "");
+        synchronized (connections) {
+          connections.add(connection);
+        }
+        return connection;
+      } catch (final SQLException e) {
+        throw new SchemaCrawlerRuntimeException("Could not connect", e);
+      }
+    };
+  }
+
+  /**
+   * Connections whose statements take a while to run, and then fail with an unexpected error, so
+   * that the operation fails while other workers are still busy.
+   */
+  private static Supplier<Connection> failingConnectionSupplier(
+      final DatabaseConnectionInfo databaseConnectionInfo, final List<Connection> connections) {
+    final Supplier<Connection> connectionSupplier =
+        connectionSupplier(databaseConnectionInfo, connections);
+    return () -> {
+      final Connection connection = connectionSupplier.get();
+      return (Connection)
+          newProxyInstance(
+              ParallelOperationsOutputTest.class.getClassLoader(),
+              new Class[] {Connection.class},
+              (proxy, method, args) -> {
+                final Object result = invoke(connection, method, args);
+                if (!"createStatement".equals(method.getName())) {
+                  return result;
+                }
+                final Statement statement = (Statement) result;
+                return newProxyInstance(
+                    ParallelOperationsOutputTest.class.getClassLoader(),
+                    new Class[] {Statement.class},
+                    (statementProxy, statementMethod, statementArgs) -> {
+                      if (statementMethod.getName().startsWith("execute")) {
+                        // Keep running, even if interrupted
+                        final long deadline =
+                            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                        while (System.nanoTime() < deadline) {
+                          Thread.yield();
+                        }
+                        throw new IllegalStateException("Operation failed");
+                      }
+                      return invoke(statement, statementMethod, statementArgs);
+                    });
+              });
+    };
+  }
+
+  private static Object invoke(final Object delegate, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(delegate, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Connection whose prepared statements for a marked query keep running until they are
+   * cancelled. Statements report the wrapped connection, so that statements prepared from them go
+   * through it too.
+   */
+  private static Connection slowPreparedStatementsConnection(
+      final Connection connection, final AtomicInteger cancelledStatements) {
+    return (Connection)
+        newProxyInstance(
+            ParallelOperationsOutputTest.class.getClassLoader(),
+            new Class[] {Connection.class},
+            (proxy, method, args) -> {
+              final Object result = invoke(connection, method, args);
+              if ("createStatement".equals(method.getName())) {
+                final Statement statement = (Statement) result;
+                return newProxyInstance(
+                    ParallelOperationsOutputTest.class.getClassLoader(),
+                    new Class[] {Statement.class},
+                    (statementProxy, statementMethod, statementArgs) -> {
+                      if ("getConnection".equals(statementMethod.getName())) {
+                        return proxy;
+                      }
+                      return invoke(statement, statementMethod, statementArgs);
+                    });
+              }
+              if (!"prepareStatement".equals(method.getName())
+                  || !((String) args[0]).contains("CANCEL_ME")) {
+                return result;
+              }
+              final PreparedStatement statement = (PreparedStatement) result;
+              final CountDownLatch cancelled = new CountDownLatch(1);
+              return newProxyInstance(
+                  ParallelOperationsOutputTest.class.getClassLoader(),
+                  new Class[] {PreparedStatement.class},
+                  (statementProxy, statementMethod, statementArgs) -> {
+                    final String methodName = statementMethod.getName();
+                    if ("cancel".equals(methodName)) {
+                      cancelledStatements.incrementAndGet();
+                      cancelled.countDown();
+                      return null;
+                    }
+                    if (methodName.startsWith("execute")) {
+                      cancelled.await(10, TimeUnit.SECONDS);
+                      throw new SQLException("Statement was cancelled");
+                    }
+                    return invoke(statement, statementMethod, statementArgs);
+                  });
+            });
+  }
+
+  @Test
+  public void connectionPoolTooSmallForParallelOperation(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final DatabaseConnectionSource connectionSource =
+        new DatabaseConnectionSource(databaseConnectionInfo.getConnectionUrl());
+    connectionSource.setUserCredentials(new TestUserCredentials());
+    connectionSource.enableConnectionPool(2, Duration.ofMinutes(1));
+    try {
+      final SchemaCrawlerException exception =
+          assertThrows(
+              SchemaCrawlerException.class,
+              () ->
+                  execute(OperationType.count.name(), "text", connection, connectionSource, 3, 0));
+      assertThat(exception.getMessage(), containsString("up to 3 connections"));
+
+      // Enough connections for the command
+      connectionSource.enableConnectionPool(3, Duration.ofMinutes(1));
+      execute(OperationType.count.name(), "text", connection, connectionSource, 3, 0);
+    } finally {
+      connectionSource.close();
+    }
+  }
+
+  @Test
+  public void failedParallelOperation(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final List<Connection> connections = new ArrayList<>();
+    assertThrows(
+        SchemaCrawlerException.class,
+        () ->
+            execute(
+                OperationType.count.name(),
+                "text",
+                connection,
+                failingConnectionSupplier(databaseConnectionInfo, connections),
+                3,
+                0));
+
+    // Workers have closed their connections by the time the command fails
+    assertThat(connections, hasSize(3));
+    for (final Connection workerConnection : connections) {
+      assertThat(workerConnection.isClosed(), is(true));
+    }
+  }
+
+  @Test
+  public void noConnectionsForParallelOperation(final Connection connection) throws Exception {
+    final Supplier<Connection> dataSource =
+        () -> {
+          throw new SchemaCrawlerRuntimeException("No connections available");
+        };
+    assertThrows(
+        SchemaCrawlerException.class,
+        () -> execute(OperationType.count.name(), "text", connection, dataSource, 3, 0));
+  }
+
+  @Test
+  public void parallelOperationsOutput(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    for (final OperationType operation : OperationType.values()) {
+      final String command = operation.name();
+      for (final String outputFormat : new String[] {"text", "html"}) {
+        final List<String> expectedLines = execute(command, outputFormat, connection, null, 1, 0);
+
+        // Tables are formatted on worker connections, and written in order
+        final List<Connection> connections = new ArrayList<>();
+        final List<String> parallelLines =
+            execute(
+                command,
+                outputFormat,
+                connection,
+                connectionSupplier(databaseConnectionInfo, connections),
+                3,
+                60);
+        assertThat(command + " " + outputFormat, parallelLines, is(expectedLines));
+        assertThat(connections, hasSize(3));
+        for (final Connection workerConnection : connections) {
+          assertThat(workerConnection.isClosed(), is(true));
+        }
+
+        // Tables are formatted before they are written, when there is a timeout
+        final List<String> timedLines =
+            execute(command, outputFormat, connection, null, 1, 60);
+        assertThat(command + " " + outputFormat, timedLines, is(expectedLines));
+      }
+    }
+  }
+
+  @Test
+  public void timedOutOperationWithBindParameters(final Connection connection) throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+                    .includeTables(new RegularExpressionInclusionRule(".*\\.AUTHORS"))
+                    .toOptions());
+
+    final Config config = new Config();
+    config.put(
+        "table_rows",
+        "SELECT * FROM ${table} WHERE CAST(?{tablename} AS VARCHAR(100)) <> 'CANCEL_ME'");
+    config.merge(OperationOptionsBuilder.builder().withTableTimeoutSeconds(1).toConfig());
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("table_rows");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setAdditionalConfiguration(config);
+
+    // The timeout cancels the prepared statement that runs the query, and the table is skipped
+    final AtomicInteger cancelledStatements = new AtomicInteger();
+    executableExecution(
+        slowPreparedStatementsConnection(connection, cancelledStatements), executable, "text");
+    assertThat(cancelledStatements.get(), is(1));
+  }
+
+  private List<String> execute(
+      final String command,
+      final String outputFormat,
+      final Connection connection,
+      final Supplier<Connection> dataSource,
+      final int maxThreads,
+      final int tableTimeoutSeconds)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+                    .toOptions());
+
+    final OperationOptionsBuilder operationOptionsBuilder =
+        OperationOptionsBuilder.builder()
+            .withMaxThreads(maxThreads)
+            .withTableTimeoutSeconds(tableTimeoutSeconds);
+    operationOptionsBuilder.noInfo();
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setAdditionalConfiguration(operationOptionsBuilder.toConfig());
+    executable.setDataSource(dataSource);
+
+    return Files.readAllLines(executableExecution(connection, executable, outputFormat), UTF_8);
+  }
+}
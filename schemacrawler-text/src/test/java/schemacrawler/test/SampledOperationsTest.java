@@ -0,0 +1,230 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.schemacrawler.TableSampleSyntax;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.Config;
+import schemacrawler.tools.options.OutputFormat;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.operation.ColumnarDataReader;
+import schemacrawler.tools.text.operation.DataOutputFormat;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+import schemacrawler.tools.text.operation.OperationType;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class SampledOperationsTest {
+
+  private static final int MAX_ROWS = 2;
+
+  @Test
+  public void maxRows(final Connection connection) throws Exception {
+    // Rows are limited in the query, or by the JDBC driver
+    for (final TableSampleSyntax tableSampleSyntax :
+        new TableSampleSyntax[] {
+          TableSampleSyntax.unknown, TableSampleSyntax.fetch_first, TableSampleSyntax.limit
+        }) {
+      for (final OperationType operation :
+          new OperationType[] {OperationType.dump, OperationType.quickdump}) {
+        assertMaxRows(operation, tableSampleSyntax, connection);
+      }
+    }
+  }
+
+  @Test
+  public void maxRowsForQuery(final Connection connection) throws Exception {
+    final Config config = new Config();
+    config.put(
+        "all_columns",
+        "SELECT * FROM INFORMATION_SCHEMA.COLUMNS ORDER BY TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME");
+    config.merge(OperationOptionsBuilder.builder().withMaxRows(MAX_ROWS).toConfig());
+    final Path file =
+        execute(
+            "all_columns",
+            config,
+            TableSampleSyntax.limit,
+            DataOutputFormat.columnar,
+            connection);
+
+    try (final ColumnarDataReader reader = new ColumnarDataReader(Files.newInputStream(file))) {
+      assertThat(reader.nextTable(), is(true));
+      int rowCount = 0;
+      while (reader.next()) {
+        rowCount++;
+      }
+      // User defined queries are limited by the JDBC driver
+      assertThat(rowCount, is(MAX_ROWS));
+    }
+  }
+
+  @Test
+  public void maxRowsForQueryWithBindParameters(final Connection connection) throws Exception {
+    // Tables are formatted on a prepared statement of their own when there is a timeout
+    for (final int tableTimeoutSeconds : new int[] {0, 60}) {
+      final Config config = new Config();
+      config.put(
+          "table_rows",
+          "SELECT * FROM ${table} WHERE CAST(?{tablename} AS VARCHAR(100)) IS NOT NULL");
+      config.merge(
+          OperationOptionsBuilder.builder()
+              .withMaxRows(MAX_ROWS)
+              .withTableTimeoutSeconds(tableTimeoutSeconds)
+              .toConfig());
+      final Path file =
+          execute(
+              "table_rows",
+              config,
+              TableSampleSyntax.limit,
+              DataOutputFormat.columnar,
+              connection);
+
+      assertRowsLimited(file, connection);
+    }
+  }
+
+  @Test
+  public void samplingNotSupported(final Connection connection) throws Exception {
+    final Path exactFile =
+        execute(
+            OperationType.count.name(),
+            new Config(),
+            TableSampleSyntax.fetch_first,
+            TextOutputFormat.text,
+            connection);
+
+    final Config config = new Config();
+    config.merge(OperationOptionsBuilder.builder().withSamplePercent(10).toConfig());
+    final Path sampledFile =
+        execute(
+            OperationType.count.name(),
+            config,
+            TableSampleSyntax.fetch_first,
+            TextOutputFormat.text,
+            connection);
+
+    // All rows are counted, when the database cannot sample rows
+    final String exactCounts = new String(Files.readAllBytes(exactFile), StandardCharsets.UTF_8);
+    final String sampledCounts =
+        new String(Files.readAllBytes(sampledFile), StandardCharsets.UTF_8);
+    assertThat(sampledCounts, is(exactCounts));
+    assertThat(sampledCounts.length(), is(greaterThan(0)));
+    assertThat(sampledCounts, not(containsString("approximately")));
+  }
+
+  private void assertMaxRows(
+      final OperationType operation,
+      final TableSampleSyntax tableSampleSyntax,
+      final Connection connection)
+      throws Exception {
+    final Config config = new Config();
+    config.merge(OperationOptionsBuilder.builder().withMaxRows(MAX_ROWS).toConfig());
+    final Path file =
+        execute(operation.name(), config, tableSampleSyntax, DataOutputFormat.columnar, connection);
+
+    assertRowsLimited(file, connection);
+  }
+
+  /** Checks that each table in the output has no more than the maximum number of rows. */
+  private void assertRowsLimited(final Path file, final Connection connection) throws Exception {
+    boolean isLimited = false;
+    try (final ColumnarDataReader reader = new ColumnarDataReader(Files.newInputStream(file));
+        final Statement statement = connection.createStatement()) {
+      while (reader.nextTable()) {
+        int rowCount = 0;
+        while (reader.next()) {
+          rowCount++;
+        }
+        try (final ResultSet results =
+            statement.executeQuery("SELECT COUNT(*) FROM " + reader.getTitle())) {
+          results.next();
+          final int tableRowCount = results.getInt(1);
+          assertThat(reader.getTitle(), rowCount, is(Math.min(tableRowCount, MAX_ROWS)));
+          isLimited = isLimited || tableRowCount > MAX_ROWS;
+        }
+      }
+    }
+    assertThat(isLimited, is(true));
+  }
+
+  private Path execute(
+      final String command,
+      final Config config,
+      final TableSampleSyntax tableSampleSyntax,
+      final OutputFormat outputFormat,
+      final Connection connection)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+                    .toOptions());
+
+    final Path outputFile = Files.createTempFile("sc", ".data");
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setSchemaRetrievalOptions(
+        SchemaRetrievalOptionsBuilder.builder()
+            .fromConnnection(connection)
+            .withTableSampleSyntax(tableSampleSyntax)
+            .toOptions());
+    executable.setAdditionalConfiguration(config);
+    executable.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormat(outputFormat)
+            .withOutputFile(outputFile)
+            .toOptions());
+    executable.setConnection(connection);
+    executable.execute();
+
+    return outputFile;
+  }
+}
@@ -0,0 +1,237 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.schema.SchemaTextOptionsBuilder;
+import schemacrawler.tools.text.schema.SchemaTextShardType;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class ShardedSchemaTextOutputTest {
+
+  private static final int SHARD_TABLE_COUNT = 3;
+
+  private static String read(final Path file) throws IOException {
+    return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void notShardedWithoutOutputFile(final Connection connection) throws Exception {
+    final StringWriter writer = new StringWriter();
+
+    final SchemaCrawlerExecutable executable =
+        newExecutable(SchemaTextShardType.tables, 2, connection);
+    executable.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormat(TextOutputFormat.html)
+            .withOutputWriter(writer)
+            .toOptions());
+    executable.execute();
+
+    // All tables are written to the one output
+    final String output = writer.toString();
+    for (final Table table : getTables(connection)) {
+      assertThat(output, containsString("class='caption_name'>" + table.getFullName() + "<"));
+    }
+  }
+
+  @Test
+  public void shardBySchema(final Connection connection) throws Exception {
+    final Path indexFile = execute(SchemaTextShardType.schema, 2, connection);
+    final List<Path> shardFiles = shardFiles(indexFile);
+
+    final Set<String> schemas = new HashSet<>();
+    for (final Table table : getTables(connection)) {
+      schemas.add(table.getSchema().getFullName());
+    }
+    assertThat(shardFiles.size(), is(schemas.size()));
+
+    final String index = read(indexFile);
+    for (final String schema : schemas) {
+      assertThat(index, containsString(">" + schema + "</a>"));
+    }
+    assertTablesInShards(shardFiles, connection);
+  }
+
+  @Test
+  public void shardByTables(final Connection connection) throws Exception {
+    final Path indexFile = execute(SchemaTextShardType.tables, 4, connection);
+    final List<Path> shardFiles = shardFiles(indexFile);
+
+    final int tableCount = getTables(connection).size();
+    assertThat(
+        shardFiles.size(), is((tableCount + SHARD_TABLE_COUNT - 1) / SHARD_TABLE_COUNT));
+
+    // The index page links to each shard, and has no tables
+    final String index = read(indexFile);
+    for (final Path shardFile : shardFiles) {
+      assertThat(index, containsString("<a href='" + shardFile.getFileName() + "'>"));
+    }
+    assertThat(index, not(containsString("[TABLE]")));
+
+    assertTablesInShards(shardFiles, connection);
+
+    // Foreign keys link to tables in other shards
+    boolean hasCrossLinks = false;
+    for (final Path shardFile : shardFiles) {
+      final String shard = read(shardFile);
+      for (final Path otherShardFile : shardFiles) {
+        if (!otherShardFile.equals(shardFile)) {
+          hasCrossLinks =
+              hasCrossLinks || shard.contains("href='" + otherShardFile.getFileName() + "#");
+        }
+      }
+    }
+    assertThat(hasCrossLinks, is(true));
+  }
+
+  @Test
+  public void shardsRenderedConcurrently(final Connection connection) throws Exception {
+    final List<Path> sequentialShardFiles =
+        shardFiles(execute(SchemaTextShardType.tables, 1, connection));
+    final List<Path> concurrentShardFiles =
+        shardFiles(execute(SchemaTextShardType.tables, 4, connection));
+
+    assertThat(concurrentShardFiles.size(), is(sequentialShardFiles.size()));
+    for (int i = 0; i < sequentialShardFiles.size(); i++) {
+      final String sequentialShard = read(sequentialShardFiles.get(i));
+      // Links are to files with the same names, but in a different directory
+      assertThat(read(concurrentShardFiles.get(i)), is(sequentialShard));
+      assertThat(sequentialShard.length(), is(greaterThan(0)));
+    }
+  }
+
+  private void assertTablesInShards(final List<Path> shardFiles, final Connection connection)
+      throws Exception {
+    final List<String> shards = new ArrayList<>();
+    for (final Path shardFile : shardFiles) {
+      shards.add(read(shardFile));
+    }
+    for (final Table table : getTables(connection)) {
+      final String caption = "class='caption_name'>" + table.getFullName() + "<";
+      final long shardCount = shards.stream().filter(shard -> shard.contains(caption)).count();
+      assertThat(table.getFullName(), shardCount, is(1L));
+    }
+  }
+
+  private Path execute(
+      final SchemaTextShardType shardType, final int maxThreads, final Connection connection)
+      throws Exception {
+    final Path indexFile = Files.createTempDirectory("sc").resolve("schema.html");
+
+    final SchemaCrawlerExecutable executable = newExecutable(shardType, maxThreads, connection);
+    executable.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormat(TextOutputFormat.html)
+            .withOutputFile(indexFile)
+            .toOptions());
+    executable.execute();
+
+    assertThat(Files.exists(indexFile), is(true));
+    return indexFile;
+  }
+
+  private List<Table> getTables(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions());
+    return new ArrayList<>(catalog.getTables());
+  }
+
+  private SchemaCrawlerExecutable newExecutable(
+      final SchemaTextShardType shardType, final int maxThreads, final Connection connection)
+      throws Exception {
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("schema");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions());
+    executable.setSchemaRetrievalOptions(
+        SchemaRetrievalOptionsBuilder.builder().fromConnnection(connection).toOptions());
+    executable.setAdditionalConfiguration(
+        SchemaTextOptionsBuilder.builder()
+            .noInfo()
+            .shardBy(shardType)
+            .shardTableCount(SHARD_TABLE_COUNT)
+            .shardMaxThreads(maxThreads)
+            .toConfig());
+    executable.setConnection(connection);
+    return executable;
+  }
+
+  private SchemaCrawlerOptions schemaCrawlerOptions() {
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionExclusionRule(".*\\.SYSTEM_LOBS"))
+                .toOptions())
+        .withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                .toOptions());
+  }
+
+  private List<Path> shardFiles(final Path indexFile) throws IOException {
+    try (final Stream<Path> files = Files.list(indexFile.getParent())) {
+      return files
+          .filter(file -> !file.equals(indexFile))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.synchronizedList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.Config;
+import schemacrawler.tools.text.schema.SchemaTextDetailType;
+import schemacrawler.tools.text.schema.SchemaTextOptionsBuilder;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class StreamingSchemaTextOutputTest {
+
+  @Test
+  public void streamingSchemaTextOutput(final Connection connection) throws Exception {
+    for (final SchemaTextDetailType schemaTextDetailType : SchemaTextDetailType.values()) {
+      final String command = schemaTextDetailType.name();
+      for (final String outputFormat : new String[] {"text", "html"}) {
+        final List<String> expectedLines = execute(command, outputFormat, connection, false);
+        final List<String> streamingLines = execute(command, outputFormat, connection, true);
+
+        assertThat(command + " " + outputFormat, streamingLines, is(expectedLines));
+      }
+    }
+  }
+
+  @Test
+  public void streamingSchemaTextOutputWithParallelCrawl(
+      final Connection connection, final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+    final String command = SchemaTextDetailType.details.name();
+    final List<String> expectedLines = execute(command, "text", connection, false);
+
+    final List<Connection> connections = synchronizedList(new ArrayList<>());
+    final Supplier<Connection> dataSource =
+        () -> {
+          try {
+            final Connection crawlConnection =
+                DriverManager.getConnection(databaseConnectionInfo.getConnectionUrl(), "sa", "");
+            connections.add(crawlConnection);
+            return crawlConnection;
+          } catch (final SQLException e) {
+            throw new SchemaCrawlerRuntimeException("Could not connect", e);
+          }
+        };
+    final List<String> streamingLines =
+        execute(
+            command,
+            "text",
+            connection,
+            true,
+            executable -> {
+              executable.setDataSource(dataSource);
+              executable.setSchemaCrawlerOptions(
+                  executable
+                      .getSchemaCrawlerOptions()
+                      .withLoadOptions(
+                          LoadOptionsBuilder.builder()
+                              .fromOptions(executable.getSchemaCrawlerOptions().getLoadOptions())
+                              .withMaxThreads(3)
+                              .toOptions()));
+            });
+
+    assertThat(streamingLines, is(expectedLines));
+    // Each schema was crawled in parallel, on connections from the data source
+    assertThat(connections, is(not(empty())));
+  }
+
+  private List<String> execute(
+      final String command,
+      final String outputFormat,
+      final Connection connection,
+      final boolean isStreamingCrawl)
+      throws Exception {
+    return execute(command, outputFormat, connection, isStreamingCrawl, executable -> {});
+  }
+
+  private List<String> execute(
+      final String command,
+      final String outputFormat,
+      final Connection connection,
+      final boolean isStreamingCrawl,
+      final Consumer<SchemaCrawlerExecutable> configure)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+                    .includeAllRoutines()
+                    .toOptions())
+            .withLoadOptions(
+                LoadOptionsBuilder.builder().streamingCrawl(isStreamingCrawl).toOptions());
+
+    final SchemaTextOptionsBuilder textOptions = SchemaTextOptionsBuilder.builder();
+    textOptions.noInfo();
+    textOptions.sortTables(true);
+    final Config config = textOptions.toConfig();
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setAdditionalConfiguration(config);
+    configure.accept(executable);
+
+    final Path outputFile = executableExecution(connection, executable, outputFormat);
+    if (isStreamingCrawl) {
+      assertThat(executable.getCatalog(), is(nullValue()));
+    } else {
+      assertThat(executable.getCatalog(), is(not(nullValue())));
+    }
+
+    return Files.readAllLines(outputFile, UTF_8);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.sql.Connection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.TableSampleSyntax;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.options.Config;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class TableSamplerTest {
+
+  private Table table;
+  private Table view;
+
+  @BeforeEach
+  public void loadTables(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    table = catalog.lookupTable(catalog.lookupSchema("PUBLIC.BOOKS").get(), "AUTHORS").get();
+    view = catalog.lookupTable(catalog.lookupSchema("PUBLIC.BOOKS").get(), "AUTHORSLIST").get();
+  }
+
+  @Test
+  public void notSampled() {
+    final TableSampler tableSampler =
+        new TableSampler(options(OperationType.count, 0, 25), TableSampleSyntax.postgresql);
+
+    assertThat(tableSampler.isSampled(table), is(false));
+    assertThat(tableSampler.estimateRowCount(table, 10), is(10L));
+    assertThat(
+        query(tableSampler, OperationType.count, table), is("SELECT COUNT(*) FROM ${table}"));
+  }
+
+  @Test
+  public void rowLimits() {
+    final TableSampler tableSampler =
+        new TableSampler(options(OperationType.dump, 0, 25), TableSampleSyntax.fetch_first);
+
+    assertThat(
+        query(tableSampler, OperationType.dump, table),
+        is("SELECT ${columns} FROM ${table} ORDER BY ${orderbycolumns} FETCH FIRST 25 ROWS ONLY"));
+    assertThat(
+        query(
+            new TableSampler(options(OperationType.quickdump, 0, 25), TableSampleSyntax.limit),
+            OperationType.quickdump,
+            view),
+        is("SELECT * FROM ${table} LIMIT 25"));
+  }
+
+  @Test
+  public void sampledCounts() {
+    final TableSampler tableSampler =
+        new TableSampler(options(OperationType.count, 2.5, 0), TableSampleSyntax.sqlserver);
+
+    assertThat(tableSampler.isSampled(table), is(true));
+    assertThat(tableSampler.estimateRowCount(table, 10), is(400L));
+    assertThat(
+        query(tableSampler, OperationType.count, table),
+        is("SELECT COUNT(*) FROM ${table} TABLESAMPLE (2.5 PERCENT)"));
+
+    // Views are not sampled
+    assertThat(tableSampler.isSampled(view), is(false));
+    assertThat(tableSampler.estimateRowCount(view, 10), is(10L));
+    assertThat(
+        query(tableSampler, OperationType.count, view), is("SELECT COUNT(*) FROM ${table}"));
+  }
+
+  @Test
+  public void sampledRows() {
+    final TableSampler tableSampler =
+        new TableSampler(options(OperationType.quickdump, 10, 100), TableSampleSyntax.oracle);
+
+    assertThat(
+        query(tableSampler, OperationType.quickdump, table),
+        is("SELECT * FROM ${table} SAMPLE (10) FETCH FIRST 100 ROWS ONLY"));
+  }
+
+  @Test
+  public void samplingNotSupported() {
+    final TableSampler tableSampler =
+        new TableSampler(options(OperationType.count, 10, 0), TableSampleSyntax.limit);
+
+    assertThat(tableSampler.isSampled(table), is(false));
+    assertThat(tableSampler.estimateRowCount(table, 10), is(10L));
+    assertThat(
+        query(tableSampler, OperationType.count, table), is("SELECT COUNT(*) FROM ${table}"));
+  }
+
+  @Test
+  public void userDefinedQuery() {
+    final Query query = new Query("sample", "SELECT * FROM ${table} WHERE 1 = 1");
+    final Config config = new Config();
+    config.put(query.getName(), query.getQuery());
+    final OperationOptions options =
+        OperationOptionsBuilder.builder()
+            .withCommand(query.getName())
+            .fromConfig(config)
+            .withSamplePercent(10)
+            .withMaxRows(5)
+            .toOptions();
+    final TableSampler tableSampler = new TableSampler(options, TableSampleSyntax.postgresql);
+
+    assertThat(tableSampler.isSampled(table), is(false));
+    assertThat(tableSampler.getQuery(query, table), is(sameInstance(query)));
+  }
+
+  private OperationOptions options(
+      final OperationType operation, final double samplePercent, final int maxRows) {
+    return OperationOptionsBuilder.builder()
+        .withCommand(operation.name())
+        .withSamplePercent(samplePercent)
+        .withMaxRows(maxRows)
+        .toOptions();
+  }
+
+  private String query(
+      final TableSampler tableSampler, final OperationType operation, final Table table) {
+    return tableSampler.getQuery(operation.getQuery(), table).getQuery();
+  }
+}
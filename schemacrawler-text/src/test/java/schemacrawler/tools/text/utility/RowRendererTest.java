@@ -0,0 +1,134 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.utility;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static us.fatehi.utility.html.TagBuilder.anchor;
+import static us.fatehi.utility.html.TagBuilder.tableCell;
+import static us.fatehi.utility.html.TagBuilder.tableHeaderCell;
+import static us.fatehi.utility.html.TagBuilder.tableRow;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.html.Alignment;
+import us.fatehi.utility.html.Tag;
+import us.fatehi.utility.html.TagOutputFormat;
+
+public class RowRendererTest {
+
+  private static final String TEXT = "<Name> & \"Value\"";
+
+  @Test
+  public void anchors() {
+    for (final TagOutputFormat outputFormat : TagOutputFormat.values()) {
+      final RowRenderer row = new RowRenderer(outputFormat);
+      assertThat(
+          row.anchor(TEXT, "#link"),
+          is(anchor().withEscapedText(TEXT).withHyperlink("#link").make().render(outputFormat)));
+      assertThat(
+          row.anchor(TEXT, null),
+          is(anchor().withEscapedText(TEXT).make().render(outputFormat)));
+    }
+  }
+
+  @Test
+  public void cells() {
+    for (final TagOutputFormat outputFormat : TagOutputFormat.values()) {
+      final RowRenderer row = new RowRenderer(outputFormat);
+
+      final Tag tagRow = tableRow().make();
+      tagRow.addInnerTag(tableCell().withStyleClass("spacer").make());
+      tagRow.addInnerTag(
+          tableCell()
+              .withEscapedText(TEXT)
+              .withWidth(30)
+              .withEmphasis(true)
+              .withStyleClass("minwidth")
+              .make());
+      tagRow.addInnerTag(
+          tableCell()
+              .withEscapedText(TEXT)
+              .withWidth(20)
+              .withAlignment(Alignment.right)
+              .withColumnSpan(2)
+              .make());
+      tagRow.addInnerTag(
+          tableCell().withEscapedText(TEXT, false).withAlignment(Alignment.inherit).make());
+      tagRow.addInnerTag(tableCell().withText("NULL").withStyleClass("data_null").make());
+
+      assertThat(
+          render(
+              row.startRow()
+                  .cell("", "spacer")
+                  .cell(TEXT, true, 30, null, true, "minwidth", 0)
+                  .cell(TEXT, true, 20, Alignment.right, false, null, 2)
+                  .cell(TEXT, false, 0, Alignment.inherit, false, null, 0)
+                  .cell("NULL", "data_null")),
+          is(tagRow.render(outputFormat) + System.lineSeparator()));
+    }
+  }
+
+  @Test
+  public void headerCells() {
+    for (final TagOutputFormat outputFormat : TagOutputFormat.values()) {
+      final RowRenderer row = new RowRenderer(outputFormat);
+
+      final Tag tagRow = tableRow().make();
+      tagRow.addInnerTag(tableHeaderCell().withText("ID").make());
+      tagRow.addInnerTag(tableHeaderCell().withText("NAME").make());
+
+      assertThat(
+          render(row.startRow().headerCell("ID").headerCell("NAME")),
+          is(tagRow.render(outputFormat) + System.lineSeparator()));
+    }
+  }
+
+  @Test
+  public void reusedBuffer() {
+    final RowRenderer row = new RowRenderer(TagOutputFormat.text);
+    final StringBuilder longText = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      longText.append("long text ");
+    }
+
+    render(row.startRow().cell(longText.toString(), true, 0, null, false, null, 0));
+    assertThat(
+        render(row.startRow().cell("short", true, 200, null, false, null, 0)),
+        is(String.format("%-200s", "short") + System.lineSeparator()));
+  }
+
+  private String render(final RowRenderer row) {
+    final StringWriter writer = new StringWriter();
+    row.writeRow(new PrintWriter(writer));
+    return writer.toString();
+  }
+}
@@ -29,7 +29,9 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.catalogloader;
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
@@ -46,8 +48,30 @@ public interface CatalogLoader {
 
   Catalog loadCatalog() throws Exception;
 
+  /**
+   * Creates a crawler for a streaming crawl, which crawls the database one schema at a time,
+   * instead of loading the whole catalog. Catalog loaders that need to do more than a crawl to load
+   * the catalog should return null, and the whole catalog is loaded instead.
+   *
+   * @return Crawler for a streaming crawl, or null if a streaming crawl is not supported
+   * @throws Exception On an exception
+   */
+  default StreamingSchemaCrawler newStreamingSchemaCrawler() throws Exception {
+    return null;
+  }
+
   void setConnection(Connection connection);
 
+  /**
+   * Sets a source of database connections, which catalog loaders can use for parts of the crawl
+   * that run on other connections, such as a parallel crawl.
+   *
+   * @param dataSource Source of database connections, such as a connection pool
+   */
+  default void setDataSource(final Supplier<Connection> dataSource) {
+    // By default, only the connection is used
+  }
+
   void setSchemaCrawlerOptions(SchemaCrawlerOptions schemaCrawlerOptions);
 
   void setSchemaRetrievalOptions(SchemaRetrievalOptions schemaRetrievalOptions);
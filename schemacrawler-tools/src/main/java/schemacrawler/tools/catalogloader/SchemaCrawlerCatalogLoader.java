@@ -31,8 +31,10 @@ package schemacrawler.tools.catalogloader;
 import static java.util.Objects.requireNonNull;
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
 import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
@@ -45,6 +47,7 @@ public class SchemaCrawlerCatalogLoader implements CatalogLoader {
   private SchemaRetrievalOptions schemaRetrievalOptions;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private Connection connection;
+  private Supplier<Connection> dataSource;
 
   public SchemaCrawlerCatalogLoader() {
     databaseSystemIdentifier = null;
@@ -88,18 +91,41 @@ public class SchemaCrawlerCatalogLoader implements CatalogLoader {
     requireNonNull(connection, "No connection provided");
     requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
 
-    final SchemaCrawler schemaCrawler =
-        new SchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    final SchemaCrawler schemaCrawler;
+    if (isParallelCrawl()) {
+      // Crawl independent parts of the schema on connections from the data source
+      schemaCrawler = new SchemaCrawler(dataSource, schemaRetrievalOptions, schemaCrawlerOptions);
+    } else {
+      schemaCrawler = new SchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    }
     final Catalog catalog = schemaCrawler.crawl();
 
     return catalog;
   }
 
+  @Override
+  public StreamingSchemaCrawler newStreamingSchemaCrawler() throws Exception {
+    requireNonNull(connection, "No connection provided");
+    requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
+
+    if (isParallelCrawl()) {
+      // Crawl independent parts of each schema on connections from the data source
+      return new StreamingSchemaCrawler(dataSource, schemaRetrievalOptions, schemaCrawlerOptions);
+    } else {
+      return new StreamingSchemaCrawler(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+    }
+  }
+
   @Override
   public void setConnection(final Connection connection) {
     this.connection = connection;
   }
 
+  @Override
+  public void setDataSource(final Supplier<Connection> dataSource) {
+    this.dataSource = dataSource;
+  }
+
   @Override
   public void setSchemaCrawlerOptions(final SchemaCrawlerOptions schemaCrawlerOptions) {
     this.schemaCrawlerOptions = schemaCrawlerOptions;
@@ -109,4 +135,10 @@ public class SchemaCrawlerCatalogLoader implements CatalogLoader {
   public void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions) {
     this.schemaRetrievalOptions = schemaRetrievalOptions;
   }
+
+  private boolean isParallelCrawl() {
+    return dataSource != null
+        && schemaCrawlerOptions != null
+        && schemaCrawlerOptions.getLoadOptions().isParallelCrawl();
+  }
 }
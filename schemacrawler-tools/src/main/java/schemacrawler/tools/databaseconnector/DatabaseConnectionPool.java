@@ -0,0 +1,532 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.databaseconnector;
+
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * A small, bounded pool of database connections. Connections are handed out as proxies, and
+ * closing a proxy returns the connection to the pool, so callers can keep using
+ * try-with-resources. Connections are returned to the state that they were opened with, so
+ * settings made by one borrower do not carry over to the next. Idle connections are validated
+ * before they are handed out again, and are closed once they have been idle for longer than the
+ * idle timeout. Each pooled connection keeps a small cache of prepared statements, keyed by SQL.
+ *
+ * @author Sualeh Fatehi
+ */
+final class DatabaseConnectionPool implements AutoCloseable {
+
+  @FunctionalInterface
+  private interface ConnectionStateReader<T> {
+
+    T read() throws SQLException;
+  }
+
+  /**
+   * Connection proxy that is handed out for each borrow. Closing it returns the connection to the
+   * pool, and any further use fails, as it would for a closed connection.
+   */
+  private final class PooledConnectionInvocationHandler implements InvocationHandler {
+
+    private final PooledConnection pooledConnection;
+    private boolean closed;
+
+    PooledConnectionInvocationHandler(final PooledConnection pooledConnection) {
+      this.pooledConnection = pooledConnection;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args)
+        throws Throwable {
+      final String methodName = method.getName();
+      switch (methodName) {
+        case "close":
+          if (!closed) {
+            closed = true;
+            release(pooledConnection);
+          }
+          return null;
+        case "isClosed":
+          return closed || isClosed(pooledConnection.connection);
+        case "unwrap":
+          if (((Class<?>) args[0]).isInstance(pooledConnection.connection)) {
+            return pooledConnection.connection;
+          }
+          break;
+        case "isWrapperFor":
+          if (((Class<?>) args[0]).isInstance(pooledConnection.connection)) {
+            return true;
+          }
+          break;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "pooled " + pooledConnection.connection;
+        default:
+          break;
+      }
+
+      if (closed) {
+        throw new SQLException("Connection is closed");
+      }
+      if ("prepareStatement".equals(methodName)
+          && args != null
+          && args.length == 1
+          && args[0] instanceof String) {
+        return pooledConnection.prepareStatement((Connection) proxy, (String) args[0]);
+      }
+      if ("createStatement".equals(methodName)) {
+        final Statement statement =
+            (Statement) invokeDelegate(pooledConnection.connection, method, args);
+        return newStatementProxy(statement, (Connection) proxy);
+      }
+      return invokeDelegate(pooledConnection.connection, method, args);
+    }
+  }
+
+  /**
+   * A physical connection, with its statement cache, and the state that it was opened with.
+   * Prepared statements are taken out of the cache while they are in use, so that a statement is
+   * never shared by two callers.
+   */
+  private static final class PooledConnection {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statementCache;
+    // Connection state when the connection was opened, or null if the driver could not provide it
+    private final Boolean autoCommit;
+    private final Boolean readOnly;
+    private final Integer transactionIsolation;
+    private final String catalog;
+    private final String schema;
+    private long lastUsedNanos;
+
+    PooledConnection(final Connection connection) {
+      this.connection = requireNonNull(connection, "No connection provided");
+      statementCache =
+          new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            private static final long serialVersionUID = -3405735718424397473L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<String, PreparedStatement> eldest) {
+              if (size() > STATEMENT_CACHE_SIZE) {
+                closeQuietly(eldest.getValue());
+                return true;
+              }
+              return false;
+            }
+          };
+      autoCommit = readConnectionState(connection::getAutoCommit);
+      readOnly = readConnectionState(connection::isReadOnly);
+      transactionIsolation = readConnectionState(connection::getTransactionIsolation);
+      catalog = readConnectionState(connection::getCatalog);
+      schema = readConnectionState(connection::getSchema);
+      lastUsedNanos = System.nanoTime();
+    }
+
+    void close() {
+      synchronized (statementCache) {
+        for (final PreparedStatement statement : statementCache.values()) {
+          closeQuietly(statement);
+        }
+        statementCache.clear();
+      }
+      try {
+        connection.close();
+        LOGGER.log(Level.INFO, new StringFormat("Closed pooled connection <%s>", connection));
+      } catch (final SQLException e) {
+        LOGGER.log(Level.WARNING, "Could not close pooled connection", e);
+      }
+    }
+
+    PreparedStatement prepareStatement(final Connection connectionProxy, final String sql)
+        throws SQLException {
+      PreparedStatement statement;
+      synchronized (statementCache) {
+        statement = statementCache.remove(sql);
+      }
+      if (statement == null || statement.isClosed()) {
+        statement = connection.prepareStatement(sql);
+      }
+      final PreparedStatement preparedStatement = statement;
+      return (PreparedStatement)
+          newProxyInstance(
+              DatabaseConnectionPool.class.getClassLoader(),
+              new Class[] {PreparedStatement.class},
+              new InvocationHandler() {
+                private boolean closed;
+
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args)
+                    throws Throwable {
+                  final String methodName = method.getName();
+                  switch (methodName) {
+                    case "close":
+                      if (!closed) {
+                        closed = true;
+                        returnStatement(sql, preparedStatement);
+                      }
+                      return null;
+                    case "isClosed":
+                      return closed || preparedStatement.isClosed();
+                    case "getConnection":
+                      return connectionProxy;
+                    default:
+                      if (closed) {
+                        throw new SQLException("Statement is closed");
+                      }
+                      return invokeDelegate(preparedStatement, method, args);
+                  }
+                }
+              });
+    }
+
+    /**
+     * Rolls back any open transaction, and restores the state that the connection was opened
+     * with, so that the next borrower gets a clean connection.
+     *
+     * @throws SQLException If the connection state could not be restored
+     */
+    void reset() throws SQLException {
+      if (autoCommit != null) {
+        if (!connection.getAutoCommit()) {
+          connection.rollback();
+        }
+        if (connection.getAutoCommit() != autoCommit) {
+          connection.setAutoCommit(autoCommit);
+        }
+      }
+      if (readOnly != null && connection.isReadOnly() != readOnly) {
+        connection.setReadOnly(readOnly);
+      }
+      if (transactionIsolation != null
+          && connection.getTransactionIsolation() != transactionIsolation) {
+        connection.setTransactionIsolation(transactionIsolation);
+      }
+      if (catalog != null && !catalog.equals(connection.getCatalog())) {
+        connection.setCatalog(catalog);
+      }
+      if (schema != null && !schema.equals(connection.getSchema())) {
+        connection.setSchema(schema);
+      }
+      try {
+        connection.clearWarnings();
+      } catch (final SQLFeatureNotSupportedException e) {
+        LOGGER.log(Level.FINE, "Could not clear warnings on pooled connection", e);
+      }
+    }
+
+    private void returnStatement(final String sql, final PreparedStatement statement) {
+      try {
+        if (statement.isClosed() || connection.isClosed()) {
+          return;
+        }
+        statement.clearParameters();
+        statement.clearWarnings();
+        // Limits set by one caller do not carry over to the next
+        statement.setMaxRows(0);
+        statement.setQueryTimeout(0);
+      } catch (final SQLException e) {
+        LOGGER.log(Level.FINE, "Could not reset prepared statement", e);
+        closeQuietly(statement);
+        return;
+      }
+      final PreparedStatement replaced;
+      synchronized (statementCache) {
+        replaced = statementCache.put(sql, statement);
+      }
+      if (replaced != null && replaced != statement) {
+        closeQuietly(replaced);
+      }
+    }
+  }
+
+  private static final SchemaCrawlerLogger LOGGER =
+      SchemaCrawlerLogger.getLogger(DatabaseConnectionPool.class.getName());
+
+  private static final int STATEMENT_CACHE_SIZE = 32;
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final long BORROW_TIMEOUT_SECONDS = 60;
+
+  private static void closeQuietly(final PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (final SQLException e) {
+      LOGGER.log(Level.FINE, "Could not close prepared statement", e);
+    }
+  }
+
+  private static Object invokeDelegate(
+      final Object delegate, final Method method, final Object[] args) throws Throwable {
+    try {
+      return method.invoke(delegate, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static boolean isClosed(final Connection connection) throws SQLException {
+    try {
+      return connection.isClosed();
+    } catch (final SQLFeatureNotSupportedException e) {
+      // Some connections, such as offline connections, do not track whether they are closed
+      return false;
+    }
+  }
+
+  private static boolean isValid(final Connection connection) {
+    try {
+      return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (final SQLException | AbstractMethodError e) {
+      // Some older drivers do not support validation
+      LOGGER.log(Level.FINE, "Could not validate pooled connection", e);
+      try {
+        return !connection.isClosed();
+      } catch (final SQLException e1) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Wraps a statement, so that it reports the connection proxy as its connection. Statements
+   * prepared on that connection, such as for queries with bind parameters, then go through the
+   * statement cache.
+   */
+  private static Statement newStatementProxy(
+      final Statement statement, final Connection connectionProxy) {
+    return (Statement)
+        newProxyInstance(
+            DatabaseConnectionPool.class.getClassLoader(),
+            new Class[] {Statement.class},
+            (proxy, method, args) -> {
+              if ("getConnection".equals(method.getName())) {
+                return connectionProxy;
+              }
+              return invokeDelegate(statement, method, args);
+            });
+  }
+
+  /**
+   * Reads connection state, so that it can be restored when the connection is returned to the
+   * pool.
+   *
+   * @return Connection state, or null if it is not supported
+   */
+  private static <T> T readConnectionState(final ConnectionStateReader<T> reader) {
+    try {
+      return reader.read();
+    } catch (final SQLException | AbstractMethodError e) {
+      // Some connections, such as offline connections, and some older drivers, do not support
+      // all connection state, which is then not restored
+      LOGGER.log(Level.FINE, "Could not read connection state", e);
+      return null;
+    }
+  }
+
+  private final Supplier<Connection> connectionFactory;
+  private final int maximumPoolSize;
+  private final long idleTimeoutNanos;
+  private final Semaphore permits;
+  private final Deque<PooledConnection> idleConnections;
+  private volatile boolean closed;
+
+  DatabaseConnectionPool(
+      final Supplier<Connection> connectionFactory,
+      final int maximumPoolSize,
+      final Duration idleTimeout) {
+    this.connectionFactory = requireNonNull(connectionFactory, "No connection factory provided");
+    if (maximumPoolSize <= 0) {
+      throw new IllegalArgumentException("Connection pool size must be positive");
+    }
+    requireNonNull(idleTimeout, "No idle timeout provided");
+    if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+      throw new IllegalArgumentException("Idle timeout must be positive");
+    }
+    this.maximumPoolSize = maximumPoolSize;
+    idleTimeoutNanos = idleTimeout.toNanos();
+    permits = new Semaphore(maximumPoolSize, true);
+    idleConnections = new ArrayDeque<>();
+  }
+
+  /**
+   * Hands out a connection from the pool, or opens a new one if there are no idle connections.
+   * Blocks if all connections are in use.
+   *
+   * @return Connection proxy, which returns the connection to the pool when closed
+   */
+  Connection borrow() {
+    if (closed) {
+      throw new SchemaCrawlerRuntimeException("Connection pool is closed");
+    }
+    try {
+      if (!permits.tryAcquire(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        throw new SchemaCrawlerRuntimeException(
+            String.format(
+                "Timed out waiting for one of %d pooled connections", maximumPoolSize));
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerRuntimeException("Interrupted waiting for a pooled connection", e);
+    }
+
+    try {
+      PooledConnection pooledConnection;
+      while ((pooledConnection = pollIdleConnection()) != null) {
+        if (isValid(pooledConnection.connection)) {
+          LOGGER.log(
+              Level.FINE,
+              new StringFormat("Reusing pooled connection <%s>", pooledConnection.connection));
+          return newConnectionProxy(pooledConnection);
+        }
+        LOGGER.log(
+            Level.INFO,
+            new StringFormat(
+                "Discarding invalid pooled connection <%s>", pooledConnection.connection));
+        pooledConnection.close();
+      }
+      return newConnectionProxy(new PooledConnection(connectionFactory.get()));
+    } catch (final RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    final Deque<PooledConnection> connectionsToClose;
+    synchronized (idleConnections) {
+      connectionsToClose = new ArrayDeque<>(idleConnections);
+      idleConnections.clear();
+    }
+    for (final PooledConnection pooledConnection : connectionsToClose) {
+      pooledConnection.close();
+    }
+  }
+
+  int getIdleConnectionCount() {
+    synchronized (idleConnections) {
+      return idleConnections.size();
+    }
+  }
+
+  int getMaximumPoolSize() {
+    return maximumPoolSize;
+  }
+
+  private Connection newConnectionProxy(final PooledConnection pooledConnection) {
+    return (Connection)
+        newProxyInstance(
+            DatabaseConnectionPool.class.getClassLoader(),
+            new Class[] {Connection.class},
+            new PooledConnectionInvocationHandler(pooledConnection));
+  }
+
+  /**
+   * Takes the most recently used idle connection, so that warm connections are reused first, and
+   * closes any connections that have been idle for too long.
+   */
+  private PooledConnection pollIdleConnection() {
+    final long now = System.nanoTime();
+    final Deque<PooledConnection> expiredConnections = new ArrayDeque<>();
+    final PooledConnection pooledConnection;
+    synchronized (idleConnections) {
+      final Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+      while (iterator.hasNext()) {
+        final PooledConnection idleConnection = iterator.next();
+        if (now - idleConnection.lastUsedNanos > idleTimeoutNanos) {
+          iterator.remove();
+          expiredConnections.add(idleConnection);
+        } else {
+          break;
+        }
+      }
+      pooledConnection = idleConnections.pollFirst();
+    }
+    for (final PooledConnection expiredConnection : expiredConnections) {
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat("Closing idle pooled connection <%s>", expiredConnection.connection));
+      expiredConnection.close();
+    }
+    return pooledConnection;
+  }
+
+  private void release(final PooledConnection pooledConnection) {
+    try {
+      final Connection connection = pooledConnection.connection;
+      if (closed || isClosed(connection)) {
+        pooledConnection.close();
+        return;
+      }
+      pooledConnection.reset();
+      pooledConnection.lastUsedNanos = System.nanoTime();
+      synchronized (idleConnections) {
+        idleConnections.addFirst(pooledConnection);
+      }
+      if (closed) {
+        // The pool was closed while this connection was being returned
+        close();
+      }
+    } catch (final SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not return connection to the pool", e);
+      pooledConnection.close();
+    } finally {
+      permits.release();
+    }
+  }
+}
@@ -38,6 +38,7 @@ import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -51,7 +52,7 @@ import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
 import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
 import us.fatehi.utility.string.StringFormat;
 
-public final class DatabaseConnectionSource implements Supplier<Connection> {
+public final class DatabaseConnectionSource implements Supplier<Connection>, AutoCloseable {
 
   private static final SchemaCrawlerLogger LOGGER =
       SchemaCrawlerLogger.getLogger(DatabaseConnectionSource.class.getName());
@@ -86,6 +87,10 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
   private final Map<String, String> connectionProperties;
   private final String connectionUrl;
   private UserCredentials userCredentials;
+  private DatabaseConnectionPool connectionPool;
+  // JDBC driver, and the connection properties that it supports, looked up once for this source
+  private volatile Driver jdbcDriver;
+  private volatile Map<String, Boolean> jdbcDriverProperties;
 
   public DatabaseConnectionSource(final String connectionUrl) {
     this(connectionUrl, null);
@@ -100,8 +105,53 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
     userCredentials = new SingleUseUserCredentials();
   }
 
+  /**
+   * Closes idle pooled connections, and turns off connection pooling. Connections that are in use
+   * are closed when they are returned to the pool.
+   */
+  @Override
+  public synchronized void close() {
+    if (connectionPool != null) {
+      LOGGER.log(Level.INFO, new StringFormat("Closing connection pool for <%s>", connectionUrl));
+      connectionPool.close();
+      connectionPool = null;
+    }
+  }
+
+  /**
+   * Turns on connection pooling. Connections that are obtained from this source are then returned
+   * to the pool when they are closed, and reused, rather than opening a new connection each time.
+   * User credentials need to be usable more than once for the pool to open more than one
+   * connection.
+   *
+   * @param maximumPoolSize Maximum number of open connections
+   * @param idleTimeout Time after which idle connections are closed
+   */
+  public synchronized void enableConnectionPool(
+      final int maximumPoolSize, final Duration idleTimeout) {
+    close();
+    connectionPool =
+        new DatabaseConnectionPool(
+            () -> getConnection(userCredentials.getUser(), userCredentials.getPassword()),
+            maximumPoolSize,
+            idleTimeout);
+    LOGGER.log(
+        Level.CONFIG,
+        new StringFormat(
+            "Using a pool of up to %d connections for <%s>, with an idle timeout of %s",
+            maximumPoolSize, connectionUrl, idleTimeout));
+  }
+
   @Override
   public Connection get() {
+    final DatabaseConnectionPool connectionPool;
+    synchronized (this) {
+      connectionPool = this.connectionPool;
+    }
+    if (connectionPool != null) {
+      return connectionPool.borrow();
+    }
+
     final String user = userCredentials.getUser();
     final String password = userCredentials.getPassword();
     return getConnection(user, password);
@@ -115,10 +165,26 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
     return getJdbcDriver(connectionUrl);
   }
 
+  /**
+   * Maximum number of connections in the connection pool.
+   *
+   * @return Maximum pool size, or 0 if connections are not pooled
+   */
+  public synchronized int getMaximumPoolSize() {
+    if (connectionPool == null) {
+      return 0;
+    }
+    return connectionPool.getMaximumPoolSize();
+  }
+
   public UserCredentials getUserCredentials() {
     return userCredentials;
   }
 
+  public synchronized boolean isPooled() {
+    return connectionPool != null;
+  }
+
   public void setUserCredentials(final UserCredentials userCredentials) {
     this.userCredentials = requireNonNull(userCredentials, "No user credentials provided");
   }
@@ -139,23 +205,10 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
     return builder.toString();
   }
 
-  private Properties createConnectionProperties(
-      final String connectionUrl, final String user, final String password) {
-    final List<String> skipProperties =
-        Arrays.asList("server", "host", "port", "database", "urlx", "user", "password", "url");
+  private Properties createConnectionProperties(final String user, final String password) {
     final Properties jdbcConnectionProperties;
     try {
-      final Driver jdbcDriver = getJdbcDriver(connectionUrl);
-      final DriverPropertyInfo[] propertyInfo =
-          jdbcDriver.getPropertyInfo(this.connectionUrl, new Properties());
-      final Map<String, Boolean> jdbcDriverProperties = new HashMap<>();
-      for (final DriverPropertyInfo driverPropertyInfo : propertyInfo) {
-        final String jdbcPropertyName = driverPropertyInfo.name.toLowerCase();
-        if (skipProperties.contains(jdbcPropertyName)) {
-          continue;
-        }
-        jdbcDriverProperties.put(jdbcPropertyName, driverPropertyInfo.required);
-      }
+      final Map<String, Boolean> jdbcDriverProperties = getJdbcDriverProperties();
 
       jdbcConnectionProperties = new Properties();
       if (user != null) {
@@ -188,8 +241,7 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
       LOGGER.log(Level.WARNING, "Database password is not provided");
     }
 
-    final Properties jdbcConnectionProperties =
-        createConnectionProperties(connectionUrl, user, password);
+    final Properties jdbcConnectionProperties = createConnectionProperties(user, password);
     try {
       LOGGER.log(
           Level.INFO,
@@ -228,8 +280,14 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
   }
 
   private Driver getJdbcDriver(final String connectionUrl) throws SQLException {
+    final Driver cachedJdbcDriver = jdbcDriver;
+    if (cachedJdbcDriver != null) {
+      return cachedJdbcDriver;
+    }
     try {
-      return DriverManager.getDriver(connectionUrl);
+      final Driver jdbcDriver = DriverManager.getDriver(connectionUrl);
+      this.jdbcDriver = jdbcDriver;
+      return jdbcDriver;
     } catch (final SQLException e) {
       throw new SchemaCrawlerSQLException(
           "Could not find a suitable JDBC driver for database connection URL, "
@@ -237,4 +295,34 @@ public final class DatabaseConnectionSource implements Supplier<Connection> {
           e);
     }
   }
+
+  /**
+   * Gets the names of the connection properties that the JDBC driver supports, and whether each
+   * one is required. Asking the driver can be slow, so the results are cached for this source, and
+   * released with it.
+   */
+  private Map<String, Boolean> getJdbcDriverProperties() throws SQLException {
+    final Map<String, Boolean> cachedJdbcDriverProperties = jdbcDriverProperties;
+    if (cachedJdbcDriverProperties != null) {
+      return cachedJdbcDriverProperties;
+    }
+
+    final List<String> skipProperties =
+        Arrays.asList("server", "host", "port", "database", "urlx", "user", "password", "url");
+    final Driver jdbcDriver = getJdbcDriver(connectionUrl);
+    final DriverPropertyInfo[] propertyInfo =
+        jdbcDriver.getPropertyInfo(connectionUrl, new Properties());
+    final Map<String, Boolean> jdbcDriverProperties = new HashMap<>();
+    if (propertyInfo != null) {
+      for (final DriverPropertyInfo driverPropertyInfo : propertyInfo) {
+        final String jdbcPropertyName = driverPropertyInfo.name.toLowerCase();
+        if (skipProperties.contains(jdbcPropertyName)) {
+          continue;
+        }
+        jdbcDriverProperties.put(jdbcPropertyName, driverPropertyInfo.required);
+      }
+    }
+    this.jdbcDriverProperties = jdbcDriverProperties;
+    return jdbcDriverProperties;
+  }
 }
@@ -32,11 +32,14 @@ import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.requireNotBlank;
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 
@@ -52,15 +55,19 @@ public abstract class BaseSchemaCrawlerCommand<C extends CommandOptions>
   protected C commandOptions;
   protected Catalog catalog;
   protected Connection connection;
+  protected Supplier<Connection> dataSource;
   protected Identifiers identifiers;
   protected OutputOptions outputOptions;
   protected SchemaCrawlerOptions schemaCrawlerOptions;
+  protected StreamingSchemaCrawler streamingSchemaCrawler;
+  protected TableSampleSyntax tableSampleSyntax;
 
   protected BaseSchemaCrawlerCommand(final String command) {
     this.command = requireNotBlank(command, "No command specified");
 
     schemaCrawlerOptions = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
     outputOptions = OutputOptionsBuilder.newOutputOptions();
+    tableSampleSyntax = TableSampleSyntax.unknown;
   }
 
   @Override
@@ -128,6 +135,11 @@ public abstract class BaseSchemaCrawlerCommand<C extends CommandOptions>
     this.connection = connection;
   }
 
+  @Override
+  public void setDataSource(final Supplier<Connection> dataSource) {
+    this.dataSource = dataSource;
+  }
+
   @Override
   public void setIdentifiers(final Identifiers identifiers) {
     this.identifiers = identifiers;
@@ -153,6 +165,20 @@ public abstract class BaseSchemaCrawlerCommand<C extends CommandOptions>
     }
   }
 
+  @Override
+  public void setStreamingSchemaCrawler(final StreamingSchemaCrawler streamingSchemaCrawler) {
+    this.streamingSchemaCrawler = streamingSchemaCrawler;
+  }
+
+  @Override
+  public void setTableSampleSyntax(final TableSampleSyntax tableSampleSyntax) {
+    if (tableSampleSyntax != null) {
+      this.tableSampleSyntax = tableSampleSyntax;
+    } else {
+      this.tableSampleSyntax = TableSampleSyntax.unknown;
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public final String toString() {
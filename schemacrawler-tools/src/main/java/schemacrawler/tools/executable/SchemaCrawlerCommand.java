@@ -29,10 +29,13 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.executable;
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.TableSampleSyntax;
 import schemacrawler.tools.options.OutputOptions;
 
 /**
@@ -64,6 +67,17 @@ public interface SchemaCrawlerCommand<C extends CommandOptions> {
 
   Connection getConnection();
 
+  /**
+   * Maximum number of connections that the command takes from the data source at the same time,
+   * in addition to the connection that it is given. Used to check that a connection pool is large
+   * enough before the command runs.
+   *
+   * @return Maximum number of connections taken at the same time
+   */
+  default int getMaxConnections() {
+    return 0;
+  }
+
   Identifiers getIdentifiers();
 
   OutputOptions getOutputOptions();
@@ -83,12 +97,52 @@ public interface SchemaCrawlerCommand<C extends CommandOptions> {
 
   void setConnection(Connection connection);
 
+  /**
+   * Sets a source of database connections, for commands that can do work on more than one
+   * connection at a time. The command does not close the data source.
+   *
+   * @param dataSource Source of database connections
+   */
+  default void setDataSource(final Supplier<Connection> dataSource) {
+    // Data sources are not used by default
+  }
+
   void setIdentifiers(Identifiers identifiers);
 
   void setOutputOptions(OutputOptions outputOptions);
 
   void setSchemaCrawlerOptions(SchemaCrawlerOptions schemaCrawlerOptions);
 
+  /**
+   * Sets a crawler that the command uses to crawl and output one schema at a time, instead of a
+   * catalog for the whole database. Only set for commands that support a streaming crawl, when a
+   * streaming crawl is requested.
+   *
+   * @param streamingSchemaCrawler Streaming crawler
+   */
+  default void setStreamingSchemaCrawler(final StreamingSchemaCrawler streamingSchemaCrawler) {
+    // Streaming crawls are not supported by default
+  }
+
+  /**
+   * Sets the SQL syntax that the database supports for sampling and limiting rows, for commands
+   * that read data from tables.
+   *
+   * @param tableSampleSyntax Table sample syntax
+   */
+  default void setTableSampleSyntax(final TableSampleSyntax tableSampleSyntax) {
+    // Table data is not read by default
+  }
+
+  /**
+   * Whether the command can produce its output from a streaming crawl, one schema at a time.
+   *
+   * @return Whether a streaming crawl is supported
+   */
+  default boolean supportsStreamingCrawl() {
+    return false;
+  }
+
   default boolean usesConnection() {
     return false;
   }
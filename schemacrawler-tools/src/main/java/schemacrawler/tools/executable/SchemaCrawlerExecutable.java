@@ -32,9 +32,11 @@ import static us.fatehi.utility.Utility.requireNotBlank;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.SchemaCrawlerLogger;
+import schemacrawler.crawl.StreamingSchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
@@ -42,6 +44,7 @@ import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.tools.catalogloader.CatalogLoader;
 import schemacrawler.tools.catalogloader.CatalogLoaderRegistry;
+import schemacrawler.tools.databaseconnector.DatabaseConnectionSource;
 import schemacrawler.tools.options.Config;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
@@ -66,6 +69,7 @@ public final class SchemaCrawlerExecutable {
   private Config additionalConfiguration;
   private Catalog catalog;
   private Connection connection;
+  private Supplier<Connection> dataSource;
   private OutputOptions outputOptions;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private SchemaRetrievalOptions schemaRetrievalOptions;
@@ -79,36 +83,14 @@ public final class SchemaCrawlerExecutable {
   }
 
   public void execute() throws Exception {
-
-    if (schemaRetrievalOptions == null) {
-      schemaRetrievalOptions = SchemaCrawlerUtility.matchSchemaRetrievalOptions(connection);
-    }
-
-    // Load the command to see if it is available
-    // Fail early (before loading the catalog) if the command is not
-    // available
-    final SchemaCrawlerCommand<?> scCommand = loadCommand();
-
-    // Set options
-    scCommand.setIdentifiers(schemaRetrievalOptions.getIdentifiers());
-
-    // Initialize, and check if the command is available
-    scCommand.initialize();
-    scCommand.checkAvailability();
-
-    if (catalog == null) {
-      loadCatalog();
+    if (connection == null && dataSource != null) {
+      // Use a connection from the data source for the duration of the command
+      try (final Connection dataSourceConnection = dataSource.get()) {
+        execute(dataSourceConnection);
+      }
+    } else {
+      execute(connection);
     }
-
-    // Prepare to execute
-    scCommand.setCatalog(catalog);
-    scCommand.setConnection(connection);
-
-    // Execute
-    LOGGER.log(Level.INFO, new StringFormat("Executing SchemaCrawler command <%s>", command));
-    LOGGER.log(Level.CONFIG, new ObjectToStringFormat(scCommand.getIdentifiers()));
-    LOGGER.log(Level.CONFIG, new ObjectToStringFormat(scCommand.getCommandOptions()));
-    scCommand.execute();
   }
 
   public Catalog getCatalog() {
@@ -125,7 +107,7 @@ public final class SchemaCrawlerExecutable {
 
   public boolean hasConnection() {
     if (connection == null) {
-      return false;
+      return dataSource != null;
     }
     try {
       final boolean closed = connection.isClosed();
@@ -149,6 +131,17 @@ public final class SchemaCrawlerExecutable {
     this.connection = requireNonNull(connection, "No connection provided");
   }
 
+  /**
+   * Sets a source of database connections, such as a connection pool. If no connection is set, a
+   * connection is obtained from the data source for each execution. The data source is also used
+   * for a parallel crawl.
+   *
+   * @param dataSource Source of database connections
+   */
+  public void setDataSource(final Supplier<Connection> dataSource) {
+    this.dataSource = dataSource;
+  }
+
   public void setOutputOptions(final OutputOptions outputOptions) {
     if (outputOptions == null) {
       this.outputOptions = OutputOptionsBuilder.newOutputOptions();
@@ -175,16 +168,113 @@ public final class SchemaCrawlerExecutable {
     return command;
   }
 
-  private void loadCatalog() throws Exception {
-    final CatalogLoaderRegistry catalogLoaderRegistry = new CatalogLoaderRegistry();
-    final CatalogLoader catalogLoader =
-        catalogLoaderRegistry.lookupCatalogLoader(
-            schemaRetrievalOptions.getDatabaseServerType().getDatabaseSystemIdentifier());
-    LOGGER.log(Level.CONFIG, new StringFormat("Catalog loader: %s", getClass().getName()));
+  private void execute(final Connection connection) throws Exception {
 
-    catalogLoader.setConnection(connection);
-    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
-    catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    if (schemaRetrievalOptions == null) {
+      schemaRetrievalOptions = SchemaCrawlerUtility.matchSchemaRetrievalOptions(connection);
+    }
+
+    // Load the command to see if it is available
+    // Fail early (before loading the catalog) if the command is not
+    // available
+    final SchemaCrawlerCommand<?> scCommand = loadCommand();
+
+    // Set options
+    scCommand.setIdentifiers(schemaRetrievalOptions.getIdentifiers());
+    scCommand.setTableSampleSyntax(schemaRetrievalOptions.getTableSampleSyntax());
+
+    // Initialize, and check if the command is available
+    scCommand.initialize();
+    scCommand.checkAvailability();
+
+    final boolean isStreamingCrawl = catalog == null && isStreamingCrawl(scCommand, connection);
+    checkConnectionPoolSize(scCommand);
+
+    if (catalog == null) {
+      final StreamingSchemaCrawler streamingSchemaCrawler;
+      if (isStreamingCrawl) {
+        streamingSchemaCrawler = newStreamingSchemaCrawler(connection);
+      } else {
+        streamingSchemaCrawler = null;
+      }
+      if (streamingSchemaCrawler != null) {
+        LOGGER.log(Level.INFO, "Using a streaming crawl, one schema at a time");
+        scCommand.setStreamingSchemaCrawler(streamingSchemaCrawler);
+      } else {
+        loadCatalog(connection);
+      }
+    }
+
+    // Prepare to execute
+    scCommand.setCatalog(catalog);
+    scCommand.setConnection(connection);
+    scCommand.setDataSource(dataSource);
+
+    // Execute
+    LOGGER.log(Level.INFO, new StringFormat("Executing SchemaCrawler command <%s>", command));
+    LOGGER.log(Level.CONFIG, new ObjectToStringFormat(scCommand.getIdentifiers()));
+    LOGGER.log(Level.CONFIG, new ObjectToStringFormat(scCommand.getCommandOptions()));
+    scCommand.execute();
+  }
+
+  /**
+   * Fails early if the connection pool is too small for the largest number of connections that are
+   * in use at the same time, so that workers do not time out waiting for a connection part way
+   * through the command. The command holds a connection for its whole run, and the crawl and the
+   * command each take further connections from the pool. A streaming crawl takes as many
+   * connections for each schema as a full crawl does for the whole catalog.
+   */
+  private void checkConnectionPoolSize(final SchemaCrawlerCommand<?> scCommand)
+      throws SchemaCrawlerException {
+    if (!(dataSource instanceof DatabaseConnectionSource)) {
+      return;
+    }
+    final int maximumPoolSize = ((DatabaseConnectionSource) dataSource).getMaximumPoolSize();
+    if (maximumPoolSize <= 0) {
+      return;
+    }
+
+    final int crawlConnections;
+    if (catalog == null) {
+      crawlConnections = schemaCrawlerOptions.getLoadOptions().getMaxConnections();
+    } else {
+      crawlConnections = 0;
+    }
+    final int commandConnections = connection == null ? 1 : 0;
+    final int requiredConnections =
+        commandConnections + Math.max(crawlConnections, scCommand.getMaxConnections());
+    LOGGER.log(
+        Level.CONFIG,
+        new StringFormat(
+            "Command <%s> uses up to %d connections from a pool of %d",
+            command, requiredConnections, maximumPoolSize));
+    if (requiredConnections > maximumPoolSize) {
+      throw new SchemaCrawlerException(
+          String.format(
+              "Command <%s> can use up to %d connections at the same time, "
+                  + "but the connection pool has only %d connections; "
+                  + "increase the connection pool size, or reduce the maximum number of threads",
+              command, requiredConnections, maximumPoolSize));
+    }
+  }
+
+  private boolean isStreamingCrawl(
+      final SchemaCrawlerCommand<?> scCommand, final Connection connection) {
+    if (!schemaCrawlerOptions.getLoadOptions().isStreamingCrawl() || connection == null) {
+      return false;
+    }
+    if (!scCommand.supportsStreamingCrawl()) {
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat(
+              "Command <%s> does not support a streaming crawl, so loading the catalog", command));
+      return false;
+    }
+    return true;
+  }
+
+  private void loadCatalog(final Connection connection) throws Exception {
+    final CatalogLoader catalogLoader = lookupCatalogLoader(connection);
 
     catalog = catalogLoader.loadCatalog();
     requireNonNull(catalog, "Catalog could not be retrieved");
@@ -201,4 +291,38 @@ public final class SchemaCrawlerExecutable {
 
     return scCommand;
   }
+
+  /**
+   * Looks up the catalog loader for the database, so that the catalog is loaded, or streamed, with
+   * any database-specific steps of a connector.
+   */
+  private CatalogLoader lookupCatalogLoader(final Connection connection) throws Exception {
+    final CatalogLoaderRegistry catalogLoaderRegistry = new CatalogLoaderRegistry();
+    final CatalogLoader catalogLoader =
+        catalogLoaderRegistry.lookupCatalogLoader(
+            schemaRetrievalOptions.getDatabaseServerType().getDatabaseSystemIdentifier());
+    LOGGER.log(
+        Level.CONFIG, new StringFormat("Catalog loader: %s", catalogLoader.getClass().getName()));
+
+    catalogLoader.setConnection(connection);
+    catalogLoader.setDataSource(dataSource);
+    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
+    catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
+
+    return catalogLoader;
+  }
+
+  private StreamingSchemaCrawler newStreamingSchemaCrawler(final Connection connection)
+      throws Exception {
+    final CatalogLoader catalogLoader = lookupCatalogLoader(connection);
+    final StreamingSchemaCrawler streamingSchemaCrawler = catalogLoader.newStreamingSchemaCrawler();
+    if (streamingSchemaCrawler == null) {
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat(
+              "Catalog loader <%s> does not support a streaming crawl, so loading the catalog",
+              catalogLoader.getClass().getName()));
+    }
+    return streamingSchemaCrawler;
+  }
 }
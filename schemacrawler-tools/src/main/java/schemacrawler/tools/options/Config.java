@@ -97,6 +97,24 @@ public final class Config implements Options {
     return Boolean.parseBoolean(getStringValue(propertyName, Boolean.toString(defaultValue)));
   }
 
+  /**
+   * Gets the value of a property as a double.
+   *
+   * @param propertyName Property name
+   * @return Double value
+   */
+  public double getDoubleValue(final String propertyName, final double defaultValue) {
+    try {
+      return Double.parseDouble(getStringValue(propertyName, String.valueOf(defaultValue)));
+    } catch (final NumberFormatException e) {
+      LOGGER.log(
+          Level.FINEST,
+          new StringFormat("Could not parse double value for property <%s>", propertyName),
+          e);
+      return defaultValue;
+    }
+  }
+
   /**
    * Gets the value of a property as an enum.
    *
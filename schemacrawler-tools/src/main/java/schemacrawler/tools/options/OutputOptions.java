@@ -118,6 +118,15 @@ public final class OutputOptions implements Options {
     return title;
   }
 
+  /**
+   * Checks whether output is written to a file.
+   *
+   * @return Whether output is written to a file
+   */
+  public boolean hasOutputFile() {
+    return outputResource instanceof FileOutputResource;
+  }
+
   /**
    * Checks whether there is a title for the output.
    *
@@ -67,6 +67,25 @@ public class ConfigTest {
     assertThat(config.getBooleanValue("key"), is(false));
   }
 
+  @Test
+  public void getDoubleValue() {
+    final Config config = new Config();
+
+    assertThat(config.getDoubleValue("key", -1), is(-1D));
+
+    config.put("key", "1");
+
+    assertThat(config.getDoubleValue("key", -1), is(1D));
+
+    config.put("key", 0.25);
+
+    assertThat(config.getDoubleValue("key", -1), is(0.25D));
+
+    config.put("key", "blah");
+
+    assertThat(config.getDoubleValue("key", -1), is(-1D));
+  }
+
   @Test
   public void getEnumValue() {
     final Config config = new Config();
@@ -31,26 +31,63 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
 import schemacrawler.test.utility.DatabaseConnectionInfo;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
 import schemacrawler.test.utility.TestDatabaseDriver;
 import schemacrawler.tools.databaseconnector.DatabaseConnectionSource;
 import schemacrawler.tools.databaseconnector.SingleUseUserCredentials;
+import schemacrawler.tools.databaseconnector.UserCredentials;
 
 @ExtendWith(TestDatabaseConnectionParameterResolver.class)
 public class DatabaseConnectionSourceTest {
 
+  private static final class TestUserCredentials implements UserCredentials {
+
+    @Override
+    public void clearPassword() {
+      // No action, so that the pool can open more than one connection
+    }
+
+    @Override
+    public String getPassword() {
+      return "";
+    }
+
+    @Override
+    public String getUser() {
+      return "sa";
+    }
+
+    @Override
+    public boolean hasPassword() {
+      return true;
+    }
+
+    @Override
+    public boolean hasUser() {
+      return true;
+    }
+  }
+
   @Test
   public void databaseConnectionSource() throws SQLException, ClassNotFoundException {
     // Load test database driver
@@ -119,4 +156,181 @@ public class DatabaseConnectionSourceTest {
         assertThrows(SchemaCrawlerRuntimeException.class, () -> connectionSource.get());
     connectionException.printStackTrace();
   }
+
+  @Test
+  public void pooledConnectionIdleTimeout(final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final DatabaseConnectionSource connectionSource =
+        new DatabaseConnectionSource(databaseConnectionInfo.getConnectionUrl());
+    connectionSource.setUserCredentials(new TestUserCredentials());
+    connectionSource.enableConnectionPool(2, Duration.ofMillis(1));
+
+    final Connection firstConnection;
+    try (final Connection connection = connectionSource.get()) {
+      firstConnection = connection.unwrap(Connection.class);
+    }
+    Thread.sleep(20);
+
+    try (final Connection connection = connectionSource.get()) {
+      assertThat(connection.unwrap(Connection.class), is(not(sameInstance(firstConnection))));
+    }
+    assertThat(firstConnection.isClosed(), is(true));
+
+    connectionSource.close();
+  }
+
+  @Test
+  public void pooledConnectionSource(final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final DatabaseConnectionSource connectionSource =
+        new DatabaseConnectionSource(databaseConnectionInfo.getConnectionUrl());
+    connectionSource.setUserCredentials(new TestUserCredentials());
+    assertThat(connectionSource.isPooled(), is(false));
+
+    connectionSource.enableConnectionPool(2, Duration.ofMinutes(1));
+    assertThat(connectionSource.isPooled(), is(true));
+
+    final Connection firstConnection = connectionSource.get();
+    final Connection physicalConnection = firstConnection.unwrap(Connection.class);
+    firstConnection.close();
+    assertThat(firstConnection.isClosed(), is(true));
+    assertThrows(SQLException.class, () -> firstConnection.getMetaData());
+    assertThat(physicalConnection.isClosed(), is(false));
+
+    // Warm connection is reused
+    try (final Connection connection = connectionSource.get()) {
+      assertThat(connection.unwrap(Connection.class), is(sameInstance(physicalConnection)));
+
+      // A second connection is opened while the first is in use
+      try (final Connection secondConnection = connectionSource.get()) {
+        assertThat(
+            secondConnection.unwrap(Connection.class), is(not(sameInstance(physicalConnection))));
+      }
+    }
+
+    connectionSource.close();
+    assertThat(connectionSource.isPooled(), is(false));
+    assertThat(physicalConnection.isClosed(), is(true));
+  }
+
+  @Test
+  public void pooledConnectionState(final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final DatabaseConnectionSource connectionSource =
+        new DatabaseConnectionSource(databaseConnectionInfo.getConnectionUrl());
+    connectionSource.setUserCredentials(new TestUserCredentials());
+    connectionSource.enableConnectionPool(1, Duration.ofMinutes(1));
+
+    final Connection physicalConnection;
+    final boolean autoCommit;
+    final boolean readOnly;
+    final int transactionIsolation;
+    final String schema;
+    try (final Connection connection = connectionSource.get()) {
+      physicalConnection = connection.unwrap(Connection.class);
+      autoCommit = connection.getAutoCommit();
+      readOnly = connection.isReadOnly();
+      transactionIsolation = connection.getTransactionIsolation();
+      schema = connection.getSchema();
+
+      connection.setAutoCommit(!autoCommit);
+      connection.setReadOnly(!readOnly);
+      connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+      connection.setSchema("BOOKS");
+    }
+    assertThat(transactionIsolation, is(not(Connection.TRANSACTION_SERIALIZABLE)));
+    assertThat(schema, is(not("BOOKS")));
+
+    // Settings made by one borrower do not carry over to the next
+    try (final Connection connection = connectionSource.get()) {
+      assertThat(connection.unwrap(Connection.class), is(sameInstance(physicalConnection)));
+      assertThat(connection.getAutoCommit(), is(autoCommit));
+      assertThat(connection.isReadOnly(), is(readOnly));
+      assertThat(connection.getTransactionIsolation(), is(transactionIsolation));
+      assertThat(connection.getSchema(), is(schema));
+    }
+
+    connectionSource.close();
+  }
+
+  @Test
+  public void pooledPreparedStatements(final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final DatabaseConnectionSource connectionSource =
+        new DatabaseConnectionSource(databaseConnectionInfo.getConnectionUrl());
+    connectionSource.setUserCredentials(new TestUserCredentials());
+    connectionSource.enableConnectionPool(1, Duration.ofMinutes(1));
+
+    final String sql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SCHEMATA WHERE SCHEMA_NAME = ?";
+    final PreparedStatement physicalStatement;
+    try (final Connection connection = connectionSource.get()) {
+      try (final PreparedStatement statement = connection.prepareStatement(sql)) {
+        statement.setString(1, "BOOKS");
+        try (final ResultSet results = statement.executeQuery()) {
+          assertThat(results.next(), is(true));
+          assertThat(results.getInt(1), is(1));
+        }
+        physicalStatement = statement.unwrap(PreparedStatement.class);
+        assertThat(statement.getConnection(), is(sameInstance(connection)));
+      }
+      assertThat(physicalStatement.isClosed(), is(false));
+    }
+
+    // Prepared statement is cached with the pooled connection
+    try (final Connection connection = connectionSource.get();
+        final PreparedStatement statement = connection.prepareStatement(sql)) {
+      assertThat(statement.unwrap(PreparedStatement.class), is(sameInstance(physicalStatement)));
+    }
+
+    connectionSource.close();
+    assertThat(physicalStatement.isClosed(), is(true));
+  }
+
+  @Test
+  public void pooledQueryWithBindParameters(final DatabaseConnectionInfo databaseConnectionInfo)
+      throws Exception {
+
+    final DatabaseConnectionSource connectionSource =
+        new DatabaseConnectionSource(databaseConnectionInfo.getConnectionUrl());
+    connectionSource.setUserCredentials(new TestUserCredentials());
+    connectionSource.enableConnectionPool(1, Duration.ofMinutes(1));
+
+    final Query query =
+        new Query(
+            "Schemas",
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SCHEMATA "
+                + "WHERE REGEXP_MATCHES(SCHEMA_NAME, ?{schemas})");
+    final RegularExpressionInclusionRule schemaInclusionRule =
+        new RegularExpressionInclusionRule("BOOKS");
+
+    PreparedStatement physicalStatement = null;
+    for (int i = 0; i < 2; i++) {
+      try (final Connection connection = connectionSource.get();
+          final Statement statement = connection.createStatement()) {
+        assertThat(statement.getConnection(), is(sameInstance(connection)));
+        final PreparedStatement preparedStatement;
+        try (final ResultSet results =
+            executeAgainstSchema(query, statement, schemaInclusionRule)) {
+          assertThat(results.next(), is(true));
+          assertThat(results.getInt(1), is(1));
+          preparedStatement = results.getStatement().unwrap(PreparedStatement.class);
+        }
+        // Closing the results returns the prepared statement to the cache, open
+        assertThat(preparedStatement.isClosed(), is(false));
+        if (physicalStatement == null) {
+          physicalStatement = preparedStatement;
+        } else {
+          // Only one physical prepare for both runs
+          assertThat(preparedStatement, is(sameInstance(physicalStatement)));
+        }
+      }
+    }
+
+    connectionSource.close();
+    assertThat(physicalStatement.isClosed(), is(true));
+  }
 }
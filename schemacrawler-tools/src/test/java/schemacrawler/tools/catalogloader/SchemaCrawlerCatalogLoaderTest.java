@@ -41,6 +41,7 @@ import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestCatalogLoader;
 import schemacrawler.test.utility.TestDatabaseDriver;
 
 public class SchemaCrawlerCatalogLoaderTest {
@@ -65,6 +66,20 @@ public class SchemaCrawlerCatalogLoaderTest {
         new SchemaCrawlerCatalogLoader("test-db").getDatabaseSystemIdentifier(), is("test-db"));
   }
 
+  @Test
+  public void newStreamingSchemaCrawler() throws Exception {
+    final CatalogLoader catalogLoader = new SchemaCrawlerCatalogLoader();
+    catalogLoader.setConnection(new TestDatabaseDriver().connect("jdbc:test-db:test", null));
+    catalogLoader.setSchemaRetrievalOptions(
+        SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions());
+    catalogLoader.setSchemaCrawlerOptions(SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions());
+
+    assertThat(catalogLoader.newStreamingSchemaCrawler(), is(not(nullValue())));
+
+    // Catalog loaders do not support a streaming crawl, unless they say so
+    assertThat(new TestCatalogLoader().newStreamingSchemaCrawler(), is(nullValue()));
+  }
+
   @Test
   public void schemaCrawlerOptions() {
     final CatalogLoader catalogLoader = new SchemaCrawlerCatalogLoader();
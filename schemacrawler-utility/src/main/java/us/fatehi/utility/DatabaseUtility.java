@@ -31,6 +31,7 @@ import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.isBlank;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -105,6 +106,50 @@ public final class DatabaseUtility {
     }
   }
 
+  /**
+   * Executes a prepared statement, with parameters that are already set.
+   *
+   * @param statement Prepared statement
+   * @param sql SQL of the prepared statement, for logging
+   * @return Results, or null if the statement did not return results
+   * @throws SQLException On an exception
+   */
+  public static ResultSet executePreparedStatement(
+      final PreparedStatement statement, final String sql) throws SQLException {
+    if (statement == null) {
+      return null;
+    }
+
+    try {
+      statement.clearWarnings();
+
+      final boolean hasResults = statement.execute();
+      logSQLWarnings(statement);
+      if (hasResults) {
+        return statement.getResultSet();
+      } else {
+        final int updateCount = statement.getUpdateCount();
+        LOGGER.log(
+            Level.FINE,
+            new StringFormat("No results. Update count of %d for query: %s", updateCount, sql));
+        return null;
+      }
+
+    } catch (final SQLException e) {
+      LOGGER.log(Level.WARNING, e, new StringFormat("Error executing SQL <%s>", sql));
+      throw e;
+    }
+  }
+
+  public static Object executePreparedStatementForScalar(
+      final PreparedStatement statement, final String sql) throws SQLException {
+    try (final ResultSet resultSet = executePreparedStatement(statement, sql)) {
+      return readScalar(resultSet, sql);
+    } catch (final SQLException e) {
+      throw new SQLException(String.format("%s%n%s", e.getMessage(), sql), e);
+    }
+  }
+
   public static ResultSet executeSql(final Statement statement, final String sql)
       throws SQLException {
     if (statement == null) {
@@ -151,32 +196,7 @@ public final class DatabaseUtility {
       throws SQLException {
     try (final Statement statement = createStatement(connection);
         final ResultSet resultSet = executeSql(statement, sql)) {
-      if (resultSet == null) {
-        return null;
-      }
-
-      // Error checking
-      if (resultSet.getMetaData().getColumnCount() != 1) {
-        throw new SQLException("Too many columns of data returned");
-      }
-
-      Object scalar;
-      if (resultSet.next()) {
-        scalar = resultSet.getObject(1);
-        if (resultSet.wasNull()) {
-          scalar = null;
-        }
-      } else {
-        LOGGER.log(Level.WARNING, new StringFormat("No rows of data returned for query <%s>", sql));
-        scalar = null;
-      }
-
-      // Error checking
-      if (resultSet.next()) {
-        throw new SQLException("Too many rows of data returned");
-      }
-
-      return scalar;
+      return readScalar(resultSet, sql);
     } catch (final SQLException e) {
       throw new SQLException(String.format("%s%n%s", e.getMessage(), sql), e);
     }
@@ -242,6 +262,36 @@ public final class DatabaseUtility {
     return values;
   }
 
+  private static Object readScalar(final ResultSet resultSet, final String sql)
+      throws SQLException {
+    if (resultSet == null) {
+      return null;
+    }
+
+    // Error checking
+    if (resultSet.getMetaData().getColumnCount() != 1) {
+      throw new SQLException("Too many columns of data returned");
+    }
+
+    Object scalar;
+    if (resultSet.next()) {
+      scalar = resultSet.getObject(1);
+      if (resultSet.wasNull()) {
+        scalar = null;
+      }
+    } else {
+      LOGGER.log(Level.WARNING, new StringFormat("No rows of data returned for query <%s>", sql));
+      scalar = null;
+    }
+
+    // Error checking
+    if (resultSet.next()) {
+      throw new SQLException("Too many rows of data returned");
+    }
+
+    return scalar;
+  }
+
   private static void logSQLWarnings(final SQLWarning sqlWarning) {
     final Level level = Level.FINER;
     if (!LOGGER.isLoggable(level)) {
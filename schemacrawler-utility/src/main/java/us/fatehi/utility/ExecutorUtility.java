@@ -0,0 +1,70 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility methods for executors.
+ *
+ * @author Sualeh Fatehi
+ */
+@UtilityMarker
+public final class ExecutorUtility {
+
+  /**
+   * Waits for all tasks of an executor that has been shut down to finish, even if the calling
+   * thread is interrupted, so that no task is still holding resources such as a connection when
+   * the caller returns. The interrupt status of the calling thread is restored.
+   *
+   * @param executor Executor that has been shut down
+   */
+  public static void awaitTermination(final ExecutorService executor) {
+    requireNonNull(executor, "No executor provided");
+    boolean isInterrupted = false;
+    while (true) {
+      try {
+        if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS)) {
+          break;
+        }
+      } catch (final InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private ExecutorUtility() {
+    // Prevent instantiation
+  }
+}
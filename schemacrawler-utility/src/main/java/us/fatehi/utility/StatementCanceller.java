@@ -0,0 +1,116 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Cancels statements that run for longer than a timeout. A single daemon thread is shared by all
+ * statements, and is only started if there is a timeout.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class StatementCanceller implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(StatementCanceller.class.getName());
+
+  private final int timeoutSeconds;
+  private final ScheduledExecutorService executor;
+
+  /**
+   * Creates a canceller.
+   *
+   * @param threadNamePrefix Name for the canceller thread
+   * @param timeoutSeconds Timeout in seconds, or 0 for no timeout
+   */
+  public StatementCanceller(final String threadNamePrefix, final int timeoutSeconds) {
+    requireNonNull(threadNamePrefix, "No thread name prefix provided");
+    if (timeoutSeconds > 0) {
+      this.timeoutSeconds = timeoutSeconds;
+      executor =
+          Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(threadNamePrefix));
+    } else {
+      this.timeoutSeconds = 0;
+      executor = null;
+    }
+  }
+
+  /**
+   * Schedules a statement to be cancelled once the timeout expires. The returned future needs to
+   * be cancelled once the statement completes, so that it is not cancelled later.
+   *
+   * @param statement Statement to cancel
+   * @param description Description of the statement, for logging
+   * @return Scheduled cancellation, which is already done if there is no timeout
+   */
+  public Future<?> cancelAfterTimeout(final Statement statement, final String description) {
+    requireNonNull(statement, "No statement provided");
+    if (executor == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return executor.schedule(
+        () -> cancel(statement, description), timeoutSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Checks whether statements are cancelled after a timeout.
+   *
+   * @return Whether there is a timeout
+   */
+  public boolean hasTimeout() {
+    return executor != null;
+  }
+
+  private void cancel(final Statement statement, final String description) {
+    try {
+      LOGGER.log(Level.INFO, new StringFormat("Cancelling %s, since it timed out", description));
+      statement.cancel();
+    } catch (final SQLException e) {
+      LOGGER.log(Level.FINE, e, new StringFormat("Could not cancel %s", description));
+    }
+  }
+}
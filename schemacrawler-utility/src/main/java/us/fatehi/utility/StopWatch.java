@@ -37,8 +37,11 @@ import java.time.Instant;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
@@ -77,21 +80,81 @@ public final class StopWatch {
 
   private final String id;
   private final List<TaskInfo> tasks = new LinkedList<>();
+  private final List<String> criticalPath = new ArrayList<>();
   private String currentTaskName;
   private boolean running;
   // State for current task
   private Instant start;
   private Duration totalDuration;
+  // Wall-clock span of all tasks, which may overlap if run in parallel
+  private Instant firstStart;
+  private Instant lastStop;
 
   public StopWatch(final String id) {
     this.id = id;
     totalDuration = Duration.ofNanos(0);
   }
 
+  /**
+   * Sum of the durations of the tasks on the critical path, if one was set. Otherwise, the same as
+   * the wall-clock duration.
+   *
+   * @return Critical path duration
+   */
+  public synchronized Duration getCriticalPathDuration() {
+    if (criticalPath.isEmpty()) {
+      return getWallClockDuration();
+    }
+    Duration criticalPathDuration = Duration.ofNanos(0);
+    for (final TaskInfo task : tasks) {
+      if (criticalPath.contains(task.taskName)) {
+        criticalPathDuration = criticalPathDuration.plus(task.getDuration());
+      }
+    }
+    return criticalPathDuration;
+  }
+
   public String getId() {
     return id;
   }
 
+  /**
+   * Durations of tasks, in the order that they were first run. Durations of tasks with the same
+   * name are added together.
+   *
+   * @return Task durations, by task name
+   */
+  public synchronized Map<String, Duration> getTaskDurations() {
+    final Map<String, Duration> taskDurations = new LinkedHashMap<>();
+    for (final TaskInfo task : tasks) {
+      taskDurations.merge(task.taskName, task.getDuration(), Duration::plus);
+    }
+    return taskDurations;
+  }
+
+  /**
+   * Sum of the durations of all tasks, whether they ran one after another or in parallel.
+   *
+   * @return Total duration
+   */
+  public synchronized Duration getTotalDuration() {
+    return totalDuration;
+  }
+
+  /**
+   * Elapsed time from the start of the first task to the end of the last task. For tasks run one
+   * after another this is the same as the total duration, but it is shorter for tasks run in
+   * parallel.
+   *
+   * @return Wall-clock duration
+   */
+  public synchronized Duration getWallClockDuration() {
+    if (firstStart == null || lastStop == null) {
+      return Duration.ofNanos(0);
+    }
+    return Duration.between(firstStart, lastStop);
+  }
+
   /**
    * Return whether the stop watch is currently running.
    *
@@ -108,23 +171,73 @@ public final class StopWatch {
    */
   public Supplier<String> stringify() {
     return () -> {
-      final StringBuilder buffer = new StringBuilder(1024);
-
-      final LocalTime totalDurationLocal = LocalTime.ofNanoOfDay(totalDuration.toNanos());
-      buffer.append(
-          String.format(
-              "Total time taken for <%s> - %s hours%n", id, totalDurationLocal.format(df)));
+      synchronized (this) {
+        final StringBuilder buffer = new StringBuilder(1024);
 
-      for (final TaskInfo task : tasks) {
+        final LocalTime totalDurationLocal = LocalTime.ofNanoOfDay(totalDuration.toNanos());
         buffer.append(
             String.format(
-                "-%5.1f%% - %s%n", calculatePercentage(task.getDuration(), totalDuration), task));
+                "Total time taken for <%s> - %s hours%n", id, totalDurationLocal.format(df)));
+
+        final Duration wallClockDuration = getWallClockDuration();
+        if (wallClockDuration.compareTo(totalDuration) < 0) {
+          final LocalTime wallClockDurationLocal =
+              LocalTime.ofNanoOfDay(wallClockDuration.toNanos());
+          buffer.append(
+              String.format(
+                  "Wall-clock time taken for <%s> - %s hours%n",
+                  id, wallClockDurationLocal.format(df)));
+        }
+        if (!criticalPath.isEmpty()) {
+          final LocalTime criticalPathDurationLocal =
+              LocalTime.ofNanoOfDay(getCriticalPathDuration().toNanos());
+          buffer.append(
+              String.format(
+                  "Critical path time taken for <%s> - %s hours - <%s>%n",
+                  id, criticalPathDurationLocal.format(df), String.join(" -> ", criticalPath)));
+        }
+
+        for (final TaskInfo task : tasks) {
+          buffer.append(
+              String.format(
+                  "-%5.1f%% - %s%n", calculatePercentage(task.getDuration(), totalDuration), task));
+        }
+
+        return buffer.toString();
       }
-
-      return buffer.toString();
     };
   }
 
+  /**
+   * Records a task that was timed outside of this stop watch, for example on another thread. Tasks
+   * recorded this way may overlap each other.
+   *
+   * @param taskName Name of the task
+   * @param taskStart When the task started
+   * @param taskStop When the task finished
+   */
+  public synchronized void record(
+      final String taskName, final Instant taskStart, final Instant taskStop) {
+    if (taskStart == null || taskStop == null || taskStop.isBefore(taskStart)) {
+      throw new IllegalArgumentException(
+          String.format("Cannot record <%s>, since start and stop times are not valid", taskName));
+    }
+    addTask(taskName, taskStart, taskStop);
+  }
+
+  /**
+   * Identifies the chain of dependent tasks that determined the wall-clock time. Only used for
+   * reporting.
+   *
+   * @param taskNames Names of tasks on the critical path, in order
+   */
+  public synchronized void setCriticalPath(final List<String> taskNames) {
+    criticalPath.clear();
+    if (taskNames != null) {
+      criticalPath.addAll(taskNames);
+    }
+  }
+
   public <V> V time(final String taskName, final Callable<V> callable) throws Exception {
     start(taskName);
     final V returnValue = callable.call();
@@ -159,15 +272,27 @@ public final class StopWatch {
     }
 
     final Instant stop = Instant.now();
-    final Duration runTime = Duration.between(start, stop);
-
-    totalDuration = totalDuration.plus(runTime);
-
-    final TaskInfo lastTaskInfo = new TaskInfo(currentTaskName, runTime);
-    tasks.add(lastTaskInfo);
+    synchronized (this) {
+      addTask(currentTaskName, start, stop);
+    }
 
     running = false;
     currentTaskName = null;
     start = null;
   }
+
+  private void addTask(final String taskName, final Instant taskStart, final Instant taskStop) {
+    final Duration runTime = Duration.between(taskStart, taskStop);
+
+    totalDuration = totalDuration.plus(runTime);
+    if (firstStart == null || taskStart.isBefore(firstStart)) {
+      firstStart = taskStart;
+    }
+    if (lastStop == null || taskStop.isAfter(lastStop)) {
+      lastStop = taskStop;
+    }
+
+    final TaskInfo lastTaskInfo = new TaskInfo(taskName, runTime);
+    tasks.add(lastTaskInfo);
+  }
 }
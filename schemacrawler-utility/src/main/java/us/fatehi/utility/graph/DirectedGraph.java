@@ -27,22 +27,41 @@ http://www.gnu.org/licenses/
 */
 package us.fatehi.utility.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+/**
+ * Simple directed graph. Vertices are numbered in the order in which they are added, and edges are
+ * held as pairs of vertex numbers. Graph algorithms work from an index of outgoing edges, which is
+ * built when it is first needed after the graph changes.
+ *
+ * @param <T> Any comparable class
+ */
 public class DirectedGraph<T extends Comparable<? super T>> {
 
-  private final Set<DirectedEdge<T>> edges;
   private final String name;
-  private final Map<T, Vertex<T>> verticesMap;
+  private final Map<T, Integer> vertexIndexes;
+  private final List<Vertex<T>> vertices;
+  private final Set<Long> edgeKeys;
+  private int[] edgesFrom;
+  private int[] edgesTo;
+  private int edgeCount;
+  private EdgeIndex edgeIndex;
 
   public DirectedGraph(final String name) {
     this.name = name;
-    verticesMap = new HashMap<>();
-    edges = new HashSet<>();
+    vertexIndexes = new HashMap<>();
+    vertices = new ArrayList<>();
+    edgeKeys = new HashSet<>();
+    edgesFrom = new int[16];
+    edgesTo = new int[16];
   }
 
   /**
@@ -53,9 +72,24 @@ public class DirectedGraph<T extends Comparable<? super T>> {
    * @param to Vertex value at the end of the edge
    */
   public void addEdge(final T from, final T to) {
-    if (!from.equals(to)) {
-      edges.add(new DirectedEdge<>(addVertex(from), addVertex(to)));
+    if (from.equals(to)) {
+      return;
     }
+
+    final int fromIndex = addVertexIndex(from);
+    final int toIndex = addVertexIndex(to);
+    if (!edgeKeys.add(((long) fromIndex << 32) | toIndex)) {
+      return;
+    }
+
+    if (edgeCount == edgesFrom.length) {
+      edgesFrom = Arrays.copyOf(edgesFrom, edgeCount * 2);
+      edgesTo = Arrays.copyOf(edgesTo, edgeCount * 2);
+    }
+    edgesFrom[edgeCount] = fromIndex;
+    edgesTo[edgeCount] = toIndex;
+    edgeCount++;
+    edgeIndex = null;
   }
 
   /**
@@ -65,18 +99,15 @@ public class DirectedGraph<T extends Comparable<? super T>> {
    * @return The newly added vertex
    */
   public Vertex<T> addVertex(final T value) {
-    final Vertex<T> vertex;
-    if (verticesMap.containsKey(value)) {
-      vertex = verticesMap.get(value);
-    } else {
-      vertex = new Vertex<>(value);
-      verticesMap.put(value, vertex);
-    }
-    return vertex;
+    return vertices.get(addVertexIndex(value));
   }
 
   public Set<DirectedEdge<T>> edgeSet() {
-    return new HashSet<>(edges);
+    final Set<DirectedEdge<T>> edges = new LinkedHashSet<>();
+    for (int i = 0; i < edgeCount; i++) {
+      edges.add(new DirectedEdge<>(vertices.get(edgesFrom[i]), vertices.get(edgesTo[i])));
+    }
+    return edges;
   }
 
   /** @return the name */
@@ -87,11 +118,16 @@ public class DirectedGraph<T extends Comparable<? super T>> {
   public Set<DirectedEdge<T>> getOutgoingEdges(final Vertex<T> vertexFrom) {
     Objects.requireNonNull(vertexFrom, "No vertex provided");
 
-    final Set<DirectedEdge<T>> outgoingEdges = new HashSet<>();
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.getFrom().equals(vertexFrom)) {
-        outgoingEdges.add(edge);
-      }
+    final Set<DirectedEdge<T>> outgoingEdges = new LinkedHashSet<>();
+    final Integer fromIndex = vertexIndexes.get(vertexFrom.getValue());
+    if (fromIndex == null) {
+      return outgoingEdges;
+    }
+
+    final EdgeIndex edgeIndex = edgeIndex();
+    final Vertex<T> from = vertices.get(fromIndex);
+    for (int i = edgeIndex.start(fromIndex); i < edgeIndex.end(fromIndex); i++) {
+      outgoingEdges.add(new DirectedEdge<>(from, vertices.get(edgeIndex.target(i))));
     }
     return outgoingEdges;
   }
@@ -103,7 +139,7 @@ public class DirectedGraph<T extends Comparable<? super T>> {
     if (name != null && !name.isEmpty()) {
       writer.append(String.format("  [label=\"%s\"]%n", name));
     }
-    for (final Vertex<T> vertex : verticesMap.values()) {
+    for (final Vertex<T> vertex : vertices) {
       writer.append("  ").append(vertex);
       if (vertex.hasAttribute("fillcolor")) {
         writer.append(
@@ -111,14 +147,50 @@ public class DirectedGraph<T extends Comparable<? super T>> {
       }
       writer.append(";\n");
     }
-    for (final DirectedEdge<T> edge : edges) {
-      writer.append("  ").append(edge).append(";\n");
+    for (int i = 0; i < edgeCount; i++) {
+      writer
+          .append("  ")
+          .append(vertices.get(edgesFrom[i]))
+          .append(" -> ")
+          .append(vertices.get(edgesTo[i]))
+          .append(";\n");
     }
     writer.append("}\n");
     return writer.toString();
   }
 
   public Set<Vertex<T>> vertexSet() {
-    return new HashSet<>(verticesMap.values());
+    return new LinkedHashSet<>(vertices);
+  }
+
+  /**
+   * Index of outgoing edges, which is rebuilt only if edges were added since it was last built.
+   *
+   * @return Outgoing edges for each vertex
+   */
+  EdgeIndex edgeIndex() {
+    if (edgeIndex == null || edgeIndex.vertexCount() != vertices.size()) {
+      edgeIndex = new EdgeIndex(vertices.size(), edgesFrom, edgesTo, edgeCount);
+    }
+    return edgeIndex;
+  }
+
+  Vertex<T> getVertex(final int index) {
+    return vertices.get(index);
+  }
+
+  int getVertexCount() {
+    return vertices.size();
+  }
+
+  private int addVertexIndex(final T value) {
+    final Integer index = vertexIndexes.get(value);
+    if (index != null) {
+      return index;
+    }
+    final int newIndex = vertices.size();
+    vertices.add(new Vertex<>(value));
+    vertexIndexes.put(value, newIndex);
+    return newIndex;
   }
 }
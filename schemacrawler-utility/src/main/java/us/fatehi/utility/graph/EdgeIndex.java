@@ -0,0 +1,99 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.graph;
+
+import java.util.Arrays;
+
+/**
+ * Outgoing edges of a directed graph in compressed sparse row form. The targets of the edges from
+ * a vertex are held in a contiguous range of a single array, so traversals do not scan the edges
+ * of the whole graph.
+ */
+final class EdgeIndex {
+
+  private final int[] offsets;
+  private final int[] targets;
+
+  EdgeIndex(final int vertexCount, final int[] edgesFrom, final int[] edgesTo, final int edgeCount) {
+    offsets = new int[vertexCount + 1];
+    for (int i = 0; i < edgeCount; i++) {
+      offsets[edgesFrom[i] + 1]++;
+    }
+    for (int vertex = 0; vertex < vertexCount; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    // Edges are placed in the order in which they were added
+    targets = new int[edgeCount];
+    final int[] positions = Arrays.copyOf(offsets, vertexCount);
+    for (int i = 0; i < edgeCount; i++) {
+      targets[positions[edgesFrom[i]]++] = edgesTo[i];
+    }
+  }
+
+  /**
+   * Number of edges into each vertex.
+   *
+   * @return In-degrees, indexed by vertex
+   */
+  int[] inDegrees() {
+    final int[] inDegrees = new int[offsets.length - 1];
+    for (final int target : targets) {
+      inDegrees[target]++;
+    }
+    return inDegrees;
+  }
+
+  /**
+   * Position of the first outgoing edge of a vertex in the targets.
+   *
+   * @param vertex Vertex index
+   * @return Start position, inclusive
+   */
+  int start(final int vertex) {
+    return offsets[vertex];
+  }
+
+  /**
+   * Position after the last outgoing edge of a vertex in the targets.
+   *
+   * @param vertex Vertex index
+   * @return End position, exclusive
+   */
+  int end(final int vertex) {
+    return offsets[vertex + 1];
+  }
+
+  int target(final int position) {
+    return targets[position];
+  }
+
+  int vertexCount() {
+    return offsets.length - 1;
+  }
+}
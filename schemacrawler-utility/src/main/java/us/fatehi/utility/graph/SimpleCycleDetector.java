@@ -27,7 +27,7 @@ http://www.gnu.org/licenses/
 */
 package us.fatehi.utility.graph;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class SimpleCycleDetector<T extends Comparable<? super T>> {
@@ -49,8 +49,6 @@ public class SimpleCycleDetector<T extends Comparable<? super T>> {
     }
   }
 
-  private static final String ATTRIBUTE_TRAVERSAL_STATE = "traversalstate";
-
   private final DirectedGraph<T> graph;
 
   public SimpleCycleDetector(final DirectedGraph<T> graph) {
@@ -58,50 +56,53 @@ public class SimpleCycleDetector<T extends Comparable<? super T>> {
   }
 
   /**
-   * Checks if the diagram contains a cycle.
+   * Checks if the diagram contains a cycle. Vertices are visited depth-first, with an explicit
+   * stack, so that long chains of edges do not overflow the call stack.
    *
    * @return true if the diagram contains a cycle, false otherwise
    */
   public boolean containsCycle() {
-    final Collection<Vertex<T>> vertices = clearTraversalStates();
-    for (final Vertex<T> vertex : vertices) {
-      if (vertex.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted) {
-        if (visitForCyles(vertex)) {
-          return true;
-        }
+    final EdgeIndex edgeIndex = graph.edgeIndex();
+    final int vertexCount = edgeIndex.vertexCount();
+
+    final TraversalState[] traversalStates = new TraversalState[vertexCount];
+    Arrays.fill(traversalStates, TraversalState.notStarted);
+    // Vertices being visited, and the position of the next edge to
+    // follow from each
+    final int[] vertexStack = new int[vertexCount];
+    final int[] edgePositionStack = new int[vertexCount];
+
+    for (int vertex = 0; vertex < vertexCount; vertex++) {
+      if (traversalStates[vertex] != TraversalState.notStarted) {
+        continue;
       }
-    }
-
-    return false;
-  }
-
-  private Collection<Vertex<T>> clearTraversalStates() {
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    for (final Vertex<T> vertex : vertices) {
-      vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.notStarted);
-    }
-    return vertices;
-  }
 
-  private boolean visitForCyles(final Vertex<T> vertex) {
-    vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.inProgress);
+      int depth = 0;
+      vertexStack[depth] = vertex;
+      edgePositionStack[depth] = edgeIndex.start(vertex);
+      traversalStates[vertex] = TraversalState.inProgress;
+      while (depth >= 0) {
+        final int from = vertexStack[depth];
+        if (edgePositionStack[depth] == edgeIndex.end(from)) {
+          traversalStates[from] = TraversalState.complete;
+          depth--;
+          continue;
+        }
 
-    for (final DirectedEdge<T> edge : graph.edgeSet()) {
-      if (edge.isFrom(vertex)) {
-        final Vertex<T> to = edge.getTo();
-        if (to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.inProgress) {
-          to.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.marked);
+        final int to = edgeIndex.target(edgePositionStack[depth]);
+        edgePositionStack[depth]++;
+        if (traversalStates[to] == TraversalState.inProgress) {
+          traversalStates[to] = TraversalState.marked;
           return true;
-        } else if (to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted) {
-          if (visitForCyles(to)) {
-            return true;
-          }
+        } else if (traversalStates[to] == TraversalState.notStarted) {
+          depth++;
+          vertexStack[depth] = to;
+          edgePositionStack[depth] = edgeIndex.start(to);
+          traversalStates[to] = TraversalState.inProgress;
         }
       }
     }
 
-    vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.complete);
-
     return false;
   }
 }
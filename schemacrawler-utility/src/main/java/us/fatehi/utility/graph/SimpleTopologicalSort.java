@@ -30,8 +30,6 @@ package us.fatehi.utility.graph;
 import static java.util.Comparator.naturalOrder;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
@@ -43,84 +41,62 @@ public class SimpleTopologicalSort<T extends Comparable<? super T>> {
     this.graph = Objects.requireNonNull(graph, "No diagram provided");
   }
 
+  /**
+   * Sorts vertex values so that every value comes before the values it has edges to. Vertices are
+   * removed level by level, with all vertices that have no remaining incoming edges in the same
+   * level, and values within a level are in natural order.
+   *
+   * @return Sorted vertex values
+   * @throws GraphException If the graph contains a cycle
+   */
   public List<T> topologicalSort() throws GraphException {
-    if (containsCycle()) {
-      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
-    }
-
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    final int collectionSize = vertices.size();
-
-    final Collection<DirectedEdge<T>> edges = new ArrayList<>(graph.edgeSet());
-    final List<T> sortedValues = new ArrayList<>(collectionSize);
-
-    while (!vertices.isEmpty()) {
-
-      final List<T> nodesAtLevel = new ArrayList<>(collectionSize);
-
-      // Remove unattached nodes
-      for (final Iterator<Vertex<T>> iterator = vertices.iterator(); iterator.hasNext(); ) {
-        final Vertex<T> vertex = iterator.next();
-        if (isUnattachedNode(vertex, edges)) {
-          nodesAtLevel.add(vertex.getValue());
-          iterator.remove();
-        }
-      }
-
-      // Find all nodes at the current level
-      final List<Vertex<T>> startNodes = new ArrayList<>(collectionSize);
-      for (final Vertex<T> vertex : vertices) {
-        if (isStartNode(vertex, edges)) {
-          startNodes.add(vertex);
-        }
+    final EdgeIndex edgeIndex = graph.edgeIndex();
+    final int vertexCount = edgeIndex.vertexCount();
+    final int[] inDegrees = edgeIndex.inDegrees();
+
+    int[] level = new int[vertexCount];
+    int levelSize = 0;
+    for (int vertex = 0; vertex < vertexCount; vertex++) {
+      if (inDegrees[vertex] == 0) {
+        level[levelSize++] = vertex;
       }
+    }
 
-      for (final Vertex<T> vertex : startNodes) {
+    final List<T> sortedValues = new ArrayList<>(vertexCount);
+    int[] nextLevel = new int[vertexCount];
+    while (levelSize > 0) {
+      final List<T> nodesAtLevel = new ArrayList<>(levelSize);
+      int nextLevelSize = 0;
+      for (int i = 0; i < levelSize; i++) {
+        final int vertex = level[i];
         // Save the vertex value
-        nodesAtLevel.add(vertex.getValue());
+        nodesAtLevel.add(graph.getVertex(vertex).getValue());
         // Remove all out edges
-        dropOutEdges(vertex, edges);
-        // Remove the vertex itself
-        vertices.remove(vertex);
+        for (int position = edgeIndex.start(vertex);
+            position < edgeIndex.end(vertex);
+            position++) {
+          final int to = edgeIndex.target(position);
+          inDegrees[to]--;
+          if (inDegrees[to] == 0) {
+            nextLevel[nextLevelSize++] = to;
+          }
+        }
       }
 
       nodesAtLevel.sort(naturalOrder());
       sortedValues.addAll(nodesAtLevel);
-    }
 
-    return sortedValues;
-  }
-
-  private boolean containsCycle() {
-    final SimpleCycleDetector<T> cycleDetector = new SimpleCycleDetector<>(graph);
-    return cycleDetector.containsCycle();
-  }
-
-  private void dropOutEdges(final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final Iterator<DirectedEdge<T>> iterator = edges.iterator(); iterator.hasNext(); ) {
-      final DirectedEdge<T> edge = iterator.next();
-      if (edge.isFrom(vertex)) {
-        iterator.remove();
-      }
+      final int[] sortedLevel = level;
+      level = nextLevel;
+      nextLevel = sortedLevel;
+      levelSize = nextLevelSize;
     }
-  }
 
-  private boolean isStartNode(final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.isTo(vertex)) {
-        return false;
-      }
+    // Vertices on a cycle never run out of incoming edges
+    if (sortedValues.size() < vertexCount) {
+      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
     }
-    return true;
-  }
 
-  private boolean isUnattachedNode(
-      final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.isTo(vertex) || edge.isFrom(vertex)) {
-        return false;
-      }
-    }
-    return true;
+    return sortedValues;
   }
 }
@@ -27,9 +27,8 @@ http://www.gnu.org/licenses/
 */
 package us.fatehi.utility.graph;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,68 +44,96 @@ import java.util.Objects;
  */
 public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super T>> {
 
-  private static final String ATTRIBUTE_INDEX = "index";
-  private static final String ATTRIBUTE_LOWLINK = "lowlink";
+  private static final int UNVISITED = -1;
+
   private final DirectedGraph<T> graph;
-  private final Deque<Vertex<T>> stack;
   private final Collection<List<T>> stronglyConnectedComponents;
 
   public TarjanStronglyConnectedComponentFinder(final DirectedGraph<T> graph) {
     this.graph = Objects.requireNonNull(graph, "No diagram provided");
 
     stronglyConnectedComponents = new HashSet<>();
-    stack = new ArrayDeque<>();
   }
 
   /**
-   * Calculates the sets of strongly connected vertices.
+   * Calculates the sets of strongly connected vertices. Vertices are visited depth-first, with an
+   * explicit stack, so that long chains of edges do not overflow the call stack.
    *
    * @return Set of strongly connected components (sets of vertices)
    */
   public Collection<List<T>> detectCycles() {
-    for (final Vertex<T> vertex : graph.vertexSet()) {
-      if (!vertex.hasAttribute(ATTRIBUTE_INDEX)) {
-        strongConnect(vertex, 0);
-      }
-    }
-    return stronglyConnectedComponents;
-  }
+    final EdgeIndex edgeIndex = graph.edgeIndex();
+    final int vertexCount = edgeIndex.vertexCount();
+
+    final int[] indexes = new int[vertexCount];
+    Arrays.fill(indexes, UNVISITED);
+    final int[] lowlinks = new int[vertexCount];
+    final boolean[] onStack = new boolean[vertexCount];
+    final int[] stack = new int[vertexCount];
+    int stackSize = 0;
+    // Vertices being visited, and the position of the next edge to
+    // follow from each
+    final int[] vertexStack = new int[vertexCount];
+    final int[] edgePositionStack = new int[vertexCount];
+    int index = 0;
 
-  private void strongConnect(final Vertex<T> vertexFrom, final int index) {
-    vertexFrom.putAttribute(ATTRIBUTE_INDEX, index);
-    vertexFrom.putAttribute(ATTRIBUTE_LOWLINK, index);
-    stack.push(vertexFrom);
-
-    for (final DirectedEdge<T> edge : graph.getOutgoingEdges(vertexFrom)) {
-      final Vertex<T> vertexTo = edge.getTo();
-      if (!vertexTo.hasAttribute(ATTRIBUTE_INDEX)) {
-        // Successor vertex has not yet been visited; recurse on it
-        strongConnect(vertexTo, index + 1);
-        vertexFrom.putAttribute(
-            ATTRIBUTE_LOWLINK,
-            Math.min(
-                vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                vertexTo.getAttribute(ATTRIBUTE_LOWLINK)));
-      } else if (stack.contains(vertexTo)) {
-        // Successor vertex is on stack, hence in the current SCC
-        vertexFrom.putAttribute(
-            ATTRIBUTE_LOWLINK,
-            Math.min(
-                vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                vertexTo.getAttribute(ATTRIBUTE_INDEX)));
+    for (int vertex = 0; vertex < vertexCount; vertex++) {
+      if (indexes[vertex] != UNVISITED) {
+        continue;
       }
-    }
 
-    if (vertexFrom.getAttribute(ATTRIBUTE_LOWLINK) == vertexFrom.getAttribute(ATTRIBUTE_INDEX)) {
-      final LinkedList<T> scc = new LinkedList<>();
-      Vertex<T> sccVertex;
-      do {
-        sccVertex = stack.pop();
-        scc.addFirst(sccVertex.getValue());
-      } while (!vertexFrom.equals(sccVertex));
-      if (scc.size() > 1) {
-        stronglyConnectedComponents.add(scc);
+      int depth = 0;
+      vertexStack[depth] = vertex;
+      edgePositionStack[depth] = edgeIndex.start(vertex);
+      indexes[vertex] = index;
+      lowlinks[vertex] = index;
+      index++;
+      stack[stackSize++] = vertex;
+      onStack[vertex] = true;
+
+      while (depth >= 0) {
+        final int vertexFrom = vertexStack[depth];
+        if (edgePositionStack[depth] < edgeIndex.end(vertexFrom)) {
+          final int vertexTo = edgeIndex.target(edgePositionStack[depth]);
+          edgePositionStack[depth]++;
+          if (indexes[vertexTo] == UNVISITED) {
+            // Successor vertex has not yet been visited; descend into it
+            depth++;
+            vertexStack[depth] = vertexTo;
+            edgePositionStack[depth] = edgeIndex.start(vertexTo);
+            indexes[vertexTo] = index;
+            lowlinks[vertexTo] = index;
+            index++;
+            stack[stackSize++] = vertexTo;
+            onStack[vertexTo] = true;
+          } else if (onStack[vertexTo]) {
+            // Successor vertex is on stack, hence in the current SCC
+            lowlinks[vertexFrom] = Math.min(lowlinks[vertexFrom], indexes[vertexTo]);
+          }
+          continue;
+        }
+
+        if (lowlinks[vertexFrom] == indexes[vertexFrom]) {
+          final LinkedList<T> scc = new LinkedList<>();
+          int sccVertex;
+          do {
+            sccVertex = stack[--stackSize];
+            onStack[sccVertex] = false;
+            scc.addFirst(graph.getVertex(sccVertex).getValue());
+          } while (sccVertex != vertexFrom);
+          if (scc.size() > 1) {
+            stronglyConnectedComponents.add(scc);
+          }
+        }
+
+        depth--;
+        if (depth >= 0) {
+          final int vertexParent = vertexStack[depth];
+          lowlinks[vertexParent] = Math.min(lowlinks[vertexParent], lowlinks[vertexFrom]);
+        }
       }
     }
+
+    return stronglyConnectedComponents;
   }
 }
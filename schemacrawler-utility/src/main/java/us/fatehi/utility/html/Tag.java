@@ -253,10 +253,18 @@ public class Tag {
    */
   private String toPlainTextString() {
     if (innerTags.isEmpty()) {
-      if (characterWidth > 0) {
-        final String format =
-            String.format("%%%s%ds", align == Alignment.right ? "" : "-", characterWidth);
-        return String.format(format, text);
+      if (characterWidth > text.length()) {
+        final StringBuilder buffer = new StringBuilder(characterWidth);
+        if (align != Alignment.right) {
+          buffer.append(text);
+        }
+        for (int i = text.length(); i < characterWidth; i++) {
+          buffer.append(' ');
+        }
+        if (align == Alignment.right) {
+          buffer.append(text);
+        }
+        return buffer.toString();
       } else {
         return text;
       }
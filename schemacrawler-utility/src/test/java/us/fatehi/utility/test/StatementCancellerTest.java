@@ -0,0 +1,103 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2020, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.DaemonThreadFactory;
+import us.fatehi.utility.StatementCanceller;
+
+public class StatementCancellerTest {
+
+  @Test
+  public void cancelAfterTimeout() throws Exception {
+    final CountDownLatch cancelled = new CountDownLatch(1);
+    try (final StatementCanceller canceller = new StatementCanceller("test-canceller", 1)) {
+      assertThat(canceller.hasTimeout(), is(true));
+      final Future<?> cancellation =
+          canceller.cancelAfterTimeout(statement(cancelled), "test statement");
+      cancellation.get(10, TimeUnit.SECONDS);
+      assertThat(cancelled.getCount(), is(0L));
+    }
+  }
+
+  @Test
+  public void daemonThreads() {
+    final DaemonThreadFactory threadFactory = new DaemonThreadFactory("test-thread");
+    final Thread thread1 = threadFactory.newThread(() -> {});
+    final Thread thread2 = threadFactory.newThread(() -> {});
+    assertThat(thread1.isDaemon(), is(true));
+    assertThat(thread1.getName(), is("test-thread-1"));
+    assertThat(thread2.getName(), is("test-thread-2"));
+  }
+
+  @Test
+  public void noCancelAfterCompletion() throws Exception {
+    final CountDownLatch cancelled = new CountDownLatch(1);
+    try (final StatementCanceller canceller = new StatementCanceller("test-canceller", 1)) {
+      final Future<?> cancellation =
+          canceller.cancelAfterTimeout(statement(cancelled), "test statement");
+      cancellation.cancel(false);
+      assertThat(cancelled.await(2, TimeUnit.SECONDS), is(false));
+    }
+  }
+
+  @Test
+  public void noTimeout() throws Exception {
+    final CountDownLatch cancelled = new CountDownLatch(1);
+    try (final StatementCanceller canceller = new StatementCanceller("test-canceller", 0)) {
+      assertThat(canceller.hasTimeout(), is(false));
+      final Future<?> cancellation =
+          canceller.cancelAfterTimeout(statement(cancelled), "test statement");
+      assertThat(cancellation.isDone(), is(true));
+      assertThat(cancelled.getCount(), is(1L));
+    }
+  }
+
+  private Statement statement(final CountDownLatch cancelled) {
+    return (Statement)
+        Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] {Statement.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("cancel")) {
+                cancelled.countDown();
+              }
+              return null;
+            });
+  }
+}
@@ -30,6 +30,9 @@ package us.fatehi.utility.test.graph;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import us.fatehi.utility.graph.DirectedGraph;
@@ -48,6 +51,27 @@ public class DirectedGraphBoundaryTest extends GraphTestBase {
     assertThat(containsCycleTarjan(graph), is(false));
   }
 
+  @Test
+  public void longChain() throws Exception {
+    final int vertexCount = 50_000;
+    final DirectedGraph<Integer> graph = new DirectedGraph<>("");
+    final List<Integer> chain = new ArrayList<>();
+    for (int i = 0; i < vertexCount - 1; i++) {
+      graph.addEdge(i, i + 1);
+      chain.add(i);
+    }
+    chain.add(vertexCount - 1);
+
+    assertThat(containsCycleSimple(graph), is(false));
+    assertThat(containsCycleTarjan(graph), is(false));
+    assertThat(topologicalSort(graph), is(chain));
+
+    graph.addEdge(vertexCount - 1, 0);
+
+    assertThat(containsCycleSimple(graph), is(true));
+    assertThat(containsCycleTarjan(graph), is(true));
+  }
+
   @Test
   public void selfLoop() throws Exception {
     final DirectedGraph<String> graph = new DirectedGraph<>("");
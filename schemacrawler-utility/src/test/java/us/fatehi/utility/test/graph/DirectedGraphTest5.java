@@ -27,12 +27,15 @@ http://www.gnu.org/licenses/
 */
 package us.fatehi.utility.test.graph;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 
 import org.junit.jupiter.api.Test;
 
 import us.fatehi.utility.graph.DirectedGraph;
+import us.fatehi.utility.graph.TarjanStronglyConnectedComponentFinder;
 
 /**
  * Tests from https://github.com/danielrbradley/CycleDetection/blob/master/
@@ -119,6 +122,9 @@ public class DirectedGraphTest5 extends GraphTestBase {
 
     assertThat(containsCycleSimple(graph), is(true));
     assertThat(containsCycleTarjan(graph), is(true));
+    assertThat(
+        new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles(),
+        containsInAnyOrder(asList("A", "B", "C"), asList("D", "E", "F")));
   }
 
   // A→B D→E